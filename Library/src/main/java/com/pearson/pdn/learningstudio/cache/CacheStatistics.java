@@ -0,0 +1,153 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.cache;
+
+/**
+ * Point in time statistics of a response cache
+ */
+public class CacheStatistics {
+	private long hits;
+	private long misses;
+	private long stores;
+	private long rejections;
+	private long evictions;
+	private long expirations;
+	private int entries;
+	private long weight;
+
+	/**
+	 * Constructs cache statistics
+	 *
+	 * @param hits	Lookups served from the cache
+	 * @param misses	Lookups not found or expired
+	 * @param stores	Responses offered to the cache
+	 * @param rejections	Responses refused by the admission policy
+	 * @param evictions	Entries removed to make room
+	 * @param expirations	Entries removed after their time to live
+	 * @param entries	Entries currently held
+	 * @param weight	Bytes currently held
+	 */
+	public CacheStatistics(long hits, long misses, long stores, long rejections, long evictions, long expirations, int entries, long weight) {
+		this.hits = hits;
+		this.misses = misses;
+		this.stores = stores;
+		this.rejections = rejections;
+		this.evictions = evictions;
+		this.expirations = expirations;
+		this.entries = entries;
+		this.weight = weight;
+	}
+
+	/**
+	 * Get the number of lookups served from the cache
+	 *
+	 * @return	Hits
+	 */
+	public long getHitCount() {
+		return hits;
+	}
+
+	/**
+	 * Get the number of lookups not found or expired
+	 *
+	 * @return	Misses
+	 */
+	public long getMissCount() {
+		return misses;
+	}
+
+	/**
+	 * Get the share of lookups served from the cache
+	 *
+	 * @return	Ratio between 0 and 1
+	 */
+	public double getHitRate() {
+		long lookups = hits + misses;
+		return lookups == 0 ? 0 : (double) hits / lookups;
+	}
+
+	/**
+	 * Get the number of responses offered to the cache
+	 *
+	 * @return	Stores
+	 */
+	public long getStoreCount() {
+		return stores;
+	}
+
+	/**
+	 * Get the number of responses refused by the admission policy
+	 *
+	 * @return	Rejections
+	 */
+	public long getRejectionCount() {
+		return rejections;
+	}
+
+	/**
+	 * Get the number of entries removed to make room
+	 *
+	 * @return	Evictions
+	 */
+	public long getEvictionCount() {
+		return evictions;
+	}
+
+	/**
+	 * Get the number of entries removed after their time to live
+	 *
+	 * @return	Expirations
+	 */
+	public long getExpirationCount() {
+		return expirations;
+	}
+
+	/**
+	 * Get the number of entries currently held
+	 *
+	 * @return	Entries
+	 */
+	public int getEntryCount() {
+		return entries;
+	}
+
+	/**
+	 * Get the estimated bytes currently held
+	 *
+	 * @return	Weight in bytes
+	 */
+	public long getWeight() {
+		return weight;
+	}
+
+	@Override
+	public String toString() {
+		return "Hits: " + hits + ", Misses: " + misses + ", Stores: " + stores + ", Rejections: " + rejections
+			+ ", Evictions: " + evictions + ", Expirations: " + expirations + ", Entries: " + entries + ", Weight: " + weight;
+	}
+}
@@ -0,0 +1,215 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.cache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A response held by a cache. Instances are immutable: headers and binary content are
+ * copied when a response is constructed, and binary content again when it is read.
+ */
+public class CachedResponse {
+	private final int statusCode;
+	private final String statusMessage;
+	private final Map<String,List<String>> headers;
+	private final String contentType;
+	private final String content;
+	private final byte[] binaryContent;
+	private final long storedTime;
+
+	/**
+	 * Constructs a cached response
+	 *
+	 * @param statusCode	HTTP Status Code
+	 * @param statusMessage	HTTP Status Message
+	 * @param headers	KVP of response headers
+	 * @param contentType	Content-Type String
+	 * @param content	Text content or null when binary
+	 * @param binaryContent	Binary content or null when text
+	 */
+	public CachedResponse(int statusCode, String statusMessage, Map<String,List<String>> headers, String contentType, String content, byte[] binaryContent) {
+		this(statusCode, statusMessage, headers, contentType, content, binaryContent, System.currentTimeMillis());
+	}
+
+	/**
+	 * Constructs a cached response restored from storage
+	 *
+	 * @param statusCode	HTTP Status Code
+	 * @param statusMessage	HTTP Status Message
+	 * @param headers	KVP of response headers
+	 * @param contentType	Content-Type String
+	 * @param content	Text content or null when binary
+	 * @param binaryContent	Binary content or null when text
+	 * @param storedTime	Milliseconds since the epoch when the response was received or last revalidated
+	 */
+	public CachedResponse(int statusCode, String statusMessage, Map<String,List<String>> headers, String contentType, String content, byte[] binaryContent, long storedTime) {
+		this.statusCode = statusCode;
+		this.statusMessage = statusMessage;
+		Map<String,List<String>> copy = new TreeMap<String,List<String>>(String.CASE_INSENSITIVE_ORDER);
+		if(headers != null) {
+			for(Map.Entry<String,List<String>> header : headers.entrySet()) {
+				if(header.getKey() != null && header.getValue() != null) {
+					copy.put(header.getKey(), Collections.unmodifiableList(new ArrayList<String>(header.getValue())));
+				}
+			}
+		}
+		this.headers = Collections.unmodifiableMap(copy);
+		this.contentType = contentType;
+		this.content = content;
+		this.binaryContent = binaryContent == null ? null : binaryContent.clone();
+		this.storedTime = storedTime;
+	}
+
+	/**
+	 * Get the HTTP status code of the response
+	 *
+	 * @return	HTTP Status Code
+	 */
+	public int getStatusCode() {
+		return statusCode;
+	}
+
+	/**
+	 * Get the HTTP status message of the response
+	 *
+	 * @return	HTTP Status Message
+	 */
+	public String getStatusMessage() {
+		return statusMessage;
+	}
+
+	/**
+	 * Get the headers of the response
+	 *
+	 * @return	Unmodifiable KVP of headers
+	 */
+	public Map<String,List<String>> getHeaders() {
+		return headers;
+	}
+
+	/**
+	 * Get the first value of a response header
+	 *
+	 * @param name	Name of the header, matched without case
+	 * @return	Value of the header or null when not present
+	 */
+	public String getHeader(String name) {
+		List<String> values = headers.get(name);
+		if(values == null || values.isEmpty()) {
+			return null;
+		}
+		return values.get(0);
+	}
+
+	/**
+	 * Get the type of content of the response
+	 *
+	 * @return	Content-Type String
+	 */
+	public String getContentType() {
+		return contentType;
+	}
+
+	/**
+	 * Get the text content of the response
+	 *
+	 * @return	String of content or null when binary
+	 */
+	public String getContent() {
+		return content;
+	}
+
+	/**
+	 * Get the binary content of the response
+	 *
+	 * @return	Copy of the binary content or null when text
+	 */
+	public byte[] getBinaryContent() {
+		return binaryContent == null ? null : binaryContent.clone();
+	}
+
+	/**
+	 * Get the length of the binary content without copying it
+	 *
+	 * @return	Bytes of binary content, zero when text
+	 */
+	int getBinaryContentLength() {
+		return binaryContent == null ? 0 : binaryContent.length;
+	}
+
+	/**
+	 * Get the entity tag validator
+	 *
+	 * @return	Value of the ETag header or null
+	 */
+	public String getETag() {
+		return getHeader("ETag");
+	}
+
+	/**
+	 * Get the modification date validator
+	 *
+	 * @return	Value of the Last-Modified header or null
+	 */
+	public String getLastModified() {
+		return getHeader("Last-Modified");
+	}
+
+	/**
+	 * Get the time the response was stored or last revalidated
+	 *
+	 * @return	Milliseconds since the epoch
+	 */
+	public long getStoredTime() {
+		return storedTime;
+	}
+
+	/**
+	 * Creates a copy updated with the headers of a 304 Not Modified response
+	 *
+	 * @param notModifiedHeaders	Headers of the 304 response
+	 * @return	Revalidated response
+	 */
+	public CachedResponse revalidate(Map<String,List<String>> notModifiedHeaders) {
+		Map<String,List<String>> merged = new TreeMap<String,List<String>>(String.CASE_INSENSITIVE_ORDER);
+		merged.putAll(headers);
+		if(notModifiedHeaders != null) {
+			for(Map.Entry<String,List<String>> header : notModifiedHeaders.entrySet()) {
+				// the stored body keeps its own framing
+				if(!"Content-Length".equalsIgnoreCase(header.getKey()) && !"Content-Encoding".equalsIgnoreCase(header.getKey())) {
+					merged.put(header.getKey(), header.getValue());
+				}
+			}
+		}
+		return new CachedResponse(statusCode, statusMessage, merged, contentType, content, binaryContent, System.currentTimeMillis());
+	}
+}
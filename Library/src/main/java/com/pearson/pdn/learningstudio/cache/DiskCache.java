@@ -0,0 +1,707 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.cache;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Persistent cache of responses kept in memory mapped segment files.
+ *
+ * Responses are appended to fixed size segment files and located through an index
+ * file, so a restarted process serves them from the page cache instead of the network.
+ * The least recently used responses are dropped when the cache holds more than its
+ * size cap, and the space they occupied is reclaimed by compaction, which copies the
+ * remaining responses to new segments in least recently used order.
+ *
+ * Like HttpCache, stored responses are revalidated with a conditional request unless
+ * a time to live is set. Keys must include the authenticated identity.
+ * A directory must only be opened by one DiskCache at a time.
+ */
+public class DiskCache implements Closeable {
+	private final static Logger logger = Logger.getLogger(DiskCache.class);
+	private final static Charset UTF8 = Charset.forName("UTF-8");
+
+	private final static int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+	private final static int RECORD_MAGIC = 0x4C534443;
+	private final static String INDEX_FILE = "index";
+	private final static String INDEX_TEMP_FILE = "index.tmp";
+	private final static String SEGMENT_PREFIX = "segment-";
+	private final static String SEGMENT_SUFFIX = ".dat";
+	private final static String PUT = "P";
+	private final static String DELETE = "D";
+	private final static byte TEXT = 0;
+	private final static byte BINARY = 1;
+
+	private final Path directory;
+	private final long maxBytes;
+	private final int segmentSize;
+	private final int maxSegments;
+	private long timeToLiveMillis;
+
+	private final LinkedHashMap<String,Location> index = new LinkedHashMap<String,Location>(16, 0.75f, true);
+	private final TreeMap<Integer,Segment> segments = new TreeMap<Integer,Segment>();
+	private Writer indexWriter;
+	private long liveBytes;
+
+	private long hits;
+	private long misses;
+	private long stores;
+	private long rejections;
+	private long evictions;
+	private long compactions;
+
+	/**
+	 * Opens a cache with 64 MB segments, restoring the responses already in the directory
+	 *
+	 * @param directory	Directory holding the segment and index files
+	 * @param maxBytes	Maximum bytes of responses held
+	 * @throws IOException
+	 */
+	public DiskCache(Path directory, long maxBytes) throws IOException {
+		this(directory, maxBytes, DEFAULT_SEGMENT_SIZE);
+	}
+
+	/**
+	 * Opens a cache, restoring the responses already in the directory
+	 *
+	 * @param directory	Directory holding the segment and index files
+	 * @param maxBytes	Maximum bytes of responses held
+	 * @param segmentSize	Size of each segment file, which also bounds the size of a single response
+	 * @throws IOException
+	 */
+	public DiskCache(Path directory, long maxBytes, int segmentSize) throws IOException {
+		this.directory = directory;
+		this.maxBytes = maxBytes;
+		this.segmentSize = segmentSize;
+		this.maxSegments = (int) Math.max(2, (maxBytes + segmentSize - 1) / segmentSize + 1);
+
+		Files.createDirectories(directory);
+		load();
+	}
+
+	/**
+	 * Get the time stored responses are served without revalidation
+	 *
+	 * @return	Milliseconds. Zero revalidates every use.
+	 */
+	public synchronized long getTimeToLiveMillis() {
+		return timeToLiveMillis;
+	}
+
+	/**
+	 * Set the time stored responses are served without revalidation. Zero by default.
+	 * Responses without an ETag or Last-Modified validator are only stored with a time to live.
+	 *
+	 * @param timeToLive	Time to live
+	 * @param unit	Unit of the time to live
+	 */
+	public synchronized void setTimeToLive(long timeToLive, TimeUnit unit) {
+		this.timeToLiveMillis = unit.toMillis(timeToLive);
+	}
+
+	/**
+	 * Indicates whether a stored response may be served without revalidation
+	 *
+	 * @param response	A response returned by get
+	 * @return	Boolean indicator of freshness
+	 */
+	public synchronized boolean isFresh(CachedResponse response) {
+		return timeToLiveMillis > 0 && response.getStoredTime() + timeToLiveMillis > System.currentTimeMillis();
+	}
+
+	/**
+	 * Get the maximum bytes of responses held
+	 *
+	 * @return	Maximum bytes
+	 */
+	public long getMaxBytes() {
+		return maxBytes;
+	}
+
+	/**
+	 * Get a stored response
+	 *
+	 * @param key	Identity and URL of the request
+	 * @return	Stored response or null
+	 */
+	public synchronized CachedResponse get(String key) {
+		Location location = index.get(key);
+		if(location == null) {
+			misses++;
+			return null;
+		}
+
+		try {
+			CachedResponse response = read(location);
+			hits++;
+			return response;
+		}
+		catch(IOException e) {
+			logger.warn("Dropping unreadable cache record of " + key, e);
+			invalidate(key);
+			misses++;
+			return null;
+		}
+	}
+
+	/**
+	 * Stores a response, replacing any response stored under the key
+	 *
+	 * @param key	Identity and URL of the request
+	 * @param response	Response to store
+	 */
+	public synchronized void put(String key, CachedResponse response) {
+		if(response.getETag() == null && response.getLastModified() == null && timeToLiveMillis <= 0) {
+			return; // could never be served
+		}
+		stores++;
+
+		try {
+			byte[] record = encode(response);
+			if(record.length > segmentSize || record.length > maxBytes) {
+				rejections++;
+				remove(key);
+				return;
+			}
+
+			remove(key);
+			while(liveBytes + record.length > maxBytes && !index.isEmpty()) {
+				remove(index.keySet().iterator().next());
+				evictions++;
+			}
+
+			Segment segment = getWritableSegment(record.length);
+			int offset = segment.position;
+			ByteBuffer target = segment.buffer.duplicate();
+			target.position(offset);
+			target.put(record);
+			segment.position += record.length;
+
+			Location location = new Location(segment.id, offset, record.length);
+			index.put(key, location);
+			liveBytes += record.length;
+			logPut(key, location);
+		}
+		catch(IOException e) {
+			logger.warn("Unable to store cache record of " + key, e);
+		}
+	}
+
+	/**
+	 * Records a response revalidated by a 304 Not Modified.
+	 * The stored body is only rewritten when a time to live makes the new stored time matter.
+	 *
+	 * @param key	Identity and URL of the request
+	 * @param response	Revalidated response
+	 */
+	public synchronized void revalidated(String key, CachedResponse response) {
+		if(timeToLiveMillis > 0) {
+			put(key, response);
+		}
+	}
+
+	/**
+	 * Removes a stored response, for example after the resource was modified
+	 *
+	 * @param key	Identity and URL of the request
+	 */
+	public synchronized void invalidate(String key) {
+		try {
+			remove(key);
+		}
+		catch(IOException e) {
+			logger.warn("Unable to remove cache record of " + key, e);
+		}
+	}
+
+	/**
+	 * Removes all stored responses and their files
+	 *
+	 * @throws IOException
+	 */
+	public synchronized void clear() throws IOException {
+		index.clear();
+		liveBytes = 0;
+		writeIndex();
+		for(Segment segment : new ArrayList<Segment>(segments.values())) {
+			deleteSegment(segment);
+		}
+	}
+
+	/**
+	 * Get the number of stored responses
+	 *
+	 * @return	Number of entries
+	 */
+	public synchronized int size() {
+		return index.size();
+	}
+
+	/**
+	 * Get the number of compactions run since the cache was opened
+	 *
+	 * @return	Number of compactions
+	 */
+	public synchronized long getCompactionCount() {
+		return compactions;
+	}
+
+	/**
+	 * Get statistics since the cache was opened
+	 *
+	 * @return	Statistics
+	 */
+	public synchronized CacheStatistics getStatistics() {
+		return new CacheStatistics(hits, misses, stores, rejections, evictions, 0, index.size(), liveBytes);
+	}
+
+	/**
+	 * Flushes the segments and releases the files
+	 *
+	 * @throws IOException
+	 */
+	public synchronized void close() throws IOException {
+		for(Segment segment : segments.values()) {
+			segment.buffer.force();
+			segment.channel.close();
+		}
+		segments.clear();
+		if(indexWriter != null) {
+			indexWriter.close();
+			indexWriter = null;
+		}
+	}
+
+	@Override
+	public synchronized String toString() {
+		return getStatistics().toString() + ", Segments: " + segments.size() + ", Compactions: " + compactions;
+	}
+
+	/**
+	 * Replays the index and opens the segments it refers to
+	 */
+	private void load() throws IOException {
+		Map<Integer,Integer> positions = new TreeMap<Integer,Integer>();
+		File indexFile = directory.resolve(INDEX_FILE).toFile();
+		if(indexFile.exists()) {
+			BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(indexFile), UTF8));
+			try {
+				String line;
+				while((line = reader.readLine()) != null) {
+					replay(line, positions);
+				}
+			}
+			finally {
+				reader.close();
+			}
+		}
+
+		for(Map.Entry<Integer,Integer> position : positions.entrySet()) {
+			Segment segment = openSegment(position.getKey(), false);
+			if(segment != null) {
+				segment.position = position.getValue();
+				segments.put(segment.id, segment);
+			}
+		}
+
+		for(Iterator<Location> i = index.values().iterator(); i.hasNext();) {
+			Location location = i.next();
+			if(segments.containsKey(location.segment)) {
+				liveBytes += location.length;
+			}
+			else {
+				i.remove(); // the segment file is gone
+			}
+		}
+
+		// segments left behind by an interrupted compaction
+		File[] files = directory.toFile().listFiles();
+		if(files != null) {
+			for(File file : files) {
+				Integer id = getSegmentId(file.getName());
+				if(id != null && !segments.containsKey(id)) {
+					file.delete();
+				}
+			}
+		}
+
+		writeIndex();
+	}
+
+	/**
+	 * Applies a single line of the index
+	 */
+	private void replay(String line, Map<Integer,Integer> positions) {
+		String[] fields = line.split("\t", 5);
+		if(fields.length == 5 && PUT.equals(fields[0])) {
+			try {
+				Location location = new Location(Integer.parseInt(fields[1]), Integer.parseInt(fields[2]), Integer.parseInt(fields[3]));
+				index.put(fields[4], location);
+				Integer position = positions.get(location.segment);
+				if(position == null || position < location.offset + location.length) {
+					positions.put(location.segment, location.offset + location.length);
+				}
+			}
+			catch(NumberFormatException e) {
+				// torn line from an interrupted write
+			}
+		}
+		else if(fields.length == 2 && DELETE.equals(fields[0])) {
+			index.remove(fields[1]);
+		}
+	}
+
+	/**
+	 * Finds a segment with room for a record, compacting when the cache holds too many segments
+	 */
+	private Segment getWritableSegment(int length) throws IOException {
+		if(!segments.isEmpty()) {
+			Segment last = segments.lastEntry().getValue();
+			if(last.position + length <= segmentSize) {
+				return last;
+			}
+		}
+
+		if(segments.size() >= maxSegments) {
+			compact();
+			Segment last = segments.isEmpty() ? null : segments.lastEntry().getValue();
+			if(last != null && last.position + length <= segmentSize) {
+				return last;
+			}
+		}
+
+		return addSegment();
+	}
+
+	private Segment addSegment() throws IOException {
+		int id = segments.isEmpty() ? 0 : segments.lastKey() + 1;
+		Segment segment = openSegment(id, true);
+		segments.put(id, segment);
+		return segment;
+	}
+
+	/**
+	 * Copies the stored responses to new segments in least recently used order and deletes the old segments
+	 */
+	private void compact() throws IOException {
+		List<Segment> oldSegments = new ArrayList<Segment>(segments.values());
+		int nextId = segments.isEmpty() ? 0 : segments.lastKey() + 1;
+
+		Segment current = null;
+		for(Map.Entry<String,Location> entry : index.entrySet()) {
+			Location location = entry.getValue();
+			ByteBuffer source = slice(segments.get(location.segment), location);
+
+			if(current == null || current.position + location.length > segmentSize) {
+				current = openSegment(nextId, true);
+				segments.put(nextId++, current);
+			}
+
+			ByteBuffer target = current.buffer.duplicate();
+			target.position(current.position);
+			target.put(source);
+			entry.setValue(new Location(current.id, current.position, location.length));
+			current.position += location.length;
+		}
+
+		writeIndex();
+		for(Segment segment : oldSegments) {
+			deleteSegment(segment);
+		}
+		compactions++;
+
+		if(logger.isDebugEnabled()) {
+			logger.debug("Compacted disk cache " + directory + ": " + toString());
+		}
+	}
+
+	private void remove(String key) throws IOException {
+		Location location = index.remove(key);
+		if(location != null) {
+			liveBytes -= location.length;
+			logDelete(key);
+		}
+	}
+
+	private CachedResponse read(Location location) throws IOException {
+		Segment segment = segments.get(location.segment);
+		if(segment == null) {
+			throw new IOException("Missing segment " + location.segment);
+		}
+		return decode(slice(segment, location));
+	}
+
+	private ByteBuffer slice(Segment segment, Location location) {
+		ByteBuffer source = segment.buffer.duplicate();
+		source.position(location.offset);
+		source.limit(location.offset + location.length);
+		return source.slice();
+	}
+
+	private Segment openSegment(int id, boolean create) throws IOException {
+		Path path = directory.resolve(SEGMENT_PREFIX + id + SEGMENT_SUFFIX);
+		if(!create && !Files.exists(path)) {
+			return null;
+		}
+
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+			return new Segment(id, channel, buffer);
+		}
+		catch(IOException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Deletes a segment file. The mapping itself is released when the buffer is collected.
+	 */
+	private void deleteSegment(Segment segment) throws IOException {
+		segments.remove(segment.id);
+		segment.channel.close();
+		Files.deleteIfExists(directory.resolve(SEGMENT_PREFIX + segment.id + SEGMENT_SUFFIX));
+	}
+
+	private static Integer getSegmentId(String fileName) {
+		if(!fileName.startsWith(SEGMENT_PREFIX) || !fileName.endsWith(SEGMENT_SUFFIX)) {
+			return null;
+		}
+		try {
+			return Integer.valueOf(fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - SEGMENT_SUFFIX.length()));
+		}
+		catch(NumberFormatException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Rewrites the index with one line per stored response, least recently used first
+	 */
+	private void writeIndex() throws IOException {
+		if(indexWriter != null) {
+			indexWriter.close();
+			indexWriter = null;
+		}
+
+		Path temp = directory.resolve(INDEX_TEMP_FILE);
+		Writer writer = new OutputStreamWriter(new FileOutputStream(temp.toFile()), UTF8);
+		try {
+			for(Map.Entry<String,Location> entry : index.entrySet()) {
+				writer.write(formatPut(entry.getKey(), entry.getValue()));
+			}
+		}
+		finally {
+			writer.close();
+		}
+		Files.move(temp, directory.resolve(INDEX_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+		indexWriter = new OutputStreamWriter(new FileOutputStream(directory.resolve(INDEX_FILE).toFile(), true), UTF8);
+	}
+
+	private void logPut(String key, Location location) throws IOException {
+		indexWriter.write(formatPut(key, location));
+		indexWriter.flush();
+	}
+
+	private void logDelete(String key) throws IOException {
+		indexWriter.write(DELETE + "\t" + key + "\n");
+		indexWriter.flush();
+	}
+
+	private static String formatPut(String key, Location location) {
+		return PUT + "\t" + location.segment + "\t" + location.offset + "\t" + location.length + "\t" + key + "\n";
+	}
+
+	/**
+	 * Serializes a response into a record
+	 */
+	private static byte[] encode(CachedResponse response) throws IOException {
+		byte[] body = response.getBinaryContent();
+		byte kind;
+		if(body != null) {
+			kind = BINARY;
+		}
+		else {
+			body = response.getContent() == null ? new byte[0] : response.getContent().getBytes(UTF8);
+			kind = TEXT;
+		}
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(body.length + 512);
+		DataOutputStream out = new DataOutputStream(bytes);
+		out.writeInt(RECORD_MAGIC);
+		out.writeLong(response.getStoredTime());
+		out.writeInt(response.getStatusCode());
+		writeNullable(out, response.getStatusMessage());
+		writeNullable(out, response.getContentType());
+
+		Map<String,List<String>> headers = response.getHeaders();
+		out.writeInt(headers.size());
+		for(Map.Entry<String,List<String>> header : headers.entrySet()) {
+			out.writeUTF(header.getKey());
+			List<String> values = header.getValue() == null ? new ArrayList<String>() : header.getValue();
+			out.writeInt(values.size());
+			for(String value : values) {
+				out.writeUTF(value);
+			}
+		}
+
+		out.writeByte(kind);
+		out.writeInt(body.length);
+		out.write(body);
+		out.flush();
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Reads a response back from a record
+	 */
+	private static CachedResponse decode(final ByteBuffer record) throws IOException {
+		DataInputStream in = new DataInputStream(new InputStream() {
+			@Override
+			public int read() {
+				return record.hasRemaining() ? record.get() & 0xFF : -1;
+			}
+
+			@Override
+			public int read(byte[] b, int off, int len) {
+				if(!record.hasRemaining()) {
+					return -1;
+				}
+				len = Math.min(len, record.remaining());
+				record.get(b, off, len);
+				return len;
+			}
+		});
+
+		if(in.readInt() != RECORD_MAGIC) {
+			throw new IOException("Corrupt cache record");
+		}
+		long storedTime = in.readLong();
+		int statusCode = in.readInt();
+		String statusMessage = readNullable(in);
+		String contentType = readNullable(in);
+
+		Map<String,List<String>> headers = new TreeMap<String,List<String>>(String.CASE_INSENSITIVE_ORDER);
+		int headerCount = in.readInt();
+		for(int i = 0; i < headerCount; i++) {
+			String name = in.readUTF();
+			int valueCount = in.readInt();
+			List<String> values = new ArrayList<String>(valueCount);
+			for(int j = 0; j < valueCount; j++) {
+				values.add(in.readUTF());
+			}
+			headers.put(name, values);
+		}
+
+		byte kind = in.readByte();
+		int length = in.readInt();
+		if(length != record.remaining()) {
+			throw new IOException("Corrupt cache record");
+		}
+		byte[] body = new byte[length];
+		record.get(body);
+
+		if(kind == BINARY) {
+			return new CachedResponse(statusCode, statusMessage, headers, contentType, null, body, storedTime);
+		}
+		return new CachedResponse(statusCode, statusMessage, headers, contentType, new String(body, UTF8), null, storedTime);
+	}
+
+	private static void writeNullable(DataOutputStream out, String value) throws IOException {
+		out.writeBoolean(value != null);
+		if(value != null) {
+			out.writeUTF(value);
+		}
+	}
+
+	private static String readNullable(DataInputStream in) throws IOException {
+		return in.readBoolean() ? in.readUTF() : null;
+	}
+
+	/**
+	 * Position of a record in a segment
+	 */
+	private static class Location {
+		private final int segment;
+		private final int offset;
+		private final int length;
+
+		Location(int segment, int offset, int length) {
+			this.segment = segment;
+			this.offset = offset;
+			this.length = length;
+		}
+	}
+
+	/**
+	 * A memory mapped segment file
+	 */
+	private static class Segment {
+		private final int id;
+		private final FileChannel channel;
+		private final MappedByteBuffer buffer;
+		private int position;
+
+		Segment(int id, FileChannel channel, MappedByteBuffer buffer) {
+			this.id = id;
+			this.channel = channel;
+			this.buffer = buffer;
+		}
+	}
+}
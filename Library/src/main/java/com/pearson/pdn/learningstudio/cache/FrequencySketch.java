@@ -0,0 +1,106 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.cache;
+
+/**
+ * Count-Min sketch estimating how often keys were seen recently.
+ * Counters saturate at 15 and are halved periodically, so old popularity fades.
+ */
+class FrequencySketch {
+	private final static int DEPTH = 4;
+	private final static int MAX_COUNT = 15;
+	private final static int[] SEEDS = { 0x97cb3127, 0x8f2d4a6b, 0x5bd1e995, 0xc2b2ae35 };
+
+	private final byte[][] table;
+	private final int mask;
+	private final int sampleSize;
+	private int samples;
+
+	/**
+	 * Constructs a sketch
+	 *
+	 * @param expectedKeys	Number of distinct keys expected to be tracked
+	 */
+	FrequencySketch(int expectedKeys) {
+		int width = Integer.highestOneBit(Math.max(16, expectedKeys) - 1) << 1;
+		this.table = new byte[DEPTH][width];
+		this.mask = width - 1;
+		this.sampleSize = 10 * width;
+	}
+
+	/**
+	 * Records an occurrence of a key
+	 *
+	 * @param hash	Hash of the key
+	 */
+	void increment(int hash) {
+		boolean added = false;
+		for(int i = 0; i < DEPTH; i++) {
+			int index = indexOf(hash, i);
+			if(table[i][index] < MAX_COUNT) {
+				table[i][index]++;
+				added = true;
+			}
+		}
+		if(added && ++samples >= sampleSize) {
+			reset();
+		}
+	}
+
+	/**
+	 * Estimates the occurrences of a key
+	 *
+	 * @param hash	Hash of the key
+	 * @return	Estimated count
+	 */
+	int frequency(int hash) {
+		int frequency = MAX_COUNT;
+		for(int i = 0; i < DEPTH; i++) {
+			frequency = Math.min(frequency, table[i][indexOf(hash, i)]);
+		}
+		return frequency;
+	}
+
+	/**
+	 * Halves every counter
+	 */
+	private void reset() {
+		for(byte[] row : table) {
+			for(int i = 0; i < row.length; i++) {
+				row[i] = (byte) (row[i] >>> 1);
+			}
+		}
+		samples /= 2;
+	}
+
+	private int indexOf(int hash, int row) {
+		int h = (hash ^ SEEDS[row]) * 0x9e3779b9;
+		h ^= h >>> 16;
+		return h & mask;
+	}
+}
@@ -0,0 +1,189 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache of responses that carry an ETag or Last-Modified validator.
+ * Cached responses are revalidated with a conditional request and served again
+ * when the server answers 304 Not Modified. The least recently used entry is
+ * dropped when the cache is full.
+ * 
+ * Keys must include the authenticated identity, so users never share entries.
+ */
+public class HttpCache {
+	private final static int DEFAULT_MAX_ENTRIES = 512;
+
+	private final int maxEntries;
+	private final Map<String,CachedResponse> entries;
+
+	private final AtomicLong lookups = new AtomicLong();
+	private final AtomicLong notModified = new AtomicLong();
+	private final AtomicLong stores = new AtomicLong();
+
+	/**
+	 * Constructs a cache with the default capacity
+	 */
+	public HttpCache() {
+		this(DEFAULT_MAX_ENTRIES);
+	}
+
+	/**
+	 * Constructs a cache
+	 *
+	 * @param maxEntries	Maximum number of responses kept
+	 */
+	public HttpCache(final int maxEntries) {
+		this.maxEntries = maxEntries;
+		this.entries = new LinkedHashMap<String,CachedResponse>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String,CachedResponse> eldest) {
+				return size() > maxEntries;
+			}
+		};
+	}
+
+	/**
+	 * Get the maximum number of responses kept
+	 *
+	 * @return	Maximum entries
+	 */
+	public int getMaxEntries() {
+		return maxEntries;
+	}
+
+	/**
+	 * Looks up a response to revalidate
+	 *
+	 * @param key	Identity and URL of the request
+	 * @return	Cached response or null
+	 */
+	public CachedResponse get(String key) {
+		lookups.incrementAndGet();
+		synchronized(entries) {
+			return entries.get(key);
+		}
+	}
+
+	/**
+	 * Stores a response. Responses without a validator are ignored.
+	 *
+	 * @param key	Identity and URL of the request
+	 * @param response	Response to store
+	 */
+	public void put(String key, CachedResponse response) {
+		if(response.getETag() == null && response.getLastModified() == null) {
+			return;
+		}
+		stores.incrementAndGet();
+		synchronized(entries) {
+			entries.put(key, response);
+		}
+	}
+
+	/**
+	 * Records a response served from the cache after a 304 Not Modified
+	 *
+	 * @param key	Identity and URL of the request
+	 * @param response	Revalidated response
+	 */
+	public void revalidated(String key, CachedResponse response) {
+		notModified.incrementAndGet();
+		synchronized(entries) {
+			entries.put(key, response);
+		}
+	}
+
+	/**
+	 * Removes a response, for example after the resource was modified
+	 *
+	 * @param key	Identity and URL of the request
+	 */
+	public void invalidate(String key) {
+		synchronized(entries) {
+			entries.remove(key);
+		}
+	}
+
+	/**
+	 * Removes all responses
+	 */
+	public void clear() {
+		synchronized(entries) {
+			entries.clear();
+		}
+	}
+
+	/**
+	 * Get the number of responses held
+	 *
+	 * @return	Number of entries
+	 */
+	public int size() {
+		synchronized(entries) {
+			return entries.size();
+		}
+	}
+
+	/**
+	 * Get the number of lookups
+	 *
+	 * @return	Lookups since startup
+	 */
+	public long getLookupCount() {
+		return lookups.get();
+	}
+
+	/**
+	 * Get the number of requests answered with 304 Not Modified and served from the cache
+	 *
+	 * @return	Revalidations since startup
+	 */
+	public long getNotModifiedCount() {
+		return notModified.get();
+	}
+
+	/**
+	 * Get the number of responses stored
+	 *
+	 * @return	Stores since startup
+	 */
+	public long getStoreCount() {
+		return stores.get();
+	}
+
+	@Override
+	public String toString() {
+		return "Entries: " + size() + ", Lookups: " + lookups.get() + ", Not Modified: " + notModified.get() + ", Stored: " + stores.get();
+	}
+}
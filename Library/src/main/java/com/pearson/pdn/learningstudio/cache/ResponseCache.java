@@ -0,0 +1,497 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.cache;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Size bounded cache serving responses without contacting the server until they expire.
+ * 
+ * Only routes given a time to live are cached. Routes are the templates of the service
+ * paths, such as "/courses/%s/gradebook/customCategories", where each %s matches one
+ * path segment or query value. Entries are weighted by their size in bytes.
+ * 
+ * Admission follows W-TinyLFU: new entries enter a small window, and an entry leaving
+ * the window only displaces an entry of the main area when it has been requested more
+ * often recently. Popular responses are therefore not flushed by one-off requests.
+ */
+public class ResponseCache {
+	private final static int ENTRY_OVERHEAD = 256;
+	private final static int WINDOW_PERCENT = 1;
+	private final static int PROTECTED_PERCENT = 80;
+	private final static int DEFAULT_EXPECTED_ENTRIES = 4096;
+
+	private final long maxWeight;
+	private final long windowMaxWeight;
+	private final long protectedMaxWeight;
+
+	private final List<Route> routes = new ArrayList<Route>();
+	private final Map<String,Route> routesByTemplate = new LinkedHashMap<String,Route>();
+	private final Map<String,Node> nodes = new LinkedHashMap<String,Node>();
+	private final LinkedHashMap<String,Node> window = new LinkedHashMap<String,Node>();
+	private final LinkedHashMap<String,Node> probation = new LinkedHashMap<String,Node>();
+	private final LinkedHashMap<String,Node> protectedArea = new LinkedHashMap<String,Node>();
+	private final FrequencySketch sketch;
+
+	private long windowWeight;
+	private long probationWeight;
+	private long protectedWeight;
+	private final Counters counters = new Counters();
+
+	/**
+	 * Constructs a cache
+	 *
+	 * @param maxWeight	Maximum bytes held
+	 */
+	public ResponseCache(long maxWeight) {
+		this(maxWeight, DEFAULT_EXPECTED_ENTRIES);
+	}
+
+	/**
+	 * Constructs a cache
+	 *
+	 * @param maxWeight	Maximum bytes held
+	 * @param expectedEntries	Number of distinct responses expected, used to size the frequency sketch
+	 */
+	public ResponseCache(long maxWeight, int expectedEntries) {
+		this.maxWeight = maxWeight;
+		this.windowMaxWeight = Math.max(1, maxWeight * WINDOW_PERCENT / 100);
+		this.protectedMaxWeight = (maxWeight - windowMaxWeight) * PROTECTED_PERCENT / 100;
+		this.sketch = new FrequencySketch(expectedEntries);
+	}
+
+	/**
+	 * Get the maximum bytes held
+	 *
+	 * @return	Maximum weight
+	 */
+	public long getMaxWeight() {
+		return maxWeight;
+	}
+
+	/**
+	 * Enables caching of a route
+	 *
+	 * @param routeTemplate	Path template, such as "/courses/%s/items"
+	 * @param timeToLive	Time a response is served without contacting the server
+	 * @param unit	Unit of the time to live
+	 */
+	public synchronized void setTimeToLive(String routeTemplate, long timeToLive, TimeUnit unit) {
+		Route route = routesByTemplate.get(routeTemplate);
+		if(route == null) {
+			route = new Route(routeTemplate);
+			routesByTemplate.put(routeTemplate, route);
+			routes.add(route);
+		}
+		route.timeToLiveMillis = unit.toMillis(timeToLive);
+	}
+
+	/**
+	 * Disables caching of a route and drops its entries
+	 *
+	 * @param routeTemplate	Path template
+	 */
+	public synchronized void removeTimeToLive(String routeTemplate) {
+		Route route = routesByTemplate.remove(routeTemplate);
+		if(route != null) {
+			routes.remove(route);
+			for(Node node : new ArrayList<Node>(nodes.values())) {
+				if(node.route == route) {
+					remove(node);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Finds the route template matching a URL
+	 *
+	 * @param relativeUrl	The URL after .com, with its query string
+	 * @return	Matching template or null when the route is not cached
+	 */
+	public synchronized String getRoute(String relativeUrl) {
+		Route route = findRoute(relativeUrl);
+		return route == null ? null : route.template;
+	}
+
+	/**
+	 * Looks up a fresh response
+	 *
+	 * @param relativeUrl	The URL after .com, with its query string
+	 * @param key	Identity and URL of the request
+	 * @return	Cached response or null
+	 */
+	public synchronized CachedResponse get(String relativeUrl, String key) {
+		Route route = findRoute(relativeUrl);
+		if(route == null) {
+			return null;
+		}
+
+		sketch.increment(key.hashCode());
+		Node node = nodes.get(key);
+		if(node != null && node.expiresAt <= System.currentTimeMillis()) {
+			remove(node);
+			counters.expirations++;
+			route.counters.expirations++;
+			node = null;
+		}
+
+		if(node == null) {
+			counters.misses++;
+			route.counters.misses++;
+			return null;
+		}
+
+		counters.hits++;
+		route.counters.hits++;
+		onHit(node);
+		return node.value;
+	}
+
+	/**
+	 * Offers a response to the cache
+	 *
+	 * @param relativeUrl	The URL after .com, with its query string
+	 * @param key	Identity and URL of the request
+	 * @param value	Response to store
+	 */
+	public synchronized void put(String relativeUrl, String key, CachedResponse value) {
+		Route route = findRoute(relativeUrl);
+		if(route == null || route.timeToLiveMillis <= 0) {
+			return;
+		}
+
+		counters.stores++;
+		route.counters.stores++;
+
+		Node existing = nodes.get(key);
+		if(existing != null) {
+			remove(existing);
+		}
+
+		Node node = new Node(key, route, value, weigh(value), System.currentTimeMillis() + route.timeToLiveMillis);
+		if(node.weight > maxWeight - windowMaxWeight) {
+			counters.rejections++;
+			route.counters.rejections++;
+			return;
+		}
+
+		nodes.put(key, node);
+		node.area = window;
+		window.put(key, node);
+		windowWeight += node.weight;
+		drainWindow();
+	}
+
+	/**
+	 * Removes a response, for example after the resource was modified
+	 *
+	 * @param key	Identity and URL of the request
+	 */
+	public synchronized void invalidate(String key) {
+		Node node = nodes.get(key);
+		if(node != null) {
+			remove(node);
+		}
+	}
+
+	/**
+	 * Removes all responses
+	 */
+	public synchronized void clear() {
+		nodes.clear();
+		window.clear();
+		probation.clear();
+		protectedArea.clear();
+		windowWeight = 0;
+		probationWeight = 0;
+		protectedWeight = 0;
+	}
+
+	/**
+	 * Get statistics of the whole cache
+	 *
+	 * @return	Statistics
+	 */
+	public synchronized CacheStatistics getStatistics() {
+		return counters.toStatistics(nodes.size(), windowWeight + probationWeight + protectedWeight);
+	}
+
+	/**
+	 * Get statistics of a single route
+	 *
+	 * @param routeTemplate	Path template
+	 * @return	Statistics or null when the route is not cached
+	 */
+	public synchronized CacheStatistics getStatistics(String routeTemplate) {
+		Route route = routesByTemplate.get(routeTemplate);
+		if(route == null) {
+			return null;
+		}
+		int entries = 0;
+		long weight = 0;
+		for(Node node : nodes.values()) {
+			if(node.route == route) {
+				entries++;
+				weight += node.weight;
+			}
+		}
+		return route.counters.toStatistics(entries, weight);
+	}
+
+	/**
+	 * Get statistics of every cached route
+	 *
+	 * @return	Statistics by route template
+	 */
+	public synchronized Map<String,CacheStatistics> getRouteStatistics() {
+		Map<String,CacheStatistics> statistics = new LinkedHashMap<String,CacheStatistics>();
+		for(String template : routesByTemplate.keySet()) {
+			statistics.put(template, getStatistics(template));
+		}
+		return statistics;
+	}
+
+	@Override
+	public String toString() {
+		return getStatistics().toString();
+	}
+
+	/**
+	 * Moves entries leaving the window into the main area when they are admitted
+	 */
+	private void drainWindow() {
+		while(windowWeight > windowMaxWeight && !window.isEmpty()) {
+			Node candidate = window.values().iterator().next();
+			window.remove(candidate.key);
+			windowWeight -= candidate.weight;
+
+			if(admit(candidate)) {
+				candidate.area = probation;
+				probation.put(candidate.key, candidate);
+				probationWeight += candidate.weight;
+			}
+			else {
+				nodes.remove(candidate.key);
+				counters.rejections++;
+				candidate.route.counters.rejections++;
+			}
+		}
+	}
+
+	/**
+	 * Makes room in the main area for a candidate, evicting entries that are requested less often
+	 *
+	 * @return	Whether the candidate may enter
+	 */
+	private boolean admit(Node candidate) {
+		long mainMaxWeight = maxWeight - windowMaxWeight;
+		int candidateFrequency = sketch.frequency(candidate.key.hashCode());
+		while(probationWeight + protectedWeight + candidate.weight > mainMaxWeight) {
+			Node victim = eldest(probation);
+			if(victim == null) {
+				victim = eldest(protectedArea);
+			}
+			if(victim == null) {
+				return false;
+			}
+			if(victim.expiresAt <= System.currentTimeMillis()) {
+				remove(victim);
+				counters.expirations++;
+				victim.route.counters.expirations++;
+				continue;
+			}
+			if(candidateFrequency <= sketch.frequency(victim.key.hashCode())) {
+				return false;
+			}
+			remove(victim);
+			counters.evictions++;
+			victim.route.counters.evictions++;
+		}
+		return true;
+	}
+
+	/**
+	 * Refreshes the recency of an entry, promoting it to the protected area on its second use
+	 */
+	private void onHit(Node node) {
+		if(node.area == window) {
+			window.remove(node.key);
+			window.put(node.key, node);
+		}
+		else if(node.area == probation) {
+			probation.remove(node.key);
+			probationWeight -= node.weight;
+			node.area = protectedArea;
+			protectedArea.put(node.key, node);
+			protectedWeight += node.weight;
+
+			while(protectedWeight > protectedMaxWeight && protectedArea.size() > 1) {
+				Node demoted = eldest(protectedArea);
+				protectedArea.remove(demoted.key);
+				protectedWeight -= demoted.weight;
+				demoted.area = probation;
+				probation.put(demoted.key, demoted);
+				probationWeight += demoted.weight;
+			}
+		}
+		else {
+			protectedArea.remove(node.key);
+			protectedArea.put(node.key, node);
+		}
+	}
+
+	private void remove(Node node) {
+		nodes.remove(node.key);
+		if(node.area.remove(node.key) != null) {
+			if(node.area == window) {
+				windowWeight -= node.weight;
+			}
+			else if(node.area == probation) {
+				probationWeight -= node.weight;
+			}
+			else {
+				protectedWeight -= node.weight;
+			}
+		}
+	}
+
+	private static Node eldest(LinkedHashMap<String,Node> area) {
+		Iterator<Node> iterator = area.values().iterator();
+		return iterator.hasNext() ? iterator.next() : null;
+	}
+
+	private Route findRoute(String relativeUrl) {
+		Route match = null;
+		for(Route route : routes) {
+			if(route.matches(relativeUrl) && (match == null || route.literalLength > match.literalLength)) {
+				match = route;
+			}
+		}
+		return match;
+	}
+
+	/**
+	 * Estimates the bytes held by a response
+	 */
+	private static long weigh(CachedResponse value) {
+		long weight = ENTRY_OVERHEAD;
+		if(value.getContent() != null) {
+			weight += 2L * value.getContent().length();
+		}
+		weight += value.getBinaryContentLength();
+		for(Map.Entry<String,List<String>> header : value.getHeaders().entrySet()) {
+			weight += 2L * header.getKey().length();
+			for(String headerValue : header.getValue()) {
+				weight += 2L * headerValue.length();
+			}
+		}
+		return weight;
+	}
+
+	/**
+	 * A cached route and its time to live
+	 */
+	private static class Route {
+		private final String template;
+		private final Pattern pattern;
+		private final int literalLength;
+		private final Counters counters = new Counters();
+		private long timeToLiveMillis;
+
+		Route(String template) {
+			this.template = template;
+			this.literalLength = template.replace("%s", "").length();
+
+			// each %s stands for one path segment or query value, the XML extension is optional
+			String[] parts = template.split("%s", -1);
+			StringBuilder regex = new StringBuilder();
+			for(int i = 0; i < parts.length; i++) {
+				if(i > 0) {
+					regex.append("[^/?&]+");
+				}
+				regex.append(Pattern.quote(parts[i]));
+			}
+			String path = regex.toString();
+			if(template.indexOf('?') == -1) {
+				path += "(\\.xml)?";
+			}
+			this.pattern = Pattern.compile(path);
+		}
+
+		boolean matches(String relativeUrl) {
+			int query = relativeUrl.indexOf('?');
+			if(template.indexOf('?') == -1 && query != -1) {
+				relativeUrl = relativeUrl.substring(0, query);
+			}
+			return pattern.matcher(relativeUrl).matches();
+		}
+	}
+
+	/**
+	 * A cached response and its place in the eviction order
+	 */
+	private static class Node {
+		private final String key;
+		private final Route route;
+		private final CachedResponse value;
+		private final long weight;
+		private final long expiresAt;
+		private LinkedHashMap<String,Node> area;
+
+		Node(String key, Route route, CachedResponse value, long weight, long expiresAt) {
+			this.key = key;
+			this.route = route;
+			this.value = value;
+			this.weight = weight;
+			this.expiresAt = expiresAt;
+		}
+	}
+
+	/**
+	 * Running totals behind the statistics
+	 */
+	private static class Counters {
+		private long hits;
+		private long misses;
+		private long stores;
+		private long rejections;
+		private long evictions;
+		private long expirations;
+
+		CacheStatistics toStatistics(int entries, long weight) {
+			return new CacheStatistics(hits, misses, stores, rejections, evictions, expirations, entries, weight);
+		}
+	}
+}
@@ -28,13 +28,20 @@
 package com.pearson.pdn.learningstudio.content;
 
 import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.pearson.pdn.learningstudio.core.AbstractService;
+import com.pearson.pdn.learningstudio.core.AuthContext;
+import com.pearson.pdn.learningstudio.core.Deadline;
+import com.pearson.pdn.learningstudio.core.RangedDownloader;
 import com.pearson.pdn.learningstudio.core.Response;
 import com.pearson.pdn.learningstudio.oauth.OAuthServiceFactory;
 
@@ -111,6 +118,29 @@ public class ContentService extends AbstractService {
 		return "LS-Library-Content-Java-V1";
 	}
 	
+	/**
+	 * Provides a view of this service whose requests must complete by the deadline,
+	 * including every request made by operations composed of several requests
+	 * 
+	 * @param deadline	Deadline of the calls made through the view
+	 * @return	View of this service
+	 */
+	@Override
+	public ContentService withDeadline(Deadline deadline) {
+		return (ContentService) super.withDeadline(deadline);
+	}
+	
+	/**
+	 * Provides a view of this service that authenticates as the given identity
+	 * 
+	 * @param auth	Identity of the calls made through the view
+	 * @return	View of this service
+	 */
+	@Override
+	public ContentService withAuth(AuthContext auth) {
+		return (ContentService) super.withAuth(auth);
+	}
+	
 	/**
 	 * Get items for a course with
 	 * Get /courses/{courseId}/items
@@ -126,6 +156,17 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getItems(String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getItemsAsync(String courseId) {
+		String relativeUrl = String.format(PATH_COURSES_ITEMS, courseId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get items for a course with
 	 * Get /courses/{courseId}/items
@@ -142,6 +183,18 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getUserItems(String,String)}
+	 * 
+	 * @param userId	ID of the user
+	 * @param courseId	ID of the course
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getUserItemsAsync(String userId, String courseId) {
+		String relativeUrl = String.format(PATH_USERS_COURSES_ITEMS, userId, courseId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get item hierarchy for a course with
 	 * Get /courses/{courseId}/itemHierarchy
@@ -157,6 +210,17 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getItemHierarchy(String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getItemHierarchyAsync(String courseId) {
+		String relativeUrl = String.format(PATH_COURSES_ITEMSHIERARCHY, courseId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get item hierarchy for a course with
 	 * Get /courses/{courseId}/itemHierarchy?expand=item,item.access,item.schedule,item.group
@@ -177,6 +241,21 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getItemHierarchy(String,String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param expandItems	Comma separated list of items to expand from: item,item.access,item.schedule,item.group
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getItemHierarchyAsync(final String courseId, final String expandItems) {
+		return callAsync(new Callable<Response>() {
+			public Response call() throws Exception {
+				return getItemHierarchy(courseId, expandItems);
+			}
+		});
+	}
+	
 	/**
 	 * Get item hierarchy for a course with
 	 * Get /users/{userId}/courses/{courseId}/itemHierarchy
@@ -193,6 +272,18 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getUserItemHierarchy(String,String)}
+	 * 
+	 * @param userId	ID of the user
+	 * @param courseId	ID of the course
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getUserItemHierarchyAsync(String userId, String courseId) {
+		String relativeUrl = String.format(PATH_USERS_COURSES_ITEMSHIERARCHY, userId, courseId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get item hierarchy for a course with
 	 * Get /users/{userId}/courses/{courseId}/itemHierarchy?expand=item,item.access,item.schedule,item.group
@@ -214,6 +305,22 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getUserItemHierarchy(String,String,String)}
+	 * 
+	 * @param userId	ID of the user
+	 * @param courseId	ID of the course
+	 * @param expandItems	Comma separated list of items to expand from: item,item.access,item.schedule,item.group
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getUserItemHierarchyAsync(final String userId, final String courseId, final String expandItems) {
+		return callAsync(new Callable<Response>() {
+			public Response call() throws Exception {
+				return getUserItemHierarchy(userId, courseId, expandItems);
+			}
+		});
+	}
+	
 	/**
 	 * Get a specific item for a course with
 	 * Get /courses/{courseId}/items/{itemId}
@@ -229,6 +336,17 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getItem(String,String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getItemAsync(String courseId, String itemId) {
+		String relativeUrl = String.format(PATH_COURSES_ITEMS_, courseId, itemId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get content for a specific item in a course with
 	 * getItem(courseId, itemId)
@@ -285,6 +403,21 @@ public class ContentService extends AbstractService {
 		throw new RuntimeException("No item content path found");
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getItemContent(String,String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param itemId	ID of the item
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getItemContentAsync(final String courseId, final String itemId) {
+		return callAsync(new Callable<Response>() {
+			public Response call() throws Exception {
+				return getItemContent(courseId, itemId);
+			}
+		});
+	}
+	
 	/**
 	 * Get links details from a specific item for a course with
 	 * Get /courses/{courseId}/items/{itemId}
@@ -370,6 +503,21 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getItemLinkDetails(String,String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param itemId	ID of the item
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getItemLinkDetailsAsync(final String courseId, final String itemId) {
+		return callAsync(new Callable<Response>() {
+			public Response call() throws Exception {
+				return getItemLinkDetails(courseId, itemId);
+			}
+		});
+	}
+	
 	/**
 	 * Get text multimedias by course with
 	 * GET /courses/{courseId}/textMultimedias
@@ -385,6 +533,17 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getTextMultimedias(String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getTextMultimediasAsync(String courseId) {
+		String relativeUrl = String.format(PATH_COURSES_TEXTMULTIMEDIAS, courseId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get specific text multimedia content by course with
 	 * GET /courses/{courseId}/textMultimedias
@@ -401,6 +560,18 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getTextMultimedia(String,String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param textMediaId	ID of the text media
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getTextMultimediaAsync(String courseId, String textMediaId) {
+		String relativeUrl = String.format(PATH_COURSES_TEXTMULTIMEDIAS_, courseId, textMediaId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get specific text multimedia content by course with UseSourceDomain parameter with
 	 * GET /courses/{courseId}/textMultimedias/{contentPath}
@@ -419,6 +590,19 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getTextMultimediasContent(String,String,String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param textMediaId	ID of the text multimedia
+	 * @param contentPath	Path of content
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getTextMultimediasContentAsync(String courseId, String textMediaId, String contentPath) {
+		String relativeUrl = String.format(PATH_COURSES_TEXTMULTIMEDIAS__CONTENTPATH_, courseId, textMediaId, contentPath);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	
 	/**
 	 * Get specific text multimedia content by course with UseSourceDomain parameter with
@@ -440,6 +624,23 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getTextMultimediasContent(String,String,String,boolean)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param textMediaId	ID of the text media
+	 * @param contentPath	Path of content
+	 * @param useSourceDomain	Indicator of whether to include domain in urls
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getTextMultimediasContentAsync(final String courseId, final String textMediaId, final String contentPath, final boolean useSourceDomain) {
+		return callAsync(new Callable<Response>() {
+			public Response call() throws Exception {
+				return getTextMultimediasContent(courseId, textMediaId, contentPath, useSourceDomain);
+			}
+		});
+	}
+	
 	/**
 	 * Get specific text multimedia content by course parameter with
 	 * getTextMultimedia(courseId, textMediaId)'s contentUrl 
@@ -454,6 +655,21 @@ public class ContentService extends AbstractService {
 		return getTextMultimediasContent(courseId,textMediaId,false);
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getTextMultimediasContent(String,String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param textMediaId	ID of the text media
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getTextMultimediasContentAsync(final String courseId, final String textMediaId) {
+		return callAsync(new Callable<Response>() {
+			public Response call() throws Exception {
+				return getTextMultimediasContent(courseId, textMediaId);
+			}
+		});
+	}
+	
 	/**
 	 * Get specific text multimedia content by course with UseSourceDomain parameter with
 	 * getTextMultimedia(courseId, textMediaId)'s contentUrl 
@@ -486,6 +702,22 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getTextMultimediasContent(String,String,boolean)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param textMediaId	ID of the text media
+	 * @param useSourceDomain	Indicator of whether to include domain in urls
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getTextMultimediasContentAsync(final String courseId, final String textMediaId, final boolean useSourceDomain) {
+		return callAsync(new Callable<Response>() {
+			public Response call() throws Exception {
+				return getTextMultimediasContent(courseId, textMediaId, useSourceDomain);
+			}
+		});
+	}
+	
 	/**
 	 * Get all MS Office documents in a course with
 	 * GET /courses/{courseId}/msOfficeDocuments
@@ -501,6 +733,17 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getMsOfficeDocuments(String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getMsOfficeDocumentsAsync(String courseId) {
+		String relativeUrl = String.format(PATH_COURSES_MSOFFICEDOCUMENTS, courseId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get a specific MS Office document in a course with
 	 * GET /courses/{courseId}/msOfficeDocuments/{msOfficeDocumentId}
@@ -517,6 +760,18 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getMsOfficeDocument(String,String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param msOfficeDocumentId	ID of the ms office document
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getMsOfficeDocumentAsync(String courseId, String msOfficeDocumentId) {
+		String relativeUrl = String.format(PATH_COURSES_MSOFFICEDOCUMENTS_, courseId, msOfficeDocumentId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get content for a specific MS Office Document in a course with
 	 * GET /courses/{courseId}/msOfficeDocuments/{msOfficeDocumentId}
@@ -543,6 +798,21 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getMsOfficeDocumentContent(String,String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param msOfficeDocumentId	ID of the ms office document
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getMsOfficeDocumentContentAsync(final String courseId, final String msOfficeDocumentId) {
+		return callAsync(new Callable<Response>() {
+			public Response call() throws Exception {
+				return getMsOfficeDocumentContent(courseId, msOfficeDocumentId);
+			}
+		});
+	}
+	
 	/**
 	 * Get content for a specific MS Office Document in a course with
 	 * GET /courses/{courseId}/msOfficeDocuments/{msOfficeDocumentId}
@@ -561,6 +831,19 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getMsOfficeDocumentContent(String,String,String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param msOfficeDocumentId	ID of the ms office document
+	 * @param contentPath	Path of the content
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getMsOfficeDocumentContentAsync(String courseId, String msOfficeDocumentId, String contentPath) {
+		String relativeUrl = String.format(PATH_COURSES_MSOFFICEDOCUMENTS_CONTENT_, courseId, msOfficeDocumentId, contentPath);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get the original of a specific MS Office document in a course with
 	 * GET /courses/{courseId}/msOfficeDocuments/{msOfficeDocumentId}/originalDocument
@@ -577,6 +860,117 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getMsOfficeDocumentOriginal(String,String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param msOfficeDocumentId	ID of the ms office document
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getMsOfficeDocumentOriginalAsync(String courseId, String msOfficeDocumentId) {
+		String relativeUrl = String.format(PATH_COURSES_MSOFFICEDOCUMENTS_ORIGINALDOCUMENT, courseId, msOfficeDocumentId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
+	/**
+	 * Download the original of a specific MS Office document in a course with
+	 * GET /courses/{courseId}/msOfficeDocuments/{msOfficeDocumentId}/originalDocument
+	 * using OAuth2 as a student, teacher or teaching assistant.
+	 * The document is copied straight to the destination without being held in memory.
+	 * 
+	 * @param courseId	ID of the course
+	 * @param msOfficeDocumentId	ID of the ms office document
+	 * @param path	File to write the document to. Left untouched when the request fails.
+	 * @return	Response object with details of status. Content is only set on error.
+	 * @throws IOException
+	 */
+	public Response getMsOfficeDocumentOriginal(String courseId, String msOfficeDocumentId, Path path) throws IOException {
+		String relativeUrl = String.format(PATH_COURSES_MSOFFICEDOCUMENTS_ORIGINALDOCUMENT, courseId, msOfficeDocumentId);
+		return doDownload(HttpMethod.GET,relativeUrl,path);
+	}
+	
+	/**
+	 * Asynchronous form of {@link #getMsOfficeDocumentOriginal(String,String,Path)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param msOfficeDocumentId	ID of the ms office document
+	 * @param path	File to write the document to. Left untouched when the request fails.
+	 * @return	Future of the Response object with details of status
+	 */
+	public CompletableFuture<Response> getMsOfficeDocumentOriginalAsync(final String courseId, final String msOfficeDocumentId, final Path path) {
+		return callAsync(new Callable<Response>() {
+			public Response call() throws Exception {
+				return getMsOfficeDocumentOriginal(courseId, msOfficeDocumentId, path);
+			}
+		});
+	}
+	
+	/**
+	 * Download the original of a specific MS Office document in a course with
+	 * GET /courses/{courseId}/msOfficeDocuments/{msOfficeDocumentId}/originalDocument
+	 * using OAuth2 as a student, teacher or teaching assistant.
+	 * The document is copied straight to the destination without being held in memory.
+	 * 
+	 * @param courseId	ID of the course
+	 * @param msOfficeDocumentId	ID of the ms office document
+	 * @param channel	Channel to write the document to
+	 * @return	Response object with details of status. Content is only set on error.
+	 * @throws IOException
+	 */
+	public Response getMsOfficeDocumentOriginal(String courseId, String msOfficeDocumentId, WritableByteChannel channel) throws IOException {
+		String relativeUrl = String.format(PATH_COURSES_MSOFFICEDOCUMENTS_ORIGINALDOCUMENT, courseId, msOfficeDocumentId);
+		return doDownload(HttpMethod.GET,relativeUrl,channel);
+	}
+	
+	/**
+	 * Asynchronous form of {@link #getMsOfficeDocumentOriginal(String,String,WritableByteChannel)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param msOfficeDocumentId	ID of the ms office document
+	 * @param channel	Channel to write the document to
+	 * @return	Future of the Response object with details of status
+	 */
+	public CompletableFuture<Response> getMsOfficeDocumentOriginalAsync(final String courseId, final String msOfficeDocumentId, final WritableByteChannel channel) {
+		return callAsync(new Callable<Response>() {
+			public Response call() throws Exception {
+				return getMsOfficeDocumentOriginal(courseId, msOfficeDocumentId, channel);
+			}
+		});
+	}
+	
+	/**
+	 * Download the original of a specific ms office document in a course with parallel ranges of
+	 * GET /courses/{courseId}/msOfficeDocuments/{msOfficeDocumentId}/originalDocument
+	 * using OAuth2 as a student, teacher or teaching assistant.
+	 * An interrupted download resumes with the ranges still missing. See {@link RangedDownloader}.
+	 * 
+	 * @param courseId	ID of the course
+	 * @param msOfficeDocumentId	ID of the ms office document
+	 * @param path	File to write the document to
+	 * @return	Response object with details of status. Content is only set on error.
+	 * @throws IOException
+	 */
+	public Response downloadMsOfficeDocumentOriginal(String courseId, String msOfficeDocumentId, Path path) throws IOException {
+		String relativeUrl = String.format(PATH_COURSES_MSOFFICEDOCUMENTS_ORIGINALDOCUMENT, courseId, msOfficeDocumentId);
+		return new RangedDownloader(this).download(relativeUrl, path);
+	}
+	
+	/**
+	 * Asynchronous form of {@link #downloadMsOfficeDocumentOriginal(String,String,Path)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param msOfficeDocumentId	ID of the ms office document
+	 * @param path	File to write the document to
+	 * @return	Future of the Response object with details of status
+	 */
+	public CompletableFuture<Response> downloadMsOfficeDocumentOriginalAsync(final String courseId, final String msOfficeDocumentId, final Path path) {
+		return callAsync(new Callable<Response>() {
+			public Response call() throws Exception {
+				return downloadMsOfficeDocumentOriginal(courseId, msOfficeDocumentId, path);
+			}
+		});
+	}
+	
 	/**
 	 * Get all web content uploads in a course with
 	 * GET /courses/{courseId}/webContentUploads
@@ -592,6 +986,17 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getWebContentUploads(String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getWebContentUploadsAsync(String courseId) {
+		String relativeUrl = String.format(PATH_COURSES_WEBCONTENTUPLOADS, courseId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get a specific MS Office document in a course with
 	 * GET /courses/{courseId}/webContentUploads/{webContentUploadId}
@@ -608,6 +1013,18 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getWebContentUpload(String,String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param webContentUploadId	ID of the ms office document
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getWebContentUploadAsync(String courseId, String webContentUploadId) {
+		String relativeUrl = String.format(PATH_COURSES_WEBCONTENTUPLOADS_, courseId, webContentUploadId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get a specific MS Office document in a course with
 	 * GET /courses/{courseId}/webContentUploads/{webContentUploadId}
@@ -625,19 +1042,130 @@ public class ContentService extends AbstractService {
 	}
 	
 	/**
-	 * Get content for a specific Web Content Upload in a course with
-	 * GET /courses/{courseId}/webContentUpload/{webContentUploadId}
-	 * GET /courses/{courseId}/webContentUpload/{webContentUploadId}/content/{contentPath}
-	 * using OAuth2 as a student, teacher or teaching assistant
+	 * Asynchronous form of {@link #getWebContentUploadOriginal(String,String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param webContentUploadId	ID of the ms office document
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getWebContentUploadOriginalAsync(String courseId, String webContentUploadId) {
+		String relativeUrl = String.format(PATH_COURSES_WEBCONTENTUPLOADS_ORIGINALDOCUMENT, courseId, webContentUploadId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
+	/**
+	 * Download the original of a specific web content upload in a course with
+	 * GET /courses/{courseId}/webContentUploads/{webContentUploadId}/originalDocument
+	 * using OAuth2 as a student, teacher or teaching assistant.
+	 * The document is copied straight to the destination without being held in memory.
 	 * 
 	 * @param courseId	ID of the course
 	 * @param webContentUploadId	ID of the web content upload
-	 * @return	Response object with details of status and content
+	 * @param path	File to write the document to. Left untouched when the request fails.
+	 * @return	Response object with details of status. Content is only set on error.
 	 * @throws IOException
 	 */
-	public Response getWebContentUploadContent(String courseId, String webContentUploadId) throws IOException {
-		Response response = getWebContentUpload(courseId, webContentUploadId);
-		if(response.isError()) {
+	public Response getWebContentUploadOriginal(String courseId, String webContentUploadId, Path path) throws IOException {
+		String relativeUrl = String.format(PATH_COURSES_WEBCONTENTUPLOADS_ORIGINALDOCUMENT, courseId, webContentUploadId);
+		return doDownload(HttpMethod.GET,relativeUrl,path);
+	}
+	
+	/**
+	 * Asynchronous form of {@link #getWebContentUploadOriginal(String,String,Path)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param webContentUploadId	ID of the web content upload
+	 * @param path	File to write the document to. Left untouched when the request fails.
+	 * @return	Future of the Response object with details of status
+	 */
+	public CompletableFuture<Response> getWebContentUploadOriginalAsync(final String courseId, final String webContentUploadId, final Path path) {
+		return callAsync(new Callable<Response>() {
+			public Response call() throws Exception {
+				return getWebContentUploadOriginal(courseId, webContentUploadId, path);
+			}
+		});
+	}
+	
+	/**
+	 * Download the original of a specific web content upload in a course with
+	 * GET /courses/{courseId}/webContentUploads/{webContentUploadId}/originalDocument
+	 * using OAuth2 as a student, teacher or teaching assistant.
+	 * The document is copied straight to the destination without being held in memory.
+	 * 
+	 * @param courseId	ID of the course
+	 * @param webContentUploadId	ID of the web content upload
+	 * @param channel	Channel to write the document to
+	 * @return	Response object with details of status. Content is only set on error.
+	 * @throws IOException
+	 */
+	public Response getWebContentUploadOriginal(String courseId, String webContentUploadId, WritableByteChannel channel) throws IOException {
+		String relativeUrl = String.format(PATH_COURSES_WEBCONTENTUPLOADS_ORIGINALDOCUMENT, courseId, webContentUploadId);
+		return doDownload(HttpMethod.GET,relativeUrl,channel);
+	}
+	
+	/**
+	 * Asynchronous form of {@link #getWebContentUploadOriginal(String,String,WritableByteChannel)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param webContentUploadId	ID of the web content upload
+	 * @param channel	Channel to write the document to
+	 * @return	Future of the Response object with details of status
+	 */
+	public CompletableFuture<Response> getWebContentUploadOriginalAsync(final String courseId, final String webContentUploadId, final WritableByteChannel channel) {
+		return callAsync(new Callable<Response>() {
+			public Response call() throws Exception {
+				return getWebContentUploadOriginal(courseId, webContentUploadId, channel);
+			}
+		});
+	}
+	
+	/**
+	 * Download the original of a specific web content upload in a course with parallel ranges of
+	 * GET /courses/{courseId}/webContentUploads/{webContentUploadId}/originalDocument
+	 * using OAuth2 as a student, teacher or teaching assistant.
+	 * An interrupted download resumes with the ranges still missing. See {@link RangedDownloader}.
+	 * 
+	 * @param courseId	ID of the course
+	 * @param webContentUploadId	ID of the web content upload
+	 * @param path	File to write the document to
+	 * @return	Response object with details of status. Content is only set on error.
+	 * @throws IOException
+	 */
+	public Response downloadWebContentUploadOriginal(String courseId, String webContentUploadId, Path path) throws IOException {
+		String relativeUrl = String.format(PATH_COURSES_WEBCONTENTUPLOADS_ORIGINALDOCUMENT, courseId, webContentUploadId);
+		return new RangedDownloader(this).download(relativeUrl, path);
+	}
+	
+	/**
+	 * Asynchronous form of {@link #downloadWebContentUploadOriginal(String,String,Path)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param webContentUploadId	ID of the web content upload
+	 * @param path	File to write the document to
+	 * @return	Future of the Response object with details of status
+	 */
+	public CompletableFuture<Response> downloadWebContentUploadOriginalAsync(final String courseId, final String webContentUploadId, final Path path) {
+		return callAsync(new Callable<Response>() {
+			public Response call() throws Exception {
+				return downloadWebContentUploadOriginal(courseId, webContentUploadId, path);
+			}
+		});
+	}
+	
+	/**
+	 * Get content for a specific Web Content Upload in a course with
+	 * GET /courses/{courseId}/webContentUpload/{webContentUploadId}
+	 * GET /courses/{courseId}/webContentUpload/{webContentUploadId}/content/{contentPath}
+	 * using OAuth2 as a student, teacher or teaching assistant
+	 * 
+	 * @param courseId	ID of the course
+	 * @param webContentUploadId	ID of the web content upload
+	 * @return	Response object with details of status and content
+	 * @throws IOException
+	 */
+	public Response getWebContentUploadContent(String courseId, String webContentUploadId) throws IOException {
+		Response response = getWebContentUpload(courseId, webContentUploadId);
+		if(response.isError()) {
 			return response;
 		}
 		
@@ -650,6 +1178,21 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getWebContentUploadContent(String,String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param webContentUploadId	ID of the web content upload
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getWebContentUploadContentAsync(final String courseId, final String webContentUploadId) {
+		return callAsync(new Callable<Response>() {
+			public Response call() throws Exception {
+				return getWebContentUploadContent(courseId, webContentUploadId);
+			}
+		});
+	}
+	
 	/**
 	 * Get content for a specific Web Content Upload in a course with
 	 * GET /courses/{courseId}/webContentUpload/{webContentUploadId}
@@ -668,6 +1211,19 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getWebContentUploadContent(String,String,String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param webContentUploadId	ID of the web content upload
+	 * @param contentPath	Path of the content
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getWebContentUploadContentAsync(String courseId, String webContentUploadId, String contentPath) {
+		String relativeUrl = String.format(PATH_COURSES_WEBCONTENTUPLOADS_CONTENT_, courseId, webContentUploadId, contentPath);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get hierarchy of a discussion thread response with
 	 * GET /courses/{courseId}/threadeddiscussions/{threadId}/topics/{topicId}/responses/{responseId}/responseHierarchy
@@ -686,6 +1242,20 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getThreadedDiscussionResponseHierarchy(String,String,String,String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param threadId	ID of the thread
+	 * @param topicId	ID of the topic
+	 * @param responseId	ID of the response	
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getThreadedDiscussionResponseHierarchyAsync(String courseId, String threadId, String topicId, String responseId) {
+		String relativeUrl = String.format(PATH_COURSES_THREADEDDISCUSSIONS_TOPICS_RESPONSES_RESPONSEHIEARCHY, courseId, threadId, topicId, responseId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get all user's view statuses of a discussion thread response with
 	 * GET /courses/{courseId}/threadeddiscussions/{threadId}/topics/{topicId}/userviewresponses/{responseId}/userviewresponses
@@ -704,6 +1274,20 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getThreadedDiscussionUserViewResponses(String,String,String,String,String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param threadId	ID of the thread
+	 * @param topicId	ID of the topic
+	 * @param responseId	ID of the response	
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getThreadedDiscussionUserViewResponsesAsync(String userId, String courseId, String threadId, String topicId, String responseId) {
+		String relativeUrl = String.format(PATH_USERS_COURSES_THREADEDDISCUSSIONS_TOPICS_USERVIEWRESPONSES_USERVIEWRESPONSES, userId, courseId, threadId, topicId, responseId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get all user's view statuses of a discussion thread response with
 	 * GET /courses/{courseId}/threadeddiscussions/{threadId}/topics/{topicId}/userviewresponses/{responseId}/userviewresponses?depth={depth}
@@ -723,6 +1307,21 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getThreadedDiscussionUserViewResponses(String,String,String,String,String,int)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param threadId	ID of the thread
+	 * @param topicId	ID of the topic
+	 * @param responseId	ID of the response	
+	 * @param depth	Number of levels to traverse
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getThreadedDiscussionUserViewResponsesAsync(String userId, String courseId, String threadId, String topicId, String responseId, int depth) {
+		String relativeUrl = String.format(PATH_USERS_COURSES_THREADEDDISCUSSIONS_TOPICS_USERVIEWRESPONSES_USERVIEWRESPONSES__DEPTH, userId, courseId, threadId, topicId, responseId, depth);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get all user's view statuses of a discussion thread topic with
 	 * GET /courses/{courseId}/threadeddiscussions/{threadId}/topics/{topicId}/userviewresponses
@@ -740,6 +1339,19 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getThreadedDiscussionTopicUserViewResponses(String,String,String,String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param threadId	ID of the thread
+	 * @param topicId	ID of the topic
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getThreadedDiscussionTopicUserViewResponsesAsync(String userId, String courseId, String threadId, String topicId) {
+		String relativeUrl = String.format(PATH_USERS_COURSES_THREADEDDISCUSSIONS_TOPICS_USERVIEWRESPONSES, userId, courseId, threadId, topicId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get all user's view statuses of a discussion thread topic with
 	 * GET /courses/{courseId}/threadeddiscussions/{threadId}/topics/{topicId}/userviewresponses?depth={depth}
@@ -758,6 +1370,20 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getThreadedDiscussionTopicUserViewResponses(String,String,String,String,int)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param threadId	ID of the thread
+	 * @param topicId	ID of the topic
+	 * @param depth	Number of levels to traverse
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getThreadedDiscussionTopicUserViewResponsesAsync(String userId, String courseId, String threadId, String topicId, int depth) {
+		String relativeUrl = String.format(PATH_USERS_COURSES_THREADEDDISCUSSIONS_TOPICS_USERVIEWRESPONSES__DEPTH, userId, courseId, threadId, topicId, depth);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get hierarchy of a discussion thread topic with
 	 * GET /courses/{courseId}/threadeddiscussions/{threadId}/topics/{topicId}/responseHierarchy
@@ -775,6 +1401,19 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getThreadedDiscussionTopicHierarchy(String,String,String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param threadId	ID of the thread
+	 * @param topicId	ID of the topic	
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getThreadedDiscussionTopicHierarchyAsync(String courseId, String threadId, String topicId) {
+		String relativeUrl = String.format(PATH_COURSES_THREADEDDISCUSSIONS_TOPICS_RESPONSEHIEARCHY, courseId, threadId, topicId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get count of responses for a specific response with
 	 * GET /courses/{courseId}/threadeddiscussions/{threadId}/topics/{topicId}/responses/{responseId}/responseCounts
@@ -793,6 +1432,20 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getThreadedDiscussionResponseCount(String,String,String,String,String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param threadId	ID of the thread
+	 * @param topicId	ID of the topic
+	 * @param responseId	ID of the response	
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getThreadedDiscussionResponseCountAsync(String userId, String courseId, String threadId, String topicId, String responseId) {
+		String relativeUrl = String.format(PATH_USERS_COURSES_THREADEDDISCUSSIONS_TOPICS_RESPONSES_RESPONSECOUNTS, userId, courseId, threadId, topicId, responseId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get count of responses for a specific response with
 	 * GET /courses/{courseId}/threadeddiscussions/{threadId}/topics/{topicId}/responses/{responseId}/responseCounts?depth={depth}
@@ -812,6 +1465,21 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getThreadedDiscussionResponseCount(String,String,String,String,String,int)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param threadId	ID of the thread
+	 * @param topicId	ID of the topic
+	 * @param responseId	ID of the response	
+	 * @param depth	Number of levels to traverse
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getThreadedDiscussionResponseCountAsync(String userId, String courseId, String threadId, String topicId, String responseId, int depth) {
+		String relativeUrl = String.format(PATH_USERS_COURSES_THREADEDDISCUSSIONS_TOPICS_RESPONSES_RESPONSECOUNTS__DEPTH, userId, courseId, threadId, topicId, responseId, depth);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get count of responses for a specific topic with
 	 * GET /courses/{courseId}/threadeddiscussions/{threadId}/topics/{topicId}/responseCounts
@@ -829,6 +1497,19 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getThreadedDiscussionTopicResponseCount(String,String,String,String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param threadId	ID of the thread
+	 * @param topicId	ID of the topic
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getThreadedDiscussionTopicResponseCountAsync(String userId, String courseId, String threadId, String topicId) {
+		String relativeUrl = String.format(PATH_USERS_COURSES_THREADEDDISCUSSIONS_TOPICS_RESPONSECOUNTS, userId, courseId, threadId, topicId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get count of responses for a specific topic with
 	 * GET /courses/{courseId}/threadeddiscussions/{threadId}/topics/{topicId}/responseCounts?depth={depth}
@@ -847,6 +1528,20 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getThreadedDiscussionTopicResponseCount(String,String,String,String,int)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param threadId	ID of the thread
+	 * @param topicId	ID of the topic
+	 * @param depth	Number of levels to traverse
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getThreadedDiscussionTopicResponseCountAsync(String userId, String courseId, String threadId, String topicId, int depth) {
+		String relativeUrl = String.format(PATH_USERS_COURSES_THREADEDDISCUSSIONS_TOPICS_RESPONSECOUNTS__DEPTH, userId, courseId, threadId, topicId, depth);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get branch hierarchy to a discussion thread response with
 	 * GET /courses/{courseId}/threadeddiscussions/{threadId}/topics/{topicId}/responses/{responseId}/responseBranch
@@ -865,6 +1560,20 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getThreadedDiscussionResponseBranch(String,String,String,String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param threadId	ID of the thread
+	 * @param topicId	ID of the topic
+	 * @param responseId	ID of the response	
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getThreadedDiscussionResponseBranchAsync(String courseId, String threadId, String topicId, String responseId) {
+		String relativeUrl = String.format(PATH_COURSES_THREADEDDISCUSSIONS_TOPICS_RESPONSES_RESPONSEBRANCH, courseId, threadId, topicId, responseId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get author of a discussion thread response with
 	 * GET /courses/{courseId}/threadeddiscussions/{threadId}/topics/{topicId}/responses/{responseId}/responseAuthor
@@ -883,6 +1592,20 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getThreadedDiscussionResponseAuthor(String,String,String,String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param threadId	ID of the thread
+	 * @param topicId	ID of the topic
+	 * @param responseId	ID of the response	
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getThreadedDiscussionResponseAuthorAsync(String courseId, String threadId, String topicId, String responseId) {
+		String relativeUrl = String.format(PATH_COURSES_THREADEDDISCUSSIONS_TOPICS_RESPONSES_RESPONSEAUTHOR, courseId, threadId, topicId, responseId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get response and author composite of a discussion thread response with
 	 * GET /courses/{courseId}/threadeddiscussions/{threadId}/topics/{topicId}/responses/{responseId}/responseAndAuthorComps
@@ -901,6 +1624,20 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getThreadedDiscussionResponseAndAuthorComposite(String,String,String,String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param threadId	ID of the thread
+	 * @param topicId	ID of the topic
+	 * @param responseId	ID of the response	
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getThreadedDiscussionResponseAndAuthorCompositeAsync(String courseId, String threadId, String topicId, String responseId) {
+		String relativeUrl = String.format(PATH_COURSES_THREADEDDISCUSSIONS_TOPICS_RESPONSES_RESPONSEANDAUTHORCOMPS, courseId, threadId, topicId, responseId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	
 	/**
 	 * Get response and author composite for a discussion thread response at a specified depth with
@@ -921,6 +1658,21 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getThreadedDiscussionResponseAndAuthorComposite(String,String,String,String,int)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param threadId	ID of the thread
+	 * @param topicId	ID of the topic
+	 * @param responseId	ID of the response	
+	 * @param depth		Max depth to traverse
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getThreadedDiscussionResponseAndAuthorCompositeAsync(String courseId, String threadId, String topicId, String responseId, int depth) {
+		String relativeUrl = String.format(PATH_COURSES_THREADEDDISCUSSIONS_TOPICS_RESPONSES_RESPONSEANDAUTHORCOMPS__DEPTH, courseId, threadId, topicId, responseId, depth);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get response and author composite for a discussion thread topic with
 	 * GET /courses/{courseId}/threadeddiscussions/{threadId}/topics/{topicId}/responseAndAuthorComps/{responseId}/responseAndAuthorComps
@@ -938,6 +1690,19 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getThreadedDiscussionTopicResponseAndAuthorComposite(String,String,String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param threadId	ID of the thread
+	 * @param topicId	ID of the topic
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getThreadedDiscussionTopicResponseAndAuthorCompositeAsync(String courseId, String threadId, String topicId) {
+		String relativeUrl = String.format(PATH_COURSES_THREADEDDISCUSSIONS_TOPICS_RESPONSEANDAUTHORCOMPS, courseId, threadId, topicId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	
 	/**
 	 * Get response and author composite of a discussion thread topic at a specified depth with
@@ -957,6 +1722,20 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getThreadedDiscussionTopicResponseAndAuthorComposite(String,String,String,int)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param threadId	ID of the thread
+	 * @param topicId	ID of the topic
+	 * @param depth		Max depth to traverse
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getThreadedDiscussionTopicResponseAndAuthorCompositeAsync(String courseId, String threadId, String topicId, int depth) {
+		String relativeUrl = String.format(PATH_COURSES_THREADEDDISCUSSIONS_TOPICS_RESPONSEANDAUTHORCOMPS__DEPTH, courseId, threadId, topicId, depth);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get a user's last threaded discussion response in a course with
 	 * GET /users/{userId}/courses/{courseId}/threadeddiscussions/lastResponse
@@ -973,6 +1752,18 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getLastThreadedDiscussionResponse(String,String)}
+	 * 
+	 * @param userId	ID of the user
+	 * @param courseId	ID of the course
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getLastThreadedDiscussionResponseAsync(String userId, String courseId) {
+		String relativeUrl = String.format(PATH_USERS_COURSES_THREADEDDISCUSSIONS__LASTRESPONSE, userId, courseId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get threaded dicussions for a course with
 	 * GET /courses/{courseId}/threadeddiscussions
@@ -988,6 +1779,17 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getThreadedDiscussions(String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getThreadedDiscussionsAsync(String courseId) {
+		String relativeUrl = String.format(PATH_COURSES_THREADEDDISCUSSIONS, courseId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get threaded dicussions for a course with
 	 * GET /courses/{courseId}/threadeddiscussions?UseSourceDomain={useSourceDomain}
@@ -1007,6 +1809,21 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getThreadedDiscussions(String,boolean)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param useSourceDomain	Indicator of whether to use the source domain in links
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getThreadedDiscussionsAsync(final String courseId, final boolean useSourceDomain) {
+		return callAsync(new Callable<Response>() {
+			public Response call() throws Exception {
+				return getThreadedDiscussions(courseId, useSourceDomain);
+			}
+		});
+	}
+	
 	/**
 	 * Get threaded dicussion topics for a course with
 	 * GET /courses/{courseId}/threadeddiscussions/{threadId}/topics
@@ -1023,6 +1840,18 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getThreadedDiscussionTopics(String,String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param threadId	ID of the thread
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getThreadedDiscussionTopicsAsync(String courseId, String threadId) {
+		String relativeUrl = String.format(PATH_COURSES_THREADEDDISCUSSIONS_TOPICS, courseId, threadId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get threaded dicussion topics for a course with
 	 * GET /courses/{courseId}/threadeddiscussions/{threadId}/topics?UseSourceDomain={useSourceDomain}
@@ -1043,6 +1872,22 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getThreadedDiscussionTopics(String,String,boolean)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param threadId	ID of the thread
+	 * @param useSourceDomain	Indicator of whether to use the source domain in links
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getThreadedDiscussionTopicsAsync(final String courseId, final String threadId, final boolean useSourceDomain) {
+		return callAsync(new Callable<Response>() {
+			public Response call() throws Exception {
+				return getThreadedDiscussionTopics(courseId, threadId, useSourceDomain);
+			}
+		});
+	}
+	
 	/**
 	 * Get threaded dicussion topics for a course with
 	 * GET /courses/{courseId}/threadeddiscussions/{threadId}/topics/{topicId}
@@ -1060,6 +1905,19 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getThreadedDiscussionTopic(String,String,String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param threadId	ID of the thread
+	 * @param topicId	ID of the topic
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getThreadedDiscussionTopicAsync(String courseId, String threadId, String topicId) {
+		String relativeUrl = String.format(PATH_COURSES_THREADEDDISCUSSIONS_TOPICS_, courseId, threadId, topicId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get threaded dicussion topics for a course with
 	 * GET /courses/{courseId}/threadeddiscussions/{threadId}/topics/{topicId}?UseSourceDomain={useSourceDomain}
@@ -1081,6 +1939,23 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getThreadedDiscussionTopic(String,String,String,boolean)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param threadId	ID of the thread
+	 * @param topicId	ID of the topic
+	 * @param useSourceDomain	Indicator of whether to use the source domain in links
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getThreadedDiscussionTopicAsync(final String courseId, final String threadId, final String topicId, final boolean useSourceDomain) {
+		return callAsync(new Callable<Response>() {
+			public Response call() throws Exception {
+				return getThreadedDiscussionTopic(courseId, threadId, topicId, useSourceDomain);
+			}
+		});
+	}
+	
 	/**
 	 * Get read status of a user's discussion thread response with
 	 * GET /users/{userId}/courses/{courseId}/threadeddiscussions/{threadId}/topics/{topicId}/responses/{responseId}/readStatus
@@ -1100,6 +1975,21 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getThreadedDiscussionResponseReadStatus(String,String,String,String,String)}
+	 * 
+	 * @param userId	ID of the user
+	 * @param courseId	ID of the course
+	 * @param threadId	ID of the thread
+	 * @param topicId	ID of the topic
+	 * @param responseId	ID of the response
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getThreadedDiscussionResponseReadStatusAsync(String userId, String courseId, String threadId, String topicId, String responseId) {
+		String relativeUrl = String.format(PATH_USERS_COURSES_THREADEDDISCUSSIONS_TOPICS_RESPONSE_READSTATUS, userId, courseId, threadId, topicId, responseId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get read status of a user's discussion thread response with
 	 * PUT /users/{userId}/courses/{courseId}/threadeddiscussions/{threadId}/topics/{topicId}/responses/{responseId}/readStatus
@@ -1120,6 +2010,22 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #updateThreadedDiscussionResponseReadStatus(String,String,String,String,String,String)}
+	 * 
+	 * @param userId	ID of the user
+	 * @param courseId	ID of the course
+	 * @param threadId	ID of the thread
+	 * @param topicId	ID of the topic
+	 * @param responseId	ID of the response
+	 * @param readStatus	Read status Message
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> updateThreadedDiscussionResponseReadStatusAsync(String userId, String courseId, String threadId, String topicId, String responseId, String readStatus) {
+		String relativeUrl = String.format(PATH_USERS_COURSES_THREADEDDISCUSSIONS_TOPICS_RESPONSE_READSTATUS, userId, courseId, threadId, topicId, responseId);
+		return doMethodAsync(HttpMethod.PUT,relativeUrl, readStatus);
+	}
+	
 	/**
 	 * Get responses to a specific discussion thread response with
 	 * GET /courses/{courseId}/threadeddiscussions/{threadId}/topics/{topicId}/responses/{responseId}/responses
@@ -1138,6 +2044,20 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getThreadedDiscussionResponses(String,String,String,String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param threadId	ID of the thread
+	 * @param topicId	ID of the topic
+	 * @param responseId	ID of the response
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getThreadedDiscussionResponsesAsync(String courseId, String threadId, String topicId, String responseId) {
+		String relativeUrl = String.format(PATH_COURSES_THREADEDDISCUSSIONS_TOPICS_RESPONSES_RESPONSES, courseId, threadId, topicId, responseId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Create a response to a specific discussion thread response with
 	 * POST /courses/{courseId}/threadeddiscussions/{threadId}/topics/{topicId}/responses/{responseId}/responses
@@ -1157,6 +2077,21 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #createThreadedDiscussionResponse(String,String,String,String,String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param threadId	ID of the thread
+	 * @param topicId	ID of the topic
+	 * @param responseId	ID of the response
+	 * @param responseMessage	Response message to create
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> createThreadedDiscussionResponseAsync(String courseId, String threadId, String topicId, String responseId, String responseMessage) {
+		String relativeUrl = String.format(PATH_COURSES_THREADEDDISCUSSIONS_TOPICS_RESPONSES_RESPONSES, courseId, threadId, topicId, responseId);
+		return doMethodAsync(HttpMethod.POST,relativeUrl,responseMessage);
+	}
+	
 	/**
 	 * Create a response to a specific discussion thread topic with
 	 * POST /courses/{courseId}/threadeddiscussions/{threadId}/topics/{topicId}/responses
@@ -1175,6 +2110,20 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #createThreadedDiscussionResponse(String,String,String,String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param threadId	ID of the thread
+	 * @param topicId	ID of the topic
+	 * @param responseMessage	Response message to create
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> createThreadedDiscussionResponseAsync(String courseId, String threadId, String topicId, String responseMessage) {
+		String relativeUrl = String.format(PATH_COURSES_THREADEDDISCUSSIONS_TOPICS_RESPONSES, courseId, threadId, topicId);
+		return doMethodAsync(HttpMethod.POST,relativeUrl,responseMessage);
+	}
+	
 	/**
 	 * Update a response to a specific discussion thread response with
 	 * PUT /courses/{courseId}/threadeddiscussions/{threadId}/topics/{topicId}/responses/{responseId}
@@ -1213,6 +2162,20 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getThreadedDiscussionResponse(String,String,String,String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param threadId	ID of the thread
+	 * @param topicId	ID of the topic
+	 * @param responseId	ID of the response
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getThreadedDiscussionResponseAsync(String courseId, String threadId, String topicId, String responseId) {
+		String relativeUrl = String.format(PATH_COURSES_THREADEDDISCUSSIONS_TOPICS_RESPONSES_, courseId, threadId, topicId, responseId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Delete a specific discussion thread response with
 	 * DELETE /courses/{courseId}/threadeddiscussions/{threadId}/topics/{topicId}/responses/{responseId}
@@ -1231,4 +2194,18 @@ public class ContentService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #deleteThreadedDiscussionResponse(String,String,String,String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param threadId	ID of the thread
+	 * @param topicId	ID of the topic
+	 * @param responseId	ID of the response
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> deleteThreadedDiscussionResponseAsync(String courseId, String threadId, String topicId, String responseId) {
+		String relativeUrl = String.format(PATH_COURSES_THREADEDDISCUSSIONS_TOPICS_RESPONSES_, courseId, threadId, topicId, responseId);
+		return doMethodAsync(HttpMethod.DELETE,relativeUrl,NO_CONTENT);
+	}
+	
 }
@@ -34,31 +34,62 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
 import java.util.TimeZone;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
 import java.net.URL;
-import java.io.BufferedReader;
-import java.io.DataOutputStream;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.PushbackInputStream;
 
-import javax.net.ssl.HttpsURLConnection;
-
-import org.apache.commons.codec.binary.Base64;
-import org.apache.commons.codec.binary.Base64InputStream;
 import org.apache.log4j.Logger;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
+import com.pearson.pdn.learningstudio.cache.CachedResponse;
+import com.pearson.pdn.learningstudio.cache.DiskCache;
+import com.pearson.pdn.learningstudio.cache.HttpCache;
+import com.pearson.pdn.learningstudio.cache.ResponseCache;
 import com.pearson.pdn.learningstudio.core.AbstractService;
 import com.pearson.pdn.learningstudio.oauth.*;
+import com.pearson.pdn.learningstudio.oauth.config.OAuthConfig;
 import com.pearson.pdn.learningstudio.oauth.request.*;
+import com.pearson.pdn.learningstudio.transport.AsyncTransport;
+import com.pearson.pdn.learningstudio.transport.FilterTransport;
+import com.pearson.pdn.learningstudio.transport.PooledTransport;
+import com.pearson.pdn.learningstudio.transport.Routes;
+import com.pearson.pdn.learningstudio.transport.Transport;
+import com.pearson.pdn.learningstudio.transport.TransportRequest;
+import com.pearson.pdn.learningstudio.transport.TransportResponse;
 
 /**
  * Base functionality of all services
  */
-public abstract class AbstractService {
+public abstract class AbstractService implements Cloneable {
 	/**
 	 * The format that data is accepted and returned
 	 */
@@ -84,18 +115,37 @@ public abstract class AbstractService {
 	
 	private final static String API_DOMAIN = "https://api.learningstudio.com";
 	private final static String PATH_SYSTEMDATETIME = "/systemDateTime";
+	private final static String ACCEPT_ENCODING = "gzip, deflate";
+	private final static int STATUS_OK = 200;
+	private final static int STATUS_NOT_MODIFIED = 304;
+	private final static int STATUS_UNAUTHORIZED = 401;
 	
 	protected final static String NO_CONTENT = "";
 	
+	private final static SingleFlight singleFlight = new SingleFlight();
+	private static ExecutorService defaultExecutor;
+	private static ScheduledThreadPoolExecutor scheduler;
+	
 	protected JsonParser jsonParser;
 	protected Gson gson;
 	
 	private OAuthServiceFactory oauthServiceFactory;
-	private AuthMethod authMethod;
-	private String username;
-	private String password;
+	private volatile AuthContext auth;
 	private DataFormat dataFormat;
-	private OAuthRequest currentOAuthRequest;
+	private Transport transport;
+	private Executor executor;
+	private boolean streamingMode;
+	private boolean compressionEnabled = true;
+	private boolean coalescingEnabled = true;
+	private HttpCache httpCache;
+	private ResponseCache responseCache;
+	private DiskCache diskCache;
+	private RetryPolicy retryPolicy;
+	private HedgePolicy hedgePolicy;
+	private long connectTimeoutMillis = 10000;
+	private long readTimeoutMillis = 60000;
+	private ConcurrentMap<String,Long> routeReadTimeouts = new ConcurrentHashMap<String,Long>();
+	private Deadline deadline;
 		
 	/**
 	 * Constructs an AbstractService
@@ -107,6 +157,49 @@ public abstract class AbstractService {
 		this.jsonParser = new JsonParser();
 		this.gson = new GsonBuilder().setPrettyPrinting().create();
 		this.dataFormat = DataFormat.JSON;
+		this.transport = PooledTransport.getSharedInstance();
+		this.executor = getDefaultExecutor();
+	}
+	
+	/**
+	 * Provides the executor shared by all services that were not given one
+	 * 
+	 * @return	Executor of daemon threads
+	 */
+	static synchronized Executor getDefaultExecutor() {
+		if(defaultExecutor == null) {
+			final AtomicInteger threadCount = new AtomicInteger();
+			defaultExecutor = Executors.newCachedThreadPool(new ThreadFactory() {
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, "LS-Service-Async-" + threadCount.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+		return defaultExecutor;
+	}
+	
+	/**
+	 * Runs a task after a delay on a daemon thread shared by the services and transports of the library.
+	 * Tasks must be short, longer work is handed to an executor.
+	 * 
+	 * @param task	The task to run
+	 * @param delayMillis	Milliseconds to wait
+	 * @return	Future of the task. A cancelled task is removed from the scheduler at once.
+	 */
+	public static synchronized ScheduledFuture<?> schedule(Runnable task, long delayMillis) {
+		if(scheduler == null) {
+			scheduler = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, "LS-Service-Scheduler");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+			scheduler.setRemoveOnCancelPolicy(true);
+		}
+		return scheduler.schedule(task, delayMillis, TimeUnit.MILLISECONDS);
 	}
 	
 	/**
@@ -134,14 +227,309 @@ public abstract class AbstractService {
 		this.dataFormat = dataFormat;
 	}
 
+	/**
+	 * Get the Transport used to send requests
+	 * 
+	 * @return	Transport
+	 */
+	public Transport getTransport() {
+		return transport;
+	}
+
+	/**
+	 * Set the Transport used to send requests.
+	 * All services share a pooled transport unless another is provided.
+	 * 
+	 * @param transport
+	 */
+	public void setTransport(Transport transport) {
+		this.transport = transport;
+	}
+
+	/**
+	 * Get the Executor that runs asynchronous operations
+	 * 
+	 * @return	Executor
+	 */
+	public Executor getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * Set the Executor that runs asynchronous operations
+	 * 
+	 * @param executor
+	 */
+	public void setExecutor(Executor executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Indicates whether successful responses hold the live body
+	 * 
+	 * @return	Boolean indicator of streaming mode
+	 */
+	public boolean isStreamingMode() {
+		return streamingMode;
+	}
+
+	/**
+	 * Set whether successful responses hold the live body instead of buffered content.
+	 * In streaming mode every Response must be closed, or its content read, to release the connection.
+	 * 
+	 * @param streamingMode
+	 */
+	public void setStreamingMode(boolean streamingMode) {
+		this.streamingMode = streamingMode;
+	}
+
+	/**
+	 * Indicates whether compressed responses are requested
+	 * 
+	 * @return	Boolean indicator of compression
+	 */
+	public boolean isCompressionEnabled() {
+		return compressionEnabled;
+	}
+
+	/**
+	 * Set whether gzip or deflate compressed responses are requested. Enabled by default.
+	 * Compressed bodies are decoded as they are read.
+	 * 
+	 * @param compressionEnabled
+	 */
+	public void setCompressionEnabled(boolean compressionEnabled) {
+		this.compressionEnabled = compressionEnabled;
+	}
+
+	/**
+	 * Indicates whether concurrent identical GET requests share one request
+	 * 
+	 * @return	Boolean indicator of coalescing
+	 */
+	public boolean isCoalescingEnabled() {
+		return coalescingEnabled;
+	}
+
+	/**
+	 * Set whether concurrent identical GET requests share one request. Enabled by default.
+	 * Requests are identical when they have the same URL and authenticated identity, across all services.
+	 * Callers waiting on another caller's request receive a copy of its Response.
+	 * Requests with extra headers and requests in streaming mode are never shared.
+	 * 
+	 * @param coalescingEnabled
+	 */
+	public void setCoalescingEnabled(boolean coalescingEnabled) {
+		this.coalescingEnabled = coalescingEnabled;
+	}
+
+	/**
+	 * Get the cache revalidating GET responses
+	 * 
+	 * @return	HttpCache or null when caching is disabled
+	 */
+	public HttpCache getHttpCache() {
+		return httpCache;
+	}
+
+	/**
+	 * Set the cache revalidating GET responses. Disabled by default.
+	 * A cache may be shared between services, entries are kept apart by authenticated identity.
+	 * 
+	 * @param httpCache	HttpCache or null to disable caching
+	 */
+	public void setHttpCache(HttpCache httpCache) {
+		this.httpCache = httpCache;
+	}
+
+	/**
+	 * Get the cache serving GET responses without contacting the server
+	 * 
+	 * @return	ResponseCache or null when disabled
+	 */
+	public ResponseCache getResponseCache() {
+		return responseCache;
+	}
+
+	/**
+	 * Set the cache serving GET responses without contacting the server. Disabled by default.
+	 * Only routes given a time to live in the cache are served from it.
+	 * A cache may be shared between services, entries are kept apart by authenticated identity.
+	 * 
+	 * @param responseCache	ResponseCache or null to disable
+	 */
+	public void setResponseCache(ResponseCache responseCache) {
+		this.responseCache = responseCache;
+	}
+
+	/**
+	 * Get the persistent cache of GET responses
+	 * 
+	 * @return	DiskCache or null when disabled
+	 */
+	public DiskCache getDiskCache() {
+		return diskCache;
+	}
+
+	/**
+	 * Set the persistent cache of GET responses. Disabled by default.
+	 * Suited to large bodies that rarely change, such as course content, which then survive a restart.
+	 * Stored responses are revalidated like those of the HttpCache, unless the DiskCache has a time to live.
+	 * Responses to users of the password grant are only stored when the token manager has a TokenFile,
+	 * whose key identifies their credential across restarts.
+	 * 
+	 * @param diskCache	DiskCache or null to disable
+	 */
+	public void setDiskCache(DiskCache diskCache) {
+		this.diskCache = diskCache;
+	}
+
+	/**
+	 * Get the policy repeating idempotent requests after transient failures
+	 * 
+	 * @return	RetryPolicy or null when requests are not retried
+	 */
+	public RetryPolicy getRetryPolicy() {
+		return retryPolicy;
+	}
+
+	/**
+	 * Set the policy repeating idempotent requests after transient failures. Disabled by default.
+	 * Each attempt is signed again. A policy may be shared between services so they share its budget.
+	 * 
+	 * @param retryPolicy	RetryPolicy or null to disable retries
+	 */
+	public void setRetryPolicy(RetryPolicy retryPolicy) {
+		this.retryPolicy = retryPolicy;
+	}
+
+	/**
+	 * Get the policy sending a second copy of slow GET requests
+	 * 
+	 * @return	HedgePolicy or null when requests are not hedged
+	 */
+	public HedgePolicy getHedgePolicy() {
+		return hedgePolicy;
+	}
+
+	/**
+	 * Set the policy sending a second copy of slow GET requests. Disabled by default.
+	 * Each copy is signed separately. Synchronous requests being hedged wait on the executor of this service.
+	 * 
+	 * @param hedgePolicy	HedgePolicy or null to disable hedging
+	 */
+	public void setHedgePolicy(HedgePolicy hedgePolicy) {
+		this.hedgePolicy = hedgePolicy;
+	}
+
+	/**
+	 * Get the time allowed to open a connection
+	 * 
+	 * @return	Milliseconds. Zero waits indefinitely.
+	 */
+	public long getConnectTimeoutMillis() {
+		return connectTimeoutMillis;
+	}
+
+	/**
+	 * Set the time allowed to open a connection. Defaults to 10 seconds.
+	 * 
+	 * @param connectTimeoutMillis	Milliseconds. Zero waits indefinitely.
+	 */
+	public void setConnectTimeoutMillis(long connectTimeoutMillis) {
+		this.connectTimeoutMillis = connectTimeoutMillis;
+	}
+
+	/**
+	 * Get the time allowed to wait for data from the server on routes without their own timeout
+	 * 
+	 * @return	Milliseconds. Zero waits indefinitely.
+	 */
+	public long getReadTimeoutMillis() {
+		return readTimeoutMillis;
+	}
+
+	/**
+	 * Set the time allowed to wait for data from the server on routes without their own timeout. Defaults to 60 seconds.
+	 * 
+	 * @param readTimeoutMillis	Milliseconds. Zero waits indefinitely.
+	 */
+	public void setReadTimeoutMillis(long readTimeoutMillis) {
+		this.readTimeoutMillis = readTimeoutMillis;
+	}
+
+	/**
+	 * Set the time allowed to wait for data from the server on one route
+	 * 
+	 * @param route	Route (host/path template) as reported in route statistics, such as "api.learningstudio.com/courses/{id}/items"
+	 * @param readTimeoutMillis	Milliseconds. Zero waits indefinitely. Negative removes the timeout of the route.
+	 */
+	public void setReadTimeoutMillis(String route, long readTimeoutMillis) {
+		if(readTimeoutMillis < 0) {
+			routeReadTimeouts.remove(route);
+		}
+		else {
+			routeReadTimeouts.put(route, readTimeoutMillis);
+		}
+	}
+
+	/**
+	 * Get the deadline requests of this service must complete by
+	 * 
+	 * @return	Deadline or null when requests are only limited by timeouts
+	 */
+	public Deadline getDeadline() {
+		return deadline;
+	}
+
+	/**
+	 * Provides a view of this service whose requests must complete by the deadline.
+	 * The view shares the transport, caches and policies of this service, but later
+	 * changes to the settings of either are not seen by the other.
+	 * Each request of the view is given connect and read timeouts no longer than the
+	 * time remaining, and requests started after the deadline fail with a DeadlineExceededException.
+	 * 
+	 * @param deadline	Deadline of the calls made through the view
+	 * @return	View of this service
+	 */
+	protected AbstractService withDeadline(Deadline deadline) {
+		AbstractService view;
+		try {
+			view = (AbstractService) clone();
+		}
+		catch(CloneNotSupportedException e) {
+			throw new RuntimeException(e);
+		}
+		view.deadline = deadline;
+		return view;
+	}
+
+	/**
+	 * Provides a view of this service that authenticates as the given identity.
+	 * The view shares the transport, caches, tokens and policies of this service, so a
+	 * single configured service can serve many users from many threads by making each
+	 * call through a view instead of switching identity with useOAuth1 or useOAuth2.
+	 * 
+	 * @param auth	Identity of the calls made through the view
+	 * @return	View of this service
+	 */
+	protected AbstractService withAuth(AuthContext auth) {
+		AbstractService view;
+		try {
+			view = (AbstractService) clone();
+		}
+		catch(CloneNotSupportedException e) {
+			throw new RuntimeException(e);
+		}
+		view.auth = auth;
+		return view;
+	}
+
 	/**
 	 * Makes all future request use OAuth1 security
 	 */
 	public void useOAuth1(){
-		this.authMethod = AuthMethod.OAUTH1_SIGNATURE;
-		this.username = null;
-		this.password = null;
-		this.currentOAuthRequest = null;
+		this.auth = AuthContext.oauth1();
 	}
 
 	/**
@@ -150,10 +538,7 @@ public abstract class AbstractService {
 	 * @param username
 	 */
 	public void useOAuth2(String username) {
-		this.authMethod = AuthMethod.OAUTH2_ASSERTION;
-		this.username = username;
-		this.password = null;
-		this.currentOAuthRequest = null;
+		this.auth = AuthContext.oauth2(username);
 	}
 
 	/**
@@ -162,191 +547,1186 @@ public abstract class AbstractService {
 	 * @param username
 	 * @param password
 	 */
-	public void useOAuth2(String username, String password) {
-		this.authMethod = AuthMethod.OAUTH2_PASSWORD;
-		this.username = username;
-		this.password = password;
-		this.currentOAuthRequest = null;
-	}		
+	public void useOAuth2(String username, String password) {
+		this.auth = AuthContext.oauth2(username, password);
+	}		
+	
+	/**
+	 * Performs HTTP operations using the selected authentication method
+	 * 
+	 * @param method	The HTTP Method to user
+	 * @param relativeUrl	The URL after .com (/me)
+	 * @param body	The body of the message
+	 * @return Output in the preferred data format
+	 * @throws IOException
+	 */
+	protected Response doMethod(HttpMethod method, String relativeUrl, String body) throws IOException {
+		return doMethod(null, method, relativeUrl, body);
+	}
+	
+	/**
+	 * Performs HTTP operations using the selected authentication method
+	 * 
+	 * @param extraHeaders	Extra headers to include in the request
+	 * @param method	The HTTP Method to user
+	 * @param relativeUrl	The URL after .com (/me)
+	 * @param body	The body of the message
+	 * @return Output in the preferred data format
+	 * @throws IOException
+	 */
+	protected Response doMethod(Map<String,String> extraHeaders, HttpMethod method, String relativeUrl, String body) throws IOException {
+		return doMethod(extraHeaders, method, relativeUrl, RequestBody.of(body));
+	}
+	
+	/**
+	 * Performs HTTP operations using the selected authentication method
+	 * 
+	 * @param method	The HTTP Method to user
+	 * @param relativeUrl	The URL after .com (/me)
+	 * @param body	The encoded body of the message
+	 * @return Output in the preferred data format
+	 * @throws IOException
+	 */
+	protected Response doMethod(HttpMethod method, String relativeUrl, RequestBody body) throws IOException {
+		return doMethod(null, method, relativeUrl, body);
+	}
+	
+	/**
+	 * Performs HTTP operations using the selected authentication method.
+	 * The body is signed and sent from the same bytes.
+	 * 
+	 * @param extraHeaders	Extra headers to include in the request
+	 * @param method	The HTTP Method to user
+	 * @param relativeUrl	The URL after .com (/me)
+	 * @param body	The encoded body of the message
+	 * @return Output in the preferred data format
+	 * @throws IOException
+	 */
+	protected Response doMethod(final Map<String,String> extraHeaders, final HttpMethod method, final String relativeUrl, final RequestBody body) throws IOException {
+		if(deadline != null) {
+			deadline.check(method.name() + " " + relativeUrl);
+		}
+		
+		Response freshResponse = getFreshResponse(extraHeaders, method, relativeUrl);
+		if(freshResponse != null) {
+			return freshResponse;
+		}
+		
+		String coalescingKey = getCoalescingKey(extraHeaders, method, relativeUrl);
+		if(coalescingKey != null) {
+			return singleFlight.execute(coalescingKey, deadline, new Callable<Response>() {
+				public Response call() throws Exception {
+					return send(extraHeaders, method, relativeUrl, body);
+				}
+			});
+		}
+		return send(extraHeaders, method, relativeUrl, body);
+	}
+	
+	/**
+	 * Sends the request, repeating it after transient failures when the retry policy allows
+	 * 
+	 * @param extraHeaders	Extra headers to include in the request
+	 * @param method	The HTTP Method to user
+	 * @param relativeUrl	The URL after .com (/me)
+	 * @param body	The encoded body of the message
+	 * @return Output in the preferred data format
+	 * @throws IOException
+	 */
+	private Response send(Map<String,String> extraHeaders, HttpMethod method, String relativeUrl, RequestBody body) throws IOException {
+		RetryPolicy retryPolicy = this.retryPolicy;
+		if(retryPolicy == null || !retryPolicy.isRetryable(method)) {
+			return sendHedged(extraHeaders, method, relativeUrl, body);
+		}
+		
+		RetryPolicy.Attempts attempts = retryPolicy.start(Routes.getRoute(getRequestUrl(relativeUrl)));
+		while(true) {
+			long delay;
+			try {
+				Response response = sendHedged(extraHeaders, method, relativeUrl, body);
+				delay = attempts.getDelayAfter(response);
+				if(delay < 0 || !isBeforeDeadline(delay)) {
+					return response;
+				}
+				// retryable responses are errors, which are always buffered
+			}
+			catch(IOException e) {
+				delay = attempts.getDelayAfter(e);
+				if(delay < 0 || !isBeforeDeadline(delay)) {
+					throw e;
+				}
+			}
+			
+			if(logger.isDebugEnabled()) {
+				logger.debug("Retrying " + method.name() + " " + relativeUrl + " in " + delay + " ms");
+			}
+			
+			try {
+				Thread.sleep(delay);
+			}
+			catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted waiting to retry " + relativeUrl);
+			}
+		}
+	}
+	
+	/**
+	 * Sends the request, sending a second copy when a GET is slow and the hedge policy allows
+	 * 
+	 * @param extraHeaders	Extra headers to include in the request
+	 * @param method	The HTTP Method to user
+	 * @param relativeUrl	The URL after .com (/me)
+	 * @param body	The encoded body of the message
+	 * @return Output in the preferred data format
+	 * @throws IOException
+	 */
+	private Response sendHedged(final Map<String,String> extraHeaders, final HttpMethod method, final String relativeUrl, final RequestBody body) throws IOException {
+		HedgePolicy hedgePolicy = this.hedgePolicy;
+		if(hedgePolicy == null || method != HttpMethod.GET) {
+			return sendOnce(extraHeaders, method, relativeUrl, body);
+		}
+		
+		HedgePolicy.Hedge hedge = hedgePolicy.start(Routes.getRoute(getRequestUrl(relativeUrl)));
+		if(hedge.getDelay() < 0) {
+			long start = System.nanoTime();
+			Response response = sendOnce(extraHeaders, method, relativeUrl, body);
+			hedge.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+			return response;
+		}
+		
+		// both copies run on the executor so this thread can take whichever answers first
+		CompletableFuture<Response> future = race(hedge, new Callable<CompletableFuture<Response>>() {
+			public CompletableFuture<Response> call() {
+				return callAsync(new Callable<Response>() {
+					public Response call() throws Exception {
+						return sendOnce(extraHeaders, method, relativeUrl, body);
+					}
+				});
+			}
+		});
+		try {
+			Deadline deadline = this.deadline;
+			if(deadline != null) {
+				try {
+					return future.get(Math.max(0, deadline.getRemainingMillis()), TimeUnit.MILLISECONDS);
+				}
+				catch(TimeoutException e) {
+					// a response arriving later loses the race and is closed
+					future.completeExceptionally(new DeadlineExceededException("Deadline exceeded waiting for " + relativeUrl));
+				}
+			}
+			return future.get();
+		}
+		catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted waiting for " + relativeUrl);
+		}
+		catch(ExecutionException e) {
+			Throwable cause = e.getCause();
+			if(cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			if(cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			throw new IOException(cause);
+		}
+	}
+	
+	/**
+	 * Indicates whether a retry after the delay would start before the deadline
+	 * 
+	 * @param delay	Milliseconds to wait before retrying
+	 * @return	True when there is no deadline or time remains after the delay
+	 */
+	private boolean isBeforeDeadline(long delay) {
+		return deadline == null || delay < deadline.getRemainingMillis();
+	}
+	
+	/**
+	 * Sends the request once, unless a stored response may be served without revalidation.
+	 * A request rejected with 401 Unauthorized is sent once more with a new OAuth2 token.
+	 * 
+	 * @param extraHeaders	Extra headers to include in the request
+	 * @param method	The HTTP Method to user
+	 * @param relativeUrl	The URL after .com (/me)
+	 * @param body	The encoded body of the message
+	 * @return Output in the preferred data format
+	 * @throws IOException
+	 */
+	private Response sendOnce(Map<String,String> extraHeaders, HttpMethod method, String relativeUrl, RequestBody body) throws IOException {
+		boolean renewed = false;
+		while(true) {
+			TransportRequest transportRequest = createRequest(extraHeaders, method, relativeUrl, body);
+			URL url = transportRequest.getUrl();
+			CachedResponse cachedResponse = addValidators(method, transportRequest);
+			if(isFresh(cachedResponse)) {
+				return toResponse(method, url, cachedResponse);
+			}
+			TransportResponse transportResponse = transport.execute(transportRequest);
+			if(!renewed && transportResponse.getStatusCode() == STATUS_UNAUTHORIZED && renewToken(transportRequest)) {
+				transportResponse.close();
+				renewed = true;
+				continue;
+			}
+			return completeResponse(method, relativeUrl, url, cachedResponse, transportResponse);
+		}
+	}
+	
+	/**
+	 * Performs HTTP operations using the selected authentication method,
+	 * writing a successful body to the channel instead of buffering it
+	 * 
+	 * @param method	The HTTP Method to user
+	 * @param relativeUrl	The URL after .com (/me)
+	 * @param channel	Destination of the body
+	 * @return	Response without content. Error responses are buffered as usual.
+	 * @throws IOException
+	 */
+	protected Response doDownload(HttpMethod method, String relativeUrl, WritableByteChannel channel) throws IOException {
+		Response response = openDownload(null, method, relativeUrl);
+		if(response.isStreaming()) {
+			response.transferTo(channel);
+		}
+		return response;
+	}
+	
+	/**
+	 * Performs HTTP operations using the selected authentication method,
+	 * writing a successful body to the file instead of buffering it
+	 * 
+	 * @param method	The HTTP Method to user
+	 * @param relativeUrl	The URL after .com (/me)
+	 * @param path	Destination of the body. Left untouched when the request fails.
+	 * @return	Response without content. Error responses are buffered as usual.
+	 * @throws IOException
+	 */
+	protected Response doDownload(HttpMethod method, String relativeUrl, Path path) throws IOException {
+		Response response = openDownload(null, method, relativeUrl);
+		if(response.isStreaming()) {
+			response.transferTo(path);
+		}
+		return response;
+	}
+	
+	/**
+	 * Performs the request with a streaming body regardless of the streaming mode
+	 * 
+	 * @param extraHeaders	Extra headers to include in the request
+	 * @param method	The HTTP Method to user
+	 * @param relativeUrl	The URL after .com (/me)
+	 * @return	Response holding the live body when successful
+	 * @throws IOException
+	 */
+	Response openDownload(Map<String,String> extraHeaders, HttpMethod method, String relativeUrl) throws IOException {
+		TransportRequest transportRequest = createRequest(extraHeaders, method, relativeUrl, RequestBody.EMPTY);
+		transportRequest.setStreaming(true);
+		URL url = transportRequest.getUrl();
+		TransportResponse transportResponse = transport.execute(transportRequest);
+		if(transportResponse.getStatusCode() == STATUS_UNAUTHORIZED && renewToken(transportRequest)) {
+			transportResponse.close();
+			transportRequest = createRequest(extraHeaders, method, relativeUrl, RequestBody.EMPTY);
+			transportRequest.setStreaming(true);
+			transportResponse = transport.execute(transportRequest);
+		}
+		return createResponse(method, url, transportResponse, true);
+	}
+	
+	/**
+	 * Builds the request for the selected authentication method
+	 * 
+	 * @param extraHeaders	Extra headers to include in the request
+	 * @param method	The HTTP Method to user
+	 * @param relativeUrl	The URL after .com (/me)
+	 * @param body	The encoded body of the message
+	 * @return	Request ready for the transport
+	 * @throws IOException
+	 */
+	private TransportRequest createRequest(Map<String,String> extraHeaders, HttpMethod method, String relativeUrl, RequestBody body) throws IOException {
+		Deadline deadline = this.deadline;
+		if(deadline != null) {
+			deadline.check(method.name() + " " + relativeUrl);
+		}
+
+		if(body==null) {
+			body = RequestBody.EMPTY;
+		}
+		
+		URL url = getRequestUrl(relativeUrl);
+		
+		if(logger.isDebugEnabled()) {
+			logger.debug("REQUEST - Method: " + method.name() + ", URL: " + url + ", Body: " + body );
+		}
+		
+		Map<String,String> oauthHeaders = getOAuthHeaders(method,url,body);
+		
+		if(oauthHeaders==null) {
+			throw new RuntimeException("Authentication method not selected. SEE useOAuth# methods");
+		}
+			
+		if(extraHeaders != null) {
+			for(String key : extraHeaders.keySet()) {
+				if(!oauthHeaders.containsKey(key)) {
+					oauthHeaders.put(key,extraHeaders.get(key));
+				}
+				else {
+					throw new RuntimeException("Extra headers can not include OAuth headers");
+				}
+			}
+		}
+	
+		TransportRequest transportRequest = new TransportRequest();
+		transportRequest.setMethod(method.toString());
+		transportRequest.setUrl(url);
+		setTimeouts(transportRequest, deadline);
+		transportRequest.setStreaming(streamingMode);
+		
+		Set<String> oauthHeaderKeys = oauthHeaders.keySet();
+		for(String oauthHeaderKey : oauthHeaderKeys) {
+			transportRequest.setHeader(oauthHeaderKey,oauthHeaders.get(oauthHeaderKey));
+		}
+		
+		transportRequest.setHeader("User-Agent", getServiceIdentifier());
+		
+		// ranges are counted in encoded bytes, so ranged requests stay uncompressed
+		if(compressionEnabled && (extraHeaders == null || 
+				(!extraHeaders.containsKey("Accept-Encoding") && !extraHeaders.containsKey("Range")))) {
+			transportRequest.setHeader("Accept-Encoding", ACCEPT_ENCODING);
+		}
+		
+		if((method == HttpMethod.POST || method == HttpMethod.PUT) && !body.isEmpty()) {
+			if(dataFormat == DataFormat.XML) {
+				transportRequest.setHeader("Content-Type", "application/xml");
+			}
+			else {
+				transportRequest.setHeader("Content-Type", "application/json");
+			}
+			
+			transportRequest.setBody(body.getBytes(), body.getOffset(), body.getLength());
+		}
+		
+		return transportRequest;
+	}
+	
+	/**
+	 * Sets the timeouts of the request, limited to the time remaining before the deadline
+	 * 
+	 * @param transportRequest	Request with its URL set
+	 * @param deadline	Deadline of the call or null
+	 */
+	private void setTimeouts(TransportRequest transportRequest, Deadline deadline) {
+		long connectTimeout = connectTimeoutMillis;
+		long readTimeout = readTimeoutMillis;
+		if(!routeReadTimeouts.isEmpty()) {
+			Long routeReadTimeout = routeReadTimeouts.get(Routes.getRoute(transportRequest.getUrl()));
+			if(routeReadTimeout != null) {
+				readTimeout = routeReadTimeout;
+			}
+		}
+		
+		if(deadline != null) {
+			long remaining = Math.max(1, deadline.getRemainingMillis());
+			connectTimeout = connectTimeout > 0 ? Math.min(connectTimeout, remaining) : remaining;
+			readTimeout = readTimeout > 0 ? Math.min(readTimeout, remaining) : remaining;
+			transportRequest.setTimeLimitMillis(remaining);
+		}
+		
+		transportRequest.setConnectTimeoutMillis((int) Math.min(Integer.MAX_VALUE, connectTimeout));
+		transportRequest.setReadTimeoutMillis((int) Math.min(Integer.MAX_VALUE, readTimeout));
+	}
+	
+	/**
+	 * Builds the absolute URL of a request in the selected data format
+	 * 
+	 * @param relativeUrl	The URL after .com (/me)
+	 * @return	URL of the request
+	 * @throws IOException
+	 */
+	private URL getRequestUrl(String relativeUrl) throws IOException {
+		// append .xml extension when XML data format enabled.
+		if(dataFormat == DataFormat.XML) {	
+			logger.debug("Using XML extension on route");
+			
+			String queryString = "";
+			int queryStringIndex = relativeUrl.indexOf('?');
+			if(queryStringIndex!=-1) {
+				queryString = relativeUrl.substring(queryStringIndex);
+				relativeUrl = relativeUrl.substring(0,queryStringIndex);
+			}
+			
+			String compareUrl = relativeUrl.toLowerCase();
+			
+			if(!compareUrl.endsWith(".xml")) {
+				relativeUrl += ".xml";
+			}
+			
+			if(queryStringIndex!=-1) {
+				relativeUrl += queryString;
+			}
+		}
+		
+		return new URL(API_DOMAIN + relativeUrl);
+	}
+	
+	/**
+	 * Builds the key shared by identical requests when the request may be coalesced
+	 * 
+	 * @param extraHeaders	Extra headers to include in the request
+	 * @param method	The HTTP Method of the request
+	 * @param relativeUrl	The URL after .com (/me)
+	 * @return	Key of the request or null when it must be sent on its own
+	 * @throws IOException
+	 */
+	private String getCoalescingKey(Map<String,String> extraHeaders, HttpMethod method, String relativeUrl) throws IOException {
+		if(!coalescingEnabled || streamingMode || method != HttpMethod.GET) {
+			return null;
+		}
+		
+		if(extraHeaders != null && !extraHeaders.isEmpty()) {
+			return null;
+		}
+		
+		return getCacheKey(getRequestUrl(relativeUrl));
+	}
+	
+	/**
+	 * Looks up a GET response that may be served without contacting the server
+	 * 
+	 * @param extraHeaders	Extra headers to include in the request
+	 * @param method	The HTTP Method of the request
+	 * @param relativeUrl	The URL after .com (/me)
+	 * @return	Cached response or null when the request must be sent
+	 * @throws IOException
+	 */
+	private Response getFreshResponse(Map<String,String> extraHeaders, HttpMethod method, String relativeUrl) throws IOException {
+		if(responseCache == null || method != HttpMethod.GET) {
+			return null;
+		}
+		
+		if(extraHeaders != null && !extraHeaders.isEmpty()) {
+			return null; // the headers may change the response
+		}
+		
+		URL url = getRequestUrl(relativeUrl);
+		CachedResponse cachedResponse = responseCache.get(relativeUrl, getCacheKey(url));
+		if(cachedResponse == null) {
+			return null;
+		}
+		
+		if(logger.isDebugEnabled()) {
+			logger.debug("RESPONSE - fresh in cache, URL: " + url);
+		}
+		return toResponse(method, url, cachedResponse);
+	}
+	
+	/**
+	 * Adds the validators of a cached response to a GET request
+	 * 
+	 * @param method	The HTTP Method of the request
+	 * @param transportRequest	The request to make conditional
+	 * @return	Cached response to serve on 304 Not Modified, or null
+	 */
+	private CachedResponse addValidators(HttpMethod method, TransportRequest transportRequest) {
+		if((httpCache == null && diskCache == null) || method != HttpMethod.GET) {
+			return null;
+		}
+		
+		Map<String,String> headers = transportRequest.getHeaders();
+		if(headers.containsKey("If-None-Match") || headers.containsKey("If-Modified-Since") || headers.containsKey("Range")) {
+			return null; // the caller handles validation itself
+		}
+		
+		String cacheKey = getCacheKey(transportRequest.getUrl());
+		CachedResponse cachedResponse = null;
+		if(httpCache != null) {
+			cachedResponse = httpCache.get(cacheKey);
+		}
+		if(cachedResponse == null && diskCache != null) {
+			String diskCacheKey = getDiskCacheKey(transportRequest.getUrl());
+			if(diskCacheKey != null) {
+				cachedResponse = diskCache.get(diskCacheKey);
+			}
+		}
+		if(cachedResponse != null) {
+			if(cachedResponse.getETag() != null) {
+				transportRequest.setHeader("If-None-Match", cachedResponse.getETag());
+			}
+			if(cachedResponse.getLastModified() != null) {
+				transportRequest.setHeader("If-Modified-Since", cachedResponse.getLastModified());
+			}
+		}
+		return cachedResponse;
+	}
+	
+	/**
+	 * Builds the Response, serving cached content on 304 Not Modified and keeping the cache current
+	 * 
+	 * @param method	The HTTP Method of the request
+	 * @param relativeUrl	The URL after .com (/me)
+	 * @param url	The URL of the request
+	 * @param cachedResponse	The cached response the request was made conditional on, or null
+	 * @param transportResponse	The response from the transport
+	 * @return	Output in the preferred data format
+	 * @throws IOException
+	 */
+	private Response completeResponse(HttpMethod method, String relativeUrl, URL url, CachedResponse cachedResponse, TransportResponse transportResponse) throws IOException {
+		if(cachedResponse != null && transportResponse.getStatusCode() == STATUS_NOT_MODIFIED) {
+			transportResponse.close();
+			cachedResponse = cachedResponse.revalidate(transportResponse.getHeaders());
+			String cacheKey = getCacheKey(url);
+			if(httpCache != null) {
+				httpCache.revalidated(cacheKey, cachedResponse);
+			}
+			String diskCacheKey = diskCache == null ? null : getDiskCacheKey(url);
+			if(diskCacheKey != null) {
+				diskCache.revalidated(diskCacheKey, cachedResponse);
+			}
+			
+			if(logger.isDebugEnabled()) {
+				logger.debug("RESPONSE - not modified, serving cached content");
+			}
+			
+			if(responseCache != null) {
+				responseCache.put(relativeUrl, cacheKey, cachedResponse);
+			}
+			return toResponse(method, url, cachedResponse);
+		}
+		
+		Response response = createResponse(method, url, transportResponse, streamingMode);
+		
+		if(httpCache == null && responseCache == null && diskCache == null) {
+			return response;
+		}
+		
+		String cacheKey = getCacheKey(url);
+		String diskCacheKey = diskCache == null ? null : getDiskCacheKey(url);
+		if(method == HttpMethod.GET) {
+			String cacheControl = response.getHeader("Cache-Control");
+			boolean noStore = cacheControl != null && cacheControl.toLowerCase().contains("no-store");
+			if(response.getStatusCode() == STATUS_OK && !response.isStreaming() && !noStore) {
+				CachedResponse storedResponse = new CachedResponse(response.getStatusCode(), response.getStatusMessage(), 
+					response.getHeaders(), response.getContentType(), response.getContent(), response.getBinaryContent());
+				if(httpCache != null) {
+					httpCache.put(cacheKey, storedResponse);
+				}
+				if(responseCache != null) {
+					responseCache.put(relativeUrl, cacheKey, storedResponse);
+				}
+				if(diskCacheKey != null) {
+					diskCache.put(diskCacheKey, storedResponse);
+				}
+			}
+		}
+		else if(!response.isError()) {
+			// the resource was modified
+			if(httpCache != null) {
+				httpCache.invalidate(cacheKey);
+			}
+			if(responseCache != null) {
+				responseCache.invalidate(cacheKey);
+			}
+			if(diskCacheKey != null) {
+				diskCache.invalidate(diskCacheKey);
+			}
+		}
+		return response;
+	}
+	
+	/**
+	 * Indicates whether a stored response may be served without revalidation
+	 * 
+	 * @param cachedResponse	The stored response or null
+	 * @return	Boolean indicator of freshness
+	 */
+	private boolean isFresh(CachedResponse cachedResponse) {
+		return cachedResponse != null && diskCache != null && diskCache.isFresh(cachedResponse);
+	}
+	
+	/**
+	 * Builds a Response from cached content
+	 * 
+	 * @param method	The HTTP Method of the request
+	 * @param url	The URL of the request
+	 * @param cachedResponse	The cached response
+	 * @return	Output in the preferred data format
+	 */
+	private Response toResponse(HttpMethod method, URL url, CachedResponse cachedResponse) {
+		Response response = new Response();
+		response.setMethod(method.toString());
+		response.setUrl(url.toString());
+		response.setStatusCode(cachedResponse.getStatusCode());
+		response.setStatusMessage(cachedResponse.getStatusMessage());
+		response.setHeaders(cachedResponse.getHeaders());
+		response.setContentType(cachedResponse.getContentType());
+		byte[] binaryContent = cachedResponse.getBinaryContent();
+		if(binaryContent != null) {
+			response.setBinaryContent(binaryContent);
+		}
+		else {
+			response.setContent(cachedResponse.getContent());
+		}
+		response.setFromCache(true);
+		return response;
+	}
+	
+	/**
+	 * Builds the cache key of a URL for the current authenticated identity
+	 * 
+	 * @param url	URL of the request
+	 * @return	Key unique to the identity and URL
+	 */
+	private String getCacheKey(URL url) {
+		AuthContext auth = this.auth;
+		return getCacheKey(url, auth, auth == null ? null : auth.getCredential());
+	}
+	
+	/**
+	 * Builds the key of a URL for the current authenticated identity in the DiskCache, which outlives the process.
+	 * The salt of AuthContext changes with every process, so a password is hashed with the key of the
+	 * TokenFile of the token manager instead, which stays the same.
+	 * 
+	 * @param url	URL of the request
+	 * @return	Key unique to the identity and URL, or null when responses to a password grant are not to be stored on disk
+	 */
+	private String getDiskCacheKey(URL url) {
+		AuthContext auth = this.auth;
+		if(auth == null || auth.getPassword() == null) {
+			return getCacheKey(url);
+		}
+		
+		TokenFile tokenFile = oauthServiceFactory.getTokenManager().getTokenFile();
+		if(tokenFile == null) {
+			return null;
+		}
+		return getCacheKey(url, auth, tokenFile.hashCredential(auth.getUsername(), auth.getPassword()));
+	}
+	
+	private String getCacheKey(URL url, AuthContext auth, String credential) {
+		OAuthConfig config = oauthServiceFactory.getConfiguration();
+		StringBuilder key = new StringBuilder();
+		key.append(auth == null ? null : auth.getAuthMethod()).append('|');
+		key.append(config.getApplicationId()).append('|');
+		key.append(config.getClientString()).append('|');
+		key.append(auth == null || auth.getUsername() == null ? "" : auth.getUsername()).append('|');
+		if(credential != null) {
+			key.append(credential).append('|');
+		}
+		key.append(url);
+		return key.toString();
+	}
+	
+	/**
+	 * Reads the transport response into a Response and releases it
+	 * 
+	 * @param method	The HTTP Method of the request
+	 * @param url	The URL of the request
+	 * @param transportResponse	The response from the transport
+	 * @param stream	Whether a successful body is left open on the connection
+	 * @return	Output in the preferred data format
+	 * @throws IOException
+	 */
+	private Response createResponse(HttpMethod method, URL url, TransportResponse transportResponse, boolean stream) throws IOException {
+		boolean streaming = false;
+		InputStream inputStream = null;
+		try {
+			Response response = new Response();
+			response.setMethod(method.toString());
+			response.setUrl(url.toString());
+			response.setStatusCode(transportResponse.getStatusCode());
+			response.setStatusMessage(transportResponse.getStatusMessage());
+			response.setHeaders(transportResponse.getHeaders());
+
+			inputStream = transportResponse.getBody();
+			if(inputStream != null) {
+				CountingInputStream wireStream = new CountingInputStream(inputStream);
+				inputStream = decodeContent(wireStream, transportResponse.getHeader("Content-Encoding"));
+				CountingInputStream decodedStream = (inputStream == wireStream) ? wireStream : new CountingInputStream(inputStream);
+				response.setByteCounters(wireStream, decodedStream);
+				inputStream = decodedStream;
+			}
+			
+			String contentType = transportResponse.getContentType();
+			boolean isBinary = Response.isBinaryContentType(contentType);
+			if(inputStream != null) {
+				response.setContentType(contentType);
+				
+				if(stream && !response.isError()) {
+					// body stays on the connection until the caller reads or closes it
+					response.setBodyStream(inputStream);
+					streaming = true;
+				}
+				else if(isBinary) {
+					response.setBinaryContent(Response.readBytes(inputStream));
+				}
+				else {
+					response.setContent(Response.readText(inputStream));
+				}
+			}
+			
+			if(logger.isDebugEnabled()) {
+				if(isBinary) {
+					logger.debug("RESPONSE - binary response omitted");
+				}
+				else { 
+					logger.debug("RESPONSE - " + response.toString());
+				}
+			}
+		
+			return response;
+		}
+		finally {
+			if(!streaming) {
+				// closing the decoder releases its native memory and the body returns the connection to the pool
+				try {
+					if(inputStream != null) {
+						inputStream.close();
+					}
+				}
+				finally {
+					transportResponse.close();
+				}
+			}
+		}
+		
+	}
+	
+	/**
+	 * Wraps the body in a decoder for its content encoding
+	 * 
+	 * @param inputStream	The body as received
+	 * @param contentEncoding	Value of the Content-Encoding header
+	 * @return	Stream over the decoded body
+	 * @throws IOException
+	 */
+	private InputStream decodeContent(InputStream inputStream, String contentEncoding) throws IOException {
+		if(contentEncoding == null) {
+			return inputStream;
+		}
+		contentEncoding = contentEncoding.trim().toLowerCase();
+		if(!contentEncoding.equals("gzip") && !contentEncoding.equals("x-gzip") && !contentEncoding.equals("deflate")) {
+			return inputStream;
+		}
+		
+		// bodies of HEAD, 204 and 304 responses are empty despite the header
+		PushbackInputStream pushbackStream = new PushbackInputStream(inputStream, 2);
+		int first = pushbackStream.read();
+		if(first == -1) {
+			return pushbackStream;
+		}
+		int second = pushbackStream.read();
+		if(second != -1) {
+			pushbackStream.unread(second);
+		}
+		pushbackStream.unread(first);
+		
+		if(contentEncoding.equals("deflate")) {
+			// deflate is meant to be zlib wrapped, but some servers send the raw format
+			boolean zlibWrapped = second != -1 && (first & 0x0f) == 8 && ((first << 8) | second) % 31 == 0;
+			final Inflater inflater = new Inflater(!zlibWrapped);
+			return new InflaterInputStream(pushbackStream, inflater) {
+				@Override
+				public void close() throws IOException {
+					// only an inflater created by the stream itself is ended on close
+					try {
+						super.close();
+					}
+					finally {
+						inflater.end();
+					}
+				}
+			};
+		}
+		return new GZIPInputStream(pushbackStream);
+	}
+	
+	/**
+	 * Performs HTTP operations asynchronously using the selected authentication method
+	 * 
+	 * @param method	The HTTP Method to user
+	 * @param relativeUrl	The URL after .com (/me)
+	 * @param body	The body of the message
+	 * @return Future of the output in the preferred data format
+	 */
+	protected CompletableFuture<Response> doMethodAsync(HttpMethod method, String relativeUrl, String body) {
+		return doMethodAsync(null, method, relativeUrl, body);
+	}
+	
+	/**
+	 * Performs HTTP operations asynchronously using the selected authentication method
+	 * 
+	 * @param extraHeaders	Extra headers to include in the request
+	 * @param method	The HTTP Method to user
+	 * @param relativeUrl	The URL after .com (/me)
+	 * @param body	The body of the message
+	 * @return Future of the output in the preferred data format
+	 */
+	protected CompletableFuture<Response> doMethodAsync(Map<String,String> extraHeaders, HttpMethod method, String relativeUrl, String body) {
+		return doMethodAsync(extraHeaders, method, relativeUrl, RequestBody.of(body));
+	}
 	
 	/**
-	 * Performs HTTP operations using the selected authentication method
+	 * Performs HTTP operations asynchronously using the selected authentication method
 	 * 
 	 * @param method	The HTTP Method to user
 	 * @param relativeUrl	The URL after .com (/me)
-	 * @param body	The body of the message
-	 * @return Output in the preferred data format
-	 * @throws IOException
+	 * @param body	The encoded body of the message
+	 * @return Future of the output in the preferred data format
 	 */
-	protected Response doMethod(HttpMethod method, String relativeUrl, String body) throws IOException {
-		return doMethod(null, method, relativeUrl, body);
+	protected CompletableFuture<Response> doMethodAsync(HttpMethod method, String relativeUrl, RequestBody body) {
+		return doMethodAsync(null, method, relativeUrl, body);
 	}
 	
 	/**
-	 * Performs HTTP operations using the selected authentication method
+	 * Performs HTTP operations asynchronously using the selected authentication method.
+	 * The body is signed and sent from the same bytes.
 	 * 
 	 * @param extraHeaders	Extra headers to include in the request
 	 * @param method	The HTTP Method to user
 	 * @param relativeUrl	The URL after .com (/me)
-	 * @param body	The body of the message
-	 * @return Output in the preferred data format
-	 * @throws IOException
+	 * @param body	The encoded body of the message
+	 * @return Future of the output in the preferred data format
 	 */
-	protected Response doMethod(Map<String,String> extraHeaders, HttpMethod method, String relativeUrl, String body) throws IOException {
-
-		if(body==null) {
-			body = "";
+	protected CompletableFuture<Response> doMethodAsync(final Map<String,String> extraHeaders, final HttpMethod method, final String relativeUrl, final RequestBody body) {
+		if(!FilterTransport.isAsync(transport)) {
+			return callAsync(new Callable<Response>() {
+				public Response call() throws Exception {
+					return doMethod(extraHeaders, method, relativeUrl, body);
+				}
+			});
 		}
 		
-		// append .xml extension when XML data format enabled.
-		if(dataFormat == DataFormat.XML) {	
-			logger.debug("Using XML extension on route");
-			
-			String queryString = "";
-			int queryStringIndex = relativeUrl.indexOf('?');
-			if(queryStringIndex!=-1) {
-				queryString = relativeUrl.substring(queryStringIndex);
-				relativeUrl = relativeUrl.substring(0,queryStringIndex);
+		try {
+			if(deadline != null) {
+				deadline.check(method.name() + " " + relativeUrl);
 			}
 			
-			String compareUrl = relativeUrl.toLowerCase();
-			
-			if(!compareUrl.endsWith(".xml")) {
-				relativeUrl += ".xml";
+			Response freshResponse = getFreshResponse(extraHeaders, method, relativeUrl);
+			if(freshResponse != null) {
+				return CompletableFuture.completedFuture(freshResponse);
 			}
 			
-			if(queryStringIndex!=-1) {
-				relativeUrl += queryString;
+			String coalescingKey = getCoalescingKey(extraHeaders, method, relativeUrl);
+			if(coalescingKey != null) {
+				return singleFlight.executeAsync(coalescingKey, deadline, new Callable<CompletableFuture<Response>>() {
+					public CompletableFuture<Response> call() {
+						return sendAsync(extraHeaders, method, relativeUrl, body);
+					}
+				});
 			}
 		}
-		
-		final String fullUrl = API_DOMAIN + relativeUrl;
-		
-		if(logger.isDebugEnabled()) {
-			logger.debug("REQUEST - Method: " + method.name() + ", URL: " + fullUrl + ", Body: " + body );
+		catch(Throwable t) {
+			CompletableFuture<Response> future = new CompletableFuture<Response>();
+			future.completeExceptionally(t);
+			return future;
+		}
+		return sendAsync(extraHeaders, method, relativeUrl, body);
+	}
+	
+	/**
+	 * Sends the request through the asynchronous transport, repeating it after transient failures when the retry policy allows
+	 * 
+	 * @param extraHeaders	Extra headers to include in the request
+	 * @param method	The HTTP Method to user
+	 * @param relativeUrl	The URL after .com (/me)
+	 * @param body	The encoded body of the message
+	 * @return Future of the output in the preferred data format
+	 */
+	private CompletableFuture<Response> sendAsync(Map<String,String> extraHeaders, HttpMethod method, String relativeUrl, RequestBody body) {
+		RetryPolicy retryPolicy = this.retryPolicy;
+		if(retryPolicy == null || !retryPolicy.isRetryable(method)) {
+			return sendHedgedAsync(extraHeaders, method, relativeUrl, body);
 		}
 		
-		URL url = new URL(fullUrl);
-		Map<String,String> oauthHeaders = getOAuthHeaders(method,url,body);
-		
-		if(oauthHeaders==null) {
-			throw new RuntimeException("Authentication method not selected. SEE useOAuth# methods");
+		CompletableFuture<Response> future = new CompletableFuture<Response>();
+		try {
+			RetryPolicy.Attempts attempts = retryPolicy.start(Routes.getRoute(getRequestUrl(relativeUrl)));
+			attemptAsync(attempts, future, extraHeaders, method, relativeUrl, body);
 		}
-			
-		if(extraHeaders != null) {
-			for(String key : extraHeaders.keySet()) {
-				if(!oauthHeaders.containsKey(key)) {
-					oauthHeaders.put(key,extraHeaders.get(key));
+		catch(Throwable t) {
+			future.completeExceptionally(t);
+		}
+		return future;
+	}
+	
+	/**
+	 * Makes one asynchronous attempt, scheduling the next one after a transient failure
+	 * 
+	 * @param attempts	Attempts of the request
+	 * @param future	Future completed with the outcome of the last attempt
+	 * @param extraHeaders	Extra headers to include in the request
+	 * @param method	The HTTP Method to user
+	 * @param relativeUrl	The URL after .com (/me)
+	 * @param body	The encoded body of the message
+	 */
+	private void attemptAsync(final RetryPolicy.Attempts attempts, final CompletableFuture<Response> future, 
+			final Map<String,String> extraHeaders, final HttpMethod method, final String relativeUrl, final RequestBody body) {
+		sendHedgedAsync(extraHeaders, method, relativeUrl, body).whenComplete(new BiConsumer<Response,Throwable>() {
+			public void accept(Response response, Throwable t) {
+				long delay;
+				if(t == null) {
+					delay = attempts.getDelayAfter(response);
+					if(delay < 0 || !isBeforeDeadline(delay)) {
+						future.complete(response);
+						return;
+					}
 				}
 				else {
-					throw new RuntimeException("Extra headers can not include OAuth headers");
+					Throwable cause = t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+					delay = cause instanceof IOException ? attempts.getDelayAfter((IOException) cause) : -1;
+					if(delay < 0 || !isBeforeDeadline(delay)) {
+						future.completeExceptionally(cause);
+						return;
+					}
 				}
+				
+				if(logger.isDebugEnabled()) {
+					logger.debug("Retrying " + method.name() + " " + relativeUrl + " in " + delay + " ms");
+				}
+				
+				schedule(new Runnable() {
+					public void run() {
+						try {
+							executor.execute(new Runnable() {
+								public void run() {
+									attemptAsync(attempts, future, extraHeaders, method, relativeUrl, body);
+								}
+							});
+						}
+						catch(RuntimeException e) { // rejected by the executor
+							future.completeExceptionally(e);
+						}
+					}
+				}, delay);
 			}
-		}
+		});
+	}
 	
-		HttpsURLConnection request = (HttpsURLConnection) url.openConnection();
+	/**
+	 * Sends the request through the asynchronous transport, sending a second copy when a GET is slow and the hedge policy allows
+	 * 
+	 * @param extraHeaders	Extra headers to include in the request
+	 * @param method	The HTTP Method to user
+	 * @param relativeUrl	The URL after .com (/me)
+	 * @param body	The encoded body of the message
+	 * @return Future of the output in the preferred data format
+	 */
+	private CompletableFuture<Response> sendHedgedAsync(final Map<String,String> extraHeaders, final HttpMethod method, final String relativeUrl, final RequestBody body) {
+		HedgePolicy hedgePolicy = this.hedgePolicy;
+		if(hedgePolicy == null || method != HttpMethod.GET) {
+			return sendOnceAsync(extraHeaders, method, relativeUrl, body);
+		}
+		
+		HedgePolicy.Hedge hedge;
 		try {
-			request.setRequestMethod(method.toString());
-			
-			Set<String> oauthHeaderKeys = oauthHeaders.keySet();
-			for(String oauthHeaderKey : oauthHeaderKeys) {
-				request.addRequestProperty(oauthHeaderKey,oauthHeaders.get(oauthHeaderKey));
+			hedge = hedgePolicy.start(Routes.getRoute(getRequestUrl(relativeUrl)));
+		}
+		catch(Throwable t) {
+			CompletableFuture<Response> future = new CompletableFuture<Response>();
+			future.completeExceptionally(t);
+			return future;
+		}
+		return race(hedge, new Callable<CompletableFuture<Response>>() {
+			public CompletableFuture<Response> call() {
+				return sendOnceAsync(extraHeaders, method, relativeUrl, body);
 			}
-			
-			request.addRequestProperty("User-Agent", getServiceIdentifier());
-			
-			if((method == HttpMethod.POST || method == HttpMethod.PUT) && body.length()>0) {
-				if(dataFormat == DataFormat.XML) {
-					request.setRequestProperty("Content-Type", "application/xml");
-				}
-				else {
-					request.setRequestProperty("Content-Type", "application/json");
+		});
+	}
+	
+	/**
+	 * Starts a copy of a request, and a second copy when the first has not answered by the hedge delay
+	 * 
+	 * @param hedge	Hedge of the request
+	 * @param copy	Starts one copy of the request
+	 * @return	Future of the first response. It fails only when every copy sent fails.
+	 */
+	private CompletableFuture<Response> race(final HedgePolicy.Hedge hedge, Callable<CompletableFuture<Response>> copy) {
+		final Race race = new Race(hedge, copy);
+		race.start(false);
+		long delay = hedge.getDelay();
+		if(delay >= 0) {
+			schedule(new Runnable() {
+				public void run() {
+					race.hedge();
 				}
-				
-				request.setRequestProperty("Content-Length", String.valueOf(body.getBytes("UTF-8").length));
-				request.setDoOutput(true);
+			}, delay);
+		}
+		return race.result;
+	}
+	
+	/**
+	 * Copies of a hedged request racing for the first response. The response that loses is closed.
+	 */
+	private class Race {
+		private final HedgePolicy.Hedge hedge;
+		private final Callable<CompletableFuture<Response>> copy;
+		private final CompletableFuture<Response> result = new CompletableFuture<Response>();
+		private final AtomicInteger pending = new AtomicInteger(1);
+		private final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
 		
-				DataOutputStream out = new DataOutputStream(request.getOutputStream());
-				try {
-					out.writeBytes(body);
-					out.flush();
-				}
-				finally {
-					out.close();
-				}
+		private Race(HedgePolicy.Hedge hedge, Callable<CompletableFuture<Response>> copy) {
+			this.hedge = hedge;
+			this.copy = copy;
+		}
+		
+		/**
+		 * Sends the second copy on the executor unless the request was answered or the allowance is spent
+		 */
+		void hedge() {
+			pending.incrementAndGet();
+			if(result.isDone() || !hedge.tryHedge()) {
+				fail(null);
+				return;
 			}
-	
-			Response response = new Response();
-			response.setMethod(method.toString());
-			response.setUrl(url.toString());
-			response.setStatusCode(request.getResponseCode());
-			response.setStatusMessage(request.getResponseMessage());
-			response.setHeaders(request.getHeaderFields());
-
-			InputStream inputStream = null;
-			if(response.getStatusCode() < ResponseStatus.BAD_REQUEST.code()) {
-				inputStream = request.getInputStream();
+			
+			if(logger.isDebugEnabled()) {
+				logger.debug("Hedging request after " + hedge.getDelay() + " ms");
 			}
-			else {
-				inputStream = request.getErrorStream();
+			try {
+				executor.execute(new Runnable() {
+					public void run() {
+						start(true);
+					}
+				});
+			}
+			catch(RuntimeException e) { // rejected by the executor
+				fail(e);
+			}
+		}
+		
+		void start(final boolean second) {
+			final long started = System.nanoTime();
+			CompletableFuture<Response> future;
+			try {
+				future = copy.call();
+			}
+			catch(Throwable t) {
+				fail(t);
+				return;
 			}
 			
-			boolean isBinary = false;
-			if(inputStream != null) {
-				StringBuilder responseBody = new StringBuilder();
-				
-				String contentType = request.getContentType();
-				if(contentType != null) {
-					if(!contentType.startsWith("text/") 
-						&& !contentType.startsWith("application/xml")
-						&& !contentType.startsWith("application/json")) { // assume binary
-						isBinary = true;
-						inputStream = new Base64InputStream(inputStream,true); // base64 encode
+			future.whenComplete(new BiConsumer<Response,Throwable>() {
+				public void accept(Response response, Throwable t) {
+					if(t != null) {
+						fail(t instanceof CompletionException && t.getCause() != null ? t.getCause() : t);
+						return;
 					}
-				}
-				
-				BufferedReader bufferedReader = new BufferedReader(new InputStreamReader(inputStream,"UTF-8"));
-				try {
-					String line = null;
-					while((line=bufferedReader.readLine())!=null) {
-						responseBody.append(line);
+					
+					hedge.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+					if(result.complete(response)) {
+						if(second) {
+							hedge.won();
+						}
+						return;
 					}
-				}
-				finally {
-					bufferedReader.close();
-				}
-				
-				response.setContentType(contentType);
-				
-				if(isBinary) {
-					String content = responseBody.toString();
-					if(content.length()==0) {
-						response.setBinaryContent(new byte[0]);
+					try {
+						response.close();
 					}
-					else {
-						response.setBinaryContent(Base64.decodeBase64(responseBody.toString()));
+					catch(IOException e) {
+						logger.debug("Failed to close discarded response", e);
 					}
 				}
-				else {
-					response.setContent(responseBody.toString());
-				}
+			});
+		}
+		
+		/**
+		 * Ends a copy without a response, failing the request when no other copy is outstanding
+		 * 
+		 * @param t	Failure of the copy, or null when it was not sent
+		 */
+		private void fail(Throwable t) {
+			if(t != null) {
+				failure.set(t);
 			}
-			
-			if(logger.isDebugEnabled()) {
-				if(isBinary) {
-					logger.debug("RESPONSE - binary response omitted");
+			if(pending.decrementAndGet() == 0) {
+				result.completeExceptionally(failure.get());
+			}
+		}
+	}
+	
+	/**
+	 * Sends the request once through the asynchronous transport, unless a stored response may be served without revalidation
+	 * 
+	 * @param extraHeaders	Extra headers to include in the request
+	 * @param method	The HTTP Method to user
+	 * @param relativeUrl	The URL after .com (/me)
+	 * @param body	The encoded body of the message
+	 * @return Future of the output in the preferred data format
+	 */
+	private CompletableFuture<Response> sendOnceAsync(Map<String,String> extraHeaders, HttpMethod method, String relativeUrl, RequestBody body) {
+		return sendOnceAsync(extraHeaders, method, relativeUrl, body, false);
+	}
+	
+	/**
+	 * Sends the request once without blocking a thread on the exchange.
+	 * A request rejected with 401 Unauthorized is sent once more with a new OAuth2 token.
+	 * 
+	 * @param extraHeaders	Extra headers to include in the request
+	 * @param method	The HTTP Method to user
+	 * @param relativeUrl	The URL after .com (/me)
+	 * @param body	The encoded body of the message
+	 * @param renewed	True when the request is already sent with a renewed token
+	 * @return Future of the output in the preferred data format
+	 */
+	private CompletableFuture<Response> sendOnceAsync(final Map<String,String> extraHeaders, final HttpMethod method, final String relativeUrl, final RequestBody body, final boolean renewed) {
+		// authentication headers are prepared on the calling thread, the exchange itself does not hold a thread
+		final TransportRequest transportRequest;
+		final URL url;
+		final CachedResponse cachedResponse;
+		try {
+			transportRequest = createRequest(extraHeaders, method, relativeUrl, body);
+			url = transportRequest.getUrl();
+			cachedResponse = addValidators(method, transportRequest);
+			if(isFresh(cachedResponse)) {
+				return CompletableFuture.completedFuture(toResponse(method, url, cachedResponse));
+			}
+		}
+		catch(Throwable t) {
+			CompletableFuture<Response> future = new CompletableFuture<Response>();
+			future.completeExceptionally(t);
+			return future;
+		}
+		
+		return ((AsyncTransport) transport).executeAsync(transportRequest).thenComposeAsync(new Function<TransportResponse,CompletionStage<Response>>() {
+			public CompletionStage<Response> apply(TransportResponse transportResponse) {
+				try {
+					if(!renewed && transportResponse.getStatusCode() == STATUS_UNAUTHORIZED && renewToken(transportRequest)) {
+						transportResponse.close();
+						return sendOnceAsync(extraHeaders, method, relativeUrl, body, true);
+					}
+					return CompletableFuture.completedFuture(completeResponse(method, relativeUrl, url, cachedResponse, transportResponse));
 				}
-				else { 
-					logger.debug("RESPONSE - " + response.toString());
+				catch(IOException e) {
+					throw new CompletionException(e);
 				}
 			}
-		
-			return response;
+		}, executor);
+	}
+	
+	/**
+	 * Runs an operation on the executor of this service
+	 * 
+	 * @param operation	The operation to run
+	 * @return	Future completed with the result of the operation, or exceptionally with its failure
+	 */
+	protected <T> CompletableFuture<T> callAsync(final Callable<T> operation) {
+		final CompletableFuture<T> future = new CompletableFuture<T>();
+		try {
+			executor.execute(new Runnable() {
+				public void run() {
+					try {
+						future.complete(operation.call());
+					}
+					catch(Throwable t) {
+						future.completeExceptionally(t);
+					}
+				}
+			});
 		}
-		finally {
-			request.disconnect();
+		catch(RuntimeException e) { // rejected by the executor
+			future.completeExceptionally(e);
 		}
-		
+		return future;
 	}
 	
 	/**
@@ -361,6 +1741,17 @@ public abstract class AbstractService {
 		return doMethod(HttpMethod.GET, PATH_SYSTEMDATETIME, NO_CONTENT);
 	}
 	
+	/**
+	 * Performs time lookup asynchronously with
+	 * /systemDateTime
+	 * using OAuth1 or OAuth2
+	 * 
+	 * @return Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getSystemDateTimeAsync() {
+		return doMethodAsync(HttpMethod.GET, PATH_SYSTEMDATETIME, NO_CONTENT);
+	}
+	
 	/**
 	 * Performs time lookup with
 	 * /systemDateTime
@@ -397,6 +1788,32 @@ public abstract class AbstractService {
 		return dateTime.getTime();
 	}
 	
+	/**
+	 * Prepares this service for its first requests. The OAuth2 token of the selected user is
+	 * fetched, and connections to the API are opened ahead of time so the first requests do not
+	 * wait for DNS, TCP and TLS handshakes. Connections are opened when the transport is a
+	 * PooledTransport, possibly wrapped by filters. Other transports make one request for the
+	 * system time instead, which leaves a connection in their keep-alive cache.
+	 * 
+	 * @param connections	Number of connections to open
+	 * @throws IOException
+	 */
+	public void warmUp(int connections) throws IOException {
+		URL url = getRequestUrl(PATH_SYSTEMDATETIME);
+		AuthContext auth = this.auth;
+		if(auth != null && auth.getAuthMethod() != AuthMethod.OAUTH1_SIGNATURE) {
+			getOAuthHeaders(HttpMethod.GET, url, RequestBody.EMPTY);
+		}
+		
+		Transport base = FilterTransport.unwrap(transport);
+		if(base instanceof PooledTransport) {
+			((PooledTransport) base).warmUp(url, connections, (int) Math.min(Integer.MAX_VALUE, connectTimeoutMillis));
+		}
+		else {
+			getSystemDateTime().close();
+		}
+	}
+	
 	/**
 	 * Gets the relative path from a URL. 
 	 * In example, /me from httpsL//api.learningstuiod.com/me
@@ -432,78 +1849,23 @@ public abstract class AbstractService {
 	 * @return	KVP of headers for the request
 	 * @throws IOException
 	 */
-	private Map<String,String> getOAuthHeaders(HttpMethod method, URL url, String body) throws IOException {
+	private Map<String,String> getOAuthHeaders(HttpMethod method, URL url, RequestBody body) throws IOException {
 		Map<String,String> oauthHeaders = null;
+		AuthContext auth = this.auth;
+		AuthMethod authMethod = auth == null ? null : auth.getAuthMethod();
 		
 		if(authMethod==AuthMethod.OAUTH1_SIGNATURE) {
 			if(logger.isDebugEnabled()) {
 				logger.debug("Generating OAuth1 headers");
 			}
 			OAuth1SignatureService oauthService = oauthServiceFactory.build(OAuth1SignatureService.class);
-			OAuth1Request oauthRequest = oauthService.generateOAuth1Request(method.name(), url, body);
+			OAuth1Request oauthRequest = oauthService.generateOAuth1Request(method.name(), url, body.asByteBuffer());
 			oauthHeaders = oauthRequest.getHeaders();
 		}
-		else {
-			// check to see if a previous oauth2 request has been made
-			if(currentOAuthRequest!=null) {
-				long now = System.currentTimeMillis();
-				long expirationTime = ((OAuth2Request)currentOAuthRequest).getExpirationTime();
-				
-				// check to see if current ones are expired
-				if(now>=expirationTime) {
-					if(logger.isDebugEnabled()) {
-						logger.debug("Previous OAuth2 headers have expired");
-					}
-					if(authMethod == AuthMethod.OAUTH2_PASSWORD) {
-						if(logger.isDebugEnabled()) {
-							logger.debug("Refreshing oauth2 token");
-						}
-						
-						OAuth2Request refreshRequest = (OAuth2Request) currentOAuthRequest;
-						currentOAuthRequest = null;  // forget the previous oauth2 request
-						
-						// attempt to use the refresh token
-						try {
-							OAuth2PasswordService oauthService = oauthServiceFactory.build(OAuth2PasswordService.class);
-							currentOAuthRequest = oauthService.refreshOAuth2PasswordRequest(refreshRequest);
-						}
-						catch(Throwable t) {
-							if(logger.isDebugEnabled()) {
-								logger.debug("Failed to refresh oauth2 token", t);
-							}
-						}
-					}
-					else {
-						currentOAuthRequest = null; // forget the previous oauth2 request
-					}
-				}
-			}
-			
-			// Use the existing headers
-			if(currentOAuthRequest!=null) {
-				if(logger.isDebugEnabled()) {
-					logger.debug("Reusing previous OAuth2 headers");
-				}
-				oauthHeaders = currentOAuthRequest.getHeaders(); // use the current headers
-			}
-			else {
-				if(logger.isDebugEnabled()) {
-					logger.debug("Generating new OAuth2 headers");
-				}
-				
-				OAuth2Request oauthRequest = null;
-				if(authMethod==AuthMethod.OAUTH2_ASSERTION) {
-					OAuth2AssertionService oauthService = oauthServiceFactory.build(OAuth2AssertionService.class);
-					oauthRequest = oauthService.generateOAuth2AssertionRequest(username);
-					oauthHeaders = oauthRequest.getHeaders();
-				}
-				else if(authMethod==AuthMethod.OAUTH2_PASSWORD) {
-					OAuth2PasswordService oauthService = oauthServiceFactory.build(OAuth2PasswordService.class);
-					oauthRequest = oauthService.generateOAuth2PasswordRequest(username,password);
-					oauthHeaders = oauthRequest.getHeaders();
-				}
-				
-				currentOAuthRequest = oauthRequest; // save the new oauth request 
+		else if(auth != null) {
+			OAuth2Request oauthRequest = getOAuth2Request(auth);
+			if(oauthRequest != null) {
+				oauthHeaders = oauthRequest.getHeaders();
 			}
 		}
 		
@@ -515,6 +1877,79 @@ public abstract class AbstractService {
 		return oauthHeaders;
 	}
 	
+	/**
+	 * Provides the OAuth2 token of an identity.
+	 * Tokens are shared and refreshed ahead of expiry by the token manager.
+	 * New tokens are requested on the executor of this service, waiting no longer than the deadline.
+	 * 
+	 * @param auth	Identity of the request
+	 * @return	Token, or null when the identity does not use OAuth2
+	 * @throws IOException
+	 */
+	private OAuth2Request getOAuth2Request(AuthContext auth) throws IOException {
+		OAuth2TokenManager tokenManager = oauthServiceFactory.getTokenManager();
+		Deadline deadline = this.deadline;
+		long timeoutMillis = deadline == null ? 0 : Math.max(1, deadline.getRemainingMillis());
+		try {
+			if(auth.getAuthMethod()==AuthMethod.OAUTH2_ASSERTION) {
+				return tokenManager.getAssertionToken(auth.getUsername(), executor, timeoutMillis);
+			}
+			else if(auth.getAuthMethod()==AuthMethod.OAUTH2_PASSWORD) {
+				return tokenManager.getPasswordToken(auth.getUsername(), auth.getPassword(), executor, timeoutMillis);
+			}
+		}
+		catch(InterruptedIOException e) {
+			if(deadline != null && deadline.isExpired()) {
+				throw new DeadlineExceededException("Deadline exceeded waiting for OAuth2 token");
+			}
+			throw e;
+		}
+		return null;
+	}
+	
+	/**
+	 * Discards the OAuth2 token a request was rejected with, so it is sent again with a new one.
+	 * Requests rejected together discard the token once and share the request for a new one.
+	 * 
+	 * @param transportRequest	Request rejected with 401 Unauthorized
+	 * @return	True when the request should be sent again
+	 * @throws IOException
+	 */
+	private boolean renewToken(TransportRequest transportRequest) throws IOException {
+		AuthContext auth = this.auth;
+		if(auth == null || auth.getAuthMethod() == AuthMethod.OAUTH1_SIGNATURE) {
+			return false; // a new signature would be rejected the same way
+		}
+		
+		OAuth2Request current = getOAuth2Request(auth);
+		if(current == null) {
+			return false;
+		}
+		
+		// another request may already have replaced the token this one was sent with
+		boolean sentWithCurrent = true;
+		Map<String,String> headers = transportRequest.getHeaders();
+		for(Map.Entry<String,String> header : current.getHeaders().entrySet()) {
+			if(!header.getValue().equals(headers.get(header.getKey()))) {
+				sentWithCurrent = false;
+			}
+		}
+		
+		if(sentWithCurrent) {
+			if(logger.isDebugEnabled()) {
+				logger.debug("OAuth2 token rejected, requesting a new one");
+			}
+			OAuth2TokenManager tokenManager = oauthServiceFactory.getTokenManager();
+			if(auth.getAuthMethod() == AuthMethod.OAUTH2_ASSERTION) {
+				tokenManager.invalidateAssertionToken(auth.getUsername(), current);
+			}
+			else {
+				tokenManager.invalidatePasswordToken(auth.getUsername(), auth.getPassword(), current);
+			}
+		}
+		return true;
+	}
+	
 	/**
 	 * Release all handles to objects that may prevent garbage collection
 	 */
@@ -522,11 +1957,10 @@ public abstract class AbstractService {
 		this.jsonParser=null;
 		this.gson=null;
 		this.oauthServiceFactory=null;
-		this.authMethod=null;
-		this.username=null;
-		this.password=null;
+		this.auth=null;
 		this.dataFormat=null;
-		this.currentOAuthRequest=null;
+		this.transport=null;
+		this.executor=null;
 	}
 	
 	/**
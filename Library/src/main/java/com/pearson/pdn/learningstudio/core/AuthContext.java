@@ -0,0 +1,115 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.core;
+
+import com.pearson.pdn.learningstudio.core.AbstractService.AuthMethod;
+import com.pearson.pdn.learningstudio.oauth.OAuth2TokenManager;
+
+/**
+ * Identity that requests are authenticated as.
+ *
+ * A context is immutable. Giving it to withAuth(AuthContext) of a service provides a view
+ * making requests as that identity, so one configured service can serve many users at once.
+ */
+public final class AuthContext {
+	private final AuthMethod authMethod;
+	private final String username;
+	private final String password;
+	private final String credential;
+
+	private AuthContext(AuthMethod authMethod, String username, String password) {
+		this.authMethod = authMethod;
+		this.username = username;
+		this.password = password;
+		this.credential = password == null ? null : OAuth2TokenManager.hashCredential(username, password);
+	}
+
+	/**
+	 * Provides a context using OAuth1 security
+	 *
+	 * @return	Context of the application
+	 */
+	public static AuthContext oauth1() {
+		return new AuthContext(AuthMethod.OAUTH1_SIGNATURE, null, null);
+	}
+
+	/**
+	 * Provides a context using OAuth2 assertion security
+	 *
+	 * @param username	Username of the user
+	 * @return	Context of the user
+	 */
+	public static AuthContext oauth2(String username) {
+		return new AuthContext(AuthMethod.OAUTH2_ASSERTION, username, null);
+	}
+
+	/**
+	 * Provides a context using OAuth2 password security
+	 *
+	 * @param username	Username of the user
+	 * @param password	Password of the user
+	 * @return	Context of the user
+	 */
+	public static AuthContext oauth2(String username, String password) {
+		return new AuthContext(AuthMethod.OAUTH2_PASSWORD, username, password);
+	}
+
+	AuthMethod getAuthMethod() {
+		return authMethod;
+	}
+
+	String getUsername() {
+		return username;
+	}
+
+	String getPassword() {
+		return password;
+	}
+
+	/**
+	 * Get the salted hash of the username and password, which tells contexts of the same
+	 * user with different passwords apart without revealing them
+	 *
+	 * @return	Hash of the credential, or null without a password
+	 */
+	String getCredential() {
+		return credential;
+	}
+
+	/**
+	 * Implements the toString method for use in debugging.
+	 * The password is left out.
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("AuthMethod: ").append(authMethod).append(", ");
+		sb.append("Username: ").append(username);
+		return sb.toString();
+	}
+}
@@ -28,7 +28,10 @@
 package com.pearson.pdn.learningstudio.core;
 
 import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import com.pearson.pdn.learningstudio.oauth.OAuthServiceFactory;
 
@@ -50,6 +53,29 @@ public class BasicService extends AbstractService {
 		return "LS-Library-Core-Java-V1";
 	}
 	
+	/**
+	 * Provides a view of this service whose requests must complete by the deadline,
+	 * including every request made by operations composed of several requests
+	 * 
+	 * @param deadline	Deadline of the calls made through the view
+	 * @return	View of this service
+	 */
+	@Override
+	public BasicService withDeadline(Deadline deadline) {
+		return (BasicService) super.withDeadline(deadline);
+	}
+	
+	/**
+	 * Provides a view of this service that authenticates as the given identity
+	 * 
+	 * @param auth	Identity of the calls made through the view
+	 * @return	View of this service
+	 */
+	@Override
+	public BasicService withAuth(AuthContext auth) {
+		return (BasicService) super.withAuth(auth);
+	}
+	
 	/**
 	 * Performs HTTP operations using the selected authentication method
 	 * 
@@ -76,4 +102,109 @@ public class BasicService extends AbstractService {
 	public Response doMethod(Map<String,String> extraHeaders, HttpMethod method, String relativeUrl, String body) throws IOException {
 		return super.doMethod(extraHeaders, method, relativeUrl, body);
 	}
+	
+	/**
+	 * Performs HTTP operations using the selected authentication method
+	 * 
+	 * @param method	The HTTP Method to user
+	 * @param relativeUrl	The URL after .com (/me)
+	 * @param body	The encoded body of the message
+	 * @return Output in the preferred data format
+	 * @throws IOException
+	 */
+	public Response doMethod(HttpMethod method, String relativeUrl, RequestBody body) throws IOException {
+		return super.doMethod(method, relativeUrl, body);
+	}
+	
+	/**
+	 * Performs HTTP operations using the selected authentication method
+	 * 
+	 * @param extraHeaders	Extra headers to include in the request
+	 * @param method	The HTTP Method to user
+	 * @param relativeUrl	The URL after .com (/me)
+	 * @param body	The encoded body of the message
+	 * @return Output in the preferred data format
+	 * @throws IOException
+	 */
+	public Response doMethod(Map<String,String> extraHeaders, HttpMethod method, String relativeUrl, RequestBody body) throws IOException {
+		return super.doMethod(extraHeaders, method, relativeUrl, body);
+	}
+	
+	/**
+	 * Performs HTTP operations using the selected authentication method,
+	 * writing a successful body to the channel instead of buffering it
+	 * 
+	 * @param method	The HTTP Method to user
+	 * @param relativeUrl	The URL after .com (/me)
+	 * @param channel	Destination of the body
+	 * @return Response without content. Error responses are buffered as usual.
+	 * @throws IOException
+	 */
+	public Response doDownload(HttpMethod method, String relativeUrl, WritableByteChannel channel) throws IOException {
+		return super.doDownload(method, relativeUrl, channel);
+	}
+	
+	/**
+	 * Performs HTTP operations using the selected authentication method,
+	 * writing a successful body to the file instead of buffering it
+	 * 
+	 * @param method	The HTTP Method to user
+	 * @param relativeUrl	The URL after .com (/me)
+	 * @param path	Destination of the body. Left untouched when the request fails.
+	 * @return Response without content. Error responses are buffered as usual.
+	 * @throws IOException
+	 */
+	public Response doDownload(HttpMethod method, String relativeUrl, Path path) throws IOException {
+		return super.doDownload(method, relativeUrl, path);
+	}
+	
+	/**
+	 * Performs HTTP operations asynchronously using the selected authentication method
+	 * 
+	 * @param method	The HTTP Method to user
+	 * @param relativeUrl	The URL after .com (/me)
+	 * @param body	The body of the message
+	 * @return Future of the output in the preferred data format
+	 */
+	public CompletableFuture<Response> doMethodAsync(HttpMethod method, String relativeUrl, String body) {
+		return super.doMethodAsync(method, relativeUrl, body);
+	}
+	
+	/**
+	 * Performs HTTP operations asynchronously using the selected authentication method
+	 * 
+	 * @param extraHeaders	Extra headers to include in the request
+	 * @param method	The HTTP Method to user
+	 * @param relativeUrl	The URL after .com (/me)
+	 * @param body	The body of the message
+	 * @return Future of the output in the preferred data format
+	 */
+	public CompletableFuture<Response> doMethodAsync(Map<String,String> extraHeaders, HttpMethod method, String relativeUrl, String body) {
+		return super.doMethodAsync(extraHeaders, method, relativeUrl, body);
+	}
+	
+	/**
+	 * Performs HTTP operations asynchronously using the selected authentication method
+	 * 
+	 * @param method	The HTTP Method to user
+	 * @param relativeUrl	The URL after .com (/me)
+	 * @param body	The encoded body of the message
+	 * @return Future of the output in the preferred data format
+	 */
+	public CompletableFuture<Response> doMethodAsync(HttpMethod method, String relativeUrl, RequestBody body) {
+		return super.doMethodAsync(method, relativeUrl, body);
+	}
+	
+	/**
+	 * Performs HTTP operations asynchronously using the selected authentication method
+	 * 
+	 * @param extraHeaders	Extra headers to include in the request
+	 * @param method	The HTTP Method to user
+	 * @param relativeUrl	The URL after .com (/me)
+	 * @param body	The encoded body of the message
+	 * @return Future of the output in the preferred data format
+	 */
+	public CompletableFuture<Response> doMethodAsync(Map<String,String> extraHeaders, HttpMethod method, String relativeUrl, RequestBody body) {
+		return super.doMethodAsync(extraHeaders, method, relativeUrl, body);
+	}
 }
@@ -0,0 +1,279 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.core;
+
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs a list of independent operations with bounded parallelism.
+ *
+ * At most maxConcurrency operations run at once, and at most maxConcurrencyPerKey of them share
+ * a key. Keys take turns, so a long run of operations on one host does not delay the others.
+ * Every operation runs to completion, failures included, and results are returned in the order
+ * of the operations. An executor may run any number of batches at once.
+ */
+public class BatchExecutor {
+	private int maxConcurrency = 16;
+	private int maxConcurrencyPerKey = 8;
+	private Executor executor = AbstractService.getDefaultExecutor();
+
+	/**
+	 * Get the number of operations of a batch allowed to run at once
+	 *
+	 * @return	Maximum concurrent operations
+	 */
+	public int getMaxConcurrency() {
+		return maxConcurrency;
+	}
+
+	/**
+	 * Set the number of operations of a batch allowed to run at once
+	 *
+	 * @param maxConcurrency	Maximum concurrent operations
+	 */
+	public void setMaxConcurrency(int maxConcurrency) {
+		this.maxConcurrency = maxConcurrency;
+	}
+
+	/**
+	 * Get the number of operations of a batch sharing a key allowed to run at once
+	 *
+	 * @return	Maximum concurrent operations per key
+	 */
+	public int getMaxConcurrencyPerKey() {
+		return maxConcurrencyPerKey;
+	}
+
+	/**
+	 * Set the number of operations of a batch sharing a key allowed to run at once
+	 *
+	 * @param maxConcurrencyPerKey	Maximum concurrent operations per key
+	 */
+	public void setMaxConcurrencyPerKey(int maxConcurrencyPerKey) {
+		this.maxConcurrencyPerKey = maxConcurrencyPerKey;
+	}
+
+	/**
+	 * Get the executor operations run on
+	 *
+	 * @return	Executor
+	 */
+	public Executor getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * Set the executor operations run on. Defaults to the executor shared by services.
+	 *
+	 * @param executor	Executor able to run maxConcurrency tasks at once
+	 */
+	public void setExecutor(Executor executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Runs the operations and waits for all of them
+	 *
+	 * @param operations	Operations to run
+	 * @return	Result of each operation, in the order of the operations
+	 * @throws InterruptedIOException	when interrupted while waiting. Started operations still complete.
+	 */
+	public List<BatchResult> execute(List<BatchOperation> operations) throws InterruptedIOException {
+		try {
+			return executeAsync(operations).get();
+		}
+		catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted waiting for batch of " + operations.size());
+		}
+		catch(ExecutionException e) {
+			throw new IllegalStateException(e.getCause()); // failures are captured in the results
+		}
+	}
+
+	/**
+	 * Starts the operations without waiting for them
+	 *
+	 * @param operations	Operations to run
+	 * @return	Future of the result of each operation, in the order of the operations
+	 */
+	public CompletableFuture<List<BatchResult>> executeAsync(List<BatchOperation> operations) {
+		Batch batch = new Batch(operations, maxConcurrency, maxConcurrencyPerKey);
+		batch.dispatch();
+		return batch.future;
+	}
+
+	/**
+	 * State of a running batch
+	 */
+	private class Batch {
+		private final BatchResult[] results;
+		private final Map<String,Queue<Integer>> queues = new LinkedHashMap<String,Queue<Integer>>();
+		private final Map<String,Integer> running = new LinkedHashMap<String,Integer>();
+		private final List<BatchOperation> operations;
+		private final CompletableFuture<List<BatchResult>> future = new CompletableFuture<List<BatchResult>>();
+		private final int maxConcurrency;
+		private final int maxConcurrencyPerKey;
+		private int runningTotal;
+		private int completed;
+
+		Batch(List<BatchOperation> operations, int maxConcurrency, int maxConcurrencyPerKey) {
+			this.operations = new ArrayList<BatchOperation>(operations);
+			this.results = new BatchResult[operations.size()];
+			this.maxConcurrency = Math.max(1, maxConcurrency);
+			this.maxConcurrencyPerKey = Math.max(1, maxConcurrencyPerKey);
+
+			for(int i = 0; i < this.operations.size(); i++) {
+				String key = this.operations.get(i).getKey();
+				Queue<Integer> queue = queues.get(key);
+				if(queue == null) {
+					queue = new LinkedList<Integer>();
+					queues.put(key, queue);
+					running.put(key, 0);
+				}
+				queue.add(i);
+			}
+			if(results.length == 0) {
+				future.complete(new ArrayList<BatchResult>());
+			}
+		}
+
+		/**
+		 * Starts waiting operations while there is capacity. Operations the executor rejects
+		 * fail at once and free their capacity for the next ones.
+		 */
+		void dispatch() {
+			while(true) {
+				List<Integer> startable = takeStartable();
+				boolean rejected = false;
+				for(Integer index : startable) {
+					if(!start(index)) {
+						rejected = true;
+					}
+				}
+				if(!rejected) {
+					return;
+				}
+			}
+		}
+
+		/**
+		 * Takes waiting operations while there is capacity, one from each key in turn
+		 */
+		private synchronized List<Integer> takeStartable() {
+			List<Integer> startable = new ArrayList<Integer>();
+			boolean progress = true;
+			while(progress && runningTotal < maxConcurrency) {
+				progress = false;
+				Iterator<Map.Entry<String,Queue<Integer>>> iterator = queues.entrySet().iterator();
+				while(iterator.hasNext() && runningTotal < maxConcurrency) {
+					Map.Entry<String,Queue<Integer>> entry = iterator.next();
+					String key = entry.getKey();
+					int keyRunning = running.get(key);
+					if(keyRunning >= maxConcurrencyPerKey) {
+						continue;
+					}
+
+					startable.add(entry.getValue().poll());
+					running.put(key, keyRunning + 1);
+					runningTotal++;
+					progress = true;
+					if(entry.getValue().isEmpty()) {
+						iterator.remove();
+					}
+				}
+			}
+
+			// the key that went first goes last next time
+			if(!startable.isEmpty()) {
+				String first = operations.get(startable.get(0)).getKey();
+				Queue<Integer> queue = queues.remove(first);
+				if(queue != null) {
+					queues.put(first, queue);
+				}
+			}
+			return startable;
+		}
+
+		private boolean start(final int index) {
+			try {
+				executor.execute(new Runnable() {
+					public void run() {
+						Response response = null;
+						Throwable failure = null;
+						try {
+							response = operations.get(index).getCall().call();
+						}
+						catch(Throwable t) {
+							failure = t;
+						}
+						if(!finish(index, response, failure)) {
+							dispatch();
+						}
+					}
+				});
+				return true;
+			}
+			catch(RuntimeException e) { // rejected by the executor
+				finish(index, null, e);
+				return false;
+			}
+		}
+
+		/**
+		 * Records the result of an operation, completing the batch after the last one
+		 *
+		 * @return	True when the batch is complete
+		 */
+		private boolean finish(int index, Response response, Throwable failure) {
+			synchronized(this) {
+				results[index] = new BatchResult(index, response, failure);
+				String key = operations.get(index).getKey();
+				running.put(key, running.get(key) - 1);
+				runningTotal--;
+				completed++;
+				if(completed < results.length) {
+					return false;
+				}
+			}
+			future.complete(Arrays.asList(results));
+			return true;
+		}
+	}
+}
@@ -0,0 +1,76 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.core;
+
+import java.util.concurrent.Callable;
+
+/**
+ * One call of a batch, such as a read or write on any service
+ */
+public class BatchOperation {
+	private final String key;
+	private final Callable<Response> call;
+
+	/**
+	 * Constructs an operation sharing the default fairness group
+	 *
+	 * @param call	Performs the call
+	 */
+	public BatchOperation(Callable<Response> call) {
+		this(null, call);
+	}
+
+	/**
+	 * Constructs an operation in a fairness group
+	 *
+	 * @param key	Group the operation is counted against, usually its host or route
+	 * @param call	Performs the call
+	 */
+	public BatchOperation(String key, Callable<Response> call) {
+		this.key = key == null ? "" : key;
+		this.call = call;
+	}
+
+	/**
+	 * Get the group the operation is counted against
+	 *
+	 * @return	Key of the group
+	 */
+	public String getKey() {
+		return key;
+	}
+
+	/**
+	 * Get the call performed by the operation
+	 *
+	 * @return	Call returning a Response
+	 */
+	public Callable<Response> getCall() {
+		return call;
+	}
+}
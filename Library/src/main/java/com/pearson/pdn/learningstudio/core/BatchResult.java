@@ -0,0 +1,107 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.core;
+
+/**
+ * Outcome of one operation of a batch
+ */
+public class BatchResult {
+	private int index;
+	private Response response;
+	private Throwable failure;
+
+	/**
+	 * Constructs a batch result
+	 *
+	 * @param index	Position of the operation in the batch
+	 * @param response	Response of the operation or null when it failed
+	 * @param failure	Failure of the operation or null when it returned a response
+	 */
+	public BatchResult(int index, Response response, Throwable failure) {
+		this.index = index;
+		this.response = response;
+		this.failure = failure;
+	}
+
+	/**
+	 * Get the position of the operation in the batch
+	 *
+	 * @return	Index of the operation
+	 */
+	public int getIndex() {
+		return index;
+	}
+
+	/**
+	 * Get the response of the operation
+	 *
+	 * @return	Response or null when the operation failed
+	 */
+	public Response getResponse() {
+		return response;
+	}
+
+	/**
+	 * Get the failure of the operation
+	 *
+	 * @return	Failure or null when the operation returned a response
+	 */
+	public Throwable getFailure() {
+		return failure;
+	}
+
+	/**
+	 * Get the HTTP status code of the operation
+	 *
+	 * @return	HTTP Status Code or -1 when the operation failed
+	 */
+	public int getStatusCode() {
+		return response == null ? -1 : response.getStatusCode();
+	}
+
+	/**
+	 * Indicates whether the operation returned a response that is not an error
+	 *
+	 * @return	True for a successful response
+	 */
+	public boolean isSuccess() {
+		return response != null && !response.isError();
+	}
+
+	/**
+	 * Implements the toString method for use in debugging
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("Index: ").append(index).append(", ");
+		sb.append("StatusCode: ").append(getStatusCode()).append(", ");
+		sb.append("Failure: ").append(failure);
+		return sb.toString();
+	}
+}
@@ -0,0 +1,82 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.core;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Counts the bytes read through a stream
+ */
+class CountingInputStream extends FilterInputStream {
+	private volatile long count;
+	
+	CountingInputStream(InputStream in) {
+		super(in);
+	}
+	
+	/**
+	 * Get the number of bytes read so far
+	 * 
+	 * @return	Bytes read
+	 */
+	long getCount() {
+		return count;
+	}
+	
+	@Override
+	public int read() throws IOException {
+		int value = in.read();
+		if(value != -1) {
+			count++;
+		}
+		return value;
+	}
+	
+	@Override
+	public int read(byte[] buffer, int offset, int length) throws IOException {
+		int read = in.read(buffer, offset, length);
+		if(read > 0) {
+			count += read;
+		}
+		return read;
+	}
+	
+	@Override
+	public long skip(long n) throws IOException {
+		long skipped = in.skip(n);
+		count += skipped;
+		return skipped;
+	}
+	
+	@Override
+	public boolean markSupported() {
+		return false;
+	}
+}
@@ -0,0 +1,95 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.core;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A point in time by which a call, and every request it makes, must complete.
+ *
+ * A service view created with withDeadline(Deadline) limits the connect and read timeouts of each
+ * request to the time remaining, and fails requests started after the deadline has passed, so
+ * operations making several requests stop as soon as the deadline expires. A deadline is immutable
+ * and may be shared by concurrent calls.
+ */
+public class Deadline {
+	private final long expiryNanos;
+
+	private Deadline(long expiryNanos) {
+		this.expiryNanos = expiryNanos;
+	}
+
+	/**
+	 * Creates a deadline a duration from now
+	 *
+	 * @param duration	Time allowed
+	 * @param unit	Unit of the duration
+	 * @return	Deadline
+	 */
+	public static Deadline after(long duration, TimeUnit unit) {
+		return new Deadline(System.nanoTime() + unit.toNanos(duration));
+	}
+
+	/**
+	 * Get the time left before the deadline
+	 *
+	 * @return	Milliseconds, zero or negative once expired
+	 */
+	public long getRemainingMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(expiryNanos - System.nanoTime());
+	}
+
+	/**
+	 * Indicates whether the deadline has passed
+	 *
+	 * @return	True once no time is left
+	 */
+	public boolean isExpired() {
+		return expiryNanos - System.nanoTime() <= 0;
+	}
+
+	/**
+	 * Fails when the deadline has passed
+	 *
+	 * @param operation	Description of the operation about to start
+	 * @throws DeadlineExceededException
+	 */
+	public void check(String operation) throws DeadlineExceededException {
+		if(getRemainingMillis() <= 0) {
+			throw new DeadlineExceededException("Deadline exceeded before " + operation);
+		}
+	}
+
+	/**
+	 * Implements the toString method for use in debugging
+	 */
+	@Override
+	public String toString() {
+		return "Deadline: " + getRemainingMillis() + " ms remaining";
+	}
+}
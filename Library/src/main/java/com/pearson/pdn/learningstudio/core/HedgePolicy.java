@@ -0,0 +1,280 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.core;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Policy for hedging slow GET requests.
+ *
+ * When a GET has not been answered after the chosen percentile of recent latencies on its
+ * route, a second copy is sent and whichever answers first is returned. The other is
+ * discarded. No copy is sent until a route has enough samples.
+ *
+ * Hedges are limited to a fraction of requests, with a small allowance for bursts, so a
+ * slow server does not receive twice the load. A policy may be shared between services.
+ */
+public class HedgePolicy {
+	private final static int SAMPLE_SIZE = 128;
+	private final static int RECOMPUTE_INTERVAL = 16;
+	private final static double MAX_BURST = 10;
+
+	private double percentile = 0.95;
+	private long minDelayMillis = 10;
+	private double maxHedgeRatio = 0.1;
+	private int minSamples = 20;
+
+	private final ConcurrentMap<String,Route> routes = new ConcurrentHashMap<String,Route>();
+	private double tokens;
+
+	/**
+	 * Get the percentile of recent latencies after which a copy is sent
+	 *
+	 * @return	Percentile between 0 and 1
+	 */
+	public double getPercentile() {
+		return percentile;
+	}
+
+	/**
+	 * Set the percentile of recent latencies after which a copy is sent
+	 *
+	 * @param percentile	Percentile between 0 and 1
+	 */
+	public void setPercentile(double percentile) {
+		this.percentile = percentile;
+	}
+
+	/**
+	 * Get the shortest time to wait before sending a copy
+	 *
+	 * @return	Milliseconds
+	 */
+	public long getMinDelayMillis() {
+		return minDelayMillis;
+	}
+
+	/**
+	 * Set the shortest time to wait before sending a copy
+	 *
+	 * @param minDelayMillis	Milliseconds
+	 */
+	public void setMinDelayMillis(long minDelayMillis) {
+		this.minDelayMillis = minDelayMillis;
+	}
+
+	/**
+	 * Get the fraction of requests that may be hedged
+	 *
+	 * @return	Ratio of hedges to requests
+	 */
+	public double getMaxHedgeRatio() {
+		return maxHedgeRatio;
+	}
+
+	/**
+	 * Set the fraction of requests that may be hedged
+	 *
+	 * @param maxHedgeRatio	Ratio of hedges to requests
+	 */
+	public void setMaxHedgeRatio(double maxHedgeRatio) {
+		this.maxHedgeRatio = maxHedgeRatio;
+	}
+
+	/**
+	 * Get the number of latencies a route needs before its requests are hedged
+	 *
+	 * @return	Minimum samples
+	 */
+	public int getMinSamples() {
+		return minSamples;
+	}
+
+	/**
+	 * Set the number of latencies a route needs before its requests are hedged
+	 *
+	 * @param minSamples	Minimum samples, at most 128
+	 */
+	public void setMinSamples(int minSamples) {
+		this.minSamples = minSamples;
+	}
+
+	/**
+	 * Get statistics summed over all routes
+	 *
+	 * @return	Hedge statistics
+	 */
+	public HedgeStatistics getStatistics() {
+		long requests = 0, hedged = 0, won = 0, capped = 0;
+		for(Route route : routes.values()) {
+			requests += route.requests.get();
+			hedged += route.hedged.get();
+			won += route.won.get();
+			capped += route.capped.get();
+		}
+		return new HedgeStatistics(requests, hedged, won, capped, -1);
+	}
+
+	/**
+	 * Get statistics for each route
+	 *
+	 * @return	KVP of route (host/path template) to hedge statistics
+	 */
+	public Map<String,HedgeStatistics> getRouteStatistics() {
+		Map<String,HedgeStatistics> statistics = new LinkedHashMap<String,HedgeStatistics>();
+		for(Map.Entry<String,Route> entry : routes.entrySet()) {
+			statistics.put(entry.getKey(), entry.getValue().toStatistics());
+		}
+		return statistics;
+	}
+
+	/**
+	 * Starts tracking the copies of a request
+	 *
+	 * @param route	Route of the request
+	 * @return	Hedge of the request
+	 */
+	Hedge start(String route) {
+		Route counters = routes.get(route);
+		if(counters == null) {
+			Route created = new Route();
+			counters = routes.putIfAbsent(route, created);
+			if(counters == null) {
+				counters = created;
+			}
+		}
+		counters.requests.incrementAndGet();
+		synchronized(this) {
+			tokens = Math.min(MAX_BURST, tokens + maxHedgeRatio);
+		}
+		return new Hedge(counters);
+	}
+
+	/**
+	 * Takes a hedge from the allowance
+	 */
+	private synchronized boolean tryAcquireHedge() {
+		if(tokens < 1) {
+			return false;
+		}
+		tokens--;
+		return true;
+	}
+
+	/**
+	 * Copies of a single request
+	 */
+	class Hedge {
+		private final Route route;
+
+		private Hedge(Route route) {
+			this.route = route;
+		}
+
+		/**
+		 * Get the time to wait for the first copy before sending another
+		 *
+		 * @return	Milliseconds, or -1 when the route has too few samples to hedge
+		 */
+		long getDelay() {
+			return route.getDelay();
+		}
+
+		/**
+		 * Decides whether a second copy may be sent
+		 *
+		 * @return	True unless the allowance is spent
+		 */
+		boolean tryHedge() {
+			if(!tryAcquireHedge()) {
+				route.capped.incrementAndGet();
+				return false;
+			}
+			route.hedged.incrementAndGet();
+			return true;
+		}
+
+		/**
+		 * Records the latency of a copy that was answered
+		 *
+		 * @param latencyMillis	Milliseconds from sending the copy to its response
+		 */
+		void record(long latencyMillis) {
+			route.record(latencyMillis);
+		}
+
+		/**
+		 * Records that the second copy answered first
+		 */
+		void won() {
+			route.won.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Recent latencies and running totals of a route
+	 */
+	private class Route {
+		private final AtomicLong requests = new AtomicLong();
+		private final AtomicLong hedged = new AtomicLong();
+		private final AtomicLong won = new AtomicLong();
+		private final AtomicLong capped = new AtomicLong();
+		private final long[] samples = new long[SAMPLE_SIZE];
+		private int next;
+		private int count;
+		private int sinceComputed;
+		private long delay = -1;
+
+		synchronized void record(long latencyMillis) {
+			samples[next] = latencyMillis;
+			next = (next + 1) % SAMPLE_SIZE;
+			count = Math.min(count + 1, SAMPLE_SIZE);
+			sinceComputed++;
+			if(count >= minSamples && (delay < 0 || sinceComputed >= RECOMPUTE_INTERVAL)) {
+				sinceComputed = 0;
+				long[] sorted = Arrays.copyOf(samples, count);
+				Arrays.sort(sorted);
+				int index = (int) Math.min(sorted.length - 1, Math.max(0, Math.ceil(percentile * sorted.length) - 1));
+				delay = sorted[index];
+			}
+		}
+
+		synchronized long getDelay() {
+			return delay < 0 ? -1 : Math.max(minDelayMillis, delay);
+		}
+
+		HedgeStatistics toStatistics() {
+			return new HedgeStatistics(requests.get(), hedged.get(), won.get(), capped.get(), getDelay());
+		}
+	}
+}
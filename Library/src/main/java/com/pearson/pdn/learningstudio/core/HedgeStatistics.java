@@ -0,0 +1,115 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.core;
+
+/**
+ * Point in time statistics of a hedge policy
+ */
+public class HedgeStatistics {
+	private long requests;
+	private long hedged;
+	private long won;
+	private long capped;
+	private long delayMillis;
+
+	/**
+	 * Constructs hedge statistics
+	 *
+	 * @param requests	Hedgeable requests made since startup
+	 * @param hedged	Requests a second copy was sent for
+	 * @param won	Requests answered first by the second copy
+	 * @param capped	Copies not sent because the allowance was spent
+	 * @param delayMillis	Current wait before sending a copy, or -1 when unknown or summed over routes
+	 */
+	public HedgeStatistics(long requests, long hedged, long won, long capped, long delayMillis) {
+		this.requests = requests;
+		this.hedged = hedged;
+		this.won = won;
+		this.capped = capped;
+		this.delayMillis = delayMillis;
+	}
+
+	/**
+	 * Get hedgeable requests made since startup
+	 *
+	 * @return	Number of requests
+	 */
+	public long getRequests() {
+		return requests;
+	}
+
+	/**
+	 * Get requests a second copy was sent for
+	 *
+	 * @return	Number of hedged requests
+	 */
+	public long getHedged() {
+		return hedged;
+	}
+
+	/**
+	 * Get requests answered first by the second copy
+	 *
+	 * @return	Number of hedges that won
+	 */
+	public long getWon() {
+		return won;
+	}
+
+	/**
+	 * Get copies not sent because the allowance was spent
+	 *
+	 * @return	Number of capped hedges
+	 */
+	public long getCapped() {
+		return capped;
+	}
+
+	/**
+	 * Get the current wait before sending a copy
+	 *
+	 * @return	Milliseconds, or -1 when unknown or summed over routes
+	 */
+	public long getDelayMillis() {
+		return delayMillis;
+	}
+
+	/**
+	 * Implements the toString method for use in debugging
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("Requests: ").append(requests).append(", ");
+		sb.append("Hedged: ").append(hedged).append(", ");
+		sb.append("Won: ").append(won).append(", ");
+		sb.append("Capped: ").append(capped).append(", ");
+		sb.append("DelayMillis: ").append(delayMillis);
+		return sb.toString();
+	}
+}
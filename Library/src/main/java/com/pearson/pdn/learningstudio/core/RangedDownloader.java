@@ -0,0 +1,558 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.core;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.log4j.Logger;
+
+import com.pearson.pdn.learningstudio.core.AbstractService.HttpMethod;
+
+/**
+ * Downloads large documents in parallel byte ranges straight into a pre-allocated file.
+ * 
+ * Completed ranges are recorded in a progress file next to the target, so an interrupted
+ * download resumes with the missing ranges only. The progress is discarded when the
+ * document changes on the server. Servers without range support are read in a single stream.
+ */
+public class RangedDownloader {
+	private final static Logger logger = Logger.getLogger(RangedDownloader.class);
+	
+	private final static String PROGRESS_SUFFIX = ".ranges";
+	private final static Pattern CONTENT_RANGE = Pattern.compile("bytes\\s+(\\d+)-(\\d+)/(\\d+|\\*)");
+	private final static Pattern UNSATISFIED_RANGE = Pattern.compile("bytes\\s+\\*/(\\d+)");
+	private final static int STATUS_PARTIAL_CONTENT = 206;
+	private final static int STATUS_RANGE_NOT_SATISFIABLE = 416;
+	private final static int TRANSFER_BUFFER_SIZE = 64 * 1024;
+	private final static String HTTP_DATE_FORMAT = "EEE, dd MMM yyyy HH:mm:ss zzz";
+	private final static long STRONG_DATE_MILLIS = 60000;
+	
+	private final AbstractService service;
+	private long chunkSize = 8 * 1024 * 1024;
+	private int parallelism = 4;
+	private int maxAttempts = 3;
+	
+	/**
+	 * Constructs a downloader sending requests through a service
+	 * 
+	 * @param service	Service providing authentication, transport and executor
+	 */
+	public RangedDownloader(AbstractService service) {
+		this.service = service;
+	}
+	
+	/**
+	 * Get the number of bytes requested at a time
+	 * 
+	 * @return	Bytes per range
+	 */
+	public long getChunkSize() {
+		return chunkSize;
+	}
+	
+	/**
+	 * Set the number of bytes requested at a time
+	 * 
+	 * @param chunkSize	Bytes per range
+	 */
+	public void setChunkSize(long chunkSize) {
+		this.chunkSize = chunkSize;
+	}
+	
+	/**
+	 * Get the number of ranges downloaded at once
+	 * 
+	 * @return	Ranges in flight
+	 */
+	public int getParallelism() {
+		return parallelism;
+	}
+	
+	/**
+	 * Set the number of ranges downloaded at once
+	 * 
+	 * @param parallelism	Ranges in flight
+	 */
+	public void setParallelism(int parallelism) {
+		this.parallelism = parallelism;
+	}
+	
+	/**
+	 * Get the number of times a range is requested before the download fails
+	 * 
+	 * @return	Attempts per range
+	 */
+	public int getMaxAttempts() {
+		return maxAttempts;
+	}
+	
+	/**
+	 * Set the number of times a range is requested before the download fails
+	 * 
+	 * @param maxAttempts	Attempts per range
+	 */
+	public void setMaxAttempts(int maxAttempts) {
+		this.maxAttempts = maxAttempts;
+	}
+	
+	/**
+	 * Downloads the document at the URL into the file
+	 * 
+	 * @param relativeUrl	The URL after .com (/me)
+	 * @param path	Destination of the document
+	 * @return	Response with details of status. Content is only set on error.
+	 * @throws IOException
+	 */
+	public Response download(String relativeUrl, Path path) throws IOException {
+		// a single byte range reveals the length and validator of the document
+		Response probe = service.openDownload(rangeHeaders(0, 0, null), HttpMethod.GET, relativeUrl);
+		if(probe.getStatusCode() == STATUS_RANGE_NOT_SATISFIABLE && isEmptyDocument(probe)) {
+			// an empty document has no first byte to return
+			probe.close();
+			FileChannel file = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+			try {
+				file.force(false);
+			}
+			finally {
+				file.close();
+			}
+			Files.deleteIfExists(progressPath(path));
+			return completed(probe);
+		}
+		if(probe.isError()) {
+			return probe;
+		}
+		
+		if(probe.getStatusCode() != STATUS_PARTIAL_CONTENT) {
+			logger.debug("Range requests not supported, downloading in a single stream");
+			probe.transferTo(path);
+			return probe;
+		}
+		probe.close();
+		
+		long[] contentRange = parseContentRange(probe.getHeader("Content-Range"));
+		if(contentRange == null || contentRange[2] < 0) {
+			throw new IOException("Invalid Content-Range: " + probe.getHeader("Content-Range"));
+		}
+		
+		long length = contentRange[2];
+		String validator = getRangeValidator(probe);
+		if(validator == null) {
+			logger.debug("No strong validator, downloading ranges without If-Range or resume");
+		}
+		
+		Progress progress = Progress.open(progressPath(path), length, validator, chunkSize);
+		FileChannel file = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			if(!progress.isResumed() || file.size() != length) {
+				if(progress.isResumed()) {
+					progress.reset();
+				}
+				file.truncate(0);
+				if(length > 0) {
+					file.write(ByteBuffer.allocate(1), length - 1); // pre-allocate
+				}
+			}
+			
+			try {
+				fetchRanges(relativeUrl, file, progress, length, validator, probe.getHeader("ETag"));
+			}
+			catch(DocumentChangedException e) {
+				progress.reset(); // the next attempt starts over
+				throw e;
+			}
+			file.force(false);
+			
+			if(file.size() != length) {
+				throw new IOException("Downloaded " + file.size() + " bytes, expected " + length);
+			}
+		}
+		finally {
+			file.close();
+			progress.close();
+		}
+		progress.delete();
+		return completed(probe);
+	}
+	
+	/**
+	 * Builds the response of a completed download from the response to the probe
+	 */
+	private static Response completed(Response probe) {
+		Response response = new Response();
+		response.setMethod(probe.getMethod());
+		response.setUrl(probe.getUrl());
+		response.setStatusCode(200);
+		response.setStatusMessage("OK");
+		response.setHeaders(probe.getHeaders());
+		response.setContentType(probe.getContentType());
+		return response;
+	}
+	
+	/**
+	 * Runs workers on the service executor until every missing range is written
+	 */
+	private void fetchRanges(final String relativeUrl, final FileChannel file, final Progress progress, final long length, final String validator, final String etag) throws IOException {
+		final int chunkCount = (int) ((length + chunkSize - 1) / chunkSize);
+		final AtomicInteger nextChunk = new AtomicInteger();
+		
+		List<CompletableFuture<Void>> workers = new ArrayList<CompletableFuture<Void>>();
+		for(int i = 0; i < Math.max(1, parallelism); i++) {
+			workers.add(service.callAsync(new Callable<Void>() {
+				public Void call() throws Exception {
+					int chunk;
+					while((chunk = nextChunk.getAndIncrement()) < chunkCount) {
+						if(progress.isComplete(chunk)) {
+							continue;
+						}
+						long start = chunk * chunkSize;
+						long end = Math.min(length, start + chunkSize) - 1;
+						fetchRange(relativeUrl, file, start, end, validator, etag);
+						// the range is only recorded once its bytes are on disk
+						file.force(false);
+						progress.complete(chunk);
+					}
+					return null;
+				}
+			}));
+		}
+		
+		// every worker is waited for, so none writes to the file after the download returns
+		Throwable failure = null;
+		for(CompletableFuture<Void> worker : workers) {
+			try {
+				worker.get();
+			}
+			catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+				nextChunk.set(chunkCount);
+				if(failure == null) {
+					failure = new IOException("Download interrupted", e);
+				}
+			}
+			catch(ExecutionException e) {
+				nextChunk.set(chunkCount); // stop the remaining workers
+				if(failure == null) {
+					failure = e.getCause();
+				}
+			}
+		}
+		
+		if(failure instanceof IOException) {
+			throw (IOException) failure;
+		}
+		else if(failure != null) {
+			throw new IOException("Download failed", failure);
+		}
+	}
+	
+	/**
+	 * Writes one range at its position in the file, continuing from the last byte written after a failure
+	 * 
+	 * @param validator	Strong validator sent in If-Range, or null
+	 * @param etag	ETag of the document when the download started, or null
+	 */
+	private void fetchRange(String relativeUrl, FileChannel file, long start, long end, String validator, String etag) throws IOException {
+		// advanced by write() as bytes land, so a failed attempt still counts what it wrote
+		long[] position = { start };
+		int attempt = 0;
+		while(true) {
+			attempt++;
+			try {
+				Response response = service.openDownload(rangeHeaders(position[0], end, validator), HttpMethod.GET, relativeUrl);
+				if(response.isError()) {
+					throw new IOException("Range request failed: " + response.getStatusCode() + " - " + response.getStatusMessage());
+				}
+				if(response.getStatusCode() != STATUS_PARTIAL_CONTENT) {
+					response.close();
+					throw new DocumentChangedException();
+				}
+				// without If-Range the server can not tell, so a range of another version is caught here
+				if(validator == null && etag != null && !isSameEntity(etag, response.getHeader("ETag"))) {
+					response.close();
+					throw new DocumentChangedException();
+				}
+				
+				long[] contentRange = parseContentRange(response.getHeader("Content-Range"));
+				if(contentRange == null || contentRange[0] != position[0] || contentRange[1] != end) {
+					response.close();
+					throw new IOException("Unexpected Content-Range: " + response.getHeader("Content-Range"));
+				}
+				
+				write(response, file, position);
+				if(position[0] != end + 1) {
+					throw new IOException("Range ended at " + position[0] + ", expected " + (end + 1));
+				}
+				return;
+			}
+			catch(DocumentChangedException e) {
+				throw e;
+			}
+			catch(IOException e) {
+				if(attempt >= maxAttempts) {
+					throw e;
+				}
+				logger.debug("Retrying range " + position[0] + "-" + end + " after: " + e.getMessage());
+			}
+		}
+	}
+	
+	/**
+	 * Copies the body to the file with positional writes
+	 * 
+	 * @param position	Position of the first byte, advanced past every byte written
+	 */
+	private void write(Response response, FileChannel file, long[] position) throws IOException {
+		InputStream inputStream = response.getBodyStream();
+		try {
+			ReadableByteChannel source = Channels.newChannel(inputStream);
+			ByteBuffer buffer = ByteBuffer.allocateDirect(TRANSFER_BUFFER_SIZE);
+			while(source.read(buffer) != -1) {
+				buffer.flip();
+				while(buffer.hasRemaining()) {
+					position[0] += file.write(buffer, position[0]);
+				}
+				buffer.clear();
+			}
+		}
+		finally {
+			response.close();
+		}
+	}
+	
+	/**
+	 * Chooses the validator sent in If-Range. A server ignores Range and sends the whole document
+	 * when If-Range carries a weak validator (RFC 7233), so only strong ones are used.
+	 * 
+	 * @param probe	Response to the first range
+	 * @return	Strong ETag, else a strong Last-Modified date, else null
+	 */
+	private static String getRangeValidator(Response probe) {
+		String etag = probe.getHeader("ETag");
+		if(etag != null) {
+			return etag.startsWith("W/") ? null : etag;
+		}
+		
+		// a date is strong once the document went unchanged for a minute before the response (RFC 7232)
+		String lastModified = probe.getHeader("Last-Modified");
+		String date = probe.getHeader("Date");
+		if(lastModified == null || date == null) {
+			return null;
+		}
+		try {
+			SimpleDateFormat format = new SimpleDateFormat(HTTP_DATE_FORMAT, Locale.US);
+			if(format.parse(date).getTime() - format.parse(lastModified).getTime() >= STRONG_DATE_MILLIS) {
+				return lastModified;
+			}
+		}
+		catch(ParseException e) {
+			logger.debug("Ignoring unparseable Last-Modified: " + lastModified);
+		}
+		return null;
+	}
+	
+	/**
+	 * Compares entity tags ignoring whether they are weak
+	 */
+	private static boolean isSameEntity(String etag, String other) {
+		if(other == null) {
+			return false;
+		}
+		return (etag.startsWith("W/") ? etag.substring(2) : etag).equals(other.startsWith("W/") ? other.substring(2) : other);
+	}
+	
+	private static Map<String,String> rangeHeaders(long start, long end, String validator) {
+		Map<String,String> headers = new HashMap<String,String>();
+		headers.put("Range", "bytes=" + start + "-" + end);
+		if(validator != null) {
+			headers.put("If-Range", validator); // a changed document is returned whole
+		}
+		return headers;
+	}
+	
+	/**
+	 * Parses a Content-Range header
+	 * 
+	 * @return	First byte, last byte and length (-1 when unknown), or null when invalid
+	 */
+	private static long[] parseContentRange(String contentRange) {
+		if(contentRange == null) {
+			return null;
+		}
+		Matcher matcher = CONTENT_RANGE.matcher(contentRange.trim());
+		if(!matcher.matches()) {
+			return null;
+		}
+		long length = "*".equals(matcher.group(3)) ? -1 : Long.parseLong(matcher.group(3));
+		return new long[] { Long.parseLong(matcher.group(1)), Long.parseLong(matcher.group(2)), length };
+	}
+	
+	/**
+	 * Indicates whether a 416 response reports a document without any bytes
+	 */
+	private static boolean isEmptyDocument(Response response) {
+		String contentRange = response.getHeader("Content-Range");
+		if(contentRange == null) {
+			return false;
+		}
+		Matcher matcher = UNSATISFIED_RANGE.matcher(contentRange.trim());
+		return matcher.matches() && Long.parseLong(matcher.group(1)) == 0;
+	}
+	
+	private static Path progressPath(Path path) {
+		return path.resolveSibling(path.getFileName().toString() + PROGRESS_SUFFIX);
+	}
+	
+	/**
+	 * Raised when the server returns the whole document to a conditional range request
+	 */
+	private static class DocumentChangedException extends IOException {
+		private static final long serialVersionUID = 1L;
+
+		DocumentChangedException() {
+			super("Document changed on the server during the download");
+		}
+	}
+	
+	/**
+	 * Ranges completed so far. The first line identifies the document, each following line
+	 * holds the index of a completed range.
+	 */
+	private static class Progress {
+		private final Path path;
+		private final String identity;
+		private final BitSet completed = new BitSet();
+		private boolean resumed;
+		private FileChannel channel;
+		
+		private Progress(Path path, String identity) {
+			this.path = path;
+			this.identity = identity;
+		}
+		
+		static Progress open(Path path, long length, String validator, long chunkSize) throws IOException {
+			Progress progress = new Progress(path, length + " " + chunkSize + " " + (validator == null ? "" : validator));
+			
+			// without a validator a changed document could not be detected, so nothing is resumed
+			if(validator != null && Files.exists(path)) {
+				BufferedReader reader = new BufferedReader(new InputStreamReader(Files.newInputStream(path), "UTF-8"));
+				try {
+					if(progress.identity.equals(reader.readLine())) {
+						progress.resumed = true;
+						String line;
+						while((line = reader.readLine()) != null) {
+							try {
+								progress.completed.set(Integer.parseInt(line.trim()));
+							}
+							catch(NumberFormatException e) {
+								// partially written line from an interrupted run
+							}
+						}
+					}
+				}
+				finally {
+					reader.close();
+				}
+			}
+			
+			if(progress.resumed) {
+				progress.channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+				progress.append("\n"); // terminate a partially written line
+			}
+			else {
+				progress.reset();
+			}
+			return progress;
+		}
+		
+		boolean isResumed() {
+			return resumed;
+		}
+		
+		synchronized boolean isComplete(int chunk) {
+			return completed.get(chunk);
+		}
+		
+		synchronized void complete(int chunk) throws IOException {
+			completed.set(chunk);
+			append(chunk + "\n");
+		}
+		
+		synchronized void reset() throws IOException {
+			if(channel != null) {
+				channel.close();
+			}
+			completed.clear();
+			resumed = false;
+			channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+			append(identity + "\n");
+		}
+		
+		synchronized void close() throws IOException {
+			if(channel != null) {
+				channel.close();
+				channel = null;
+			}
+		}
+		
+		void delete() throws IOException {
+			Files.deleteIfExists(path);
+		}
+		
+		private void append(String line) throws IOException {
+			ByteBuffer buffer = ByteBuffer.wrap(line.getBytes("UTF-8"));
+			while(buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		}
+	}
+}
@@ -0,0 +1,191 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.core;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * The body of a request, encoded once. The same bytes are signed and sent without further copies.
+ */
+public class RequestBody {
+	private final static Charset UTF_8 = Charset.forName("UTF-8");
+	
+	/**
+	 * A request without a body
+	 */
+	public final static RequestBody EMPTY = new RequestBody(new byte[0], 0, 0);
+	
+	/**
+	 * Writes a body to a stream
+	 */
+	public interface Writer {
+		
+		/**
+		 * Writes the content of the body
+		 * 
+		 * @param out	Stream receiving the body
+		 * @throws IOException
+		 */
+		public void writeTo(OutputStream out) throws IOException;
+	}
+	
+	private final byte[] bytes;
+	private final int offset;
+	private final int length;
+	
+	private RequestBody(byte[] bytes, int offset, int length) {
+		this.bytes = bytes;
+		this.offset = offset;
+		this.length = length;
+	}
+	
+	/**
+	 * Creates a body from text encoded as UTF-8
+	 * 
+	 * @param body	Text of the body. Null is an empty body.
+	 * @return	RequestBody
+	 */
+	public static RequestBody of(String body) {
+		if(body == null || body.length() == 0) {
+			return EMPTY;
+		}
+		byte[] bytes = body.getBytes(UTF_8);
+		return new RequestBody(bytes, 0, bytes.length);
+	}
+	
+	/**
+	 * Creates a body from bytes. The array is used as is and must not change afterwards.
+	 * 
+	 * @param body	Bytes of the body
+	 * @return	RequestBody
+	 */
+	public static RequestBody of(byte[] body) {
+		return new RequestBody(body, 0, body.length);
+	}
+	
+	/**
+	 * Creates a body from the remaining bytes of a buffer.
+	 * Buffers backed by an accessible array are used without copying.
+	 * 
+	 * @param body	Buffer holding the body. Its position is not changed.
+	 * @return	RequestBody
+	 */
+	public static RequestBody of(ByteBuffer body) {
+		if(body.hasArray()) {
+			return new RequestBody(body.array(), body.arrayOffset() + body.position(), body.remaining());
+		}
+		byte[] bytes = new byte[body.remaining()];
+		body.duplicate().get(bytes);
+		return new RequestBody(bytes, 0, bytes.length);
+	}
+	
+	/**
+	 * Creates a body by running a writer once into a growing buffer, which is then used without copying
+	 * 
+	 * @param writer	Writer of the body
+	 * @return	RequestBody
+	 * @throws IOException
+	 */
+	public static RequestBody from(Writer writer) throws IOException {
+		ExposedOutputStream out = new ExposedOutputStream();
+		writer.writeTo(out);
+		out.close();
+		return new RequestBody(out.getBuffer(), 0, out.size());
+	}
+	
+	/**
+	 * Get the array holding the body
+	 * 
+	 * @return	Bytes of the body, starting at getOffset()
+	 */
+	public byte[] getBytes() {
+		return bytes;
+	}
+	
+	/**
+	 * Get the position of the body in its array
+	 * 
+	 * @return	Offset of the first byte
+	 */
+	public int getOffset() {
+		return offset;
+	}
+	
+	/**
+	 * Get the length of the body
+	 * 
+	 * @return	Number of bytes
+	 */
+	public int getLength() {
+		return length;
+	}
+	
+	/**
+	 * Indicates whether the body has no content
+	 * 
+	 * @return	Boolean indicator of an empty body
+	 */
+	public boolean isEmpty() {
+		return length == 0;
+	}
+	
+	/**
+	 * Get a read-only view of the body
+	 * 
+	 * @return	Buffer over the body
+	 */
+	public ByteBuffer asByteBuffer() {
+		return ByteBuffer.wrap(bytes, offset, length).slice().asReadOnlyBuffer();
+	}
+	
+	/**
+	 * Decodes the body as UTF-8 for use in debugging
+	 */
+	@Override
+	public String toString() {
+		return new String(bytes, offset, length, UTF_8);
+	}
+	
+	/**
+	 * Output stream giving access to its buffer, so the written bytes need not be copied
+	 */
+	private static class ExposedOutputStream extends ByteArrayOutputStream {
+		
+		ExposedOutputStream() {
+			super(8192);
+		}
+		
+		byte[] getBuffer() {
+			return buf;
+		}
+	}
+}
@@ -27,15 +27,43 @@
  */
 package com.pearson.pdn.learningstudio.core;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.apache.commons.codec.binary.Base64;
 
+import com.google.gson.stream.JsonReader;
+
 /**
  * The response object returned by all Service objects
+ * 
+ * When the service is in streaming mode, successful responses hold the live body
+ * instead of buffered content. Streaming responses must be closed.
  */
-public class Response {
+public class Response implements Closeable {
+	private final static Charset UTF_8 = Charset.forName("UTF-8");
+	private final static int TRANSFER_BUFFER_SIZE = 64 * 1024;
+	
+
 	private String method;
 	private String url;
 	private String content;
@@ -44,6 +72,11 @@ public class Response {
 	private String statusMessage;
 	private byte[] binaryContent;
 	private Map<String,List<String>> headers;
+	private InputStream bodyStream;
+	private CountingInputStream wireCounter;
+	private CountingInputStream decodedCounter;
+	private boolean fromCache;
+	private boolean shared;
 
 	/**
 	 * Get the HTTP method used by the last performed operation
@@ -82,11 +115,13 @@ public class Response {
 	}
 
 	/**
-	 * Get the content collected by the operation
+	 * Get the content collected by the operation.
+	 * A streaming body is read and closed on first access.
 	 * 
 	 * @return	String of content
 	 */
 	public String getContent() {
+		bufferBody();
 		return content;
 	}
 	
@@ -96,6 +131,7 @@ public class Response {
 	 * @param content	String of content
 	 */
 	public void setContent(String content) {
+		discardBodyStream();
 		this.content = content;
 	}
 	
@@ -154,12 +190,12 @@ public class Response {
 	}
 	
 	/**
-	 * Indicates whether the content is binary. If so, it has been base64 encoded.
+	 * Indicates whether the content is binary. If so, it is available from getBinaryContent.
 	 * 
 	 * @return	Boolean indicator of binary content
 	 */
 	public boolean isBinaryContent() {
-		return binaryContent!=null;
+		return binaryContent!=null || (bodyStream!=null && isBinaryContentType(contentType));
 	}
 
 	/**
@@ -168,18 +204,235 @@ public class Response {
 	 * @param binaryContent	Boolean indicator of binaryContent
 	 */
 	public void setBinaryContent(byte[] binaryContent) {
+		discardBodyStream();
 		this.binaryContent = binaryContent;
 	}
 	
 	/**
-	 * Gets the binary content
+	 * Gets the binary content.
+	 * A streaming body is read and closed on first access.
 	 * 
 	 * @return	Binary content
 	 */
 	public byte[] getBinaryContent() {
+		bufferBody();
 		return binaryContent;
 	}
 	
+	/**
+	 * Indicates whether the body is still held open on the connection
+	 * 
+	 * @return	Boolean indicator of a streaming body
+	 */
+	public boolean isStreaming() {
+		return bodyStream!=null;
+	}
+	
+	/**
+	 * Sets the live body of the response. The body is buffered on first request for the content.
+	 * 
+	 * @param bodyStream	Stream over the body
+	 */
+	public void setBodyStream(InputStream bodyStream) {
+		this.bodyStream = bodyStream;
+	}
+	
+	/**
+	 * Gets the body as a stream. A streaming body is returned as is and can be read only once.
+	 * Otherwise the stream is over the buffered content.
+	 * 
+	 * @return	Stream over the body
+	 */
+	public InputStream getBodyStream() {
+		if(bodyStream!=null) {
+			return bodyStream;
+		}
+		else if(binaryContent!=null) {
+			return new ByteArrayInputStream(binaryContent);
+		}
+		else if(content!=null) {
+			return new ByteArrayInputStream(content.getBytes(UTF_8));
+		}
+		return new ByteArrayInputStream(new byte[0]);
+	}
+	
+	/**
+	 * Gets the body as UTF-8 text
+	 * 
+	 * @return	Reader over the body
+	 */
+	public Reader getReader() {
+		if(bodyStream!=null) {
+			return new InputStreamReader(bodyStream,UTF_8);
+		}
+		return new StringReader(content==null ? "" : content);
+	}
+	
+	/**
+	 * Gets the body as a JSON token stream
+	 * 
+	 * @return	JsonReader over the body
+	 */
+	public JsonReader getJsonReader() {
+		return new JsonReader(getReader());
+	}
+	
+	/**
+	 * Closes a streaming body, releasing the underlying connection.
+	 * Nothing happens if the body was already buffered.
+	 */
+	public void close() throws IOException {
+		if(bodyStream!=null) {
+			InputStream inputStream = bodyStream;
+			bodyStream = null;
+			inputStream.close();
+		}
+	}
+	
+	/**
+	 * Closes a streaming body that is replaced by other content
+	 */
+	private void discardBodyStream() {
+		try {
+			close();
+		}
+		catch(IOException e) {
+			// the connection is dropped either way
+		}
+	}
+	
+	/**
+	 * Reads a streaming body into content or binaryContent
+	 */
+	private void bufferBody() {
+		if(bodyStream==null) {
+			return;
+		}
+		
+		InputStream inputStream = bodyStream;
+		bodyStream = null;
+		try {
+			try {
+				if(isBinaryContentType(contentType)) {
+					binaryContent = readBytes(inputStream);
+				}
+				else {
+					content = readText(inputStream);
+				}
+			}
+			finally {
+				inputStream.close();
+			}
+		}
+		catch(IOException e) {
+			throw new UncheckedIOException("Failed to read response body", e);
+		}
+	}
+	
+	/**
+	 * Writes the body to a channel. A streaming body is copied through a fixed buffer
+	 * and closed, so it never sits fully on the heap.
+	 * 
+	 * @param channel	Destination of the body
+	 * @return	Number of bytes written
+	 * @throws IOException
+	 */
+	public long transferTo(WritableByteChannel channel) throws IOException {
+		if(bodyStream==null) {
+			ByteBuffer buffer = ByteBuffer.wrap(binaryContent!=null ? binaryContent : 
+				(content!=null ? content.getBytes(UTF_8) : new byte[0]));
+			long total = buffer.remaining();
+			while(buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			return total;
+		}
+		
+		InputStream inputStream = bodyStream;
+		bodyStream = null;
+		try {
+			ReadableByteChannel source = Channels.newChannel(inputStream);
+			ByteBuffer buffer = ByteBuffer.allocateDirect(TRANSFER_BUFFER_SIZE);
+			long total = 0;
+			while(source.read(buffer)!=-1) {
+				buffer.flip();
+				while(buffer.hasRemaining()) {
+					total += channel.write(buffer);
+				}
+				buffer.clear();
+			}
+			return total;
+		}
+		finally {
+			inputStream.close();
+		}
+	}
+	
+	/**
+	 * Writes the body to a file, replacing any existing content
+	 * 
+	 * @param path	Destination of the body
+	 * @return	Number of bytes written
+	 * @throws IOException
+	 */
+	public long transferTo(Path path) throws IOException {
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+		try {
+			return transferTo(channel);
+		}
+		finally {
+			channel.close();
+		}
+	}
+	
+	/**
+	 * Reads a body to the end
+	 * 
+	 * @param inputStream	Stream over the body
+	 * @return	Bytes of the body
+	 * @throws IOException
+	 */
+	static byte[] readBytes(InputStream inputStream) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[8192];
+		int count = 0;
+		while((count=inputStream.read(buffer))!=-1) {
+			out.write(buffer,0,count);
+		}
+		return out.toByteArray();
+	}
+	
+	/**
+	 * Reads a UTF-8 body to the end, keeping line breaks
+	 * 
+	 * @param inputStream	Stream over the body
+	 * @return	Text of the body
+	 * @throws IOException
+	 */
+	static String readText(InputStream inputStream) throws IOException {
+		Reader reader = new InputStreamReader(inputStream,UTF_8);
+		StringBuilder text = new StringBuilder();
+		char[] buffer = new char[8192];
+		int count = 0;
+		while((count=reader.read(buffer))!=-1) {
+			text.append(buffer,0,count);
+		}
+		return text.toString();
+	}
+	
+	/**
+	 * Indicates whether content of the type is handled as binary
+	 * 
+	 * @param contentType	Content-Type String
+	 * @return	Boolean indicator of binary content
+	 */
+	static boolean isBinaryContentType(String contentType) {
+		return contentType != null
+			&& !contentType.startsWith("text/") 
+			&& !contentType.startsWith("application/xml")
+			&& !contentType.startsWith("application/json");
+	}
+	
 	/**
 	 * Gets the response headers from the request
 	 * 
@@ -198,6 +451,117 @@ public class Response {
 		this.headers = headers;
 	}
 	
+	/**
+	 * Gets the number of body bytes received so far, before any content decoding.
+	 * A streaming body is counted as it is read.
+	 * 
+	 * @return	Bytes received
+	 */
+	public long getWireByteCount() {
+		return wireCounter == null ? 0 : wireCounter.getCount();
+	}
+	
+	/**
+	 * Gets the number of body bytes produced so far after content decoding.
+	 * Equal to the wire count when the body was not compressed.
+	 * 
+	 * @return	Bytes decoded
+	 */
+	public long getDecodedByteCount() {
+		return decodedCounter == null ? 0 : decodedCounter.getCount();
+	}
+	
+	/**
+	 * Sets the counters of body bytes
+	 * 
+	 * @param wireCounter	Counter of bytes received
+	 * @param decodedCounter	Counter of bytes decoded
+	 */
+	void setByteCounters(CountingInputStream wireCounter, CountingInputStream decodedCounter) {
+		this.wireCounter = wireCounter;
+		this.decodedCounter = decodedCounter;
+	}
+	
+	/**
+	 * Indicates whether the content was served from a cache instead of the response body
+	 * 
+	 * @return	Boolean indicator of cached content
+	 */
+	public boolean isFromCache() {
+		return fromCache;
+	}
+	
+	/**
+	 * Sets whether the content was served from a cache
+	 * 
+	 * @param fromCache	Boolean indicator of cached content
+	 */
+	public void setFromCache(boolean fromCache) {
+		this.fromCache = fromCache;
+	}
+	
+	/**
+	 * Indicates whether the response was received for an identical request made concurrently by another caller
+	 * 
+	 * @return	Boolean indicator of a shared response
+	 */
+	public boolean isShared() {
+		return shared;
+	}
+	
+	/**
+	 * Creates a copy for another caller of a coalesced request.
+	 * Text content is shared, binary content and headers are copied, byte counters stay with the original.
+	 * 
+	 * @return	Shared copy of a buffered response
+	 */
+	Response copy() {
+		Response response = new Response();
+		response.method = method;
+		response.url = url;
+		response.content = content;
+		response.contentType = contentType;
+		response.statusCode = statusCode;
+		response.statusMessage = statusMessage;
+		response.binaryContent = binaryContent == null ? null : binaryContent.clone();
+		if(headers != null) {
+			response.headers = new LinkedHashMap<String,List<String>>();
+			for(Map.Entry<String,List<String>> header : headers.entrySet()) {
+				response.headers.put(header.getKey(), header.getValue() == null ? null : new ArrayList<String>(header.getValue()));
+			}
+		}
+		response.fromCache = fromCache;
+		response.shared = true;
+		return response;
+	}
+	
+	/**
+	 * Gets the first value of a response header
+	 * 
+	 * @param name	Name of the header, matched without case
+	 * @return	Value of the header or null when not present
+	 */
+	public String getHeader(String name) {
+		if(headers == null) {
+			return null;
+		}
+		
+		List<String> values = headers.get(name);
+		if(values == null) {
+			for(Map.Entry<String,List<String>> header : headers.entrySet()) {
+				if(name.equalsIgnoreCase(header.getKey())) {
+					values = header.getValue();
+					break;
+				}
+			}
+		}
+		
+		if(values == null || values.isEmpty()) {
+			return null;
+		}
+		return values.get(0);
+	}
+	
 	/**
 	 * Indicates if an error occurred during last operation
 	 * 
@@ -234,7 +598,12 @@ public class Response {
 		sb.append(", ");
 		
 		sb.append("Content-Type: ").append(contentType).append(", ");
-		sb.append("Content: ").append(content);
+		if(bodyStream!=null) {
+			sb.append("Content: [streaming]");
+		}
+		else {
+			sb.append("Content: ").append(content);
+		}
 		
 		return sb.toString();
 	}
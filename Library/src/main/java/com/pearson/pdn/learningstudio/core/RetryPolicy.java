@@ -0,0 +1,410 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.core;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.MalformedURLException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.net.ssl.SSLHandshakeException;
+
+import com.pearson.pdn.learningstudio.core.AbstractService.HttpMethod;
+import com.pearson.pdn.learningstudio.transport.CircuitOpenException;
+
+/**
+ * Policy for repeating idempotent requests after transient failures.
+ *
+ * GET, PUT and DELETE requests are retried after a connection failure or a 429, 500, 502,
+ * 503 or 504 response. The delay between attempts follows decorrelated jitter, a random
+ * time between the base delay and three times the previous delay, so clients failing
+ * together do not retry together. A Retry-After header sets the delay instead.
+ *
+ * Retries are limited by a budget: within each window, retries may not exceed a fraction
+ * of the requests made, plus a small allowance, so an outage does not multiply the load.
+ * A policy may be shared between services.
+ */
+public class RetryPolicy {
+	private final static String RETRY_AFTER_FORMAT = "EEE, dd MMM yyyy HH:mm:ss zzz";
+
+	private int maxAttempts = 3;
+	private long baseDelayMillis = 100;
+	private long maxDelayMillis = 10000;
+	private double budgetRatio = 0.1;
+	private int minRetriesPerWindow = 10;
+	private long budgetWindowMillis = 10000;
+
+	private final ConcurrentMap<String,Counters> routes = new ConcurrentHashMap<String,Counters>();
+	private long windowStart;
+	private long windowRequests;
+	private long windowRetries;
+
+	/**
+	 * Get the number of attempts made for a request, including the first
+	 *
+	 * @return	Maximum attempts
+	 */
+	public int getMaxAttempts() {
+		return maxAttempts;
+	}
+
+	/**
+	 * Set the number of attempts made for a request, including the first
+	 *
+	 * @param maxAttempts	Maximum attempts
+	 */
+	public void setMaxAttempts(int maxAttempts) {
+		this.maxAttempts = maxAttempts;
+	}
+
+	/**
+	 * Get the shortest delay between attempts
+	 *
+	 * @return	Milliseconds
+	 */
+	public long getBaseDelayMillis() {
+		return baseDelayMillis;
+	}
+
+	/**
+	 * Set the shortest delay between attempts
+	 *
+	 * @param baseDelayMillis	Milliseconds
+	 */
+	public void setBaseDelayMillis(long baseDelayMillis) {
+		this.baseDelayMillis = baseDelayMillis;
+	}
+
+	/**
+	 * Get the longest delay between attempts.
+	 * A response asking to retry after a longer time is returned without retrying.
+	 *
+	 * @return	Milliseconds
+	 */
+	public long getMaxDelayMillis() {
+		return maxDelayMillis;
+	}
+
+	/**
+	 * Set the longest delay between attempts.
+	 * A response asking to retry after a longer time is returned without retrying.
+	 *
+	 * @param maxDelayMillis	Milliseconds
+	 */
+	public void setMaxDelayMillis(long maxDelayMillis) {
+		this.maxDelayMillis = maxDelayMillis;
+	}
+
+	/**
+	 * Get the fraction of requests in a window that may be retried
+	 *
+	 * @return	Ratio of retries to requests
+	 */
+	public double getBudgetRatio() {
+		return budgetRatio;
+	}
+
+	/**
+	 * Set the fraction of requests in a window that may be retried
+	 *
+	 * @param budgetRatio	Ratio of retries to requests
+	 */
+	public void setBudgetRatio(double budgetRatio) {
+		this.budgetRatio = budgetRatio;
+	}
+
+	/**
+	 * Get the number of retries allowed in a window regardless of the ratio
+	 *
+	 * @return	Minimum retries per window
+	 */
+	public int getMinRetriesPerWindow() {
+		return minRetriesPerWindow;
+	}
+
+	/**
+	 * Set the number of retries allowed in a window regardless of the ratio
+	 *
+	 * @param minRetriesPerWindow	Minimum retries per window
+	 */
+	public void setMinRetriesPerWindow(int minRetriesPerWindow) {
+		this.minRetriesPerWindow = minRetriesPerWindow;
+	}
+
+	/**
+	 * Get the length of the window the budget applies to
+	 *
+	 * @return	Milliseconds
+	 */
+	public long getBudgetWindowMillis() {
+		return budgetWindowMillis;
+	}
+
+	/**
+	 * Set the length of the window the budget applies to
+	 *
+	 * @param budgetWindowMillis	Milliseconds
+	 */
+	public void setBudgetWindowMillis(long budgetWindowMillis) {
+		this.budgetWindowMillis = budgetWindowMillis;
+	}
+
+	/**
+	 * Indicates whether requests of a method may be repeated
+	 *
+	 * @param method	The HTTP Method of the request
+	 * @return	True for idempotent methods
+	 */
+	public boolean isRetryable(HttpMethod method) {
+		return method == HttpMethod.GET || method == HttpMethod.PUT || method == HttpMethod.DELETE;
+	}
+
+	/**
+	 * Indicates whether a response status is worth another attempt
+	 *
+	 * @param statusCode	HTTP Status Code
+	 * @return	True for throttling and transient server errors
+	 */
+	public boolean isRetryable(int statusCode) {
+		return statusCode == 429 || statusCode == 500 || statusCode == 502 || statusCode == 503 || statusCode == 504;
+	}
+
+	/**
+	 * Indicates whether a failure is worth another attempt
+	 *
+	 * @param e	Failure of the exchange
+	 * @return	False for failures that would repeat, such as an unknown host, a rejected certificate or an open circuit
+	 */
+	public boolean isRetryable(IOException e) {
+		if(e instanceof InterruptedIOException) {
+			return e instanceof SocketTimeoutException;
+		}
+		return !(e instanceof UnknownHostException || e instanceof MalformedURLException || e instanceof SSLHandshakeException
+			|| e instanceof CircuitOpenException);
+	}
+
+	/**
+	 * Get statistics summed over all routes
+	 *
+	 * @return	Retry statistics
+	 */
+	public RetryStatistics getStatistics() {
+		Counters total = new Counters();
+		for(Counters counters : routes.values()) {
+			total.add(counters);
+		}
+		return total.toStatistics();
+	}
+
+	/**
+	 * Get statistics for each route
+	 *
+	 * @return	KVP of route (host/path template) to retry statistics
+	 */
+	public Map<String,RetryStatistics> getRouteStatistics() {
+		Map<String,RetryStatistics> statistics = new LinkedHashMap<String,RetryStatistics>();
+		for(Map.Entry<String,Counters> entry : routes.entrySet()) {
+			statistics.put(entry.getKey(), entry.getValue().toStatistics());
+		}
+		return statistics;
+	}
+
+	/**
+	 * Starts tracking the attempts of a request
+	 *
+	 * @param route	Route of the request
+	 * @return	Attempts of the request
+	 */
+	Attempts start(String route) {
+		Counters counters = routes.get(route);
+		if(counters == null) {
+			Counters created = new Counters();
+			counters = routes.putIfAbsent(route, created);
+			if(counters == null) {
+				counters = created;
+			}
+		}
+		counters.requests.incrementAndGet();
+		synchronized(this) {
+			rollWindow();
+			windowRequests++;
+		}
+		return new Attempts(counters);
+	}
+
+	/**
+	 * Takes a retry from the budget of the current window
+	 */
+	private synchronized boolean tryAcquireRetry() {
+		rollWindow();
+		if(windowRetries >= Math.max(minRetriesPerWindow, (long) (windowRequests * budgetRatio))) {
+			return false;
+		}
+		windowRetries++;
+		return true;
+	}
+
+	private void rollWindow() {
+		long now = System.currentTimeMillis();
+		if(now - windowStart >= budgetWindowMillis) {
+			windowStart = now;
+			windowRequests = 0;
+			windowRetries = 0;
+		}
+	}
+
+	/**
+	 * Parses a Retry-After header holding seconds or an HTTP date
+	 *
+	 * @return	Milliseconds to wait, or -1 when absent or invalid
+	 */
+	private static long parseRetryAfter(String retryAfter) {
+		if(retryAfter == null) {
+			return -1;
+		}
+
+		retryAfter = retryAfter.trim();
+		try {
+			return Math.max(0, Long.parseLong(retryAfter) * 1000);
+		}
+		catch(NumberFormatException e) {
+			// not seconds, try a date
+		}
+
+		try {
+			SimpleDateFormat format = new SimpleDateFormat(RETRY_AFTER_FORMAT, Locale.US);
+			return Math.max(0, format.parse(retryAfter).getTime() - System.currentTimeMillis());
+		}
+		catch(ParseException e) {
+			return -1;
+		}
+	}
+
+	/**
+	 * Attempts of a single request
+	 */
+	class Attempts {
+		private final Counters counters;
+		private int attempt = 1;
+		private long previousDelay;
+
+		private Attempts(Counters counters) {
+			this.counters = counters;
+		}
+
+		/**
+		 * Decides whether to retry after a response
+		 *
+		 * @param response	Response of the last attempt
+		 * @return	Milliseconds to wait before retrying, or -1 to return the response
+		 */
+		long getDelayAfter(Response response) {
+			if(!isRetryable(response.getStatusCode())) {
+				// a retry ending in another error did not recover the request
+				if(attempt > 1 && !response.isError()) {
+					counters.recovered.incrementAndGet();
+				}
+				return -1;
+			}
+
+			long retryAfter = parseRetryAfter(response.getHeader("Retry-After"));
+			if(retryAfter > maxDelayMillis) {
+				return -1; // the server will not be ready in time
+			}
+			return nextDelay(retryAfter);
+		}
+
+		/**
+		 * Decides whether to retry after a failure
+		 *
+		 * @param e	Failure of the last attempt
+		 * @return	Milliseconds to wait before retrying, or -1 to give up
+		 */
+		long getDelayAfter(IOException e) {
+			if(!isRetryable(e)) {
+				return -1;
+			}
+			return nextDelay(-1);
+		}
+
+		private long nextDelay(long retryAfter) {
+			if(attempt >= maxAttempts) {
+				counters.attemptsExhausted.incrementAndGet();
+				return -1;
+			}
+			if(!tryAcquireRetry()) {
+				counters.budgetExhausted.incrementAndGet();
+				return -1;
+			}
+
+			long delay = retryAfter;
+			if(delay < 0) {
+				// decorrelated jitter
+				long upper = Math.max(baseDelayMillis, previousDelay * 3);
+				delay = Math.min(maxDelayMillis, baseDelayMillis + (long) (ThreadLocalRandom.current().nextDouble() * (upper - baseDelayMillis)));
+			}
+			previousDelay = Math.max(delay, baseDelayMillis);
+			attempt++;
+			counters.retries.incrementAndGet();
+			return delay;
+		}
+	}
+
+	/**
+	 * Running totals of a route
+	 */
+	private static class Counters {
+		private final AtomicLong requests = new AtomicLong();
+		private final AtomicLong retries = new AtomicLong();
+		private final AtomicLong recovered = new AtomicLong();
+		private final AtomicLong attemptsExhausted = new AtomicLong();
+		private final AtomicLong budgetExhausted = new AtomicLong();
+
+		void add(Counters other) {
+			requests.addAndGet(other.requests.get());
+			retries.addAndGet(other.retries.get());
+			recovered.addAndGet(other.recovered.get());
+			attemptsExhausted.addAndGet(other.attemptsExhausted.get());
+			budgetExhausted.addAndGet(other.budgetExhausted.get());
+		}
+
+		RetryStatistics toStatistics() {
+			return new RetryStatistics(requests.get(), retries.get(), recovered.get(), attemptsExhausted.get(), budgetExhausted.get());
+		}
+	}
+}
@@ -0,0 +1,115 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.core;
+
+/**
+ * Point in time statistics of a retry policy
+ */
+public class RetryStatistics {
+	private long requests;
+	private long retries;
+	private long recovered;
+	private long attemptsExhausted;
+	private long budgetExhausted;
+
+	/**
+	 * Constructs retry statistics
+	 *
+	 * @param requests	Retryable requests made since startup
+	 * @param retries	Attempts repeated after a transient failure
+	 * @param recovered	Requests that succeeded after at least one retry
+	 * @param attemptsExhausted	Requests that failed on their last allowed attempt
+	 * @param budgetExhausted	Retries refused because the retry budget was spent
+	 */
+	public RetryStatistics(long requests, long retries, long recovered, long attemptsExhausted, long budgetExhausted) {
+		this.requests = requests;
+		this.retries = retries;
+		this.recovered = recovered;
+		this.attemptsExhausted = attemptsExhausted;
+		this.budgetExhausted = budgetExhausted;
+	}
+
+	/**
+	 * Get retryable requests made since startup
+	 *
+	 * @return	Number of requests
+	 */
+	public long getRequests() {
+		return requests;
+	}
+
+	/**
+	 * Get attempts repeated after a transient failure
+	 *
+	 * @return	Number of retries
+	 */
+	public long getRetries() {
+		return retries;
+	}
+
+	/**
+	 * Get requests that succeeded after at least one retry
+	 *
+	 * @return	Number of recovered requests
+	 */
+	public long getRecovered() {
+		return recovered;
+	}
+
+	/**
+	 * Get requests that failed on their last allowed attempt
+	 *
+	 * @return	Number of requests out of attempts
+	 */
+	public long getAttemptsExhausted() {
+		return attemptsExhausted;
+	}
+
+	/**
+	 * Get retries refused because the retry budget was spent
+	 *
+	 * @return	Number of refused retries
+	 */
+	public long getBudgetExhausted() {
+		return budgetExhausted;
+	}
+
+	/**
+	 * Implements the toString method for use in debugging
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("Requests: ").append(requests).append(", ");
+		sb.append("Retries: ").append(retries).append(", ");
+		sb.append("Recovered: ").append(recovered).append(", ");
+		sb.append("AttemptsExhausted: ").append(attemptsExhausted).append(", ");
+		sb.append("BudgetExhausted: ").append(budgetExhausted);
+		return sb.toString();
+	}
+}
@@ -0,0 +1,250 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.core;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+
+/**
+ * Shares one in-flight request between concurrent callers making the identical request.
+ * The first caller performs the request, the others wait for it and receive copies of its Response.
+ * Waiting callers get the failure of the request as it was thrown, except when the first caller ran
+ * out of time on its own deadline, in which case they make the request again.
+ */
+class SingleFlight {
+	private final ConcurrentMap<String,Flight> calls = new ConcurrentHashMap<String,Flight>();
+
+	/**
+	 * Request in flight and the deadline of the caller performing it
+	 */
+	private static class Flight {
+		final CompletableFuture<Response> future = new CompletableFuture<Response>();
+		final Deadline deadline;
+
+		Flight(Deadline deadline) {
+			this.deadline = deadline;
+		}
+
+		/**
+		 * Indicates whether a failure of the request may be due to the deadline of its caller
+		 */
+		boolean isCutShort() {
+			return deadline != null && deadline.isExpired();
+		}
+	}
+
+	/**
+	 * Performs the request unless an identical request is in flight
+	 *
+	 * @param key	Identity and URL of the request
+	 * @param deadline	Deadline of the caller, which bounds the wait for a request in flight, or null
+	 * @param call	Performs the request
+	 * @return	Response of the request
+	 * @throws IOException
+	 */
+	Response execute(String key, Deadline deadline, Callable<Response> call) throws IOException {
+		while(true) {
+			Flight flight = new Flight(deadline);
+			Flight inFlight = calls.putIfAbsent(key, flight);
+			if(inFlight == null) {
+				return lead(key, flight, call);
+			}
+
+			try {
+				return await(inFlight.future, deadline).copy();
+			}
+			catch(IOException e) {
+				if(!isRetryable(inFlight, deadline)) {
+					throw e;
+				}
+			}
+			catch(RuntimeException e) {
+				if(!isRetryable(inFlight, deadline)) {
+					throw e;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Starts the request unless an identical request is in flight
+	 *
+	 * @param key	Identity and URL of the request
+	 * @param deadline	Deadline of the caller, which bounds the wait for a request in flight, or null
+	 * @param call	Starts the request
+	 * @return	Future of the response
+	 */
+	CompletableFuture<Response> executeAsync(final String key, final Deadline deadline, final Callable<CompletableFuture<Response>> call) {
+		final Flight flight = new Flight(deadline);
+		final Flight inFlight = calls.putIfAbsent(key, flight);
+		if(inFlight != null) {
+			return followAsync(key, inFlight, deadline, call);
+		}
+
+		CompletableFuture<Response> started;
+		try {
+			started = call.call();
+		}
+		catch(Throwable t) {
+			started = new CompletableFuture<Response>();
+			started.completeExceptionally(t);
+		}
+
+		started.whenComplete(new BiConsumer<Response,Throwable>() {
+			public void accept(Response response, Throwable t) {
+				calls.remove(key, flight);
+				if(t != null) {
+					flight.future.completeExceptionally(t);
+				}
+				else {
+					flight.future.complete(response);
+				}
+			}
+		});
+		return started;
+	}
+
+	private Response lead(String key, Flight flight, Callable<Response> call) throws IOException {
+		try {
+			Response response = call.call();
+			flight.future.complete(response);
+			return response;
+		}
+		catch(Throwable t) {
+			flight.future.completeExceptionally(t);
+			if(t instanceof IOException) {
+				throw (IOException) t;
+			}
+			if(t instanceof RuntimeException) {
+				throw (RuntimeException) t;
+			}
+			if(t instanceof Error) {
+				throw (Error) t;
+			}
+			throw new IOException(t);
+		}
+		finally {
+			calls.remove(key, flight);
+		}
+	}
+
+	/**
+	 * Waits for a request in flight no longer than the deadline of the waiting caller
+	 */
+	private CompletableFuture<Response> followAsync(final String key, final Flight inFlight, final Deadline deadline, final Callable<CompletableFuture<Response>> call) {
+		final CompletableFuture<Response> result = new CompletableFuture<Response>();
+		inFlight.future.whenComplete(new BiConsumer<Response,Throwable>() {
+			public void accept(Response response, Throwable t) {
+				if(t == null) {
+					try {
+						result.complete(response.copy());
+					}
+					catch(Throwable copyFailure) {
+						result.completeExceptionally(copyFailure);
+					}
+				}
+				else if(isRetryable(inFlight, deadline)) {
+					executeAsync(key, deadline, call).whenComplete(new BiConsumer<Response,Throwable>() {
+						public void accept(Response response, Throwable t) {
+							if(t != null) {
+								result.completeExceptionally(t);
+							}
+							else {
+								result.complete(response);
+							}
+						}
+					});
+				}
+				else {
+					result.completeExceptionally(t);
+				}
+			}
+		});
+
+		if(deadline != null && !result.isDone()) {
+			final ScheduledFuture<?> timer = AbstractService.schedule(new Runnable() {
+				public void run() {
+					result.completeExceptionally(new DeadlineExceededException("Deadline exceeded waiting for a coalesced request"));
+				}
+			}, Math.max(0, deadline.getRemainingMillis()));
+			result.whenComplete(new BiConsumer<Response,Throwable>() {
+				public void accept(Response response, Throwable t) {
+					timer.cancel(false);
+				}
+			});
+		}
+		return result;
+	}
+
+	/**
+	 * Indicates whether a waiting caller makes the request again after it failed,
+	 * as the caller that made it may just have run out of time
+	 */
+	private static boolean isRetryable(Flight inFlight, Deadline deadline) {
+		return inFlight.future.isCompletedExceptionally() && inFlight.isCutShort() && (deadline == null || !deadline.isExpired());
+	}
+
+	private static Response await(CompletableFuture<Response> inFlight, Deadline deadline) throws IOException {
+		try {
+			if(deadline == null) {
+				return inFlight.get();
+			}
+			return inFlight.get(Math.max(0, deadline.getRemainingMillis()), TimeUnit.MILLISECONDS);
+		}
+		catch(TimeoutException e) {
+			throw new DeadlineExceededException("Deadline exceeded waiting for a coalesced request");
+		}
+		catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted waiting for a coalesced request");
+		}
+		catch(ExecutionException e) {
+			// the failure of the request, so callers can tell timeouts and open circuits apart
+			Throwable cause = e.getCause();
+			if(cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			if(cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if(cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IOException(cause);
+		}
+	}
+}
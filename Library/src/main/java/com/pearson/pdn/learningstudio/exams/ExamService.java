@@ -31,11 +31,15 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.pearson.pdn.learningstudio.core.AbstractService;
+import com.pearson.pdn.learningstudio.core.AuthContext;
+import com.pearson.pdn.learningstudio.core.Deadline;
 import com.pearson.pdn.learningstudio.core.Response;
 import com.pearson.pdn.learningstudio.core.ResponseStatus;
 import com.pearson.pdn.learningstudio.oauth.OAuthServiceFactory;
@@ -135,6 +139,29 @@ public class ExamService extends AbstractService {
 		return "LS-Library-Exam-Java-V1";
 	}
 	
+	/**
+	 * Provides a view of this service whose requests must complete by the deadline,
+	 * including every request made by operations composed of several requests
+	 * 
+	 * @param deadline	Deadline of the calls made through the view
+	 * @return	View of this service
+	 */
+	@Override
+	public ExamService withDeadline(Deadline deadline) {
+		return (ExamService) super.withDeadline(deadline);
+	}
+	
+	/**
+	 * Provides a view of this service that authenticates as the given identity
+	 * 
+	 * @param auth	Identity of the calls made through the view
+	 * @return	View of this service
+	 */
+	@Override
+	public ExamService withAuth(AuthContext auth) {
+		return (ExamService) super.withAuth(auth);
+	}
+	
 	/**
 	 * Retrieve all of a user's exams for a course with
 	 * GET /users/{userId}/courses/{courses}/items
@@ -177,6 +204,21 @@ public class ExamService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getAllExamItems(String,String)}
+	 * 
+	 * @param userId	ID of the user
+	 * @param courseId	ID of course
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getAllExamItemsAsync(final String userId, final String courseId) {
+		return callAsync(new Callable<Response>() {
+			public Response call() throws Exception {
+				return getAllExamItems(userId, courseId);
+			}
+		});
+	}
+	
 	/**
 	 * Retrieve all of a user's existing exams for a course with 
 	 * GET /users/{userId}/courses/{courseId}/exams
@@ -193,6 +235,18 @@ public class ExamService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getExistingExams(String,String)}
+	 * 
+	 * @param userId	ID of the user
+	 * @param courseId	ID of the course
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getExistingExamsAsync(String userId, String courseId) {
+		String relativeUrl = String.format(PATH_USERS_COURSES_EXAMS,userId,courseId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Retrieve details for all exams for a course with 
 	 * GET /users/{userId}/courses/{courseId}/exams
@@ -209,6 +263,18 @@ public class ExamService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getExamDetails(String,String)}
+	 * 
+	 * @param userId	ID of the user
+	 * @param courseId	ID of the course
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getExamDetailsAsync(String userId, String courseId) {
+		String relativeUrl = String.format(PATH_USERS_COURSES_EXAMDETAILS,userId,courseId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Retrieve details for all exams for a course with 
 	 * GET /users/{userId}/courses/{courseId}/exams
@@ -226,6 +292,19 @@ public class ExamService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getExamDetails(String,String,String)}
+	 * 
+	 * @param userId	ID of the user
+	 * @param courseId	ID of the course
+	 * @param examId	ID of the exam
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getExamDetailsAsync(String userId, String courseId, String examId) {
+		String relativeUrl = String.format(PATH_USERS_COURSES_EXAMDETAILS_,userId,courseId,examId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Retrieve exam schedules for a course with 
 	 * GET /courses/{courseId}/examschedules
@@ -241,6 +320,17 @@ public class ExamService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getExamSchedules(String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getExamSchedulesAsync(String courseId) {
+		String relativeUrl = String.format(PATH_COURSES_EXAMSCHEDULES, courseId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Retrieve exam schedules for a course with 
 	 * POST /courses/{courseId}/examschedules
@@ -289,6 +379,19 @@ public class ExamService extends AbstractService {
 		Response response = doMethod(HttpMethod.GET,relativeUrl,NO_CONTENT);
 		return response;
 	}
+	
+	/**
+	 * Asynchronous form of {@link #getExistingExam(String,String,String)}
+	 * 
+	 * @param userId	ID of the user
+	 * @param courseId	ID of the course	
+	 * @param examId	ID of the exam
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getExistingExamAsync(String userId, String courseId, String examId) {
+		String relativeUrl = String.format(PATH_USERS_COURSES_EXAMS_,userId,courseId,examId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
 
 	/**
 	 * Creates an exam for a user in a course with 
@@ -310,6 +413,22 @@ public class ExamService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #createUserExam(String,String,String)}
+	 * 
+	 * @param userId	ID of the user
+	 * @param courseId	ID of the course
+	 * @param examId	ID of the exam
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> createUserExamAsync(final String userId, final String courseId, final String examId) {
+		return callAsync(new Callable<Response>() {
+			public Response call() throws Exception {
+				return createUserExam(userId, courseId, examId);
+			}
+		});
+	}
+	
 	/**
 	 * Updates an exam for a user in a course with 
 	 * PUT /users/userId/courses/{courseId}/exams/{examId}
@@ -347,6 +466,19 @@ public class ExamService extends AbstractService {
 		Response response = doMethod(HttpMethod.DELETE,relativeUrl,NO_CONTENT);
 		return response;
 	}
+	
+	/**
+	 * Asynchronous form of {@link #deleteUserExam(String,String,String)}
+	 * 
+	 * @param userId	ID of the user
+	 * @param courseId	ID of the course	
+	 * @param examId	ID of the exam
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> deleteUserExamAsync(String userId, String courseId, String examId) {
+		String relativeUrl = String.format(PATH_USERS_COURSES_EXAMS_,userId,courseId,examId);
+		return doMethodAsync(HttpMethod.DELETE,relativeUrl,NO_CONTENT);
+	}
 
 	/**
 	 * Create an exam attempt for a user in a course with 
@@ -364,6 +496,22 @@ public class ExamService extends AbstractService {
 		return createExamAttempt(userId, courseId, examId, null);
 	}
 	
+	/**
+	 * Asynchronous form of {@link #createExamAttempt(String,String,String)}
+	 * 
+	 * @param userId	ID of the user
+	 * @param courseId	ID of the course
+	 * @param examId	ID of the exam
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> createExamAttemptAsync(final String userId, final String courseId, final String examId) {
+		return callAsync(new Callable<Response>() {
+			public Response call() throws Exception {
+				return createExamAttempt(userId, courseId, examId);
+			}
+		});
+	}
+	
 	/**
 	 * Create an exam attempt for a user in a course with 
 	 * POST /users/{userId}/courses/{courseId}/exams/{examId}/attempts
@@ -388,6 +536,23 @@ public class ExamService extends AbstractService {
 		Response response = doMethod(examHeaders, HttpMethod.POST,relativeUrl,NO_CONTENT);
 		return response;
 	}
+	
+	/**
+	 * Asynchronous form of {@link #createExamAttempt(String,String,String,String)}
+	 * 
+	 * @param userId	ID of the user
+	 * @param courseId	ID of the course
+	 * @param examId	ID of the exam
+	 * @param examPassword	Optional password from instructor
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> createExamAttemptAsync(final String userId, final String courseId, final String examId, final String examPassword) {
+		return callAsync(new Callable<Response>() {
+			public Response call() throws Exception {
+				return createExamAttempt(userId, courseId, examId, examPassword);
+			}
+		});
+	}
 
 	/**
 	 * Retrieve a users's attempt of an exam in a course with 
@@ -406,6 +571,19 @@ public class ExamService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getExamAttempts(String,String,String)}
+	 * 
+	 * @param userId	ID of the user
+	 * @param courseId	ID of the course
+	 * @param examId	ID of the exam
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getExamAttemptsAsync(String userId, String courseId, String examId) {
+		String relativeUrl = String.format(PATH_USERS_COURSES_EXAMS_ATTEMPTS,userId,courseId,examId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Retrieve a user's attempt of an exam in a course with 
 	 * GET /users/{userId}/courses/{courseId}/exams/{examId}/attempts/{attemptId}
@@ -423,6 +601,20 @@ public class ExamService extends AbstractService {
 		Response response = doMethod(HttpMethod.GET,relativeUrl,NO_CONTENT);
 		return response;
 	}
+	
+	/**
+	 * Asynchronous form of {@link #getExamAttempt(String,String,String,String)}
+	 * 
+	 * @param userId	ID of the user
+	 * @param courseId	ID of the course
+	 * @param examId	ID of the exam
+	 * @param attemptId	ID of the exam attempt
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getExamAttemptAsync(String userId, String courseId, String examId, String attemptId) {
+		String relativeUrl = String.format(PATH_USERS_COURSES_EXAMS_ATTEMPTS_,userId,courseId,examId,attemptId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
 
 	/**
 	 *  Retrieves and filters a user's current attempt of an exam in a course with 
@@ -466,6 +658,22 @@ public class ExamService extends AbstractService {
 		
 		return response;
 	}
+	
+	/**
+	 * Asynchronous form of {@link #getCurrentExamAttempt(String,String,String)}
+	 * 
+	 * @param userId	ID of the user
+	 * @param courseId	ID of the course
+	 * @param examId	ID of the exam
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getCurrentExamAttemptAsync(final String userId, final String courseId, final String examId) {
+		return callAsync(new Callable<Response>() {
+			public Response call() throws Exception {
+				return getCurrentExamAttempt(userId, courseId, examId);
+			}
+		});
+	}
 
 	/**
 	 * Retrieve a summary of a user's attempt of an exam in a course with 
@@ -483,6 +691,19 @@ public class ExamService extends AbstractService {
 		Response response = doMethod(HttpMethod.GET,relativeUrl,NO_CONTENT);
 		return response;
 	}
+	
+	/**
+	 * Asynchronous form of {@link #getExamAttemptSummary(String,String,String,String)}
+	 * 
+	 * @param userId	ID of the user
+	 * @param courseId	ID of the course
+	 * @param attemptId	ID of the attempt
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getExamAttemptSummaryAsync(String userId, String courseId, String examId, String attemptId) {
+		String relativeUrl = String.format(PATH_USERS_COURSES_EXAMS_ATTEMPTS_SUMMARY,userId,courseId,examId,attemptId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
 
 	/**
 	 * Retrieve a user's current attempt or create new attempt of an exam in a course with
@@ -499,6 +720,22 @@ public class ExamService extends AbstractService {
 		return startExamAttempt(userId, courseId, examId, null);
 	}
 	
+	/**
+	 * Asynchronous form of {@link #startExamAttempt(String,String,String)}
+	 * 
+	 * @param userId	ID of the user
+	 * @param courseId	ID of the course
+	 * @param examId	ID of the exam
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> startExamAttemptAsync(final String userId, final String courseId, final String examId) {
+		return callAsync(new Callable<Response>() {
+			public Response call() throws Exception {
+				return startExamAttempt(userId, courseId, examId);
+			}
+		});
+	}
+	
 	/**
 	 * Retrieve a user's current attempt or create new attempt of an exam in a course with
 	 * getCurrentExamAttempt and createExamAttempt
@@ -519,6 +756,23 @@ public class ExamService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #startExamAttempt(String,String,String,String)}
+	 * 
+	 * @param userId	ID of the user
+	 * @param courseId	ID of the course
+	 * @param examId	ID of the exam
+	 * @param examPassword	Optional password from instructor
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> startExamAttemptAsync(final String userId, final String courseId, final String examId, final String examPassword) {
+		return callAsync(new Callable<Response>() {
+			public Response call() throws Exception {
+				return startExamAttempt(userId, courseId, examId, examPassword);
+			}
+		});
+	}
+	
 	/**
 	 * Retrieve sections of an user's exam in a course with 
 	 * GET /users/{userId}/courses/{courseId}/exams/{examId}/sections
@@ -536,6 +790,19 @@ public class ExamService extends AbstractService {
 		Response response = doMethod(HttpMethod.GET,relativeUrl,NO_CONTENT);
 		return response;
 	}
+	
+	/**
+	 * Asynchronous form of {@link #getExamSections(String,String,String)}
+	 * 
+	 * @param userId	ID of the user
+	 * @param courseId	ID of the course
+	 * @param examId	ID of the exam
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getExamSectionsAsync(String userId, String courseId, String examId) {
+		String relativeUrl = String.format(PATH_USERS_COURSES_EXAMS_SECTIONS,userId,courseId,examId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
 
 	/**
 	 * Retrieve details of questions for a section of a user's exam in a course with 
@@ -585,6 +852,23 @@ public class ExamService extends AbstractService {
 		response.setContent(this.gson.toJson(sectionQuestionsWrapper));
 		return response;
 	}
+	
+	/**
+	 * Asynchronous form of {@link #getExamSectionQuestions(String,String,String,String)}
+	 * 
+	 * @param userId	ID of the user
+	 * @param courseId	ID of the course
+	 * @param examId	ID of the exam
+	 * @param sectionId	ID of the section on the exam
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getExamSectionQuestionsAsync(final String userId, final String courseId, final String examId, final String sectionId) {
+		return callAsync(new Callable<Response>() {
+			public Response call() throws Exception {
+				return getExamSectionQuestions(userId, courseId, examId, sectionId);
+			}
+		});
+	}
 
 	/**
 	 * Retrieve details of a question for a section of a user's exam in a course with
@@ -681,6 +965,24 @@ public class ExamService extends AbstractService {
 		response.setContent(this.gson.toJson(details));
 		return response;
 	}
+	
+	/**
+	 * Asynchronous form of {@link #getExamSectionQuestion(String,String,String,String,String,String)}
+	 * 
+	 * @param userId	ID of the user
+	 * @param examId	ID of the exam
+	 * @param sectionId	ID of the section
+	 * @param questionType	Type of question
+	 * @param questionId	ID of the question
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getExamSectionQuestionAsync(final String userId, final String courseId, final String examId, final String sectionId, final String questionType, final String questionId) {
+		return callAsync(new Callable<Response>() {
+			public Response call() throws Exception {
+				return getExamSectionQuestion(userId, courseId, examId, sectionId, questionType, questionId);
+			}
+		});
+	}
 
 	/**
 	 * Updates a user's answer for a question on a specific attempt of an exam in a course with
@@ -720,6 +1022,25 @@ public class ExamService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #answerQuestion(String,String,String,String,String,String)}
+	 * 
+	 * @param userId	ID of the user
+	 * @param courseId	ID of the course
+	 * @param examId	ID of the exam	
+	 * @param attemptId	ID of the attempt on the exam
+	 * @param questionId	ID of the question on the exam
+	 * @param answer	Answer to the question on the exam
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> answerQuestionAsync(final String userId, final String courseId, final String examId, final String attemptId, final String questionId, final String answer) {
+		return callAsync(new Callable<Response>() {
+			public Response call() throws Exception {
+				return answerQuestion(userId, courseId, examId, attemptId, questionId, answer);
+			}
+		});
+	}
+	
 	/**
 	 * Retrieve a user's answer for a question on a specific attempt of an exam in a course with
 	 * GET /users/{userId}/courses/{courseId}/exams/{examId}/attempts/{attemptId}/answers/{answerId}
@@ -745,6 +1066,24 @@ public class ExamService extends AbstractService {
 		
 		return response;
 	}
+	
+	/**
+	 * Asynchronous form of {@link #getQuestionAnswer(String,String,String,String,String)}
+	 * 
+	 * @param userId	ID of the user
+	 * @param courseId	ID of the course
+	 * @param examId	ID of the exam	
+	 * @param attemptId	ID of the attempt on the exam
+	 * @param questionId	ID of the question on the exam
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getQuestionAnswerAsync(final String userId, final String courseId, final String examId, final String attemptId, final String questionId) {
+		return callAsync(new Callable<Response>() {
+			public Response call() throws Exception {
+				return getQuestionAnswer(userId, courseId, examId, attemptId, questionId);
+			}
+		});
+	}
 
 	/**
 	 * Delete a user's answer for a question on a specific attempt of an exam in a course with
@@ -772,6 +1111,24 @@ public class ExamService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #deleteQuestionAnswer(String,String,String,String,String)}
+	 * 
+	 * @param userId	ID of the user
+	 * @param courseId	ID of the course
+	 * @param examId	ID of the exam	
+	 * @param attemptId	ID of the attempt on the exam
+	 * @param questionId	ID of the question on the exam
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> deleteQuestionAnswerAsync(final String userId, final String courseId, final String examId, final String attemptId, final String questionId) {
+		return callAsync(new Callable<Response>() {
+			public Response call() throws Exception {
+				return deleteQuestionAnswer(userId, courseId, examId, attemptId, questionId);
+			}
+		});
+	}
+	
 	/**
 	 * Updates a user's attempt of an exam in a course to complete with 
 	 * PUT /users/{userId}/courses/{examId}/exams/{examId}/attempts/{attemptId}
@@ -797,6 +1154,23 @@ public class ExamService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #completeExamAttempt(String,String,String,String)}
+	 * 
+	 * @param userId	ID of the user
+	 * @param courseId	ID of the course
+	 * @param examId	ID of the exam
+	 * @param attemptId	ID of the attempt on the exam
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> completeExamAttemptAsync(final String userId, final String courseId, final String examId, final String attemptId) {
+		return callAsync(new Callable<Response>() {
+			public Response call() throws Exception {
+				return completeExamAttempt(userId, courseId, examId, attemptId);
+			}
+		});
+	}
+	
 	private Map<String, String> getExamHeaders(Response response) throws IOException {		
 		JsonObject attempt = this.jsonParser.parse(response.getContent()).getAsJsonObject();
 		attempt = attempt.get("attempt").getAsJsonObject();
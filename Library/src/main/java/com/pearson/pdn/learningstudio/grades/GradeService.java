@@ -31,11 +31,15 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.pearson.pdn.learningstudio.core.AbstractService;
+import com.pearson.pdn.learningstudio.core.AuthContext;
+import com.pearson.pdn.learningstudio.core.Deadline;
 import com.pearson.pdn.learningstudio.core.Response;
 import com.pearson.pdn.learningstudio.core.ResponseStatus;
 import com.pearson.pdn.learningstudio.oauth.OAuthServiceFactory;
@@ -88,6 +92,29 @@ public class GradeService extends AbstractService {
 		return "LS-Library-Grade-Java-V1";
 	}
 	
+	/**
+	 * Provides a view of this service whose requests must complete by the deadline,
+	 * including every request made by operations composed of several requests
+	 * 
+	 * @param deadline	Deadline of the calls made through the view
+	 * @return	View of this service
+	 */
+	@Override
+	public GradeService withDeadline(Deadline deadline) {
+		return (GradeService) super.withDeadline(deadline);
+	}
+	
+	/**
+	 * Provides a view of this service that authenticates as the given identity
+	 * 
+	 * @param auth	Identity of the calls made through the view
+	 * @return	View of this service
+	 */
+	@Override
+	public GradeService withAuth(AuthContext auth) {
+		return (GradeService) super.withAuth(auth);
+	}
+	
 	/**
 	 * Create custom category and item with
 	 * POST /courses/{courseId}/gradebook/customCategories
@@ -131,6 +158,22 @@ public class GradeService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #createCustomGradebookCategoryAndItem(String,String,String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param customCategory	Custom category to create
+	 * @param customItem	Custom item to create
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> createCustomGradebookCategoryAndItemAsync(final String courseId, final String customCategory, final String customItem) {
+		return callAsync(new Callable<Response>() {
+			public Response call() throws Exception {
+				return createCustomGradebookCategoryAndItem(courseId, customCategory, customItem);
+			}
+		});
+	}
+	
 	/**
 	 * Create custom gradebook category for a course with
 	 * POST /courses/{courseId}/gradebook/customCategories
@@ -147,6 +190,18 @@ public class GradeService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #createCustomGradebookCategory(String,String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param customCategory	Custom category to create
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> createCustomGradebookCategoryAsync(String courseId, String customCategory) {
+		String relativeUrl = String.format(PATH_COURSES_GRADEBOOK__CUSTOMCATEGORIES, courseId);
+		return doMethodAsync(HttpMethod.POST,relativeUrl,customCategory);
+	}
+	
 	/**
 	 * Create custom gradebook category for a course with
 	 * PUT /courses/{courseId}/gradebook/customCategories/{customCategoryId}
@@ -164,6 +219,19 @@ public class GradeService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #updateCustomGradebookCategory(String,String,String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param customCategoryId	ID of the custom category
+	 * @param customCategory	Custom category to create
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> updateCustomGradebookCategoryAsync(String courseId, String customCategoryId, String customCategory) {
+		String relativeUrl = String.format(PATH_COURSES_GRADEBOOK__CUSTOMCATEGORIES_, courseId, customCategoryId);
+		return doMethodAsync(HttpMethod.PUT,relativeUrl,customCategory);
+	}
+	
 	/**
 	 * Delete custom gradebook category for a course with
 	 * DELETE /courses/{courseId}/gradebook/customCategories/{customCategoryId}
@@ -180,6 +248,18 @@ public class GradeService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #deleteCustomGradebookCategory(String,String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param customCategoryId	ID of the custom category
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> deleteCustomGradebookCategoryAsync(String courseId, String customCategoryId) {
+		String relativeUrl = String.format(PATH_COURSES_GRADEBOOK__CUSTOMCATEGORIES_, courseId, customCategoryId);
+		return doMethodAsync(HttpMethod.DELETE,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get custom gradebook category for a course with
 	 * GET /courses/{courseId}/gradebook/customCategories/{customCategoryId}
@@ -196,6 +276,18 @@ public class GradeService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getCustomGradebookCategory(String,String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param customCategoryId	ID of the custom category
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getCustomGradebookCategoryAsync(String courseId, String customCategoryId) {
+		String relativeUrl = String.format(PATH_COURSES_GRADEBOOK__CUSTOMCATEGORIES_, courseId, customCategoryId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Create custom gradebook item in a custom category for a course with
 	 * POST /courses/{courseId}/gradebook/customCategories/{customCategoryId}/customItems
@@ -213,6 +305,19 @@ public class GradeService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #createCustomGradebookItem(String,String,String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param customCategoryId	ID of the custom category
+	 * @param customItem	Custom item to create
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> createCustomGradebookItemAsync(String courseId, String customCategoryId, String customItem) {
+		String relativeUrl = String.format(PATH_COURSES_GRADEBOOK__CUSTOMCATEGORIES_CUSTOMITEMS, courseId, customCategoryId);
+		return doMethodAsync(HttpMethod.POST,relativeUrl,customItem);
+	}
+	
 	/* 404 - PUT route does not exists
 	public Response updateCustomGradebookItem(String courseId, String customCategoryId, String customItemId, String customItem) throws IOException {
 		String relativeUrl = String.format(PATH_COURSES_GRADEBOOK__CUSTOMCATEGORIES_CUSTOMITEMS_, courseId, customCategoryId, customItemId);
@@ -238,6 +343,19 @@ public class GradeService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #deleteCustomGradebookItem(String,String,String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param customCategoryId	ID of the custom category
+	 * @param customItemId	ID of the custom item
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> deleteCustomGradebookItemAsync(String courseId, String customCategoryId, String customItemId) {
+		String relativeUrl = String.format(PATH_COURSES_GRADEBOOK__CUSTOMCATEGORIES_CUSTOMITEMS_, courseId, customCategoryId, customItemId);
+		return doMethodAsync(HttpMethod.DELETE,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get custom item in a custom gradebook category for a course with
 	 * GET /courses/{courseId}/gradebook/customCategories/{customCategoryId}/customItems/{customItemId}
@@ -255,6 +373,19 @@ public class GradeService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getGradebookCustomItem(String,String,String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param customCategoryId	ID of the custom category
+	 * @param customItemId	ID of the custom item
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getGradebookCustomItemAsync(String courseId, String customCategoryId, String customItemId) {
+		String relativeUrl = String.format(PATH_COURSES_GRADEBOOK__CUSTOMCATEGORIES_CUSTOMITEMS_, courseId, customCategoryId, customItemId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get custom gradebook item in a custom category for a course with
 	 * GET /courses/{courseId}/gradebook/customCategories/{customCategoryId}/customItems/{customItemId}
@@ -272,6 +403,19 @@ public class GradeService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getCustomGradebookItem(String,String,String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param customCategoryId	ID of the custom category
+	 * @param customItemId	ID of the custom item
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getCustomGradebookItemAsync(String courseId, String customCategoryId, String customItemId) {
+		String relativeUrl = String.format(PATH_COURSES_GRADEBOOK__CUSTOMCATEGORIES_CUSTOMITEMS_GRADEBOOKITEM, courseId, customCategoryId, customItemId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get gradebook items for a course with
 	 * GET /courses/{courseId}/gradebookItems
@@ -287,6 +431,17 @@ public class GradeService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getGradebookItems(String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getGradebookItemsAsync(String courseId) {
+		String relativeUrl = String.format(PATH_COURSES_GRADEBOOKITEMS, courseId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get specific gradebook item for a course with
 	 * GET /courses/{courseId}/gradebookItems/{gradebookItemId}
@@ -303,6 +458,18 @@ public class GradeService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getGradebookItem(String,String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param gradebookItemId	ID of the gradebook item
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getGradebookItemAsync(String courseId, String gradebookItemId) {
+		String relativeUrl = String.format(PATH_COURSES_GRADEBOOKITEMS_, courseId, gradebookItemId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Create specific gradebook item for a course with
 	 * POST /courses/{courseId}/gradebook/gradebookItems/{gradebookItemId}
@@ -340,6 +507,19 @@ public class GradeService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #updateGradebookItem(String,String,String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param gradebookItemId	ID of the gradebook item
+	 * @param gradebookItem		Details of gradebook item
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> updateGradebookItemAsync(String courseId, String gradebookItemId, String gradebookItem) {
+		String relativeUrl = String.format(PATH_COURSES_GRADEBOOK__GRADEBOOKITEMS_, courseId, gradebookItemId);
+		return doMethodAsync(HttpMethod.PUT,relativeUrl,gradebookItem);
+	}
+	
 	/**
 	 * Get grades for specific gradebook item in a course with
 	 * GET /courses/{courseId}/gradebookItems/{gradebookItemId}/grades
@@ -356,6 +536,18 @@ public class GradeService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getGradebookItemGrades(String,String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param gradebookItemId	ID of the gradebook item
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getGradebookItemGradesAsync(String courseId, String gradebookItemId) {
+		String relativeUrl = String.format(PATH_COURSES_GRADEBOOKITEMS_GRADES, courseId, gradebookItemId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get grades for specific gradebook item in a course using parameters with
 	 * GET /courses/{courseId}/gradebookItems/{gradebookItemId}/grades?gradedStudents={gradedStudentIds}&useSourceDomains=true&expand=user
@@ -399,6 +591,24 @@ public class GradeService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getGradebookItemGrades(String,String,String,boolean,boolean)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param gradebookItemId	ID of the gradebook item
+	 * @param gradedStudentIds	ID of students (semicolon separated)
+	 * @param useSourceDomain	Indicator of whether to include domains in urls
+	 * @param expandUser		Indicator of whether to expand user info 
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getGradebookItemGradesAsync(final String courseId, final String gradebookItemId, final String gradedStudentIds, final boolean useSourceDomain, final boolean expandUser) {
+		return callAsync(new Callable<Response>() {
+			public Response call() throws Exception {
+				return getGradebookItemGrades(courseId, gradebookItemId, gradedStudentIds, useSourceDomain, expandUser);
+			}
+		});
+	}
+	
 	/**
 	 * Get specific grade for an item in a course with
 	 * GET /courses/{courseId}/gradebookItems/{gradebookItemId}/grades/{gradeId}
@@ -415,6 +625,18 @@ public class GradeService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getGradebookItemGrade(String,String,String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param gradebookItemId	ID of the gradebook item
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getGradebookItemGradeAsync(String courseId, String gradebookItemId, String gradeId) {
+		String relativeUrl = String.format(PATH_COURSES_GRADEBOOKITEMS_GRADES_, courseId, gradebookItemId, gradeId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get specific grade for an item in a course using parameters with
 	 * GET /courses/{courseId}/gradebookItems/{gradebookItemId}/grades/{gradeId}?gradedStudents={gradedStudentIds}&useSourceDomains=true&expand=user
@@ -460,6 +682,25 @@ public class GradeService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getGradebookItemGrade(String,String,String,String,boolean,boolean)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param gradebookItemId	ID of the gradebook item
+	 * @param gradeId	ID of the grade within the gradebook
+	 * @param gradedStudentIds	ID of students (semicolon separated)
+	 * @param useSourceDomain	Indicator of whether to include domains in urls
+	 * @param expandUser		Indicator of whether to expand user info 
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getGradebookItemGradeAsync(final String courseId, final String gradebookItemId, final String gradeId, final String gradedStudentIds, final boolean useSourceDomain, final boolean expandUser) {
+		return callAsync(new Callable<Response>() {
+			public Response call() throws Exception {
+				return getGradebookItemGrade(courseId, gradebookItemId, gradeId, gradedStudentIds, useSourceDomain, expandUser);
+			}
+		});
+	}
+	
 	/**
 	 * Create user's grade for an item in a course with
 	 * POST /users/{userId}/courses/{courseId}/gradebookItems/{gradebookItemId}/grade
@@ -478,6 +719,20 @@ public class GradeService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #createGradebookItemGrade(String,String,String,String)}
+	 * 
+	 * @param userId	ID of the user
+	 * @param courseId	ID of the course
+	 * @param gradebookItemId	ID of the gradebook item
+	 * @param grade	Grade content to be created
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> createGradebookItemGradeAsync(String userId, String courseId, String gradebookItemId, String grade) {
+		String relativeUrl = String.format(PATH_USERS_COURSES_GRADEBOOKITEMS_GRADE, userId, courseId, gradebookItemId);
+		return doMethodAsync(HttpMethod.POST,relativeUrl,grade);
+	}
+	
 	/**
 	 * Update user's grade for an item in a course with
 	 * PUT /users/{userId}/courses/{courseId}/gradebookItems/{gradebookItemId}/grade
@@ -496,6 +751,20 @@ public class GradeService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #updateGradebookItemGrade(String,String,String,String)}
+	 * 
+	 * @param userId	ID of the user
+	 * @param courseId	ID of the course
+	 * @param gradebookItemId	ID of the gradebook item
+	 * @param grade	Grade content to be updated
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> updateGradebookItemGradeAsync(String userId, String courseId, String gradebookItemId, String grade) {
+		String relativeUrl = String.format(PATH_USERS_COURSES_GRADEBOOKITEMS_GRADE, userId, courseId, gradebookItemId);
+		return doMethodAsync(HttpMethod.PUT,relativeUrl,grade);
+	}
+	
 	/**
 	 * Delete user's grade for an item in a course with
 	 * DELETE /users/{userId}/courses/{courseId}/gradebookItems/{gradebookItemId}/grade
@@ -512,6 +781,19 @@ public class GradeService extends AbstractService {
 		Response response = doMethod(HttpMethod.DELETE, relativeUrl, NO_CONTENT);
 		return response;
 	}
+	
+	/**
+	 * Asynchronous form of {@link #deleteGradebookItemGrade(String,String,String)}
+	 * 
+	 * @param userId	ID of the user
+	 * @param courseId	ID of the course
+	 * @param gradebookItemId	ID of the gradebook item
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> deleteGradebookItemGradeAsync(String userId, String courseId, String gradebookItemId) {
+		String relativeUrl = String.format(PATH_USERS_COURSES_GRADEBOOKITEMS_GRADE, userId, courseId, gradebookItemId);
+		return doMethodAsync(HttpMethod.DELETE, relativeUrl, NO_CONTENT);
+	}
 
 	/**
 	 * Get specific gradebook item for a course with
@@ -547,6 +829,18 @@ public class GradeService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getUserGradebookItems(String,String)}
+	 * 
+	 * @param userId	ID of the user
+	 * @param courseId	ID of the course
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getUserGradebookItemsAsync(String userId, String courseId) {
+		String relativeUrl = String.format(PATH_USERS_COURSES_USERGRADEBOOKITEMS, userId, courseId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get gradebook items for a user in a course with
 	 * GET /users/{userId}/courses/{courseId}/userGradebookItems
@@ -579,6 +873,23 @@ public class GradeService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getUserGradebookItems(String,String,boolean,boolean)}
+	 * 
+	 * @param userId	ID of the user
+	 * @param courseId	ID of the course
+	 * @param useSourceDomain	Flag for using source domain parameter
+	 * @param expandGrade	Flag for using expand grade parameter
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getUserGradebookItemsAsync(final String userId, final String courseId, final boolean useSourceDomain, final boolean expandGrade) {
+		return callAsync(new Callable<Response>() {
+			public Response call() throws Exception {
+				return getUserGradebookItems(userId, courseId, useSourceDomain, expandGrade);
+			}
+		});
+	}
+	
 	/**
 	 * Create a user's grade for an item in a course with
 	 * POST /users/{userId}/courses/{courseId}/gradebook/gradebookItems/{gradebookItemId}/grade
@@ -597,6 +908,20 @@ public class GradeService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #createGrade(String,String,String,String)}
+	 * 
+	 * @param userId	ID of the user
+	 * @param courseId	ID of the course
+	 * @param gradebookItemId	ID of the gradebook item
+	 * @param grade		Grade on the exam
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> createGradeAsync(String userId, String courseId, String gradebookItemId, String grade) {
+		String relativeUrl = String.format(PATH_USERS_COURSES_GRADEBOOK__GRADEBOOKITEMS_GRADE, userId, courseId, gradebookItemId);
+		return doMethodAsync(HttpMethod.POST,relativeUrl,grade);
+	}
+	
 	/**
 	 * Update a user's grade for an item in a course with
 	 * PUT /users/{userId}/courses/{courseId}/gradebook/gradebookItems/{gradebookItemId}/grade
@@ -615,6 +940,20 @@ public class GradeService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #updateGrade(String,String,String,String)}
+	 * 
+	 * @param userId	ID of the user
+	 * @param courseId	ID of the course
+	 * @param gradebookItemId	ID of the gradebook item
+	 * @param grade		Grade on the exam
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> updateGradeAsync(String userId, String courseId, String gradebookItemId, String grade) {
+		String relativeUrl = String.format(PATH_USERS_COURSES_GRADEBOOK__GRADEBOOKITEMS_GRADE, userId, courseId, gradebookItemId);
+		return doMethodAsync(HttpMethod.PUT,relativeUrl,grade);
+	}
+	
 	/**
 	 * Delete a user's grade for an item in a course with
 	 * DELETE /users/{userId}/courses/{courseId}/gradebook/gradebookItems/{gradebookItemId}/grade
@@ -632,6 +971,19 @@ public class GradeService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #deleteGrade(String,String,String)}
+	 * 
+	 * @param userId	ID of the user
+	 * @param courseId	ID of the course
+	 * @param gradebookItemId	ID of the gradebook item
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> deleteGradeAsync(String userId, String courseId, String gradebookItemId) {
+		String relativeUrl = String.format(PATH_USERS_COURSES_GRADEBOOK__GRADEBOOKITEMS_GRADE, userId, courseId, gradebookItemId);
+		return doMethodAsync(HttpMethod.DELETE,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get a user's grade for an item in a course with
 	 * GET /users/{userId}/courses/{courseId}/gradebook/gradebookItems/{gradebookItemId}/grade
@@ -649,6 +1001,19 @@ public class GradeService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getGrade(String,String,String)}
+	 * 
+	 * @param userId	ID of the user
+	 * @param courseId	ID of the course
+	 * @param gradebookItemId	ID of the gradebook item
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getGradeAsync(String userId, String courseId, String gradebookItemId) {
+		String relativeUrl = String.format(PATH_USERS_COURSES_GRADEBOOK__GRADEBOOKITEMS_GRADE, userId, courseId, gradebookItemId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get a user's grade for an item in a course with override for useSourceDomain with
 	 * GET /users/{userId}/courses/{courseId}/gradebook/gradebookItems/{gradebookItemId}/grade
@@ -668,6 +1033,23 @@ public class GradeService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getGrade(String,String,String,boolean)}
+	 * 
+	 * @param userId	ID of the user
+	 * @param courseId	ID of the course
+	 * @param gradebookItemId	ID of the gradebook item
+	 * @param useSourceDomain	Indicator of whether to include domain in urls
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getGradeAsync(final String userId, final String courseId, final String gradebookItemId, final boolean useSourceDomain) {
+		return callAsync(new Callable<Response>() {
+			public Response call() throws Exception {
+				return getGrade(userId, courseId, gradebookItemId, useSourceDomain);
+			}
+		});
+	}
+	
 	/**
 	 * Get a user's grades for a course with
 	 * GET /users/{userId}/courses/{courseId}/gradebook/userGradebookItems
@@ -683,6 +1065,21 @@ public class GradeService extends AbstractService {
 		return getGrades(userId, courseId,false);
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getGrades(String,String)}
+	 * 
+	 * @param userId	ID of the user
+	 * @param courseId	ID of the course
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getGradesAsync(final String userId, final String courseId) {
+		return callAsync(new Callable<Response>() {
+			public Response call() throws Exception {
+				return getGrades(userId, courseId);
+			}
+		});
+	}
+	
 	/**
 	 * Get a user's grades for a course with
 	 * GET /users/{userId}/courses/{courseId}/gradebook/userGradebookItems
@@ -728,6 +1125,22 @@ public class GradeService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getGrades(String,String,boolean)}
+	 * 
+	 * @param userId	ID of the user
+	 * @param courseId	ID of the course
+	 * @param useSourceDomain	Indicator of whether to include domain in urls
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getGradesAsync(final String userId, final String courseId, final boolean useSourceDomain) {
+		return callAsync(new Callable<Response>() {
+			public Response call() throws Exception {
+				return getGrades(userId, courseId, useSourceDomain);
+			}
+		});
+	}
+	
 	/**
 	 * Get a user's current grades for a course with
 	 * GET /users/{userId}/courses/{courseId}/coursegradetodate
@@ -744,6 +1157,18 @@ public class GradeService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getCurrentGrade(String,String)}
+	 * 
+	 * @param userId	ID of the user
+	 * @param courseId	ID of the course
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getCurrentGradeAsync(String userId, String courseId) {
+		String relativeUrl = String.format(PATH_USERS_COURSES_COURSEGRADETODATE, userId, courseId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get current grades for all students in a course with
 	 * GET /courses/{courseId}/gradebook/rostercoursegradestodate?offset={offset}&limit={limit}
@@ -761,6 +1186,19 @@ public class GradeService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getCurrentGrades(String,int,int)}
+	 * 
+	 * @param courseId	ID of course
+	 * @param offset	Offset position
+	 * @param limit		Limitation on count of records
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getCurrentGradesAsync(String courseId, int offset, int limit) {
+		String relativeUrl = String.format(PATH_COURSES_GRADEBOOK__ROSTERCOURSEGRADESTODATE__OFFSET_LIMIT_, courseId, String.valueOf(offset), String.valueOf(limit));
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get current grades for specific students in a course with
 	 * GET /courses/{courseId}/gradebook/rostercoursegradestodate?Student.ID={studentIds}&offset={offset}&limit={limit}
@@ -779,6 +1217,20 @@ public class GradeService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getCurrentGrades(String,String,int,int)}
+	 * 
+	 * @param courseId	ID of course
+	 * @param studentIds Comma-separated list of students to filter 
+	 * @param offset	Offset position
+	 * @param limit		Limitation on count of records
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getCurrentGradesAsync(String courseId, String studentIds, int offset, int limit) {
+		String relativeUrl = String.format(PATH_COURSES_GRADEBOOK__ROSTERCOURSEGRADESTODATE__STUDENTIDS_OFFSET_LIMIT_, courseId, studentIds, String.valueOf(offset), String.valueOf(limit));
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get current grades for specific students in a course with
 	 * GET /courses/{courseId}/gradebook/rostercoursegradestodate?Student.ID={studentIds}
@@ -795,6 +1247,18 @@ public class GradeService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getCurrentGrades(String,String)}
+	 * 
+	 * @param courseId	ID of course
+	 * @param studentIds Comma-separated list of students to filter 
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getCurrentGradesAsync(String courseId, String studentIds) {
+		String relativeUrl = String.format(PATH_COURSES_GRADEBOOK__ROSTERCOURSEGRADESTODATE__STUDENTIDS_, courseId, studentIds);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get user gradebook items in a course gradebook with
 	 * GET /users/{userId}/courses/{courseId}/gradebook/userGradebookItems
@@ -811,6 +1275,18 @@ public class GradeService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getCourseGradebookUserItems(String,String)}
+	 * 
+	 * @param userId	ID of the user
+	 * @param courseId	ID of the course
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getCourseGradebookUserItemsAsync(String userId, String courseId) {
+		String relativeUrl = String.format(PATH_USERS_COURSES_GRADEBOOK__USERGRADEBOOKITEMS, userId, courseId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get user gradebook item in a course gradebook by user gradebook item id with
 	 * GET /users/{userId}/courses/{courseId}/gradebook/userGradebookItems/{userGradebookItemId}
@@ -828,6 +1304,19 @@ public class GradeService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getCourseGradebookUserItem(String,String,String)}
+	 * 
+	 * @param userId	ID of the user
+	 * @param courseId	ID of the course
+	 * @param userGradebookItemId concatenation of {userId}-{gradebookItemGuid}
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getCourseGradebookUserItemAsync(String userId, String courseId, String userGradebookItemId) {
+		String relativeUrl = String.format(PATH_USERS_COURSES_GRADEBOOK__USERGRADEBOOKITEMS_, userId, courseId, userGradebookItemId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get user gradebook item in a course gradebook by user gradebook item id with
 	 * GET /users/{userId}/courses/{courseId}/gradebook/userGradebookItems/{userGradebookItem}
@@ -848,6 +1337,23 @@ public class GradeService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getCourseGradebookUserItem(String,String,String,boolean)}
+	 * 
+	 * @param userId	ID of the user
+	 * @param courseId	ID of the course
+	 * @param userGradebookItemId concatenation of {userId}-{gradebookItemGuid}
+	 * @param expandGrade	Flag of whether to expand grade data
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getCourseGradebookUserItemAsync(final String userId, final String courseId, final String userGradebookItemId, final boolean expandGrade) {
+		return callAsync(new Callable<Response>() {
+			public Response call() throws Exception {
+				return getCourseGradebookUserItem(userId, courseId, userGradebookItemId, expandGrade);
+			}
+		});
+	}
+	
 	/**
 	 * Get summary of points available to a student in a course with
 	 * GET /users/{userId}/courses/{courseId}/gradebook/userGradebookItemsTotals
@@ -864,6 +1370,18 @@ public class GradeService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getTotalPointsAvailable(String,String)}
+	 * 
+	 * @param userId	ID of the user
+	 * @param courseId	ID of the course
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getTotalPointsAvailableAsync(String userId, String courseId) {
+		String relativeUrl = String.format(PATH_USERS_COURSES_GRADEBOOK__USERGRADEBOOKITEMSTOTAL, userId, courseId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	
 	/**
 	 * Get custom categories in a course's gradebook with
@@ -880,6 +1398,17 @@ public class GradeService extends AbstractService {
 		return response;
 	}
 	
+	/**
+	 * Asynchronous form of {@link #getCustomGradebookCategories(String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getCustomGradebookCategoriesAsync(String courseId) {
+		String relativeUrl = String.format(PATH_COURSES_GRADEBOOK__CUSTOMCATEGORIES, courseId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
+	
 	/**
 	 * Get custom items in a custom category of a course's gradebook with
 	 * GET /courses/{courseId}/gradebook/customCategories/{customCategoryId}/customItems
@@ -895,4 +1424,16 @@ public class GradeService extends AbstractService {
 		Response response = doMethod(HttpMethod.GET,relativeUrl,NO_CONTENT);
 		return response;
 	}
+	
+	/**
+	 * Asynchronous form of {@link #getCustomGradebookItems(String,String)}
+	 * 
+	 * @param courseId	ID of the course
+	 * @param customCategoryId	ID of a custom category
+	 * @return	Future of the Response object with details of status and content
+	 */
+	public CompletableFuture<Response> getCustomGradebookItemsAsync(String courseId, String customCategoryId) {
+		String relativeUrl = String.format(PATH_COURSES_GRADEBOOK__CUSTOMCATEGORIES_CUSTOMITEMS, courseId, customCategoryId);
+		return doMethodAsync(HttpMethod.GET,relativeUrl,NO_CONTENT);
+	}
 }
@@ -31,6 +31,7 @@ import java.io.UnsupportedEncodingException;
 import java.io.IOException;
 import java.net.URL;
 import java.net.URLEncoder;
+import java.nio.ByteBuffer;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.TreeMap;
@@ -71,6 +72,20 @@ public class OAuth1SignatureService implements OAuthService {
 	 * @throws IOException
 	 */
 	public OAuth1Request generateOAuth1Request(String httpMethod, URL url, String body) throws IOException {
+		return generateOAuth1Request(httpMethod, url, body == null ? null : ByteBuffer.wrap(body.getBytes("UTF-8")));
+	}
+	
+	/**
+	 * Generates OAuth1 signature request over an encoded body.
+	 * The body is read through the buffer without being copied.
+	 * 
+	 * @param httpMethod	Method of the request
+	 * @param url	URL of the request
+	 * @param body	Bytes of the body. Its position is not changed.
+	 * @return	OAuth1 request with signature
+	 * @throws IOException
+	 */
+	public OAuth1Request generateOAuth1Request(String httpMethod, URL url, ByteBuffer body) throws IOException {
 		
 		final String applicationId = configuration.getApplicationId();
 		final String consumerKey = configuration.getConsumerKey();
@@ -80,10 +95,10 @@ public class OAuth1SignatureService implements OAuthService {
 		String nonce = getNonce();
 		String timestamp = getTimestamp();
 
-		byte[] requestBody = null;
+		ByteBuffer requestBody = null;
 		// Set the request body if making a POST or PUT request
 		if ("POST".equalsIgnoreCase(httpMethod) || "PUT".equalsIgnoreCase(httpMethod)) {
-			requestBody = body.getBytes("UTF-8");
+			requestBody = body == null ? ByteBuffer.allocate(0) : body.duplicate();
 		}
 
 		// Create the OAuth parameter name/value pair
@@ -147,7 +162,7 @@ public class OAuth1SignatureService implements OAuthService {
 	 * @throws UnsupportedEncodingException
 	 */
 	private String normalizeParams(String httpMethod, URL url, Map<String, String> oauthParams,
-			byte[] requestBody) throws UnsupportedEncodingException {
+			ByteBuffer requestBody) throws UnsupportedEncodingException {
 
 
 		// Sort the parameters in lexicographical order, 1st by Key then by Value
@@ -168,7 +183,8 @@ public class OAuth1SignatureService implements OAuthService {
 
 		// Include the body parameter if dealing with a POST or PUT request
 		if ("POST".equals(httpMethod) || "PUT".equals(httpMethod)) {
-			String body = Base64.encodeBase64String(requestBody).replaceAll("\r\n", "");
+			ByteBuffer encodedBody = java.util.Base64.getEncoder().encode(requestBody);
+			String body = new String(encodedBody.array(), encodedBody.arrayOffset(), encodedBody.remaining(), "US-ASCII");
 			// url encode the body 2 times now before combining other params
 			body = URLEncoder.encode(body, "UTF-8");
 			body = URLEncoder.encode(body, "UTF-8");
@@ -211,7 +227,7 @@ public class OAuth1SignatureService implements OAuthService {
 	 * @throws UnsupportedEncodingException
 	 */
 	private String generateSignature(String httpMethod, URL url, Map<String, String> oauthParams,
-			byte[] requestBody, String secret) throws UnsupportedEncodingException {
+			ByteBuffer requestBody, String secret) throws UnsupportedEncodingException {
 		// Ensure the HTTP Method is upper-cased
 		httpMethod = httpMethod.toUpperCase();
 
@@ -30,7 +30,6 @@ package com.pearson.pdn.learningstudio.oauth;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.lang.reflect.Type;
 import java.net.URL;
@@ -42,8 +41,6 @@ import java.util.Map;
 import java.util.TimeZone;
 import java.util.TreeMap;
 
-import javax.net.ssl.HttpsURLConnection;
-
 import org.bouncycastle.crypto.engines.AESFastEngine;
 import org.bouncycastle.crypto.macs.CMac;
 import org.bouncycastle.crypto.params.KeyParameter;
@@ -55,6 +52,10 @@ import com.google.gson.reflect.TypeToken;
 import com.google.gson.stream.JsonReader; 
 import com.pearson.pdn.learningstudio.oauth.config.OAuth2AssertionConfig;
 import com.pearson.pdn.learningstudio.oauth.request.OAuth2Request;
+import com.pearson.pdn.learningstudio.transport.PooledTransport;
+import com.pearson.pdn.learningstudio.transport.Transport;
+import com.pearson.pdn.learningstudio.transport.TransportRequest;
+import com.pearson.pdn.learningstudio.transport.TransportResponse;
 
 /**
  *	OAuth2 Assertion Service
@@ -63,6 +64,7 @@ public class OAuth2AssertionService implements OAuthService {
 	private final static String API_DOMAIN = "https://api.learningstudio.com";
 	
 	private OAuth2AssertionConfig configuration;
+	private Transport transport;
 
 	/**
 	 * Constructs and OAuth2 assertion service
@@ -71,6 +73,16 @@ public class OAuth2AssertionService implements OAuthService {
 	 */
 	public OAuth2AssertionService(OAuth2AssertionConfig configuration) {
 		this.configuration = configuration;
+		this.transport = PooledTransport.getSharedInstance();
+	}
+	
+	/**
+	 * Set the Transport used to request tokens
+	 * 
+	 * @param transport	Transport for token requests
+	 */
+	public void setTransport(Transport transport) {
+		this.transport = transport;
 	}
 	
 	/**
@@ -93,7 +105,7 @@ public class OAuth2AssertionService implements OAuthService {
 		final String consumerSecret = configuration.getConsumerSecret();
 		
 		OAuth2Request oauthRequest = null;
-		HttpsURLConnection httpConn = null;
+		TransportResponse transportResponse = null;
 		JsonReader in = null;
 		try {
 				
@@ -110,23 +122,27 @@ public class OAuth2AssertionService implements OAuthService {
 			byte[] byteArray = data.toString().getBytes("UTF-8");
 	
 			// Setup the Request
-			URL request = new URL(url);
-			httpConn = (HttpsURLConnection) request.openConnection();
-			httpConn.setRequestMethod("POST");
-			httpConn.addRequestProperty("User-Agent","LS-Library-OAuth-Java-V1");
-			httpConn.setRequestProperty("Content-Type", "application/x-www-form-urlencoded");
-			httpConn.setRequestProperty("Content-Length", "" + byteArray.length);
-			httpConn.setDoOutput(true);
-	
-			// Write data
-			OutputStream postStream = httpConn.getOutputStream();
-			postStream.write(byteArray, 0, byteArray.length);
-			postStream.close();
-	
+			TransportRequest request = new TransportRequest();
+			request.setMethod("POST");
+			request.setUrl(new URL(url));
+			request.setHeader("User-Agent","LS-Library-OAuth-Java-V1");
+			request.setHeader("Content-Type", "application/x-www-form-urlencoded");
+			request.setBody(byteArray);
+			request.setConnectTimeoutMillis(configuration.getConnectTimeoutMillis());
+			request.setReadTimeoutMillis(configuration.getReadTimeoutMillis());
+
 			long creationTime = System.currentTimeMillis();
 			
-			// Send Request & Get Response
-			in = new JsonReader(new BufferedReader(new InputStreamReader(httpConn.getInputStream(),"UTF-8")));
+			// Send Request
+			transportResponse = transport.execute(request);
+			if(transportResponse.getStatusCode() >= 400) {
+				throw new IOException("Token request failed: " + 
+										transportResponse.getStatusCode() + " - " + 
+										transportResponse.getStatusMessage());
+			}
+
+			// Get Response
+			in = new JsonReader(new BufferedReader(new InputStreamReader(transportResponse.getBody(),"UTF-8")));
 	
 			// Parse the Json response and retrieve the Access Token
 			Gson gson = new Gson();
@@ -152,8 +168,8 @@ public class OAuth2AssertionService implements OAuthService {
 			// Be sure to close out any resources or connections
 			if (in != null)
 				in.close();
-			if (httpConn != null)
-				httpConn.disconnect();
+			if (transportResponse != null)
+				transportResponse.close();
 		}
 		
 		return oauthRequest;
@@ -0,0 +1,723 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.oauth;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.Charset;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.apache.log4j.Logger;
+
+import com.pearson.pdn.learningstudio.oauth.config.OAuthConfig;
+import com.pearson.pdn.learningstudio.oauth.request.OAuth2Request;
+
+/**
+ * Shares OAuth2 tokens between services and threads.
+ *
+ * Tokens are kept per authentication method and username, and for the password grant also per
+ * password, so a token is only given to callers presenting the credential it was issued for.
+ * A valid token is returned without waiting. Shortly before a token expires, a new one is
+ * requested on the executor of the last caller while the old one stays in use. Only the first
+ * request for a user, or one made after its token lapsed, waits for the token endpoint, and
+ * concurrent callers share that single request. Callers may limit how long they wait.
+ *
+ * Tokens that were not used since their last refresh are left to expire and then forgotten.
+ * The number of users held is bounded. The store is split into stripes, each with its own lock
+ * and share of the bound. When a stripe is full, the token expiring soonest among its least
+ * recently used users is evicted.
+ *
+ * With a TokenFile, tokens are also kept on disk and shared with the other processes of the
+ * host. A token found there is used instead of requesting a new one, so restarted and sibling
+ * processes reuse the tokens already issued. Password grant tokens are only found with the
+ * password they were issued for.
+ */
+public class OAuth2TokenManager {
+	private final static Logger logger = Logger.getLogger(OAuth2TokenManager.class);
+	private final static int STRIPES = 16;
+	private final static int EVICTION_CANDIDATES = 8;
+	private final static Charset UTF8 = Charset.forName("UTF-8");
+	private final static byte[] CREDENTIAL_SALT = new byte[32];
+	private static ScheduledExecutorService scheduler;
+	private static ExecutorService defaultExecutor;
+
+	static {
+		new SecureRandom().nextBytes(CREDENTIAL_SALT);
+	}
+
+	private final static ThreadLocal<Mac> credentialMac = new ThreadLocal<Mac>() {
+		@Override
+		protected Mac initialValue() {
+			try {
+				Mac mac = Mac.getInstance("HmacSHA256");
+				mac.init(new SecretKeySpec(CREDENTIAL_SALT, "HmacSHA256"));
+				return mac;
+			}
+			catch(GeneralSecurityException e) {
+				throw new IllegalStateException("HmacSHA256 is not available", e);
+			}
+		}
+	};
+
+	private final OAuthServiceFactory oauthServiceFactory;
+	private final Stripe[] stripes = new Stripe[STRIPES];
+	private int maxTokens = 10000;
+	private volatile TokenFile tokenFile;
+	private long refreshAheadMillis = 60000;
+	private long retryDelayMillis = 5000;
+
+	/**
+	 * Constructs a token manager
+	 *
+	 * @param oauthServiceFactory	Factory of the services that request tokens
+	 */
+	public OAuth2TokenManager(OAuthServiceFactory oauthServiceFactory) {
+		this.oauthServiceFactory = oauthServiceFactory;
+		for(int i = 0; i < STRIPES; i++) {
+			stripes[i] = new Stripe();
+		}
+	}
+
+	/**
+	 * Get the number of users whose tokens are kept
+	 *
+	 * @return	Maximum tokens
+	 */
+	public int getMaxTokens() {
+		return maxTokens;
+	}
+
+	/**
+	 * Set the number of users whose tokens are kept
+	 *
+	 * @param maxTokens	Maximum tokens
+	 */
+	public void setMaxTokens(int maxTokens) {
+		this.maxTokens = maxTokens;
+	}
+
+	/**
+	 * Get how long before expiry a token is refreshed.
+	 * At most half the lifetime of a token is used.
+	 *
+	 * @return	Milliseconds
+	 */
+	public long getRefreshAheadMillis() {
+		return refreshAheadMillis;
+	}
+
+	/**
+	 * Set how long before expiry a token is refreshed.
+	 * At most half the lifetime of a token is used.
+	 *
+	 * @param refreshAheadMillis	Milliseconds
+	 */
+	public void setRefreshAheadMillis(long refreshAheadMillis) {
+		this.refreshAheadMillis = refreshAheadMillis;
+	}
+
+	/**
+	 * Get the wait before trying again after a failed background refresh
+	 *
+	 * @return	Milliseconds
+	 */
+	public long getRetryDelayMillis() {
+		return retryDelayMillis;
+	}
+
+	/**
+	 * Set the wait before trying again after a failed background refresh
+	 *
+	 * @param retryDelayMillis	Milliseconds
+	 */
+	public void setRetryDelayMillis(long retryDelayMillis) {
+		this.retryDelayMillis = retryDelayMillis;
+	}
+
+	/**
+	 * Get the file sharing tokens with other processes
+	 *
+	 * @return	Token file, or null when tokens are only kept in memory
+	 */
+	public TokenFile getTokenFile() {
+		return tokenFile;
+	}
+
+	/**
+	 * Set the file sharing tokens with other processes
+	 *
+	 * @param tokenFile	Token file, or null to keep tokens only in memory
+	 */
+	public void setTokenFile(TokenFile tokenFile) {
+		this.tokenFile = tokenFile;
+	}
+
+	/**
+	 * Provides a token for the password grant
+	 *
+	 * @param username	Username of the user
+	 * @param password	Password of the user
+	 * @return	Valid token of the user
+	 * @throws IOException
+	 */
+	public OAuth2Request getPasswordToken(String username, String password) throws IOException {
+		return getPasswordToken(username, password, getDefaultExecutor(), 0);
+	}
+
+	/**
+	 * Provides a token for the password grant
+	 *
+	 * @param username	Username of the user
+	 * @param password	Password of the user
+	 * @param executor	Executor requesting new tokens
+	 * @param timeoutMillis	Time allowed to wait for a new token. Zero waits indefinitely.
+	 * @return	Valid token of the user
+	 * @throws IOException
+	 */
+	public OAuth2Request getPasswordToken(String username, String password, Executor executor, long timeoutMillis) throws IOException {
+		return getToken(true, username, password).get(executor, timeoutMillis);
+	}
+
+	/**
+	 * Provides a token for the assertion grant
+	 *
+	 * @param username	Username of the user
+	 * @return	Valid token of the user
+	 * @throws IOException
+	 */
+	public OAuth2Request getAssertionToken(String username) throws IOException {
+		return getAssertionToken(username, getDefaultExecutor(), 0);
+	}
+
+	/**
+	 * Provides a token for the assertion grant
+	 *
+	 * @param username	Username of the user
+	 * @param executor	Executor requesting new tokens
+	 * @param timeoutMillis	Time allowed to wait for a new token. Zero waits indefinitely.
+	 * @return	Valid token of the user
+	 * @throws IOException
+	 */
+	public OAuth2Request getAssertionToken(String username, Executor executor, long timeoutMillis) throws IOException {
+		return getToken(false, username, null).get(executor, timeoutMillis);
+	}
+
+	/**
+	 * Discards a password grant token the server rejected, unless it was already replaced.
+	 * The next request for the user waits for a new token.
+	 *
+	 * @param username	Username of the user
+	 * @param password	Password of the user
+	 * @param stale	Token that was rejected
+	 */
+	public void invalidatePasswordToken(String username, String password, OAuth2Request stale) {
+		getToken(true, username, password).invalidate(stale);
+	}
+
+	/**
+	 * Discards an assertion grant token the server rejected, unless it was already replaced.
+	 * The next request for the user waits for a new token.
+	 *
+	 * @param username	Username of the user
+	 * @param stale	Token that was rejected
+	 */
+	public void invalidateAssertionToken(String username, OAuth2Request stale) {
+		getToken(false, username, null).invalidate(stale);
+	}
+
+	/**
+	 * Forgets all tokens
+	 */
+	public void clear() {
+		for(Stripe stripe : stripes) {
+			synchronized(stripe) {
+				for(Token token : stripe.tokens.values()) {
+					token.removed = true;
+				}
+				stripe.tokens.clear();
+			}
+		}
+	}
+
+	/**
+	 * Get statistics of the tokens held
+	 *
+	 * @return	Token statistics
+	 */
+	public TokenStatistics getStatistics() {
+		long hits = 0, misses = 0, refreshes = 0, invalidations = 0, evictions = 0;
+		int tokens = 0;
+		for(Stripe stripe : stripes) {
+			hits += stripe.hits.get();
+			misses += stripe.misses.get();
+			refreshes += stripe.refreshes.get();
+			invalidations += stripe.invalidations.get();
+			evictions += stripe.evictions.get();
+			synchronized(stripe) {
+				tokens += stripe.tokens.size();
+			}
+		}
+		return new TokenStatistics(hits, misses, refreshes, invalidations, evictions, tokens);
+	}
+
+	/**
+	 * Hashes a credential with a salt chosen at random by each process, so it can be part of
+	 * keys without keeping or revealing the password
+	 *
+	 * @param username	Username of the user
+	 * @param password	Password of the user
+	 * @return	Salted hash of the credential
+	 */
+	public static String hashCredential(String username, String password) {
+		Mac mac = credentialMac.get();
+		mac.update(String.valueOf(username).getBytes(UTF8));
+		mac.update((byte) 0);
+		byte[] digest = mac.doFinal(String.valueOf(password).getBytes(UTF8));
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16));
+	}
+
+	private Token getToken(boolean passwordGrant, String username, String password) {
+		String key = passwordGrant ? "password|" + username + "|" + hashCredential(username, password) : "assertion|" + username;
+		Stripe stripe = stripes[(key.hashCode() & 0x7fffffff) % STRIPES];
+		synchronized(stripe) {
+			Token token = stripe.tokens.get(key);
+			if(token == null) {
+				int maxPerStripe = Math.max(1, (maxTokens + STRIPES - 1) / STRIPES);
+				while(stripe.tokens.size() >= maxPerStripe) {
+					stripe.evict();
+				}
+				token = new Token(stripe, key, passwordGrant, username, password);
+				stripe.tokens.put(key, token);
+			}
+			return token;
+		}
+	}
+
+	/**
+	 * Tokens of the users whose keys hash to the same lock
+	 */
+	private static class Stripe {
+		// access ordered, so iteration starts with the least recently used
+		private final LinkedHashMap<String,Token> tokens = new LinkedHashMap<String,Token>(16, 0.75f, true);
+		private final AtomicLong hits = new AtomicLong();
+		private final AtomicLong misses = new AtomicLong();
+		private final AtomicLong refreshes = new AtomicLong();
+		private final AtomicLong invalidations = new AtomicLong();
+		private final AtomicLong evictions = new AtomicLong();
+
+		/**
+		 * Removes the token expiring soonest among the least recently used. Called holding the lock.
+		 */
+		void evict() {
+			Token victim = null;
+			long victimExpiration = Long.MAX_VALUE;
+			Iterator<Token> iterator = tokens.values().iterator();
+			for(int i = 0; i < EVICTION_CANDIDATES && iterator.hasNext(); i++) {
+				Token candidate = iterator.next();
+				long expiration = candidate.getExpiration();
+				if(victim == null || expiration < victimExpiration) {
+					victim = candidate;
+					victimExpiration = expiration;
+				}
+			}
+			tokens.remove(victim.key);
+			victim.removed = true;
+			evictions.incrementAndGet();
+		}
+
+		synchronized void remove(Token token) {
+			if(tokens.remove(token.key, token)) {
+				token.removed = true;
+			}
+		}
+	}
+
+	/**
+	 * Runs a task after a delay on a daemon thread shared by all token managers.
+	 * Tasks only start requests for tokens, which run on the executors of callers.
+	 */
+	private static synchronized void schedule(Runnable task, long delayMillis) {
+		if(scheduler == null) {
+			scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, "LS-Token-Refresh");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+		scheduler.schedule(task, delayMillis, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Provides the executor requesting tokens for callers that did not give one
+	 */
+	private static synchronized Executor getDefaultExecutor() {
+		if(defaultExecutor == null) {
+			defaultExecutor = Executors.newCachedThreadPool(new ThreadFactory() {
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, "LS-Token-Request");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+		return defaultExecutor;
+	}
+
+	/**
+	 * Token of a single user
+	 */
+	private class Token {
+		private final Stripe stripe;
+		private final String key;
+		private final boolean passwordGrant;
+		private final String username;
+		private final String password;
+		private volatile Executor executor;
+		private volatile OAuth2Request current;
+		private volatile long lastUsed;
+		private long lastFetched;
+		private CompletableFuture<OAuth2Request> inFlight;
+		private volatile boolean removed;
+
+		private Token(Stripe stripe, String key, boolean passwordGrant, String username, String password) {
+			this.stripe = stripe;
+			this.key = key;
+			this.passwordGrant = passwordGrant;
+			this.username = username;
+			this.password = password;
+		}
+
+		/**
+		 * Returns the current token, waiting only when there is no valid one
+		 */
+		OAuth2Request get(Executor executor, long timeoutMillis) throws IOException {
+			this.executor = executor;
+			lastUsed = System.currentTimeMillis();
+			OAuth2Request request = current;
+			if(request != null && !isExpired(request)) {
+				stripe.hits.incrementAndGet();
+				return request;
+			}
+			stripe.misses.incrementAndGet();
+
+			if(logger.isDebugEnabled()) {
+				logger.debug("Waiting for OAuth2 token of " + key);
+			}
+			CompletableFuture<OAuth2Request> future = fetch();
+			try {
+				return timeoutMillis > 0 ? future.get(timeoutMillis, TimeUnit.MILLISECONDS) : future.get();
+			}
+			catch(TimeoutException e) {
+				// the request goes on and its token is kept for later callers
+				throw new InterruptedIOException("Timed out waiting for OAuth2 token");
+			}
+			catch(InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted waiting for OAuth2 token");
+			}
+			catch(ExecutionException e) {
+				Throwable cause = e.getCause();
+				if(cause instanceof IOException) {
+					throw (IOException) cause;
+				}
+				if(cause instanceof RuntimeException) {
+					throw (RuntimeException) cause;
+				}
+				throw new IOException(cause);
+			}
+		}
+
+		/**
+		 * Requests a new token on the executor of the last caller, or joins the request already in flight
+		 */
+		private CompletableFuture<OAuth2Request> fetch() {
+			final CompletableFuture<OAuth2Request> future;
+			synchronized(this) {
+				if(inFlight != null) {
+					return inFlight;
+				}
+				future = inFlight = new CompletableFuture<OAuth2Request>();
+			}
+
+			try {
+				executor.execute(new Runnable() {
+					public void run() {
+						fetch(future);
+					}
+				});
+			}
+			catch(RejectedExecutionException e) {
+				synchronized(this) {
+					inFlight = null;
+				}
+				future.completeExceptionally(e);
+			}
+			return future;
+		}
+
+		private void fetch(CompletableFuture<OAuth2Request> future) {
+			try {
+				OAuth2Request request = loadStored();
+				if(request == null) {
+					request = requestToken();
+					store(request);
+				}
+				synchronized(this) {
+					current = request;
+					lastFetched = System.currentTimeMillis();
+					inFlight = null;
+				}
+				scheduleRefresh(request);
+				future.complete(request);
+			}
+			catch(Throwable t) {
+				synchronized(this) {
+					inFlight = null;
+				}
+				future.completeExceptionally(t);
+			}
+		}
+
+		private OAuth2Request requestToken() throws IOException {
+			if(!passwordGrant) {
+				OAuth2AssertionService oauthService = oauthServiceFactory.build(OAuth2AssertionService.class);
+				return oauthService.generateOAuth2AssertionRequest(username);
+			}
+
+			OAuth2PasswordService oauthService = oauthServiceFactory.build(OAuth2PasswordService.class);
+			OAuth2Request previous = current;
+			if(previous != null && previous.getRefreshToken() != null) {
+				// attempt to use the refresh token
+				try {
+					return oauthService.refreshOAuth2PasswordRequest(previous);
+				}
+				catch(Throwable t) {
+					if(logger.isDebugEnabled()) {
+						logger.debug("Failed to refresh OAuth2 token of " + key, t);
+					}
+				}
+			}
+			return oauthService.generateOAuth2PasswordRequest(username, password);
+		}
+
+		/**
+		 * Reads a token another process, or an earlier run, stored and that is not yet due for refresh
+		 */
+		private OAuth2Request loadStored() {
+			TokenFile file = tokenFile;
+			if(file == null) {
+				return null;
+			}
+			try {
+				OAuth2Request stored = file.get(getFileKey(file));
+				if(stored == null || stored.getCreationTime() == null || System.currentTimeMillis() >= getRefreshTime(stored)) {
+					return null;
+				}
+				OAuth2Request previous = current;
+				if(previous != null && previous.getCreationTime() != null && stored.getCreationTime() <= previous.getCreationTime()) {
+					return null; // nothing newer than ours
+				}
+				if(logger.isDebugEnabled()) {
+					logger.debug("Using stored OAuth2 token of " + key);
+				}
+				return stored;
+			}
+			catch(IOException e) {
+				if(logger.isDebugEnabled()) {
+					logger.debug("Failed to read stored OAuth2 token of " + key, e);
+				}
+				return null;
+			}
+		}
+
+		private void store(OAuth2Request request) {
+			TokenFile file = tokenFile;
+			if(file == null) {
+				return;
+			}
+			try {
+				file.put(getFileKey(file), request);
+			}
+			catch(IOException e) {
+				if(logger.isDebugEnabled()) {
+					logger.debug("Failed to store OAuth2 token of " + key, e);
+				}
+			}
+		}
+
+		/**
+		 * Keys the file by application as well, since several may share it.
+		 * Password grant tokens are keyed by a hash of the credential the file gives every process.
+		 */
+		private String getFileKey(TokenFile file) {
+			OAuthConfig config = oauthServiceFactory.getConfiguration();
+			String user = passwordGrant ? "password|" + username + "|" + file.hashCredential(username, password) : "assertion|" + username;
+			return config.getApplicationId() + "|" + config.getClientString() + "|" + user;
+		}
+
+		private void scheduleRefresh(OAuth2Request request) {
+			long refreshTime = getRefreshTime(request);
+			if(refreshTime == Long.MAX_VALUE) {
+				return; // kept until replaced
+			}
+			scheduleRefresh(request, Math.max(0, refreshTime - System.currentTimeMillis()));
+		}
+
+		private void scheduleRefresh(final OAuth2Request request, long delayMillis) {
+			schedule(new Runnable() {
+				public void run() {
+					refresh(request);
+				}
+			}, delayMillis);
+		}
+
+		/**
+		 * Replaces a token before it expires, unless it was already replaced or is no longer used
+		 */
+		private void refresh(final OAuth2Request request) {
+			if(current != request || removed) {
+				return;
+			}
+			if(lastUsed < lastFetched()) {
+				if(logger.isDebugEnabled()) {
+					logger.debug("Letting unused OAuth2 token of " + key + " expire");
+				}
+				stripe.remove(this);
+				return;
+			}
+
+			if(logger.isDebugEnabled()) {
+				logger.debug("Refreshing OAuth2 token of " + key);
+			}
+			stripe.refreshes.incrementAndGet();
+			fetch().whenComplete(new BiConsumer<OAuth2Request,Throwable>() {
+				public void accept(OAuth2Request replacement, Throwable failure) {
+					if(failure == null) {
+						return;
+					}
+					if(logger.isDebugEnabled()) {
+						logger.debug("Failed to refresh OAuth2 token of " + key, failure);
+					}
+					if(current == request && !isExpired(request)) {
+						scheduleRefresh(request, retryDelayMillis);
+					}
+				}
+			});
+		}
+
+		/**
+		 * Forgets the current token if it is the stale one, here and in the token file
+		 */
+		void invalidate(OAuth2Request stale) {
+			synchronized(this) {
+				if(current != stale || stale == null) {
+					return; // already replaced
+				}
+				current = null;
+			}
+			stripe.invalidations.incrementAndGet();
+			if(logger.isDebugEnabled()) {
+				logger.debug("Discarding rejected OAuth2 token of " + key);
+			}
+
+			TokenFile file = tokenFile;
+			if(file != null) {
+				try {
+					OAuth2Request stored = file.get(getFileKey(file));
+					if(stored != null && stale.getAccessToken() != null && stale.getAccessToken().equals(stored.getAccessToken())) {
+						file.remove(getFileKey(file));
+					}
+				}
+				catch(IOException e) {
+					if(logger.isDebugEnabled()) {
+						logger.debug("Failed to remove stored OAuth2 token of " + key, e);
+					}
+				}
+			}
+		}
+
+		/**
+		 * Get when the current token expires
+		 *
+		 * @return	Milliseconds since epoch, 0 without a token or Long.MAX_VALUE when unknown
+		 */
+		long getExpiration() {
+			OAuth2Request request = current;
+			if(request == null) {
+				return 0;
+			}
+			Long expirationTime = request.getExpirationTime();
+			return expirationTime == null ? Long.MAX_VALUE : expirationTime;
+		}
+
+		private synchronized long lastFetched() {
+			return lastFetched;
+		}
+	}
+
+	/**
+	 * Get when a token is due for refresh
+	 *
+	 * @return	Milliseconds since epoch, or Long.MAX_VALUE when the expiry is unknown
+	 */
+	private long getRefreshTime(OAuth2Request request) {
+		Long expirationTime = request.getExpirationTime();
+		if(expirationTime == null) {
+			return Long.MAX_VALUE;
+		}
+		long lifetime = expirationTime - request.getCreationTime();
+		return expirationTime - Math.min(refreshAheadMillis, lifetime / 2);
+	}
+
+	private static boolean isExpired(OAuth2Request request) {
+		Long expirationTime = request.getExpirationTime();
+		return expirationTime != null && System.currentTimeMillis() >= expirationTime;
+	}
+}
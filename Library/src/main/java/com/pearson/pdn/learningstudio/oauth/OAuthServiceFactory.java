@@ -31,16 +31,19 @@ import com.pearson.pdn.learningstudio.oauth.config.OAuth1SignatureConfig;
 import com.pearson.pdn.learningstudio.oauth.config.OAuth2AssertionConfig;
 import com.pearson.pdn.learningstudio.oauth.config.OAuth2PasswordConfig;
 import com.pearson.pdn.learningstudio.oauth.config.OAuthConfig;
+import com.pearson.pdn.learningstudio.transport.Transport;
 
 /**
  * Factory for building various OAuth services
  */
 public class OAuthServiceFactory {
 	private OAuthConfig configuration;
+	private Transport transport;
 	
 	private OAuth1SignatureService oauth1SignatureService;
 	private OAuth2AssertionService oauth2AssertionService;
 	private OAuth2PasswordService oauth2PasswordService;
+	private OAuth2TokenManager oauth2TokenManager;
 	
 	/**
 	 * Constructs a OAuth service factory
@@ -51,13 +54,37 @@ public class OAuthServiceFactory {
 		this.configuration = config;
 	}
 	
+	/**
+	 * Get the configuration shared between services
+	 * 
+	 * @return	Configuration parameters
+	 */
+	public OAuthConfig getConfiguration() {
+		return configuration;
+	}
+	
+	/**
+	 * Set the Transport used by services that request tokens
+	 * 
+	 * @param transport	Transport for token requests
+	 */
+	public void setTransport(Transport transport) {
+		this.transport = transport;
+		if(oauth2AssertionService!=null) {
+			oauth2AssertionService.setTransport(transport);
+		}
+		if(oauth2PasswordService!=null) {
+			oauth2PasswordService.setTransport(transport);
+		}
+	}
+	
 	/**
 	 * Create the requested service type
 	 * 
 	 * @param serviceClass	Class of the service to create
 	 * @return	Service of the request type
 	 */
-	public <T extends OAuthService> T build(Class<T> serviceClass) {
+	public synchronized <T extends OAuthService> T build(Class<T> serviceClass) {
 		
 		if(serviceClass == OAuth1SignatureService.class) {		
 			if(oauth1SignatureService==null) {
@@ -78,8 +105,13 @@ public class OAuthServiceFactory {
 				config.setClientString(configuration.getClientString());
 				config.setConsumerKey(configuration.getConsumerKey());
 				config.setConsumerSecret(configuration.getConsumerSecret());
+				config.setConnectTimeoutMillis(configuration.getConnectTimeoutMillis());
+				config.setReadTimeoutMillis(configuration.getReadTimeoutMillis());
 				
 				oauth2AssertionService = new OAuth2AssertionService(config);
+				if(transport!=null) {
+					oauth2AssertionService.setTransport(transport);
+				}
 			}
 			return (T) oauth2AssertionService;
 		}
@@ -88,8 +120,13 @@ public class OAuthServiceFactory {
 				OAuth2PasswordConfig config = new OAuth2PasswordConfig();
 				config.setApplicationId(configuration.getApplicationId());
 				config.setClientString(configuration.getClientString());
+				config.setConnectTimeoutMillis(configuration.getConnectTimeoutMillis());
+				config.setReadTimeoutMillis(configuration.getReadTimeoutMillis());
 				
 				oauth2PasswordService = new OAuth2PasswordService(config);
+				if(transport!=null) {
+					oauth2PasswordService.setTransport(transport);
+				}
 			}
 			return (T) oauth2PasswordService;
 		}
@@ -97,4 +134,16 @@ public class OAuthServiceFactory {
 		throw new RuntimeException("Not implemented: " + serviceClass);
 	}
 	
+	/**
+	 * Provides the token manager shared by all services using this factory
+	 * 
+	 * @return	Manager of OAuth2 tokens
+	 */
+	public synchronized OAuth2TokenManager getTokenManager() {
+		if(oauth2TokenManager==null) {
+			oauth2TokenManager = new OAuth2TokenManager(this);
+		}
+		return oauth2TokenManager;
+	}
+	
 }
@@ -0,0 +1,399 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.oauth;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.apache.log4j.Logger;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.pearson.pdn.learningstudio.oauth.request.OAuth2Request;
+
+/**
+ * Persistent store of OAuth2 tokens in a memory mapped file shared by the processes of a host.
+ *
+ * The file holds a fixed number of slots. A token is kept in one of a few slots chosen by a
+ * keyed hash of its user, replacing the token expiring soonest when all are taken. Tokens are
+ * encrypted with AES-GCM. The encryption and hash keys are derived separately from the
+ * configured key with HKDF. Each slot is read under a file lock on its region, so processes
+ * never see a partly written token. Writers also hold a lock on the file header while they
+ * choose a slot, so two processes never pick the same slot or store a user twice.
+ *
+ * Every process sharing the file must use the same key. A file must only be opened by one
+ * TokenFile in each process.
+ */
+public class TokenFile implements Closeable {
+	private final static Logger logger = Logger.getLogger(TokenFile.class);
+	private final static Charset UTF8 = Charset.forName("UTF-8");
+
+	private final static int DEFAULT_SLOTS = 4096;
+	private final static int MAGIC = 0x4C53544B;
+	private final static int VERSION = 1;
+	private final static int HEADER_SIZE = 64;
+	private final static int SLOT_SIZE = 2048;
+	private final static int PROBES = 8;
+	// key hash, expiration time and payload length
+	private final static int SLOT_HEADER_SIZE = 20;
+	private final static int IV_SIZE = 12;
+	private final static int TAG_BITS = 128;
+
+	private final FileChannel channel;
+	private final MappedByteBuffer buffer;
+	private final int slots;
+	private final SecretKeySpec key;
+	private final Mac mac;
+	private final Mac credentialMac;
+	private final SecureRandom random = new SecureRandom();
+	private final Gson gson = new Gson();
+	private final JsonParser jsonParser = new JsonParser();
+
+	/**
+	 * Opens a file of 4096 slots, creating it when missing
+	 *
+	 * @param path	Path of the file
+	 * @param key	AES key of 16, 24 or 32 bytes shared by all processes using the file
+	 * @throws IOException
+	 */
+	public TokenFile(Path path, byte[] key) throws IOException {
+		this(path, key, DEFAULT_SLOTS);
+	}
+
+	/**
+	 * Opens a file, creating it when missing
+	 *
+	 * @param path	Path of the file
+	 * @param key	AES key of 16, 24 or 32 bytes shared by all processes using the file
+	 * @param slots	Number of tokens held by a new file. An existing file keeps its own.
+	 * @throws IOException
+	 */
+	public TokenFile(Path path, byte[] key, int slots) throws IOException {
+		if(key.length != 16 && key.length != 24 && key.length != 32) {
+			throw new IllegalArgumentException("Token file key must be 16, 24 or 32 bytes");
+		}
+		try {
+			this.key = new SecretKeySpec(deriveKey(key, "encryption", key.length), "AES");
+			this.mac = Mac.getInstance("HmacSHA256");
+			this.mac.init(new SecretKeySpec(deriveKey(key, "index", 32), "HmacSHA256"));
+			this.credentialMac = Mac.getInstance("HmacSHA256");
+			this.credentialMac.init(new SecretKeySpec(deriveKey(key, "credential", 32), "HmacSHA256"));
+		}
+		catch(GeneralSecurityException e) {
+			throw new IOException("Invalid token file key", e);
+		}
+
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			FileLock lock = channel.lock(0, HEADER_SIZE, false);
+			try {
+				ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+				if(channel.size() < HEADER_SIZE) {
+					header.putInt(MAGIC).putInt(VERSION).putInt(slots);
+					header.rewind();
+					channel.write(header, 0);
+					channel.write(ByteBuffer.allocate(1), HEADER_SIZE + (long) slots * SLOT_SIZE - 1);
+				}
+				else {
+					channel.read(header, 0);
+					header.flip();
+					if(header.getInt() != MAGIC || header.getInt() != VERSION) {
+						throw new IOException("Not a token file: " + path);
+					}
+					slots = header.getInt();
+				}
+			}
+			finally {
+				lock.release();
+			}
+			this.slots = slots;
+			this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) slots * SLOT_SIZE);
+			this.channel = channel;
+		}
+		catch(IOException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Get the number of tokens the file can hold
+	 *
+	 * @return	Slots
+	 */
+	public int getSlots() {
+		return slots;
+	}
+
+	/**
+	 * Reads the token stored for a key
+	 *
+	 * @param key	Key of the user
+	 * @return	Token, or null when none is stored
+	 * @throws IOException
+	 */
+	public synchronized OAuth2Request get(String key) throws IOException {
+		long hash = hash(key);
+		for(int probe = 0; probe < PROBES; probe++) {
+			int position = position(hash, probe);
+			FileLock lock = channel.lock(position, SLOT_SIZE, true);
+			try {
+				if(buffer.getInt(position + 16) == 0 || buffer.getLong(position) != hash) {
+					continue;
+				}
+				OAuth2Request request = decrypt(key, hash, position);
+				if(request != null) {
+					return request;
+				}
+			}
+			finally {
+				lock.release();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Stores the token of a key, replacing the previous one
+	 *
+	 * @param key	Key of the user
+	 * @param request	Token of the user
+	 * @throws IOException
+	 */
+	public synchronized void put(String key, OAuth2Request request) throws IOException {
+		long hash = hash(key);
+		byte[] payload = encrypt(key, hash, request);
+		if(SLOT_HEADER_SIZE + payload.length > SLOT_SIZE) {
+			if(logger.isDebugEnabled()) {
+				logger.debug("OAuth2 token too large for token file: " + payload.length);
+			}
+			return;
+		}
+		Long expirationTime = request.getExpirationTime();
+
+		// slot headers only change under the writer lock, so they can be probed without slot locks
+		FileLock writerLock = channel.lock(0, HEADER_SIZE, false);
+		try {
+			int target = -1;
+			long targetExpiration = Long.MAX_VALUE;
+			for(int probe = 0; probe < PROBES; probe++) {
+				int position = position(hash, probe);
+				long expiration = buffer.getInt(position + 16) == 0 ? Long.MIN_VALUE : buffer.getLong(position + 8);
+				if(buffer.getLong(position) == hash) {
+					target = position;
+					break;
+				}
+				if(target < 0 || expiration < targetExpiration) {
+					target = position;
+					targetExpiration = expiration;
+				}
+			}
+
+			FileLock lock = channel.lock(target, SLOT_SIZE, false);
+			try {
+				buffer.putInt(target + 16, 0);
+				buffer.putLong(target, hash);
+				buffer.putLong(target + 8, expirationTime == null ? Long.MAX_VALUE : expirationTime);
+				for(int i = 0; i < payload.length; i++) {
+					buffer.put(target + SLOT_HEADER_SIZE + i, payload[i]);
+				}
+				buffer.putInt(target + 16, payload.length);
+			}
+			finally {
+				lock.release();
+			}
+		}
+		finally {
+			writerLock.release();
+		}
+	}
+
+	/**
+	 * Removes the token stored for a key
+	 *
+	 * @param key	Key of the user
+	 * @throws IOException
+	 */
+	public synchronized void remove(String key) throws IOException {
+		long hash = hash(key);
+		FileLock writerLock = channel.lock(0, HEADER_SIZE, false);
+		try {
+			for(int probe = 0; probe < PROBES; probe++) {
+				int position = position(hash, probe);
+				if(buffer.getLong(position) != hash) {
+					continue;
+				}
+				FileLock lock = channel.lock(position, SLOT_SIZE, false);
+				try {
+					buffer.putInt(position + 16, 0);
+					buffer.putLong(position, 0);
+				}
+				finally {
+					lock.release();
+				}
+			}
+		}
+		finally {
+			writerLock.release();
+		}
+	}
+
+	/**
+	 * Hashes a credential with a key derived from the file key, so a token can be stored under
+	 * the credential it was issued for. Every process sharing the file gets the same hash.
+	 *
+	 * @param username	Username of the user
+	 * @param password	Password of the user
+	 * @return	Keyed hash of the credential
+	 */
+	public synchronized String hashCredential(String username, String password) {
+		credentialMac.update(String.valueOf(username).getBytes(UTF8));
+		credentialMac.update((byte) 0);
+		byte[] digest = credentialMac.doFinal(String.valueOf(password).getBytes(UTF8));
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16));
+	}
+
+	/**
+	 * Flushes the slots and releases the file
+	 *
+	 * @throws IOException
+	 */
+	public synchronized void close() throws IOException {
+		buffer.force();
+		channel.close();
+	}
+
+	/**
+	 * Derives a key for one purpose from the file key with HKDF (RFC 5869) over HmacSHA256
+	 */
+	private static byte[] deriveKey(byte[] key, String purpose, int length) throws GeneralSecurityException {
+		Mac hmac = Mac.getInstance("HmacSHA256");
+		hmac.init(new SecretKeySpec(new byte[32], "HmacSHA256"));
+		byte[] pseudoRandomKey = hmac.doFinal(key);
+
+		hmac.init(new SecretKeySpec(pseudoRandomKey, "HmacSHA256"));
+		byte[] derived = new byte[length];
+		byte[] block = new byte[0];
+		for(int offset = 0, counter = 1; offset < length; counter++) {
+			hmac.update(block);
+			hmac.update(("LS-TokenFile " + purpose).getBytes(UTF8));
+			hmac.update((byte) counter);
+			block = hmac.doFinal();
+			int count = Math.min(block.length, length - offset);
+			System.arraycopy(block, 0, derived, offset, count);
+			offset += count;
+		}
+		return derived;
+	}
+
+	private int position(long hash, int probe) {
+		int slot = (int) (((hash & Long.MAX_VALUE) + probe) % slots);
+		return HEADER_SIZE + slot * SLOT_SIZE;
+	}
+
+	/**
+	 * Hashes a key with the file key, so the file does not reveal which users it holds
+	 */
+	private long hash(String key) {
+		byte[] digest = mac.doFinal(key.getBytes(UTF8));
+		long hash = ByteBuffer.wrap(digest).getLong();
+		return hash == 0 ? 1 : hash; // zero marks a free slot
+	}
+
+	private byte[] encrypt(String key, long hash, OAuth2Request request) throws IOException {
+		JsonObject json = new JsonObject();
+		json.addProperty("key", key);
+		json.add("request", gson.toJsonTree(request));
+		byte[] plain = gson.toJson(json).getBytes(UTF8);
+
+		byte[] iv = new byte[IV_SIZE];
+		random.nextBytes(iv);
+		try {
+			Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+			cipher.init(Cipher.ENCRYPT_MODE, this.key, new GCMParameterSpec(TAG_BITS, iv));
+			cipher.updateAAD(ByteBuffer.allocate(8).putLong(hash).array());
+			byte[] sealed = cipher.doFinal(plain);
+			return ByteBuffer.allocate(IV_SIZE + sealed.length).put(iv).put(sealed).array();
+		}
+		catch(GeneralSecurityException e) {
+			throw new IOException("Failed to encrypt OAuth2 token", e);
+		}
+	}
+
+	/**
+	 * Decrypts a slot. Called holding the lock of the slot.
+	 *
+	 * @return	Token, or null when the slot holds another key or cannot be decrypted
+	 */
+	private OAuth2Request decrypt(String key, long hash, int position) {
+		int length = buffer.getInt(position + 16);
+		if(length <= IV_SIZE || SLOT_HEADER_SIZE + length > SLOT_SIZE) {
+			return null;
+		}
+		byte[] payload = new byte[length];
+		for(int i = 0; i < length; i++) {
+			payload[i] = buffer.get(position + SLOT_HEADER_SIZE + i);
+		}
+
+		try {
+			Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+			cipher.init(Cipher.DECRYPT_MODE, this.key, new GCMParameterSpec(TAG_BITS, payload, 0, IV_SIZE));
+			cipher.updateAAD(ByteBuffer.allocate(8).putLong(hash).array());
+			byte[] plain = cipher.doFinal(payload, IV_SIZE, length - IV_SIZE);
+
+			JsonObject json = jsonParser.parse(new String(plain, UTF8)).getAsJsonObject();
+			if(!key.equals(json.get("key").getAsString())) {
+				return null;
+			}
+			return gson.fromJson(json.get("request"), OAuth2Request.class);
+		}
+		catch(Exception e) {
+			if(logger.isDebugEnabled()) {
+				logger.debug("Ignoring unreadable slot of token file", e);
+			}
+			return null;
+		}
+	}
+}
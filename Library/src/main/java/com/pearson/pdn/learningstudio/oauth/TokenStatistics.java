@@ -0,0 +1,128 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.oauth;
+
+/**
+ * Point in time statistics of a token manager
+ */
+public class TokenStatistics {
+	private long hits;
+	private long misses;
+	private long refreshes;
+	private long invalidations;
+	private long evictions;
+	private int tokens;
+
+	/**
+	 * Constructs token statistics
+	 *
+	 * @param hits	Requests given a valid token without waiting
+	 * @param misses	Requests that waited for the token endpoint
+	 * @param refreshes	Tokens replaced in the background before expiry
+	 * @param invalidations	Tokens discarded after the server rejected them
+	 * @param evictions	Users removed to make room
+	 * @param tokens	Users currently held
+	 */
+	public TokenStatistics(long hits, long misses, long refreshes, long invalidations, long evictions, int tokens) {
+		this.hits = hits;
+		this.misses = misses;
+		this.refreshes = refreshes;
+		this.invalidations = invalidations;
+		this.evictions = evictions;
+		this.tokens = tokens;
+	}
+
+	/**
+	 * Get requests given a valid token without waiting
+	 *
+	 * @return	Hits
+	 */
+	public long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Get requests that waited for the token endpoint
+	 *
+	 * @return	Misses
+	 */
+	public long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Get tokens replaced in the background before expiry
+	 *
+	 * @return	Refreshes
+	 */
+	public long getRefreshes() {
+		return refreshes;
+	}
+
+	/**
+	 * Get tokens discarded after the server rejected them
+	 *
+	 * @return	Invalidations
+	 */
+	public long getInvalidations() {
+		return invalidations;
+	}
+
+	/**
+	 * Get users removed to make room
+	 *
+	 * @return	Evictions
+	 */
+	public long getEvictions() {
+		return evictions;
+	}
+
+	/**
+	 * Get users currently held
+	 *
+	 * @return	Tokens
+	 */
+	public int getTokens() {
+		return tokens;
+	}
+
+	/**
+	 * Implements the toString method for use in debugging
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("Hits: ").append(hits).append(", ");
+		sb.append("Misses: ").append(misses).append(", ");
+		sb.append("Refreshes: ").append(refreshes).append(", ");
+		sb.append("Invalidations: ").append(invalidations).append(", ");
+		sb.append("Evictions: ").append(evictions).append(", ");
+		sb.append("Tokens: ").append(tokens);
+		return sb.toString();
+	}
+}
@@ -34,6 +34,8 @@ public class OAuth2AssertionConfig {
 	private String clientString;
 	private String consumerKey;
 	private String consumerSecret;
+	private int connectTimeoutMillis = 10000;
+	private int readTimeoutMillis = 60000;
 	
 	public String getApplicationId() {
 		return applicationId;
@@ -76,4 +78,20 @@ public class OAuth2AssertionConfig {
 		this.consumerSecret = consumerSecret;
 	}
 
+	public int getConnectTimeoutMillis() {
+		return connectTimeoutMillis;
+	}
+
+	public void setConnectTimeoutMillis(int connectTimeoutMillis) {
+		this.connectTimeoutMillis = connectTimeoutMillis;
+	}
+
+	public int getReadTimeoutMillis() {
+		return readTimeoutMillis;
+	}
+
+	public void setReadTimeoutMillis(int readTimeoutMillis) {
+		this.readTimeoutMillis = readTimeoutMillis;
+	}
+
 }
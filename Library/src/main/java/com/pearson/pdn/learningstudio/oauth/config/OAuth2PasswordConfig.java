@@ -31,6 +31,8 @@ public class OAuth2PasswordConfig {
 
 	private String applicationId;
 	private String clientString;
+	private int connectTimeoutMillis = 10000;
+	private int readTimeoutMillis = 60000;
 	
 	public String getApplicationId() {
 		return applicationId;
@@ -47,4 +49,20 @@ public class OAuth2PasswordConfig {
 	public void setClientString(String clientString) {
 		this.clientString = clientString;
 	}
+
+	public int getConnectTimeoutMillis() {
+		return connectTimeoutMillis;
+	}
+
+	public void setConnectTimeoutMillis(int connectTimeoutMillis) {
+		this.connectTimeoutMillis = connectTimeoutMillis;
+	}
+
+	public int getReadTimeoutMillis() {
+		return readTimeoutMillis;
+	}
+
+	public void setReadTimeoutMillis(int readTimeoutMillis) {
+		this.readTimeoutMillis = readTimeoutMillis;
+	}
 }
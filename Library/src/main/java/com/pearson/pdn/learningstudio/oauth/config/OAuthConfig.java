@@ -33,6 +33,8 @@ public class OAuthConfig {
 	private String clientString;
 	private String consumerKey;
 	private String consumerSecret;
+	private int connectTimeoutMillis = 10000;
+	private int readTimeoutMillis = 60000;
 
 	public String getApplicationId() {
 		return applicationId;
@@ -74,4 +76,20 @@ public class OAuthConfig {
 		this.consumerSecret = consumerSecret;
 	}
 
+	public int getConnectTimeoutMillis() {
+		return connectTimeoutMillis;
+	}
+
+	public void setConnectTimeoutMillis(int connectTimeoutMillis) {
+		this.connectTimeoutMillis = connectTimeoutMillis;
+	}
+
+	public int getReadTimeoutMillis() {
+		return readTimeoutMillis;
+	}
+
+	public void setReadTimeoutMillis(int readTimeoutMillis) {
+		this.readTimeoutMillis = readTimeoutMillis;
+	}
+
 }
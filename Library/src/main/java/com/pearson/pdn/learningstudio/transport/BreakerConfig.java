@@ -0,0 +1,149 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.transport;
+
+/**
+ * Configuration parameters for circuit breakers
+ */
+public class BreakerConfig {
+
+	private int windowSize = 20;
+	private int minimumCalls = 10;
+	private double failureRateThreshold = 0.5;
+	private long slowCallThresholdMillis = 10000;
+	private long openDurationMillis = 30000;
+	private int halfOpenProbes = 3;
+
+	/**
+	 * Get the number of most recent requests the failure rate is computed over
+	 *
+	 * @return	Requests in the window
+	 */
+	public int getWindowSize() {
+		return windowSize;
+	}
+
+	/**
+	 * Set the number of most recent requests the failure rate is computed over
+	 *
+	 * @param windowSize	Requests in the window
+	 */
+	public void setWindowSize(int windowSize) {
+		this.windowSize = windowSize;
+	}
+
+	/**
+	 * Get the number of requests recorded before the circuit may open
+	 *
+	 * @return	Minimum requests
+	 */
+	public int getMinimumCalls() {
+		return minimumCalls;
+	}
+
+	/**
+	 * Set the number of requests recorded before the circuit may open
+	 *
+	 * @param minimumCalls	Minimum requests
+	 */
+	public void setMinimumCalls(int minimumCalls) {
+		this.minimumCalls = minimumCalls;
+	}
+
+	/**
+	 * Get the fraction of failed requests in the window that opens the circuit
+	 *
+	 * @return	Failure rate between 0 and 1
+	 */
+	public double getFailureRateThreshold() {
+		return failureRateThreshold;
+	}
+
+	/**
+	 * Set the fraction of failed requests in the window that opens the circuit
+	 *
+	 * @param failureRateThreshold	Failure rate between 0 and 1
+	 */
+	public void setFailureRateThreshold(double failureRateThreshold) {
+		this.failureRateThreshold = failureRateThreshold;
+	}
+
+	/**
+	 * Get the time after which a response counts as a failure even when successful
+	 *
+	 * @return	Milliseconds. Zero never counts slow responses.
+	 */
+	public long getSlowCallThresholdMillis() {
+		return slowCallThresholdMillis;
+	}
+
+	/**
+	 * Set the time after which a response counts as a failure even when successful
+	 *
+	 * @param slowCallThresholdMillis	Milliseconds. Zero never counts slow responses.
+	 */
+	public void setSlowCallThresholdMillis(long slowCallThresholdMillis) {
+		this.slowCallThresholdMillis = slowCallThresholdMillis;
+	}
+
+	/**
+	 * Get the time an open circuit rejects requests before probing the route
+	 *
+	 * @return	Milliseconds
+	 */
+	public long getOpenDurationMillis() {
+		return openDurationMillis;
+	}
+
+	/**
+	 * Set the time an open circuit rejects requests before probing the route
+	 *
+	 * @param openDurationMillis	Milliseconds
+	 */
+	public void setOpenDurationMillis(long openDurationMillis) {
+		this.openDurationMillis = openDurationMillis;
+	}
+
+	/**
+	 * Get the number of probe requests let through a half open circuit
+	 *
+	 * @return	Probe requests, all of which must succeed to close the circuit
+	 */
+	public int getHalfOpenProbes() {
+		return halfOpenProbes;
+	}
+
+	/**
+	 * Set the number of probe requests let through a half open circuit
+	 *
+	 * @param halfOpenProbes	Probe requests, all of which must succeed to close the circuit
+	 */
+	public void setHalfOpenProbes(int halfOpenProbes) {
+		this.halfOpenProbes = halfOpenProbes;
+	}
+}
@@ -0,0 +1,128 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.transport;
+
+/**
+ * Point in time statistics of a circuit breaker
+ */
+public class BreakerStatistics {
+	private CircuitBreaker.State state;
+	private double failureRate;
+	private long calls;
+	private long failures;
+	private long rejected;
+	private long opened;
+
+	/**
+	 * Constructs breaker statistics
+	 *
+	 * @param state	Current state of the circuit
+	 * @param failureRate	Fraction of failed requests in the current window
+	 * @param calls	Requests let through since startup
+	 * @param failures	Requests that failed, errored or were slow since startup
+	 * @param rejected	Requests refused while the circuit was open
+	 * @param opened	Times the circuit opened
+	 */
+	public BreakerStatistics(CircuitBreaker.State state, double failureRate, long calls, long failures, long rejected, long opened) {
+		this.state = state;
+		this.failureRate = failureRate;
+		this.calls = calls;
+		this.failures = failures;
+		this.rejected = rejected;
+		this.opened = opened;
+	}
+
+	/**
+	 * Get the current state of the circuit
+	 *
+	 * @return	State
+	 */
+	public CircuitBreaker.State getState() {
+		return state;
+	}
+
+	/**
+	 * Get the fraction of failed requests in the current window
+	 *
+	 * @return	Failure rate between 0 and 1
+	 */
+	public double getFailureRate() {
+		return failureRate;
+	}
+
+	/**
+	 * Get requests let through since startup
+	 *
+	 * @return	Number of calls
+	 */
+	public long getCalls() {
+		return calls;
+	}
+
+	/**
+	 * Get requests that failed, errored or were slow since startup
+	 *
+	 * @return	Number of failures
+	 */
+	public long getFailures() {
+		return failures;
+	}
+
+	/**
+	 * Get requests refused while the circuit was open
+	 *
+	 * @return	Number of rejected requests
+	 */
+	public long getRejected() {
+		return rejected;
+	}
+
+	/**
+	 * Get times the circuit opened
+	 *
+	 * @return	Number of openings
+	 */
+	public long getOpened() {
+		return opened;
+	}
+
+	/**
+	 * Implements the toString method for use in debugging
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("State: ").append(state).append(", ");
+		sb.append("FailureRate: ").append(failureRate).append(", ");
+		sb.append("Calls: ").append(calls).append(", ");
+		sb.append("Failures: ").append(failures).append(", ");
+		sb.append("Rejected: ").append(rejected).append(", ");
+		sb.append("Opened: ").append(opened);
+		return sb.toString();
+	}
+}
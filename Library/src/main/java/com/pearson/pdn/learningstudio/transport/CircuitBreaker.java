@@ -0,0 +1,199 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.transport;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Circuit breaker of a single route.
+ *
+ * A closed circuit lets requests through and records their outcome over a window of recent requests.
+ * When the failure rate of the window reaches the threshold the circuit opens and rejects requests
+ * without sending them. After the open duration the circuit is half open and lets a few probe
+ * requests through: it closes when they all succeed and opens again when one fails.
+ */
+public class CircuitBreaker {
+	private final static Logger logger = Logger.getLogger(CircuitBreaker.class);
+
+	/**
+	 * State of a circuit
+	 */
+	public enum State {
+		CLOSED,
+		OPEN,
+		HALF_OPEN
+	}
+
+	private final String route;
+	private final BreakerConfig config;
+	private final boolean[] window;
+
+	private State state = State.CLOSED;
+	// changes with every state, so outcomes of requests let through in an earlier state are told apart
+	private int generation;
+	private int windowPosition;
+	private int windowCount;
+	private int windowFailures;
+	private long openedAt;
+	private int probesStarted;
+	private int probesSucceeded;
+
+	private long calls;
+	private long failures;
+	private long rejected;
+	private long opened;
+
+	/**
+	 * Constructs a closed circuit breaker
+	 *
+	 * @param route	Route the breaker applies to
+	 * @param config	Breaker configuration
+	 */
+	CircuitBreaker(String route, BreakerConfig config) {
+		this.route = route;
+		this.config = config;
+		this.window = new boolean[Math.max(1, config.getWindowSize())];
+	}
+
+	/**
+	 * Get the current state, moving an open circuit to half open once the open duration has passed
+	 *
+	 * @return	State of the circuit
+	 */
+	public synchronized State getState() {
+		if(state == State.OPEN && System.currentTimeMillis() - openedAt >= config.getOpenDurationMillis()) {
+			state = State.HALF_OPEN;
+			generation++;
+			probesStarted = 0;
+			probesSucceeded = 0;
+		}
+		return state;
+	}
+
+	/**
+	 * Get statistics of the breaker
+	 *
+	 * @return	Breaker statistics
+	 */
+	public synchronized BreakerStatistics getStatistics() {
+		double failureRate = windowCount == 0 ? 0 : (double) windowFailures / windowCount;
+		return new BreakerStatistics(getState(), failureRate, calls, failures, rejected, opened);
+	}
+
+	/**
+	 * Lets a request through or rejects it
+	 *
+	 * @return	Generation of the circuit the request was let through in, to give to release
+	 * @throws CircuitOpenException	When the circuit is open or all probes are in flight
+	 */
+	synchronized int acquire() throws CircuitOpenException {
+		State current = getState();
+		if(current == State.OPEN || (current == State.HALF_OPEN && probesStarted >= config.getHalfOpenProbes())) {
+			rejected++;
+			throw new CircuitOpenException(route);
+		}
+
+		if(current == State.HALF_OPEN) {
+			probesStarted++;
+		}
+		calls++;
+		return generation;
+	}
+
+	/**
+	 * Records the outcome of a request let through.
+	 * Only requests let through in the current state change it: a slow request from before the
+	 * circuit opened does not count as a probe, nor one from before it closed towards the new window.
+	 *
+	 * @param generation	Generation returned by acquire
+	 * @param latencyMillis	Time until the response arrived
+	 * @param failed	True when the exchange failed or the server answered with a server error
+	 */
+	synchronized void release(int generation, long latencyMillis, boolean failed) {
+		if(!failed && config.getSlowCallThresholdMillis() > 0 && latencyMillis > config.getSlowCallThresholdMillis()) {
+			failed = true;
+		}
+		if(failed) {
+			failures++;
+		}
+
+		if(generation != this.generation) {
+			return;
+		}
+
+		if(state == State.HALF_OPEN) {
+			if(failed) {
+				open();
+			}
+			else if(++probesSucceeded >= config.getHalfOpenProbes()) {
+				close();
+			}
+			return;
+		}
+
+		if(windowCount == window.length) {
+			if(window[windowPosition]) {
+				windowFailures--;
+			}
+		}
+		else {
+			windowCount++;
+		}
+		window[windowPosition] = failed;
+		if(failed) {
+			windowFailures++;
+		}
+		windowPosition = (windowPosition + 1) % window.length;
+
+		if(windowCount >= config.getMinimumCalls() && windowFailures >= windowCount * config.getFailureRateThreshold()) {
+			open();
+		}
+	}
+
+	private void open() {
+		state = State.OPEN;
+		generation++;
+		openedAt = System.currentTimeMillis();
+		opened++;
+		logger.warn("Circuit opened for " + route);
+	}
+
+	private void close() {
+		state = State.CLOSED;
+		generation++;
+		windowPosition = 0;
+		windowCount = 0;
+		windowFailures = 0;
+		logger.info("Circuit closed for " + route);
+	}
+
+	@Override
+	public String toString() {
+		return route;
+	}
+}
@@ -0,0 +1,173 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.transport;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Transport filter failing fast on routes that keep failing.
+ * 
+ * Every route (host and path template) has its own circuit breaker, so a degraded family of
+ * endpoints is shed with a CircuitOpenException while healthy routes keep their capacity.
+ * Connection failures, server errors (5xx) and responses slower than the slow call threshold count as failures.
+ */
+public class CircuitBreakerTransport extends FilterTransport {
+	private final static int STATUS_SERVER_ERROR = 500;
+
+	private final BreakerConfig config;
+	private final ConcurrentMap<String,CircuitBreaker> breakers = new ConcurrentHashMap<String,CircuitBreaker>();
+
+	/**
+	 * Constructs circuit breakers with the default configuration
+	 *
+	 * @param transport	The transport requests are forwarded to
+	 */
+	public CircuitBreakerTransport(Transport transport) {
+		this(transport, new BreakerConfig());
+	}
+
+	/**
+	 * Constructs circuit breakers
+	 *
+	 * @param transport	The transport requests are forwarded to
+	 * @param config	Breaker configuration
+	 */
+	public CircuitBreakerTransport(Transport transport, BreakerConfig config) {
+		super(transport);
+		this.config = config;
+	}
+
+	/**
+	 * Get the configuration of the breakers
+	 *
+	 * @return	Breaker configuration
+	 */
+	public BreakerConfig getConfig() {
+		return config;
+	}
+
+	/**
+	 * Executes the request unless the circuit of its route is open
+	 *
+	 * @param request	The request to send
+	 * @return	The response received
+	 * @throws IOException
+	 */
+	@Override
+	public TransportResponse execute(TransportRequest request) throws IOException {
+		CircuitBreaker breaker = getBreaker(request);
+		int generation = breaker.acquire();
+
+		long start = System.currentTimeMillis();
+		TransportResponse response;
+		try {
+			response = transport.execute(request);
+		}
+		catch(IOException e) {
+			breaker.release(generation, System.currentTimeMillis() - start, true);
+			throw e;
+		}
+		catch(RuntimeException e) {
+			breaker.release(generation, System.currentTimeMillis() - start, true);
+			throw e;
+		}
+
+		breaker.release(generation, System.currentTimeMillis() - start, response.getStatusCode() >= STATUS_SERVER_ERROR);
+		return response;
+	}
+
+	/**
+	 * Executes the request unless the circuit of its route is open, without blocking the calling thread
+	 *
+	 * @param request	The request to send
+	 * @return	Future of the response received
+	 */
+	@Override
+	public CompletableFuture<TransportResponse> executeAsync(TransportRequest request) {
+		final CircuitBreaker breaker = getBreaker(request);
+		final int generation;
+		try {
+			generation = breaker.acquire();
+		}
+		catch(CircuitOpenException e) {
+			CompletableFuture<TransportResponse> future = new CompletableFuture<TransportResponse>();
+			future.completeExceptionally(e);
+			return future;
+		}
+
+		final long start = System.currentTimeMillis();
+		return super.executeAsync(request).whenComplete(new BiConsumer<TransportResponse,Throwable>() {
+			public void accept(TransportResponse response, Throwable t) {
+				boolean failed = t != null || response.getStatusCode() >= STATUS_SERVER_ERROR;
+				breaker.release(generation, System.currentTimeMillis() - start, failed);
+			}
+		});
+	}
+
+	/**
+	 * Get the breaker of a route
+	 *
+	 * @param route	Host and path template, as built by Routes
+	 * @return	Breaker or null when the route has not been used
+	 */
+	public CircuitBreaker getBreaker(String route) {
+		return breakers.get(route);
+	}
+
+	/**
+	 * Get statistics for each route
+	 *
+	 * @return	KVP of route (host/path template) to breaker statistics
+	 */
+	public Map<String,BreakerStatistics> getRouteStatistics() {
+		Map<String,BreakerStatistics> statistics = new LinkedHashMap<String,BreakerStatistics>();
+		for(Map.Entry<String,CircuitBreaker> entry : breakers.entrySet()) {
+			statistics.put(entry.getKey(), entry.getValue().getStatistics());
+		}
+		return statistics;
+	}
+
+	private CircuitBreaker getBreaker(TransportRequest request) {
+		String route = Routes.getRoute(request.getUrl());
+		CircuitBreaker breaker = breakers.get(route);
+		if(breaker == null) {
+			CircuitBreaker created = new CircuitBreaker(route, config);
+			breaker = breakers.putIfAbsent(route, created);
+			if(breaker == null) {
+				breaker = created;
+			}
+		}
+		return breaker;
+	}
+}
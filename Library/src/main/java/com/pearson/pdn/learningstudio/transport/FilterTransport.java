@@ -0,0 +1,123 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.transport;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Transport that forwards requests to another transport, adding behavior around the exchange.
+ * Filters can be stacked. Asynchronous execution is only native when the innermost transport supports it.
+ */
+public abstract class FilterTransport implements AsyncTransport {
+	protected final Transport transport;
+
+	/**
+	 * Constructs a filter
+	 *
+	 * @param transport	The transport requests are forwarded to
+	 */
+	protected FilterTransport(Transport transport) {
+		this.transport = transport;
+	}
+
+	/**
+	 * Get the transport requests are forwarded to
+	 *
+	 * @return	The wrapped transport
+	 */
+	public Transport getTransport() {
+		return transport;
+	}
+
+	/**
+	 * Indicates whether requests can be executed without holding a thread
+	 *
+	 * @param transport	Any transport
+	 * @return	True when executeAsync is native all the way down
+	 */
+	public static boolean isAsync(Transport transport) {
+		if(transport instanceof FilterTransport) {
+			return isAsync(((FilterTransport) transport).getTransport());
+		}
+		return transport instanceof AsyncTransport;
+	}
+
+	/**
+	 * Finds the transport at the bottom of a stack of filters
+	 *
+	 * @param transport	Any transport
+	 * @return	The innermost transport
+	 */
+	public static Transport unwrap(Transport transport) {
+		while(transport instanceof FilterTransport) {
+			transport = ((FilterTransport) transport).getTransport();
+		}
+		return transport;
+	}
+
+	/**
+	 * Forwards the request
+	 *
+	 * @param request	The request to send
+	 * @return	The response received
+	 * @throws IOException
+	 */
+	public TransportResponse execute(TransportRequest request) throws IOException {
+		return transport.execute(request);
+	}
+
+	/**
+	 * Forwards the request asynchronously. When the wrapped transport is not asynchronous
+	 * the request is executed on the calling thread.
+	 *
+	 * @param request	The request to send
+	 * @return	Future of the response received
+	 */
+	public CompletableFuture<TransportResponse> executeAsync(TransportRequest request) {
+		if(transport instanceof AsyncTransport) {
+			return ((AsyncTransport) transport).executeAsync(request);
+		}
+
+		CompletableFuture<TransportResponse> future = new CompletableFuture<TransportResponse>();
+		try {
+			future.complete(transport.execute(request));
+		}
+		catch(Throwable t) {
+			future.completeExceptionally(t);
+		}
+		return future;
+	}
+
+	/**
+	 * Shuts down the wrapped transport
+	 */
+	public void shutdown() {
+		transport.shutdown();
+	}
+}
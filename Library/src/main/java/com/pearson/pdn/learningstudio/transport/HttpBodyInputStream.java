@@ -0,0 +1,234 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.transport;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads a single response body from a pooled connection.
+ * The connection is returned to its pool once the body has been fully read,
+ * or closed when the body is abandoned part way through.
+ */
+class HttpBodyInputStream extends InputStream {
+	private final static int FIXED_LENGTH = 0;
+	private final static int CHUNKED = 1;
+	private final static int UNTIL_CLOSE = 2;
+	
+	// unread bytes worth consuming on close to keep the connection
+	private final static int DRAIN_LIMIT = 8192;
+
+	private final HttpConnection connection;
+	private final InputStream in;
+	private final int framing;
+	private final boolean keepAlive;
+	private long remaining;
+	private boolean firstChunk = true;
+	private boolean eof;
+	private boolean closed;
+
+	private HttpBodyInputStream(HttpConnection connection, int framing, long remaining, boolean keepAlive) {
+		this.connection = connection;
+		this.in = connection.getInputStream();
+		this.framing = framing;
+		this.remaining = remaining;
+		this.keepAlive = keepAlive;
+		if(framing == FIXED_LENGTH && remaining == 0) {
+			finish(true);
+		}
+	}
+
+	static HttpBodyInputStream fixedLength(HttpConnection connection, long length, boolean keepAlive) {
+		return new HttpBodyInputStream(connection, FIXED_LENGTH, length, keepAlive);
+	}
+
+	static HttpBodyInputStream chunked(HttpConnection connection, boolean keepAlive) {
+		return new HttpBodyInputStream(connection, CHUNKED, 0, keepAlive);
+	}
+
+	static HttpBodyInputStream untilClose(HttpConnection connection) {
+		return new HttpBodyInputStream(connection, UNTIL_CLOSE, -1, false);
+	}
+
+	@Override
+	public int read() throws IOException {
+		byte[] single = new byte[1];
+		int count = read(single, 0, 1);
+		if(count == -1) {
+			return -1;
+		}
+		return single[0] & 0xff;
+	}
+
+	@Override
+	public int read(byte[] buffer, int offset, int length) throws IOException {
+		if(closed) {
+			throw new IOException("Stream closed");
+		}
+		if(eof) {
+			return -1;
+		}
+		if(length == 0) {
+			return 0;
+		}
+
+		if(framing == CHUNKED && remaining == 0) {
+			nextChunk();
+			if(eof) {
+				return -1;
+			}
+		}
+
+		int toRead = length;
+		if(framing != UNTIL_CLOSE && remaining < toRead) {
+			toRead = (int) remaining;
+		}
+
+		int count;
+		try {
+			count = in.read(buffer, offset, toRead);
+		}
+		catch(IOException e) {
+			abort();
+			throw e;
+		}
+
+		if(count == -1) {
+			if(framing == UNTIL_CLOSE) {
+				finish(false);
+				return -1;
+			}
+			abort();
+			throw new EOFException("Premature end of response body");
+		}
+
+		if(framing != UNTIL_CLOSE) {
+			remaining -= count;
+			if(framing == FIXED_LENGTH && remaining == 0) {
+				finish(true); // release early so callers need not read past the end
+			}
+		}
+		return count;
+	}
+
+	@Override
+	public int available() throws IOException {
+		if(closed || eof) {
+			return 0;
+		}
+		int available = in.available();
+		if(framing != UNTIL_CLOSE && remaining < available) {
+			return (int) remaining;
+		}
+		return available;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if(closed) {
+			return;
+		}
+		if(!eof && framing != UNTIL_CLOSE) {
+			drain(); // a streaming reader often stops just short of the chunk terminator
+		}
+		closed = true;
+		if(!eof) {
+			abort(); // unread data remains on the wire, so the connection can not be reused
+		}
+	}
+
+	/**
+	 * Reads and discards a small remainder of the body so the connection can be reused
+	 */
+	private void drain() {
+		if(framing == FIXED_LENGTH && remaining > DRAIN_LIMIT) {
+			return;
+		}
+		byte[] buffer = new byte[1024];
+		long drained = 0;
+		try {
+			int count = 0;
+			while(drained < DRAIN_LIMIT && (count = read(buffer, 0, buffer.length)) != -1) {
+				drained += count;
+			}
+		}
+		catch(IOException e) {
+			// connection already aborted by read
+		}
+	}
+
+	/**
+	 * Reads the size line of the next chunk, and the trailers after the last one
+	 */
+	private void nextChunk() throws IOException {
+		try {
+			if(!firstChunk) {
+				connection.readLine(); // CRLF that ends the previous chunk
+			}
+			firstChunk = false;
+
+			String sizeLine = connection.readLine();
+			if(sizeLine == null) {
+				throw new EOFException("Premature end of chunked response body");
+			}
+
+			int extension = sizeLine.indexOf(';');
+			if(extension != -1) {
+				sizeLine = sizeLine.substring(0, extension);
+			}
+
+			try {
+				remaining = Long.parseLong(sizeLine.trim(), 16);
+			}
+			catch(NumberFormatException e) {
+				throw new IOException("Invalid chunk size: " + sizeLine);
+			}
+
+			if(remaining == 0) {
+				connection.readHeaders(); // trailers are discarded
+				finish(true);
+			}
+		}
+		catch(IOException e) {
+			abort();
+			throw e;
+		}
+	}
+
+	private void finish(boolean reusable) {
+		if(!eof) {
+			eof = true;
+			connection.getPool().release(connection, reusable && keepAlive);
+		}
+	}
+
+	private void abort() {
+		finish(false);
+	}
+}
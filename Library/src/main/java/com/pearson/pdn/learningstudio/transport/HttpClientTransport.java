@@ -0,0 +1,416 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.transport;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Function;
+
+import com.pearson.pdn.learningstudio.core.AbstractService;
+
+/**
+ * Transport engine built on java.net.http.HttpClient.
+ * HTTP/2 is negotiated when the server supports it, so concurrent requests
+ * to one host are multiplexed over a single connection. Requires Java 11 or later,
+ * the class is only built by the java11 profile of the build.
+ */
+public class HttpClientTransport implements AsyncTransport {
+
+	// headers managed by the client itself
+	private static final Set<String> RESTRICTED_HEADERS = new TreeSet<String>(String.CASE_INSENSITIVE_ORDER);
+	static {
+		RESTRICTED_HEADERS.addAll(Arrays.asList("Connection", "Content-Length", "Expect", "Host", "Upgrade"));
+	}
+
+	// the client has one connect timeout for all requests
+	private static final int DEFAULT_CONNECT_TIMEOUT_MILLIS = 10000;
+
+	private final HttpClient client;
+
+	/**
+	 * Constructs a transport preferring HTTP/2
+	 */
+	public HttpClientTransport() {
+		this(HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_2)
+				.connectTimeout(Duration.ofMillis(DEFAULT_CONNECT_TIMEOUT_MILLIS))
+				.build());
+	}
+
+	/**
+	 * Constructs a transport on a configured client.
+	 * The connect timeout of the request is not applied, only the one of the client.
+	 *
+	 * @param client	The client to send requests with
+	 */
+	public HttpClientTransport(HttpClient client) {
+		this.client = client;
+	}
+
+	/**
+	 * Get the underlying client
+	 *
+	 * @return	The client requests are sent with
+	 */
+	public HttpClient getClient() {
+		return client;
+	}
+
+	/**
+	 * Executes the request, blocking until the response headers arrive
+	 *
+	 * @param request	The request to send
+	 * @return	The response received
+	 * @throws IOException
+	 */
+	public TransportResponse execute(TransportRequest request) throws IOException {
+		HttpResponse<InputStream> httpResponse;
+		try {
+			httpResponse = client.send(createRequest(request), timed(HttpResponse.BodyHandlers.ofInputStream(), request));
+		}
+		catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			InterruptedIOException interrupted = new InterruptedIOException("Request interrupted");
+			interrupted.initCause(e);
+			throw interrupted;
+		}
+
+		TransportResponse response = createResponse(httpResponse);
+		response.setBody(new TimeoutInputStream(httpResponse.body()));
+		return response;
+	}
+
+	/**
+	 * Executes the request without blocking. The body is fully received before the future completes,
+	 * unless the request is streaming, in which case it completes when the headers arrive.
+	 *
+	 * @param request	The request to send
+	 * @return	Future of the response received
+	 */
+	public CompletableFuture<TransportResponse> executeAsync(TransportRequest request) {
+		HttpRequest httpRequest;
+		try {
+			httpRequest = createRequest(request);
+		}
+		catch(IOException e) {
+			CompletableFuture<TransportResponse> future = new CompletableFuture<TransportResponse>();
+			future.completeExceptionally(e);
+			return future;
+		}
+
+		if(request.isStreaming()) {
+			return client.sendAsync(httpRequest, timed(HttpResponse.BodyHandlers.ofInputStream(), request)).thenApply(new Function<HttpResponse<InputStream>,TransportResponse>() {
+				public TransportResponse apply(HttpResponse<InputStream> httpResponse) {
+					TransportResponse response = createResponse(httpResponse);
+					response.setBody(new TimeoutInputStream(httpResponse.body()));
+					return response;
+				}
+			});
+		}
+
+		return client.sendAsync(httpRequest, timed(HttpResponse.BodyHandlers.ofByteArray(), request)).thenApply(new Function<HttpResponse<byte[]>,TransportResponse>() {
+			public TransportResponse apply(HttpResponse<byte[]> httpResponse) {
+				TransportResponse response = createResponse(httpResponse);
+				byte[] body = httpResponse.body();
+				response.setBody(new ByteArrayInputStream(body == null ? new byte[0] : body));
+				return response;
+			}
+		});
+	}
+
+	/**
+	 * Nothing to release. Connections are closed by the client when it is no longer referenced.
+	 */
+	public void shutdown() {
+	}
+
+	private HttpRequest createRequest(TransportRequest request) throws IOException {
+		HttpRequest.Builder builder;
+		try {
+			builder = HttpRequest.newBuilder(request.getUrl().toURI());
+		}
+		catch(URISyntaxException e) {
+			throw new IOException("Invalid URL: " + request.getUrl(), e);
+		}
+
+		// the request timeout runs from sending until the headers arrive, so it includes connecting
+		long timeoutMillis = 0;
+		if(request.getReadTimeoutMillis() > 0) {
+			timeoutMillis = (long) request.getConnectTimeoutMillis() + request.getReadTimeoutMillis();
+		}
+		timeoutMillis = request.limitTimeout(timeoutMillis);
+		if(timeoutMillis > 0) {
+			builder.timeout(Duration.ofMillis(timeoutMillis));
+		}
+
+		Map<String,String> headers = request.getHeaders();
+		if(headers != null) {
+			for(String name : headers.keySet()) {
+				if(!RESTRICTED_HEADERS.contains(name)) {
+					builder.header(name, headers.get(name));
+				}
+			}
+		}
+
+		byte[] body = request.getBody();
+		if(body != null) {
+			builder.method(request.getMethod(), HttpRequest.BodyPublishers.ofByteArray(body, request.getBodyOffset(), request.getBodyLength()));
+		}
+		else {
+			builder.method(request.getMethod(), HttpRequest.BodyPublishers.noBody());
+		}
+
+		return builder.build();
+	}
+
+	/**
+	 * Bounds the wait for each part of the body by the read timeout and the time limit of the request
+	 */
+	private static <T> HttpResponse.BodyHandler<T> timed(final HttpResponse.BodyHandler<T> handler, final TransportRequest request) {
+		if(request.getReadTimeoutMillis() <= 0 && request.getRemainingMillis() == 0) {
+			return handler;
+		}
+		return new HttpResponse.BodyHandler<T>() {
+			public HttpResponse.BodySubscriber<T> apply(HttpResponse.ResponseInfo responseInfo) {
+				return new TimedBodySubscriber<T>(handler.apply(responseInfo), request);
+			}
+		};
+	}
+
+	private TransportResponse createResponse(HttpResponse<?> httpResponse) {
+		TransportResponse response = new TransportResponse();
+		response.setStatusCode(httpResponse.statusCode());
+		response.setStatusMessage(getReasonPhrase(httpResponse.statusCode()));
+
+		Map<String,List<String>> responseHeaders = new TreeMap<String,List<String>>(String.CASE_INSENSITIVE_ORDER);
+		HttpHeaders httpHeaders = httpResponse.headers();
+		for(Map.Entry<String,List<String>> header : httpHeaders.map().entrySet()) {
+			if(!header.getKey().startsWith(":")) { // HTTP/2 pseudo headers
+				responseHeaders.put(header.getKey(), header.getValue());
+			}
+		}
+		response.setHeaders(responseHeaders);
+
+		return response;
+	}
+
+	// HTTP/2 does not carry a status message
+	private static String getReasonPhrase(int statusCode) {
+		switch(statusCode) {
+			case 200: return "OK";
+			case 201: return "Created";
+			case 202: return "Accepted";
+			case 204: return "No Content";
+			case 304: return "Not Modified";
+			case 400: return "Bad Request";
+			case 401: return "Unauthorized";
+			case 403: return "Forbidden";
+			case 404: return "Not Found";
+			case 409: return "Conflict";
+			case 429: return "Too Many Requests";
+			case 500: return "Internal Server Error";
+			case 502: return "Bad Gateway";
+			case 503: return "Service Unavailable";
+			case 504: return "Gateway Timeout";
+			default: return "";
+		}
+	}
+
+	/**
+	 * Throws the SocketTimeoutException of a timed out body as is, the client wraps it
+	 */
+	private static class TimeoutInputStream extends FilterInputStream {
+		TimeoutInputStream(InputStream in) {
+			super(in);
+		}
+
+		@Override
+		public int read() throws IOException {
+			try {
+				return super.read();
+			}
+			catch(IOException e) {
+				throw unwrap(e);
+			}
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			try {
+				return super.read(b, off, len);
+			}
+			catch(IOException e) {
+				throw unwrap(e);
+			}
+		}
+
+		private static IOException unwrap(IOException e) {
+			return e.getCause() instanceof SocketTimeoutException ? (SocketTimeoutException) e.getCause() : e;
+		}
+	}
+
+	/**
+	 * Fails the body when the server sends nothing for the read timeout while more is requested.
+	 * No timer runs while the reader has not asked for more, so a slow reader is not taken for a stalled server.
+	 */
+	private static class TimedBodySubscriber<T> implements HttpResponse.BodySubscriber<T> {
+		private final HttpResponse.BodySubscriber<T> delegate;
+		private final TransportRequest request;
+
+		private Flow.Subscription subscription;
+		private long demand;
+		private ScheduledFuture<?> timer;
+		private int timerCount;
+		private boolean done;
+
+		TimedBodySubscriber(HttpResponse.BodySubscriber<T> delegate, TransportRequest request) {
+			this.delegate = delegate;
+			this.request = request;
+		}
+
+		public CompletionStage<T> getBody() {
+			return delegate.getBody();
+		}
+
+		public void onSubscribe(final Flow.Subscription subscription) {
+			synchronized(this) {
+				this.subscription = subscription;
+			}
+			delegate.onSubscribe(new Flow.Subscription() {
+				public void request(long n) {
+					synchronized(TimedBodySubscriber.this) {
+						if(done) {
+							return;
+						}
+						demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+						if(timer == null) {
+							startTimer();
+						}
+					}
+					subscription.request(n);
+				}
+
+				public void cancel() {
+					finish();
+					subscription.cancel();
+				}
+			});
+		}
+
+		public void onNext(List<ByteBuffer> item) {
+			synchronized(this) {
+				if(done) {
+					return;
+				}
+				if(demand != Long.MAX_VALUE) {
+					demand--;
+				}
+				stopTimer();
+				if(demand > 0) {
+					startTimer();
+				}
+			}
+			delegate.onNext(item);
+		}
+
+		public void onError(Throwable throwable) {
+			if(finish()) {
+				delegate.onError(throwable);
+			}
+		}
+
+		public void onComplete() {
+			if(finish()) {
+				delegate.onComplete();
+			}
+		}
+
+		private synchronized boolean finish() {
+			if(done) {
+				return false;
+			}
+			done = true;
+			stopTimer();
+			return true;
+		}
+
+		private void startTimer() {
+			long timeoutMillis = request.limitTimeout(request.getReadTimeoutMillis());
+			if(timeoutMillis <= 0) {
+				return;
+			}
+			final int count = ++timerCount;
+			timer = AbstractService.schedule(new Runnable() {
+				public void run() {
+					expire(count);
+				}
+			}, timeoutMillis);
+		}
+
+		private void stopTimer() {
+			if(timer != null) {
+				timer.cancel(false);
+				timer = null;
+			}
+		}
+
+		private void expire(int count) {
+			synchronized(this) {
+				// a timer replaced while it was firing
+				if(done || count != timerCount || timer == null) {
+					return;
+				}
+				done = true;
+				timer = null;
+			}
+			delegate.onError(new SocketTimeoutException("Read timed out"));
+			subscription.cancel();
+		}
+	}
+}
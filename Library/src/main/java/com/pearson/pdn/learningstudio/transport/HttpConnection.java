@@ -0,0 +1,379 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.transport;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A persistent HTTP/1.1 connection owned by a RoutePool
+ */
+class HttpConnection {
+	private final static String CRLF = "\r\n";
+	private final static String CHARSET = "ISO-8859-1";
+
+	private final RoutePool pool;
+	private final Socket socket;
+	private final InputStream in;
+	private final OutputStream out;
+	private final boolean absoluteTarget;
+	private final long creationTime;
+	private long lastUsedTime;
+	private int requestCount;
+	private boolean responseStarted;
+
+	/**
+	 * Constructs a connection over a connected socket
+	 *
+	 * @param pool	Pool the connection is returned to
+	 * @param socket	Connected socket
+	 * @param absoluteTarget	True to send the absolute URL in the request line, as an HTTP proxy expects
+	 * @throws IOException
+	 */
+	HttpConnection(RoutePool pool, Socket socket, boolean absoluteTarget) throws IOException {
+		this.pool = pool;
+		this.socket = socket;
+		this.in = new BufferedInputStream(socket.getInputStream(), 8192);
+		this.out = new BufferedOutputStream(socket.getOutputStream(), 8192);
+		this.absoluteTarget = absoluteTarget;
+		this.creationTime = System.currentTimeMillis();
+		this.lastUsedTime = creationTime;
+	}
+
+	RoutePool getPool() {
+		return pool;
+	}
+
+	InputStream getInputStream() {
+		return in;
+	}
+
+	long getCreationTime() {
+		return creationTime;
+	}
+
+	long getLastUsedTime() {
+		return lastUsedTime;
+	}
+
+	void setLastUsedTime(long lastUsedTime) {
+		this.lastUsedTime = lastUsedTime;
+	}
+
+	int getRequestCount() {
+		return requestCount;
+	}
+
+	/**
+	 * Indicates whether any byte of the response to the last request has arrived
+	 *
+	 * @return	True once the server started answering
+	 */
+	boolean isResponseStarted() {
+		return responseStarted;
+	}
+
+	boolean isOpen() {
+		return !socket.isClosed() && socket.isConnected() && !socket.isInputShutdown();
+	}
+
+	/**
+	 * Sets the time a read waits for data, for this request and its response body
+	 *
+	 * @param readTimeoutMillis	Milliseconds. Zero waits indefinitely.
+	 * @throws IOException
+	 */
+	void setReadTimeout(int readTimeoutMillis) throws IOException {
+		socket.setSoTimeout(readTimeoutMillis);
+	}
+
+	/**
+	 * Checks whether the server closed the connection while it was idle
+	 *
+	 * @return	True when the connection can no longer be used
+	 */
+	boolean isStale() {
+		if(!isOpen()) {
+			return true;
+		}
+
+		int previousTimeout = 0;
+		try {
+			previousTimeout = socket.getSoTimeout();
+			socket.setSoTimeout(1);
+			// end of stream or unsolicited data both leave the connection unusable
+			in.read();
+			return true;
+		}
+		catch(SocketTimeoutException e) {
+			return false; // nothing waiting, so still alive
+		}
+		catch(IOException e) {
+			return true;
+		}
+		finally {
+			try {
+				socket.setSoTimeout(previousTimeout);
+			}
+			catch(IOException e) {
+				// closed connections are discarded by the caller
+			}
+		}
+	}
+
+	void close() {
+		try {
+			socket.close();
+		}
+		catch(IOException e) {
+			// nothing more to release
+		}
+	}
+
+	/**
+	 * Writes the request line, headers and body
+	 *
+	 * @param request	The request to write
+	 * @throws IOException
+	 */
+	void writeRequest(TransportRequest request) throws IOException {
+		requestCount++;
+		responseStarted = false;
+
+		URL url = request.getUrl();
+		String target = url.getFile();
+		if(target == null || target.length() == 0) {
+			target = "/";
+		}
+		if(absoluteTarget) {
+			target = url.getProtocol() + "://" + url.getAuthority() + target;
+		}
+
+		StringBuilder head = new StringBuilder();
+		head.append(request.getMethod()).append(' ').append(target).append(" HTTP/1.1").append(CRLF);
+
+		boolean hasHost = false;
+		boolean hasContentLength = false;
+		Map<String,String> headers = request.getHeaders();
+		if(headers != null) {
+			for(String name : headers.keySet()) {
+				if("Host".equalsIgnoreCase(name)) {
+					hasHost = true;
+				}
+				else if("Content-Length".equalsIgnoreCase(name)) {
+					hasContentLength = true;
+				}
+				head.append(name).append(": ").append(headers.get(name)).append(CRLF);
+			}
+		}
+
+		if(!hasHost) {
+			head.append("Host: ").append(url.getHost());
+			if(url.getPort() != -1 && url.getPort() != url.getDefaultPort()) {
+				head.append(':').append(url.getPort());
+			}
+			head.append(CRLF);
+		}
+
+		byte[] body = request.getBody();
+		if(!hasContentLength && (body != null || "POST".equals(request.getMethod()) || "PUT".equals(request.getMethod()))) {
+			head.append("Content-Length: ").append(body == null ? 0 : request.getBodyLength()).append(CRLF);
+		}
+		head.append(CRLF);
+
+		out.write(head.toString().getBytes(CHARSET));
+		if(body != null) {
+			out.write(body, request.getBodyOffset(), request.getBodyLength());
+		}
+		out.flush();
+	}
+
+	/**
+	 * Reads the status line and headers, leaving the body on the wire
+	 *
+	 * @param method	HTTP method of the request being answered
+	 * @return	Response with a body stream bound to this connection
+	 * @throws IOException
+	 */
+	TransportResponse readResponse(String method) throws IOException {
+		String version;
+		int statusCode;
+		String statusMessage;
+		Map<String,List<String>> headers;
+
+		in.mark(1);
+		if(in.read() == -1) {
+			throw new IOException("Connection closed before a response was received");
+		}
+		in.reset();
+		responseStarted = true;
+
+		do {
+			String statusLine = readLine();
+			if(statusLine == null) {
+				throw new IOException("Connection closed before a response was received");
+			}
+
+			int firstSpace = statusLine.indexOf(' ');
+			if(firstSpace == -1 || !statusLine.startsWith("HTTP/")) {
+				throw new IOException("Invalid status line: " + statusLine);
+			}
+			version = statusLine.substring(0, firstSpace);
+
+			int secondSpace = statusLine.indexOf(' ', firstSpace + 1);
+			try {
+				if(secondSpace == -1) {
+					statusCode = Integer.parseInt(statusLine.substring(firstSpace + 1).trim());
+					statusMessage = "";
+				}
+				else {
+					statusCode = Integer.parseInt(statusLine.substring(firstSpace + 1, secondSpace));
+					statusMessage = statusLine.substring(secondSpace + 1);
+				}
+			}
+			catch(NumberFormatException e) {
+				throw new IOException("Invalid status line: " + statusLine);
+			}
+
+			headers = readHeaders();
+		} while(statusCode >= 100 && statusCode < 200 && statusCode != 101); // skip interim responses
+
+		boolean keepAlive = isKeepAlive(version, headers);
+
+		TransportResponse response = new TransportResponse();
+		response.setStatusCode(statusCode);
+		response.setStatusMessage(statusMessage);
+		response.setHeaders(headers);
+
+		if("HEAD".equals(method) || statusCode == 204 || statusCode == 304) {
+			pool.release(this, keepAlive);
+			response.setBody(new ByteArrayInputStream(new byte[0]));
+			return response;
+		}
+
+		String transferEncoding = response.getHeader("Transfer-Encoding");
+		String contentLength = response.getHeader("Content-Length");
+		if(transferEncoding != null && transferEncoding.toLowerCase().contains("chunked")) {
+			response.setBody(HttpBodyInputStream.chunked(this, keepAlive));
+		}
+		else if(contentLength != null) {
+			long length;
+			try {
+				length = Long.parseLong(contentLength.trim());
+			}
+			catch(NumberFormatException e) {
+				throw new IOException("Invalid Content-Length: " + contentLength);
+			}
+			response.setBody(HttpBodyInputStream.fixedLength(this, length, keepAlive));
+		}
+		else {
+			response.setBody(HttpBodyInputStream.untilClose(this));
+		}
+
+		return response;
+	}
+
+	/**
+	 * Reads a single CRLF terminated line
+	 *
+	 * @return	The line without terminator or null at end of stream
+	 * @throws IOException
+	 */
+	String readLine() throws IOException {
+		ByteArrayOutputStream line = new ByteArrayOutputStream(64);
+		int b;
+		while((b = in.read()) != -1) {
+			if(b == '\n') {
+				byte[] bytes = line.toByteArray();
+				int length = bytes.length;
+				if(length > 0 && bytes[length-1] == '\r') {
+					length--;
+				}
+				return new String(bytes, 0, length, CHARSET);
+			}
+			line.write(b);
+		}
+
+		if(line.size() == 0) {
+			return null;
+		}
+		return new String(line.toByteArray(), CHARSET);
+	}
+
+	/**
+	 * Reads header lines up to the blank line that ends them
+	 *
+	 * @return	Case insensitive KVP of headers
+	 * @throws IOException
+	 */
+	Map<String,List<String>> readHeaders() throws IOException {
+		Map<String,List<String>> headers = new TreeMap<String,List<String>>(String.CASE_INSENSITIVE_ORDER);
+		String line;
+		while((line = readLine()) != null && line.length() > 0) {
+			int colon = line.indexOf(':');
+			if(colon <= 0) {
+				continue; // ignore malformed headers
+			}
+			String name = line.substring(0, colon).trim();
+			String value = line.substring(colon + 1).trim();
+
+			List<String> values = headers.get(name);
+			if(values == null) {
+				values = new ArrayList<String>();
+				headers.put(name, values);
+			}
+			values.add(value);
+		}
+		return headers;
+	}
+
+	private boolean isKeepAlive(String version, Map<String,List<String>> headers) {
+		String connection = null;
+		List<String> values = headers.get("Connection");
+		if(values != null && !values.isEmpty()) {
+			connection = values.get(0).toLowerCase();
+		}
+
+		if("HTTP/1.0".equals(version)) {
+			return connection != null && connection.contains("keep-alive");
+		}
+		return connection == null || !connection.contains("close");
+	}
+}
@@ -0,0 +1,168 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.transport;
+
+/**
+ * Configuration parameters for the concurrency limiter
+ */
+public class LimiterConfig {
+
+	private int initialLimit = 20;
+	private int minLimit = 1;
+	private int maxLimit = 200;
+	private double backoffRatio = 0.75;
+	private double latencyTolerance = 2.0;
+	private int maxQueueDepth = 1000;
+	private long queueTimeoutMillis = 30000;
+
+	/**
+	 * Get the number of concurrent requests allowed on a route before any measurement
+	 *
+	 * @return	Initial limit
+	 */
+	public int getInitialLimit() {
+		return initialLimit;
+	}
+
+	/**
+	 * Set the number of concurrent requests allowed on a route before any measurement
+	 *
+	 * @param initialLimit	Initial limit
+	 */
+	public void setInitialLimit(int initialLimit) {
+		this.initialLimit = initialLimit;
+	}
+
+	/**
+	 * Get the lowest limit the route can be reduced to
+	 *
+	 * @return	Minimum limit
+	 */
+	public int getMinLimit() {
+		return minLimit;
+	}
+
+	/**
+	 * Set the lowest limit the route can be reduced to
+	 *
+	 * @param minLimit	Minimum limit
+	 */
+	public void setMinLimit(int minLimit) {
+		this.minLimit = minLimit;
+	}
+
+	/**
+	 * Get the highest limit the route can grow to
+	 *
+	 * @return	Maximum limit
+	 */
+	public int getMaxLimit() {
+		return maxLimit;
+	}
+
+	/**
+	 * Set the highest limit the route can grow to
+	 *
+	 * @param maxLimit	Maximum limit
+	 */
+	public void setMaxLimit(int maxLimit) {
+		this.maxLimit = maxLimit;
+	}
+
+	/**
+	 * Get the factor the limit is multiplied by when the route is overloaded
+	 *
+	 * @return	Ratio between 0 and 1
+	 */
+	public double getBackoffRatio() {
+		return backoffRatio;
+	}
+
+	/**
+	 * Set the factor the limit is multiplied by when the route is overloaded
+	 *
+	 * @param backoffRatio	Ratio between 0 and 1
+	 */
+	public void setBackoffRatio(double backoffRatio) {
+		this.backoffRatio = backoffRatio;
+	}
+
+	/**
+	 * Get how many times the lowest recent latency a response may take before the route counts as overloaded
+	 *
+	 * @return	Latency multiple
+	 */
+	public double getLatencyTolerance() {
+		return latencyTolerance;
+	}
+
+	/**
+	 * Set how many times the lowest recent latency a response may take before the route counts as overloaded
+	 *
+	 * @param latencyTolerance	Latency multiple
+	 */
+	public void setLatencyTolerance(double latencyTolerance) {
+		this.latencyTolerance = latencyTolerance;
+	}
+
+	/**
+	 * Get the number of requests allowed to wait for a route at its limit
+	 *
+	 * @return	Maximum queued requests
+	 */
+	public int getMaxQueueDepth() {
+		return maxQueueDepth;
+	}
+
+	/**
+	 * Set the number of requests allowed to wait for a route at its limit
+	 *
+	 * @param maxQueueDepth	Maximum queued requests
+	 */
+	public void setMaxQueueDepth(int maxQueueDepth) {
+		this.maxQueueDepth = maxQueueDepth;
+	}
+
+	/**
+	 * Get the time a request waits in the queue, at most the time left before its deadline
+	 *
+	 * @return	Milliseconds to wait. Zero waits indefinitely.
+	 */
+	public long getQueueTimeoutMillis() {
+		return queueTimeoutMillis;
+	}
+
+	/**
+	 * Set the time a request waits in the queue, at most the time left before its deadline
+	 *
+	 * @param queueTimeoutMillis	Milliseconds to wait. Zero waits indefinitely.
+	 */
+	public void setQueueTimeoutMillis(long queueTimeoutMillis) {
+		this.queueTimeoutMillis = queueTimeoutMillis;
+	}
+}
@@ -0,0 +1,141 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.transport;
+
+/**
+ * Point in time statistics of a concurrency limiter
+ */
+public class LimiterStatistics {
+	private int limit;
+	private int inFlight;
+	private int queued;
+	private long accepted;
+	private long rejected;
+	private long decreases;
+	private long minLatencyMillis;
+
+	/**
+	 * Constructs limiter statistics
+	 *
+	 * @param limit	Concurrent requests currently allowed
+	 * @param inFlight	Requests currently executing
+	 * @param queued	Requests currently waiting for the limit
+	 * @param accepted	Requests executed since startup
+	 * @param rejected	Requests refused because the queue was full or the wait timed out
+	 * @param decreases	Times the limit was reduced after overload
+	 * @param minLatencyMillis	Lowest recent latency, the baseline of overload detection
+	 */
+	public LimiterStatistics(int limit, int inFlight, int queued, long accepted, long rejected, long decreases, long minLatencyMillis) {
+		this.limit = limit;
+		this.inFlight = inFlight;
+		this.queued = queued;
+		this.accepted = accepted;
+		this.rejected = rejected;
+		this.decreases = decreases;
+		this.minLatencyMillis = minLatencyMillis;
+	}
+
+	/**
+	 * Get concurrent requests currently allowed
+	 *
+	 * @return	Current limit
+	 */
+	public int getLimit() {
+		return limit;
+	}
+
+	/**
+	 * Get requests currently executing
+	 *
+	 * @return	Number of requests in flight
+	 */
+	public int getInFlight() {
+		return inFlight;
+	}
+
+	/**
+	 * Get requests currently waiting for the limit
+	 *
+	 * @return	Queue depth
+	 */
+	public int getQueued() {
+		return queued;
+	}
+
+	/**
+	 * Get requests executed since startup
+	 *
+	 * @return	Number of accepted requests
+	 */
+	public long getAccepted() {
+		return accepted;
+	}
+
+	/**
+	 * Get requests refused because the queue was full or the wait timed out
+	 *
+	 * @return	Number of rejected requests
+	 */
+	public long getRejected() {
+		return rejected;
+	}
+
+	/**
+	 * Get times the limit was reduced after overload
+	 *
+	 * @return	Number of decreases
+	 */
+	public long getDecreases() {
+		return decreases;
+	}
+
+	/**
+	 * Get the lowest recent latency, the baseline of overload detection
+	 *
+	 * @return	Milliseconds
+	 */
+	public long getMinLatencyMillis() {
+		return minLatencyMillis;
+	}
+
+	/**
+	 * Implements the toString method for use in debugging
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("Limit: ").append(limit).append(", ");
+		sb.append("InFlight: ").append(inFlight).append(", ");
+		sb.append("Queued: ").append(queued).append(", ");
+		sb.append("Accepted: ").append(accepted).append(", ");
+		sb.append("Rejected: ").append(rejected).append(", ");
+		sb.append("Decreases: ").append(decreases).append(", ");
+		sb.append("MinLatencyMillis: ").append(minLatencyMillis);
+		return sb.toString();
+	}
+}
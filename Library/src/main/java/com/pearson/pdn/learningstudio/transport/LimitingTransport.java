@@ -0,0 +1,268 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.transport;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Transport filter shaping traffic with an adaptive concurrency limit per route.
+ * 
+ * Each route (host and path template) starts at the initial limit. The limit grows additively
+ * while responses stay fast and shrinks multiplicatively when a response takes longer than the
+ * latency tolerance allows, the server answers 429 or 503, or the exchange fails.
+ * Requests above the limit wait in a queue until a request on the route completes, at most
+ * the queue timeout or the time left before their deadline. A request holds its permit until
+ * the body of its response is closed, so streamed downloads count as in flight while they last.
+ */
+public class LimitingTransport extends FilterTransport {
+	private final static int STATUS_TOO_MANY_REQUESTS = 429;
+	private final static int STATUS_SERVICE_UNAVAILABLE = 503;
+
+	private final LimiterConfig config;
+	private final ConcurrentMap<String,RouteLimiter> limiters = new ConcurrentHashMap<String,RouteLimiter>();
+
+	/**
+	 * Constructs a limiter with the default configuration
+	 *
+	 * @param transport	The transport requests are forwarded to
+	 */
+	public LimitingTransport(Transport transport) {
+		this(transport, new LimiterConfig());
+	}
+
+	/**
+	 * Constructs a limiter
+	 *
+	 * @param transport	The transport requests are forwarded to
+	 * @param config	Limiter configuration
+	 */
+	public LimitingTransport(Transport transport, LimiterConfig config) {
+		super(transport);
+		this.config = config;
+	}
+
+	/**
+	 * Get the configuration of the limiter
+	 *
+	 * @return	Limiter configuration
+	 */
+	public LimiterConfig getConfig() {
+		return config;
+	}
+
+	/**
+	 * Executes the request once the route has capacity
+	 *
+	 * @param request	The request to send
+	 * @return	The response received
+	 * @throws IOException
+	 */
+	@Override
+	public TransportResponse execute(TransportRequest request) throws IOException {
+		RouteLimiter limiter = getLimiter(request);
+		limiter.acquire(request.limitTimeout(config.getQueueTimeoutMillis()));
+
+		long start = System.nanoTime();
+		TransportResponse response;
+		try {
+			response = transport.execute(request);
+		}
+		catch(IOException e) {
+			limiter.release(0, true);
+			throw e;
+		}
+		catch(RuntimeException e) {
+			limiter.release(0, false);
+			throw e;
+		}
+
+		return holdPermit(limiter, response, System.nanoTime() - start);
+	}
+
+	/**
+	 * Executes the request once the route has capacity, without blocking the calling thread
+	 *
+	 * @param request	The request to send
+	 * @return	Future of the response received
+	 */
+	@Override
+	public CompletableFuture<TransportResponse> executeAsync(final TransportRequest request) {
+		final RouteLimiter limiter = getLimiter(request);
+		return limiter.acquireAsync(request.limitTimeout(config.getQueueTimeoutMillis())).thenCompose(new Function<Void,CompletableFuture<TransportResponse>>() {
+			public CompletableFuture<TransportResponse> apply(Void granted) {
+				final long start = System.nanoTime();
+				CompletableFuture<TransportResponse> future = LimitingTransport.super.executeAsync(request);
+				return future.handle(new BiFunction<TransportResponse,Throwable,TransportResponse>() {
+					public TransportResponse apply(TransportResponse response, Throwable t) {
+						if(t != null) {
+							limiter.release(0, true);
+							throw t instanceof CompletionException ? (CompletionException) t : new CompletionException(t);
+						}
+						return holdPermit(limiter, response, System.nanoTime() - start);
+					}
+				});
+			}
+		});
+	}
+
+	/**
+	 * Get statistics summed over all routes
+	 *
+	 * @return	Limiter statistics
+	 */
+	public LimiterStatistics getStatistics() {
+		int limit = 0;
+		int inFlight = 0;
+		int queued = 0;
+		long accepted = 0;
+		long rejected = 0;
+		long decreases = 0;
+		long minLatencyMillis = 0;
+		for(RouteLimiter limiter : limiters.values()) {
+			LimiterStatistics statistics = limiter.getStatistics();
+			limit += statistics.getLimit();
+			inFlight += statistics.getInFlight();
+			queued += statistics.getQueued();
+			accepted += statistics.getAccepted();
+			rejected += statistics.getRejected();
+			decreases += statistics.getDecreases();
+			if(minLatencyMillis == 0 || (statistics.getMinLatencyMillis() > 0 && statistics.getMinLatencyMillis() < minLatencyMillis)) {
+				minLatencyMillis = statistics.getMinLatencyMillis();
+			}
+		}
+		return new LimiterStatistics(limit, inFlight, queued, accepted, rejected, decreases, minLatencyMillis);
+	}
+
+	/**
+	 * Get statistics for each route
+	 *
+	 * @return	KVP of route (host/path template) to limiter statistics
+	 */
+	public Map<String,LimiterStatistics> getRouteStatistics() {
+		Map<String,LimiterStatistics> statistics = new LinkedHashMap<String,LimiterStatistics>();
+		for(Map.Entry<String,RouteLimiter> entry : limiters.entrySet()) {
+			statistics.put(entry.getKey(), entry.getValue().getStatistics());
+		}
+		return statistics;
+	}
+
+	private RouteLimiter getLimiter(TransportRequest request) {
+		String route = Routes.getRoute(request.getUrl());
+		RouteLimiter limiter = limiters.get(route);
+		if(limiter == null) {
+			RouteLimiter created = new RouteLimiter(route, config);
+			limiter = limiters.putIfAbsent(route, created);
+			if(limiter == null) {
+				limiter = created;
+			}
+		}
+		return limiter;
+	}
+
+	/**
+	 * Keeps the permit of a request until the body of its response is closed
+	 *
+	 * @param latencyNanos	Time until the response headers arrived
+	 * @return	The response, with a body that returns the permit when closed
+	 */
+	private static TransportResponse holdPermit(RouteLimiter limiter, TransportResponse response, long latencyNanos) {
+		if(response.getBody() == null) {
+			limiter.release(latencyNanos, isOverloaded(response));
+		}
+		else {
+			response.setBody(new PermitInputStream(response.getBody(), limiter, latencyNanos, isOverloaded(response)));
+		}
+		return response;
+	}
+
+	private static boolean isOverloaded(TransportResponse response) {
+		return response.getStatusCode() == STATUS_TOO_MANY_REQUESTS || response.getStatusCode() == STATUS_SERVICE_UNAVAILABLE;
+	}
+
+	/**
+	 * Body returning the permit of its request when closed. A failed read counts as a dropped request.
+	 */
+	private static class PermitInputStream extends FilterInputStream {
+		private final RouteLimiter limiter;
+		private final long latencyNanos;
+		private final AtomicBoolean released = new AtomicBoolean();
+		private volatile boolean dropped;
+
+		PermitInputStream(InputStream in, RouteLimiter limiter, long latencyNanos, boolean dropped) {
+			super(in);
+			this.limiter = limiter;
+			this.latencyNanos = latencyNanos;
+			this.dropped = dropped;
+		}
+
+		@Override
+		public int read() throws IOException {
+			try {
+				return super.read();
+			}
+			catch(IOException e) {
+				dropped = true;
+				throw e;
+			}
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			try {
+				return super.read(b, off, len);
+			}
+			catch(IOException e) {
+				dropped = true;
+				throw e;
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			try {
+				super.close();
+			}
+			finally {
+				if(released.compareAndSet(false, true)) {
+					limiter.release(latencyNanos, dropped);
+				}
+			}
+		}
+	}
+}
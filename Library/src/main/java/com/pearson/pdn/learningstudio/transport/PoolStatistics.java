@@ -0,0 +1,168 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.transport;
+
+/**
+ * Point in time statistics of a connection pool
+ */
+public class PoolStatistics {
+	private int leased;
+	private int idle;
+	private int max;
+	private long created;
+	private long reused;
+	private long evicted;
+	private long closed;
+	private long fullHandshakes;
+	private long resumedHandshakes;
+
+	/**
+	 * Constructs pool statistics
+	 *
+	 * @param leased	Connections currently in use
+	 * @param idle	Connections currently waiting for reuse
+	 * @param max	Maximum connections allowed
+	 * @param created	Connections opened since startup
+	 * @param reused	Requests served by an existing connection
+	 * @param evicted	Idle connections discarded as expired or stale
+	 * @param closed	Connections closed since startup
+	 * @param fullHandshakes	TLS handshakes that negotiated a new session
+	 * @param resumedHandshakes	TLS handshakes that resumed a cached session
+	 */
+	public PoolStatistics(int leased, int idle, int max, long created, long reused, long evicted, long closed,
+			long fullHandshakes, long resumedHandshakes) {
+		this.leased = leased;
+		this.idle = idle;
+		this.max = max;
+		this.created = created;
+		this.reused = reused;
+		this.evicted = evicted;
+		this.closed = closed;
+		this.fullHandshakes = fullHandshakes;
+		this.resumedHandshakes = resumedHandshakes;
+	}
+
+	/**
+	 * Get connections currently in use
+	 *
+	 * @return	Number of leased connections
+	 */
+	public int getLeased() {
+		return leased;
+	}
+
+	/**
+	 * Get connections currently waiting for reuse
+	 *
+	 * @return	Number of idle connections
+	 */
+	public int getIdle() {
+		return idle;
+	}
+
+	/**
+	 * Get maximum connections allowed
+	 *
+	 * @return	Maximum number of connections
+	 */
+	public int getMax() {
+		return max;
+	}
+
+	/**
+	 * Get connections opened since startup
+	 *
+	 * @return	Number of created connections
+	 */
+	public long getCreated() {
+		return created;
+	}
+
+	/**
+	 * Get requests served by an existing connection
+	 *
+	 * @return	Number of reused connections
+	 */
+	public long getReused() {
+		return reused;
+	}
+
+	/**
+	 * Get idle connections discarded as expired or stale
+	 *
+	 * @return	Number of evicted connections
+	 */
+	public long getEvicted() {
+		return evicted;
+	}
+
+	/**
+	 * Get connections closed since startup
+	 *
+	 * @return	Number of closed connections
+	 */
+	public long getClosed() {
+		return closed;
+	}
+
+	/**
+	 * Get TLS handshakes that negotiated a new session
+	 *
+	 * @return	Number of full handshakes
+	 */
+	public long getFullHandshakes() {
+		return fullHandshakes;
+	}
+
+	/**
+	 * Get TLS handshakes that resumed a cached session
+	 *
+	 * @return	Number of resumed handshakes
+	 */
+	public long getResumedHandshakes() {
+		return resumedHandshakes;
+	}
+
+	/**
+	 * Implements the toString method for use in debugging
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("Leased: ").append(leased).append(", ");
+		sb.append("Idle: ").append(idle).append(", ");
+		sb.append("Max: ").append(max).append(", ");
+		sb.append("Created: ").append(created).append(", ");
+		sb.append("Reused: ").append(reused).append(", ");
+		sb.append("Evicted: ").append(evicted).append(", ");
+		sb.append("Closed: ").append(closed).append(", ");
+		sb.append("FullHandshakes: ").append(fullHandshakes).append(", ");
+		sb.append("ResumedHandshakes: ").append(resumedHandshakes);
+		return sb.toString();
+	}
+}
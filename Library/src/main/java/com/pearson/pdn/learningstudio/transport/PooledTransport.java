@@ -0,0 +1,492 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.transport;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.ProxySelector;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSessionContext;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Default transport engine. Keeps a bounded pool of persistent HTTP/1.1
+ * connections per host so consecutive calls skip the TCP and TLS handshakes.
+ * Connections go through the proxy chosen by the default ProxySelector, which follows
+ * the http.proxyHost, https.proxyHost and socksProxyHost system properties.
+ * HTTPS is tunneled through an HTTP proxy with CONNECT. Proxies asking for authentication are not supported.
+ */
+public class PooledTransport implements Transport {
+	private final static Logger logger = Logger.getLogger(PooledTransport.class);
+
+	private static PooledTransport sharedInstance;
+
+	private final TransportConfig config;
+	private final ConcurrentMap<String,RoutePool> pools = new ConcurrentHashMap<String,RoutePool>();
+	private final SSLSocketFactory sslSocketFactory;
+	private final ScheduledExecutorService evictor;
+	private volatile boolean shutdown;
+
+	/**
+	 * Constructs a pooled transport with default configuration
+	 */
+	public PooledTransport() {
+		this(new TransportConfig());
+	}
+
+	/**
+	 * Constructs a pooled transport
+	 *
+	 * @param config	Configuration parameters for the pool
+	 */
+	public PooledTransport(TransportConfig config) {
+		this.config = config;
+		this.sslSocketFactory = createSocketFactory(config);
+
+		if(config.getIdleEvictionIntervalMillis() > 0) {
+			evictor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, "LS-Transport-Evictor");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+			evictor.scheduleWithFixedDelay(new Runnable() {
+				public void run() {
+					evictIdleConnections();
+				}
+			}, config.getIdleEvictionIntervalMillis(), config.getIdleEvictionIntervalMillis(), TimeUnit.MILLISECONDS);
+		}
+		else {
+			evictor = null;
+		}
+	}
+
+	/**
+	 * Provides the transport shared by all services that were not given one
+	 *
+	 * @return	Shared pooled transport
+	 */
+	public static synchronized PooledTransport getSharedInstance() {
+		if(sharedInstance == null) {
+			sharedInstance = new PooledTransport();
+		}
+		return sharedInstance;
+	}
+
+	/**
+	 * Get the configuration of the pool
+	 *
+	 * @return	Configuration parameters
+	 */
+	public TransportConfig getConfig() {
+		return config;
+	}
+
+	/**
+	 * Executes the request on a pooled connection
+	 *
+	 * @param request	The request to send
+	 * @return	The response received
+	 * @throws IOException
+	 */
+	public TransportResponse execute(TransportRequest request) throws IOException {
+		URL url = request.getUrl();
+		RoutePool pool = getPool(url);
+
+		boolean idempotent = isIdempotent(request.getMethod());
+
+		HttpConnection connection = lease(pool, false, request);
+		boolean reused = connection.getRequestCount() > 0;
+		if(reused && !idempotent && connection.isStale()) {
+			// requests that can not be replayed are only sent on connections known to be open
+			pool.release(connection, false);
+			connection = lease(pool, true, request);
+			reused = false;
+		}
+
+		try {
+			connection.setReadTimeout((int) request.limitTimeout(request.getReadTimeoutMillis()));
+			connection.writeRequest(request);
+			return connection.readResponse(request.getMethod());
+		}
+		catch(IOException e) {
+			pool.release(connection, false);
+
+			// a kept-alive connection closed by the server while idle fails before any byte of the
+			// response. A timeout is not retried, as the server may still be working on the request.
+			if(!reused || !idempotent || e instanceof SocketTimeoutException || connection.isResponseStarted()) {
+				throw e;
+			}
+
+			if(logger.isDebugEnabled()) {
+				logger.debug("Retrying on new connection after failure on reused connection to " + pool, e);
+			}
+		}
+
+		connection = lease(pool, true, request);
+		try {
+			connection.setReadTimeout((int) request.limitTimeout(request.getReadTimeoutMillis()));
+			connection.writeRequest(request);
+			return connection.readResponse(request.getMethod());
+		}
+		catch(IOException e) {
+			pool.release(connection, false);
+			throw e;
+		}
+	}
+
+	/**
+	 * Get statistics summed over all routes
+	 *
+	 * @return	Pool statistics
+	 */
+	public PoolStatistics getStatistics() {
+		int leased = 0;
+		int idle = 0;
+		int max = 0;
+		long created = 0;
+		long reused = 0;
+		long evicted = 0;
+		long closed = 0;
+		long fullHandshakes = 0;
+		long resumedHandshakes = 0;
+		for(RoutePool pool : pools.values()) {
+			PoolStatistics statistics = pool.getStatistics();
+			leased += statistics.getLeased();
+			idle += statistics.getIdle();
+			max += statistics.getMax();
+			created += statistics.getCreated();
+			reused += statistics.getReused();
+			evicted += statistics.getEvicted();
+			closed += statistics.getClosed();
+			fullHandshakes += statistics.getFullHandshakes();
+			resumedHandshakes += statistics.getResumedHandshakes();
+		}
+		return new PoolStatistics(leased, idle, max, created, reused, evicted, closed, fullHandshakes, resumedHandshakes);
+	}
+
+	/**
+	 * Get statistics for each route
+	 *
+	 * @return	KVP of route (scheme://host:port) to pool statistics
+	 */
+	public Map<String,PoolStatistics> getRouteStatistics() {
+		Map<String,PoolStatistics> statistics = new LinkedHashMap<String,PoolStatistics>();
+		for(Map.Entry<String,RoutePool> entry : pools.entrySet()) {
+			statistics.put(entry.getKey(), entry.getValue().getStatistics());
+		}
+		return statistics;
+	}
+
+	/**
+	 * Opens connections to the host of a URL ahead of the first requests, so they do not wait for
+	 * DNS, TCP and TLS handshakes. Connections are opened one after another, so later handshakes
+	 * can resume a TLS session cached by earlier ones. Idle connections already
+	 * open count towards the number. Warm connections are evicted like any idle connection.
+	 *
+	 * @param url	Any URL on the host
+	 * @param connections	Number of connections wanted, at most the maximum per route
+	 * @param connectTimeoutMillis	Time allowed to open each connection. Zero waits indefinitely.
+	 * @return	Number of idle connections to the host
+	 * @throws IOException
+	 */
+	public int warmUp(URL url, int connections, int connectTimeoutMillis) throws IOException {
+		RoutePool pool = getPool(url);
+		int count = Math.min(connections, config.getMaxConnectionsPerRoute());
+
+		List<HttpConnection> leased = new ArrayList<HttpConnection>();
+		try {
+			for(int i = 0; i < count; i++) {
+				leased.add(pool.lease(false, config.getConnectionRequestTimeoutMillis(), connectTimeoutMillis));
+			}
+		}
+		finally {
+			for(HttpConnection connection : leased) {
+				pool.release(connection, true);
+			}
+		}
+
+		if(logger.isDebugEnabled()) {
+			logger.debug("Warmed up " + pool + " with " + leased.size() + " connections");
+		}
+		return pool.getStatistics().getIdle();
+	}
+
+	/**
+	 * Closes idle connections that have exceeded the maximum idle time
+	 */
+	public void evictIdleConnections() {
+		for(RoutePool pool : pools.values()) {
+			pool.evictIdle(config.getMaxIdleTimeMillis());
+		}
+	}
+
+	/**
+	 * Closes all idle connections. Leased connections close when their responses are released.
+	 */
+	public void shutdown() {
+		shutdown = true;
+		if(evictor != null) {
+			evictor.shutdownNow();
+		}
+		for(RoutePool pool : pools.values()) {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Opens a new connection for a route
+	 *
+	 * @param pool	The route to connect to
+	 * @param connectTimeoutMillis	Time allowed to connect and complete the TLS handshake. Zero waits indefinitely.
+	 * @return	Connected connection
+	 * @throws IOException
+	 */
+	HttpConnection connect(RoutePool pool, int connectTimeoutMillis) throws IOException {
+		if(logger.isDebugEnabled()) {
+			logger.debug("Opening connection to " + pool);
+		}
+
+		Proxy proxy = selectProxy(pool);
+		boolean httpProxy = proxy.type() == Proxy.Type.HTTP;
+		boolean https = "https".equals(pool.getScheme());
+
+		Socket socket = proxy.type() == Proxy.Type.SOCKS ? new Socket(proxy) : new Socket();
+		try {
+			socket.setTcpNoDelay(true);
+			socket.setKeepAlive(true);
+			if(httpProxy) {
+				InetSocketAddress proxyAddress = (InetSocketAddress) proxy.address();
+				// the selector may leave the address of the proxy unresolved
+				if(proxyAddress.isUnresolved()) {
+					proxyAddress = new InetSocketAddress(proxyAddress.getHostString(), proxyAddress.getPort());
+				}
+				socket.connect(proxyAddress, connectTimeoutMillis);
+			}
+			else if(proxy.type() == Proxy.Type.SOCKS) {
+				// resolved by the proxy
+				socket.connect(InetSocketAddress.createUnresolved(pool.getHost(), pool.getPort()), connectTimeoutMillis);
+			}
+			else {
+				socket.connect(new InetSocketAddress(pool.getHost(), pool.getPort()), connectTimeoutMillis);
+			}
+			socket.setSoTimeout(connectTimeoutMillis);
+
+			if(httpProxy && https) {
+				tunnel(socket, pool);
+			}
+
+			if(https) {
+				SSLSocket sslSocket = (SSLSocket) sslSocketFactory.createSocket(socket, pool.getHost(), pool.getPort(), true);
+				SSLParameters parameters = sslSocket.getSSLParameters();
+				parameters.setEndpointIdentificationAlgorithm("HTTPS");
+				if(config.getEnabledProtocols() != null) {
+					parameters.setProtocols(config.getEnabledProtocols());
+				}
+				sslSocket.setSSLParameters(parameters);
+
+				long handshakeStart = System.currentTimeMillis();
+				sslSocket.startHandshake();
+				socket = sslSocket;
+				// a resumed session keeps the creation time of the session it resumes
+				pool.handshakeCompleted(sslSocket.getSession().getCreationTime() < handshakeStart);
+			}
+
+			return new HttpConnection(pool, socket, httpProxy && !https);
+		}
+		catch(IOException e) {
+			socket.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Chooses how to reach a route with the default ProxySelector
+	 *
+	 * @param pool	The route to connect to
+	 * @return	The first proxy chosen, or Proxy.NO_PROXY
+	 * @throws IOException
+	 */
+	private static Proxy selectProxy(RoutePool pool) throws IOException {
+		ProxySelector selector = ProxySelector.getDefault();
+		if(selector == null) {
+			return Proxy.NO_PROXY;
+		}
+
+		URI uri;
+		try {
+			uri = new URI(pool.getScheme(), null, pool.getHost(), pool.getPort(), null, null, null);
+		}
+		catch(URISyntaxException e) {
+			throw new IOException("Invalid route: " + pool, e);
+		}
+
+		List<Proxy> proxies = selector.select(uri);
+		if(proxies == null || proxies.isEmpty()) {
+			return Proxy.NO_PROXY;
+		}
+
+		Proxy proxy = proxies.get(0);
+		if(proxy.type() != Proxy.Type.DIRECT && logger.isDebugEnabled()) {
+			logger.debug("Connecting to " + pool + " through proxy " + proxy);
+		}
+		return proxy;
+	}
+
+	/**
+	 * Asks an HTTP proxy for a tunnel to the route with CONNECT
+	 *
+	 * @param socket	Socket connected to the proxy
+	 * @param pool	The route to tunnel to
+	 * @throws IOException	When the proxy refuses the tunnel
+	 */
+	private static void tunnel(Socket socket, RoutePool pool) throws IOException {
+		String authority = pool.getHost() + ":" + pool.getPort();
+		OutputStream out = socket.getOutputStream();
+		out.write(("CONNECT " + authority + " HTTP/1.1\r\nHost: " + authority + "\r\n\r\n").getBytes("ISO-8859-1"));
+		out.flush();
+
+		// read byte by byte, the TLS handshake follows the blank line
+		InputStream in = socket.getInputStream();
+		ByteArrayOutputStream head = new ByteArrayOutputStream(256);
+		int matched = 0;
+		while(matched < 4) {
+			int b = in.read();
+			if(b == -1) {
+				throw new IOException("Proxy closed the connection while tunneling to " + authority);
+			}
+			head.write(b);
+			matched = (b == '\r' && matched % 2 == 0) || (b == '\n' && matched % 2 == 1) ? matched + 1 : 0;
+		}
+
+		String response = head.toString("ISO-8859-1");
+		String statusLine = response.substring(0, response.indexOf('\r'));
+		String[] parts = statusLine.split(" ", 3);
+		if(parts.length < 2 || !parts[0].startsWith("HTTP/") || !parts[1].startsWith("2")) {
+			throw new IOException("Unable to tunnel through proxy to " + authority + ", proxy returned \"" + statusLine + "\"");
+		}
+	}
+
+	/**
+	 * Creates the socket factory for HTTPS connections from the configured SSLContext.
+	 * Without one, a context with the default trust material is created when the session
+	 * cache is tuned, so the cache of the JVM default context is left alone.
+	 *
+	 * @param config	Configuration of the transport
+	 * @return	Factory of TLS sockets
+	 */
+	private static SSLSocketFactory createSocketFactory(TransportConfig config) {
+		SSLContext context = config.getSslContext();
+		if(context == null) {
+			if(config.getSessionCacheSize() <= 0 && config.getSessionTimeoutSeconds() <= 0) {
+				return (SSLSocketFactory) SSLSocketFactory.getDefault();
+			}
+
+			try {
+				context = SSLContext.getInstance("TLS");
+				context.init(null, null, null);
+			}
+			catch(GeneralSecurityException e) {
+				throw new RuntimeException("Unable to create SSLContext", e);
+			}
+		}
+
+		SSLSessionContext sessions = context.getClientSessionContext();
+		if(config.getSessionCacheSize() > 0) {
+			sessions.setSessionCacheSize(config.getSessionCacheSize());
+		}
+		if(config.getSessionTimeoutSeconds() > 0) {
+			sessions.setSessionTimeout(config.getSessionTimeoutSeconds());
+		}
+		return context.getSocketFactory();
+	}
+
+	/**
+	 * Leases a connection, waiting for capacity and connecting no longer than the time left of the request
+	 */
+	private HttpConnection lease(RoutePool pool, boolean forceNew, TransportRequest request) throws IOException {
+		long timeout = request.limitTimeout(config.getConnectionRequestTimeoutMillis());
+		int connectTimeout = (int) request.limitTimeout(request.getConnectTimeoutMillis());
+		return pool.lease(forceNew, timeout, connectTimeout);
+	}
+
+	private RoutePool getPool(URL url) throws IOException {
+		if(shutdown) {
+			throw new IOException("Transport has been shut down");
+		}
+
+		String scheme = url.getProtocol().toLowerCase();
+		if(!"https".equals(scheme) && !"http".equals(scheme)) {
+			throw new IOException("Unsupported protocol: " + scheme);
+		}
+
+		String host = url.getHost().toLowerCase();
+		int port = url.getPort() == -1 ? url.getDefaultPort() : url.getPort();
+		String key = scheme + "://" + host + ":" + port;
+
+		RoutePool pool = pools.get(key);
+		if(pool == null) {
+			RoutePool newPool = new RoutePool(this, scheme, host, port, config.getMaxConnectionsPerRoute());
+			pool = pools.putIfAbsent(key, newPool);
+			if(pool == null) {
+				pool = newPool;
+			}
+		}
+		return pool;
+	}
+
+	private boolean isIdempotent(String method) {
+		return "GET".equals(method) || "HEAD".equals(method) || "PUT".equals(method) || "DELETE".equals(method);
+	}
+}
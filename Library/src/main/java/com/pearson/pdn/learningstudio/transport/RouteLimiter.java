@@ -0,0 +1,245 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.transport;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+
+import com.pearson.pdn.learningstudio.core.AbstractService;
+
+/**
+ * Adaptive limit of concurrent requests on a single route.
+ * The limit grows by one for every limit's worth of successful requests and shrinks
+ * by the backoff ratio, at most once per round trip, when the route is overloaded.
+ */
+class RouteLimiter {
+	private final static int LATENCY_WINDOW = 100;
+
+	private final String route;
+	private final LimiterConfig config;
+	private final Deque<CompletableFuture<Void>> queue = new LinkedList<CompletableFuture<Void>>();
+
+	private double limit;
+	private int inFlight;
+	private long minLatency = Long.MAX_VALUE;
+	private long windowMinLatency = Long.MAX_VALUE;
+	private int windowSamples;
+	private long lastDecrease;
+
+	private long accepted;
+	private long rejected;
+	private long decreases;
+
+	/**
+	 * Constructs a limiter for a route
+	 *
+	 * @param route	Route the limiter applies to
+	 * @param config	Limiter configuration
+	 */
+	RouteLimiter(String route, LimiterConfig config) {
+		this.route = route;
+		this.config = config;
+		this.limit = config.getInitialLimit();
+	}
+
+	/**
+	 * Requests a permit to execute
+	 *
+	 * @return	Future completed when the permit is granted, or failed when the queue is full
+	 */
+	CompletableFuture<Void> acquire() {
+		synchronized(this) {
+			if(queue.isEmpty() && inFlight < (int) limit) {
+				inFlight++;
+				accepted++;
+				return CompletableFuture.completedFuture(null);
+			}
+
+			if(queue.size() >= config.getMaxQueueDepth()) {
+				rejected++;
+				CompletableFuture<Void> future = new CompletableFuture<Void>();
+				future.completeExceptionally(new IOException("Too many requests queued for " + route));
+				return future;
+			}
+
+			CompletableFuture<Void> waiter = new CompletableFuture<Void>();
+			queue.add(waiter);
+			return waiter;
+		}
+	}
+
+	/**
+	 * Requests a permit to execute, withdrawing the request when it is not granted in time
+	 *
+	 * @param timeoutMillis	Time to wait in the queue. Zero waits indefinitely.
+	 * @return	Future completed when the permit is granted, or failed when the queue is full or the wait times out
+	 */
+	CompletableFuture<Void> acquireAsync(long timeoutMillis) {
+		final CompletableFuture<Void> waiter = acquire();
+		if(timeoutMillis > 0 && !waiter.isDone()) {
+			final ScheduledFuture<?> timer = AbstractService.schedule(new Runnable() {
+				public void run() {
+					// a waiter no longer queued was granted its permit
+					if(cancel(waiter)) {
+						waiter.completeExceptionally(new IOException("Timeout waiting for capacity on " + route));
+					}
+				}
+			}, timeoutMillis);
+			waiter.whenComplete(new BiConsumer<Void,Throwable>() {
+				public void accept(Void result, Throwable failure) {
+					timer.cancel(false);
+				}
+			});
+		}
+		return waiter;
+	}
+
+	/**
+	 * Waits for a permit to execute
+	 *
+	 * @param timeoutMillis	Time to wait in the queue. Zero waits indefinitely.
+	 * @throws IOException	When the queue is full or the wait times out
+	 */
+	void acquire(long timeoutMillis) throws IOException {
+		CompletableFuture<Void> waiter = acquire();
+		try {
+			if(timeoutMillis > 0) {
+				waiter.get(timeoutMillis, TimeUnit.MILLISECONDS);
+			}
+			else {
+				waiter.get();
+			}
+		}
+		catch(TimeoutException e) {
+			if(cancel(waiter)) {
+				throw new IOException("Timeout waiting for capacity on " + route);
+			}
+			waiter.join(); // granted while timing out
+		}
+		catch(InterruptedException e) {
+			if(!cancel(waiter)) {
+				release(0, false);
+			}
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted waiting for capacity on " + route);
+		}
+		catch(ExecutionException e) {
+			throw (IOException) e.getCause();
+		}
+	}
+
+	/**
+	 * Withdraws a queued request
+	 *
+	 * @param waiter	Future returned by acquire
+	 * @return	True when withdrawn, false when the permit was already granted
+	 */
+	synchronized boolean cancel(CompletableFuture<Void> waiter) {
+		if(queue.remove(waiter)) {
+			rejected++;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Returns a permit, adjusting the limit to the outcome of the request
+	 *
+	 * @param latencyNanos	Time until the response headers arrived, zero when not measured
+	 * @param dropped	True when the request failed or the server asked to slow down
+	 */
+	void release(long latencyNanos, boolean dropped) {
+		List<CompletableFuture<Void>> granted = new ArrayList<CompletableFuture<Void>>();
+		synchronized(this) {
+			inFlight--;
+
+			if(latencyNanos > 0) {
+				boolean slow = minLatency != Long.MAX_VALUE && latencyNanos > minLatency * config.getLatencyTolerance();
+				sample(latencyNanos);
+				dropped = dropped || slow;
+			}
+
+			if(dropped) {
+				long now = System.nanoTime();
+				long roundTrip = minLatency == Long.MAX_VALUE ? 0 : minLatency;
+				if(decreases == 0 || now - lastDecrease > roundTrip) {
+					limit = Math.max(config.getMinLimit(), limit * config.getBackoffRatio());
+					lastDecrease = now;
+					decreases++;
+				}
+			}
+			else if(latencyNanos > 0 && inFlight + 1 >= limit / 2) {
+				// only grow while the limit is actually in use
+				limit = Math.min(config.getMaxLimit(), limit + 1 / limit);
+			}
+
+			while(!queue.isEmpty() && inFlight < (int) limit) {
+				inFlight++;
+				accepted++;
+				granted.add(queue.poll());
+			}
+		}
+
+		for(CompletableFuture<Void> waiter : granted) {
+			waiter.complete(null);
+		}
+	}
+
+	/**
+	 * Tracks the lowest latency of the current and previous window, so the baseline follows lasting changes
+	 */
+	private void sample(long latencyNanos) {
+		windowMinLatency = Math.min(windowMinLatency, latencyNanos);
+		minLatency = Math.min(minLatency, latencyNanos);
+		if(++windowSamples >= LATENCY_WINDOW) {
+			minLatency = windowMinLatency;
+			windowMinLatency = Long.MAX_VALUE;
+			windowSamples = 0;
+		}
+	}
+
+	synchronized LimiterStatistics getStatistics() {
+		long minLatencyMillis = minLatency == Long.MAX_VALUE ? 0 : TimeUnit.NANOSECONDS.toMillis(minLatency);
+		return new LimiterStatistics((int) limit, inFlight, queue.size(), accepted, rejected, decreases, minLatencyMillis);
+	}
+
+	@Override
+	public String toString() {
+		return route;
+	}
+}
@@ -0,0 +1,257 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.transport;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.log4j.Logger;
+
+/**
+ * Bounded set of persistent connections to a single scheme, host and port
+ */
+class RoutePool {
+	private final static Logger logger = Logger.getLogger(RoutePool.class);
+
+	private final PooledTransport transport;
+	private final String scheme;
+	private final String host;
+	private final int port;
+	private final int maxConnections;
+	private final Semaphore permits;
+	private final Deque<HttpConnection> idle = new LinkedList<HttpConnection>();
+
+	private final AtomicLong created = new AtomicLong();
+	private final AtomicLong reused = new AtomicLong();
+	private final AtomicLong evicted = new AtomicLong();
+	private final AtomicLong closed = new AtomicLong();
+	private final AtomicLong fullHandshakes = new AtomicLong();
+	private final AtomicLong resumedHandshakes = new AtomicLong();
+	private volatile boolean shutdown;
+
+	/**
+	 * Constructs a pool for a route
+	 *
+	 * @param transport	Transport that opens new connections
+	 * @param scheme	http or https
+	 * @param host	Host name of the route
+	 * @param port	Port of the route
+	 * @param maxConnections	Maximum connections open at once
+	 */
+	RoutePool(PooledTransport transport, String scheme, String host, int port, int maxConnections) {
+		this.transport = transport;
+		this.scheme = scheme;
+		this.host = host;
+		this.port = port;
+		this.maxConnections = maxConnections;
+		this.permits = new Semaphore(maxConnections, true);
+	}
+
+	String getScheme() {
+		return scheme;
+	}
+
+	String getHost() {
+		return host;
+	}
+
+	int getPort() {
+		return port;
+	}
+
+	/**
+	 * Leases a connection, reusing an idle one when possible
+	 *
+	 * @param forceNew	True to skip idle connections
+	 * @param timeoutMillis	Time to wait for capacity. Zero waits indefinitely.
+	 * @param connectTimeoutMillis	Time allowed to open a new connection. Zero waits indefinitely.
+	 * @return	A connection owned by the caller until released
+	 * @throws IOException
+	 */
+	HttpConnection lease(boolean forceNew, long timeoutMillis, int connectTimeoutMillis) throws IOException {
+		if(shutdown) {
+			throw new IOException("Transport has been shut down");
+		}
+
+		try {
+			if(timeoutMillis > 0) {
+				if(!permits.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+					throw new IOException("Timeout waiting for connection to " + this);
+				}
+			}
+			else {
+				permits.acquire();
+			}
+		}
+		catch(InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted waiting for connection to " + this);
+		}
+
+		boolean leased = false;
+		try {
+			if(!forceNew) {
+				HttpConnection connection;
+				while((connection = pollIdle()) != null) {
+					long idleTime = System.currentTimeMillis() - connection.getLastUsedTime();
+					if(idleTime >= transport.getConfig().getMaxIdleTimeMillis()
+						|| !connection.isOpen()
+						|| (idleTime >= transport.getConfig().getValidateAfterInactivityMillis() && connection.isStale())) {
+						evicted.incrementAndGet();
+						discard(connection);
+						continue;
+					}
+
+					reused.incrementAndGet();
+					leased = true;
+					return connection;
+				}
+			}
+
+			HttpConnection connection = transport.connect(this, connectTimeoutMillis);
+			created.incrementAndGet();
+			leased = true;
+			return connection;
+		}
+		finally {
+			if(!leased) {
+				permits.release();
+			}
+		}
+	}
+
+	/**
+	 * Returns a leased connection to the pool
+	 *
+	 * @param connection	The leased connection
+	 * @param reusable	True when the connection is positioned at the start of the next response
+	 */
+	void release(HttpConnection connection, boolean reusable) {
+		try {
+			if(reusable && !shutdown && connection.isOpen()) {
+				connection.setLastUsedTime(System.currentTimeMillis());
+				synchronized(idle) {
+					idle.addFirst(connection);
+				}
+			}
+			else {
+				discard(connection);
+			}
+		}
+		finally {
+			permits.release();
+		}
+	}
+
+	/**
+	 * Closes idle connections that have exceeded the idle time
+	 *
+	 * @param maxIdleTimeMillis	Maximum idle time
+	 */
+	void evictIdle(long maxIdleTimeMillis) {
+		long now = System.currentTimeMillis();
+		List<HttpConnection> expired = new ArrayList<HttpConnection>();
+		synchronized(idle) {
+			Iterator<HttpConnection> iterator = idle.iterator();
+			while(iterator.hasNext()) {
+				HttpConnection connection = iterator.next();
+				if(now - connection.getLastUsedTime() >= maxIdleTimeMillis || !connection.isOpen()) {
+					iterator.remove();
+					expired.add(connection);
+				}
+			}
+		}
+
+		for(HttpConnection connection : expired) {
+			evicted.incrementAndGet();
+			discard(connection);
+		}
+	}
+
+	/**
+	 * Closes all idle connections and refuses further leases
+	 */
+	void shutdown() {
+		shutdown = true;
+		HttpConnection connection;
+		while((connection = pollIdle()) != null) {
+			discard(connection);
+		}
+	}
+
+	PoolStatistics getStatistics() {
+		int idleCount;
+		synchronized(idle) {
+			idleCount = idle.size();
+		}
+		int leasedCount = maxConnections - permits.availablePermits();
+		return new PoolStatistics(leasedCount, idleCount, maxConnections,
+				created.get(), reused.get(), evicted.get(), closed.get(), fullHandshakes.get(), resumedHandshakes.get());
+	}
+
+	/**
+	 * Counts a completed TLS handshake
+	 *
+	 * @param resumed	True when a cached session was resumed
+	 */
+	void handshakeCompleted(boolean resumed) {
+		if(resumed) {
+			resumedHandshakes.incrementAndGet();
+		}
+		else {
+			fullHandshakes.incrementAndGet();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return scheme + "://" + host + ":" + port;
+	}
+
+	private HttpConnection pollIdle() {
+		synchronized(idle) {
+			return idle.pollFirst();
+		}
+	}
+
+	private void discard(HttpConnection connection) {
+		if(logger.isDebugEnabled()) {
+			logger.debug("Closing connection to " + this);
+		}
+		connection.close();
+		closed.incrementAndGet();
+	}
+}
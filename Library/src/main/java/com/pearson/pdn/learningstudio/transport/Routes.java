@@ -0,0 +1,84 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.transport;
+
+import java.net.URL;
+
+/**
+ * Groups request URLs into routes, so requests for different records of the same resource share one route
+ */
+public class Routes {
+	private final static String XML_EXTENSION = ".xml";
+	private final static String ID_SEGMENT = "{id}";
+
+	private Routes() {
+	}
+
+	/**
+	 * Builds the route of a URL.
+	 * The query string and XML extension are dropped, and path segments holding digits become {id},
+	 * so https://api.learningstudio.com/courses/12345/items.xml?expand=x becomes api.learningstudio.com/courses/{id}/items.
+	 *
+	 * @param url	URL of the request
+	 * @return	Host and path template
+	 */
+	public static String getRoute(URL url) {
+		String path = url.getPath();
+		if(path.toLowerCase().endsWith(XML_EXTENSION)) {
+			path = path.substring(0, path.length() - XML_EXTENSION.length());
+		}
+
+		StringBuilder route = new StringBuilder(url.getHost());
+		int start = 0;
+		while(start < path.length()) {
+			int end = path.indexOf('/', start + 1);
+			if(end == -1) {
+				end = path.length();
+			}
+
+			String segment = path.substring(start, end); // includes the leading slash
+			if(hasDigit(segment)) {
+				route.append('/').append(ID_SEGMENT);
+			}
+			else {
+				route.append(segment);
+			}
+			start = end;
+		}
+		return route.toString();
+	}
+
+	private static boolean hasDigit(String segment) {
+		for(int i = 0; i < segment.length(); i++) {
+			if(Character.isDigit(segment.charAt(i))) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
@@ -0,0 +1,211 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.transport;
+
+import javax.net.ssl.SSLContext;
+
+/**
+ * Configuration parameters for the pooled transport
+ */
+public class TransportConfig {
+
+	private int maxConnectionsPerRoute = 10;
+	private long connectionRequestTimeoutMillis = 0;
+	private long maxIdleTimeMillis = 30000;
+	private long validateAfterInactivityMillis = 2000;
+	private long idleEvictionIntervalMillis = 10000;
+	private SSLContext sslContext;
+	private int sessionCacheSize;
+	private int sessionTimeoutSeconds;
+	private String[] enabledProtocols;
+
+	/**
+	 * Get the maximum number of connections kept open to a single host
+	 *
+	 * @return	Maximum connections per route
+	 */
+	public int getMaxConnectionsPerRoute() {
+		return maxConnectionsPerRoute;
+	}
+
+	/**
+	 * Set the maximum number of connections kept open to a single host
+	 *
+	 * @param maxConnectionsPerRoute	Maximum connections per route
+	 */
+	public void setMaxConnectionsPerRoute(int maxConnectionsPerRoute) {
+		this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+	}
+
+	/**
+	 * Get the time to wait for a connection when the route is exhausted
+	 *
+	 * @return	Milliseconds to wait. Zero waits indefinitely.
+	 */
+	public long getConnectionRequestTimeoutMillis() {
+		return connectionRequestTimeoutMillis;
+	}
+
+	/**
+	 * Set the time to wait for a connection when the route is exhausted
+	 *
+	 * @param connectionRequestTimeoutMillis	Milliseconds to wait. Zero waits indefinitely.
+	 */
+	public void setConnectionRequestTimeoutMillis(long connectionRequestTimeoutMillis) {
+		this.connectionRequestTimeoutMillis = connectionRequestTimeoutMillis;
+	}
+
+	/**
+	 * Get the time an idle connection is kept before it is evicted
+	 *
+	 * @return	Milliseconds of idle time
+	 */
+	public long getMaxIdleTimeMillis() {
+		return maxIdleTimeMillis;
+	}
+
+	/**
+	 * Set the time an idle connection is kept before it is evicted
+	 *
+	 * @param maxIdleTimeMillis	Milliseconds of idle time
+	 */
+	public void setMaxIdleTimeMillis(long maxIdleTimeMillis) {
+		this.maxIdleTimeMillis = maxIdleTimeMillis;
+	}
+
+	/**
+	 * Get the idle time after which a connection is checked for a server side close before reuse
+	 *
+	 * @return	Milliseconds of idle time
+	 */
+	public long getValidateAfterInactivityMillis() {
+		return validateAfterInactivityMillis;
+	}
+
+	/**
+	 * Set the idle time after which a connection is checked for a server side close before reuse
+	 *
+	 * @param validateAfterInactivityMillis	Milliseconds of idle time
+	 */
+	public void setValidateAfterInactivityMillis(long validateAfterInactivityMillis) {
+		this.validateAfterInactivityMillis = validateAfterInactivityMillis;
+	}
+
+	/**
+	 * Get the interval between background sweeps for idle connections
+	 *
+	 * @return	Milliseconds between sweeps. Zero disables the sweep.
+	 */
+	public long getIdleEvictionIntervalMillis() {
+		return idleEvictionIntervalMillis;
+	}
+
+	/**
+	 * Set the interval between background sweeps for idle connections
+	 *
+	 * @param idleEvictionIntervalMillis	Milliseconds between sweeps. Zero disables the sweep.
+	 */
+	public void setIdleEvictionIntervalMillis(long idleEvictionIntervalMillis) {
+		this.idleEvictionIntervalMillis = idleEvictionIntervalMillis;
+	}
+
+	/**
+	 * Get the SSLContext HTTPS connections are made with
+	 *
+	 * @return	SSLContext or null for the JVM default
+	 */
+	public SSLContext getSslContext() {
+		return sslContext;
+	}
+
+	/**
+	 * Set the SSLContext HTTPS connections are made with, for custom trust or key material
+	 *
+	 * @param sslContext	SSLContext or null for the JVM default
+	 */
+	public void setSslContext(SSLContext sslContext) {
+		this.sslContext = sslContext;
+	}
+
+	/**
+	 * Get the number of TLS sessions cached for resumption
+	 *
+	 * @return	Maximum cached sessions. Zero keeps the setting of the SSLContext.
+	 */
+	public int getSessionCacheSize() {
+		return sessionCacheSize;
+	}
+
+	/**
+	 * Set the number of TLS sessions cached for resumption
+	 *
+	 * @param sessionCacheSize	Maximum cached sessions. Zero keeps the setting of the SSLContext.
+	 */
+	public void setSessionCacheSize(int sessionCacheSize) {
+		this.sessionCacheSize = sessionCacheSize;
+	}
+
+	/**
+	 * Get the time a cached TLS session may be resumed
+	 *
+	 * @return	Seconds. Zero keeps the setting of the SSLContext.
+	 */
+	public int getSessionTimeoutSeconds() {
+		return sessionTimeoutSeconds;
+	}
+
+	/**
+	 * Set the time a cached TLS session may be resumed
+	 *
+	 * @param sessionTimeoutSeconds	Seconds. Zero keeps the setting of the SSLContext.
+	 */
+	public void setSessionTimeoutSeconds(int sessionTimeoutSeconds) {
+		this.sessionTimeoutSeconds = sessionTimeoutSeconds;
+	}
+
+	/**
+	 * Get the TLS protocols HTTPS connections may negotiate
+	 *
+	 * @return	Protocol names or null for the defaults of the SSLContext
+	 */
+	public String[] getEnabledProtocols() {
+		return enabledProtocols;
+	}
+
+	/**
+	 * Set the TLS protocols HTTPS connections may negotiate.
+	 * A TLS 1.3 session ticket resumes a single connection, and the JVM caches one session per
+	 * host, so bursts of new connections mostly make full handshakes. A TLS 1.2 session may be
+	 * resumed by any number of connections.
+	 *
+	 * @param enabledProtocols	Protocol names, such as "TLSv1.2", or null for the defaults of the SSLContext
+	 */
+	public void setEnabledProtocols(String... enabledProtocols) {
+		this.enabledProtocols = enabledProtocols;
+	}
+}
@@ -0,0 +1,255 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.transport;
+
+import java.net.URL;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A request to be executed by a Transport
+ */
+public class TransportRequest {
+	private String method;
+	private URL url;
+	private Map<String,String> headers = new LinkedHashMap<String,String>();
+	private byte[] body;
+	private int bodyOffset;
+	private int bodyLength;
+	private int connectTimeoutMillis;
+	private int readTimeoutMillis;
+	private boolean streaming;
+	private long expirationNanos;
+	private boolean timeLimited;
+
+	/**
+	 * Get the HTTP method of the request
+	 *
+	 * @return	Name of the HTTP method
+	 */
+	public String getMethod() {
+		return method;
+	}
+
+	/**
+	 * Set the HTTP method of the request
+	 *
+	 * @param method	Name of the HTTP method
+	 */
+	public void setMethod(String method) {
+		this.method = method;
+	}
+
+	/**
+	 * Get the URL of the request
+	 *
+	 * @return	URL of the request
+	 */
+	public URL getUrl() {
+		return url;
+	}
+
+	/**
+	 * Set the URL of the request
+	 *
+	 * @param url	URL of the request
+	 */
+	public void setUrl(URL url) {
+		this.url = url;
+	}
+
+	/**
+	 * Get the headers of the request
+	 *
+	 * @return	KVP of headers
+	 */
+	public Map<String,String> getHeaders() {
+		return headers;
+	}
+
+	/**
+	 * Set the headers of the request
+	 *
+	 * @param headers	KVP of headers
+	 */
+	public void setHeaders(Map<String,String> headers) {
+		this.headers = headers;
+	}
+
+	/**
+	 * Set a single header of the request
+	 *
+	 * @param name	Name of the header
+	 * @param value	Value of the header
+	 */
+	public void setHeader(String name, String value) {
+		headers.put(name, value);
+	}
+
+	/**
+	 * Get the array holding the body of the request.
+	 * The body occupies getBodyLength() bytes from getBodyOffset().
+	 *
+	 * @return	Bytes of the body or null when there is no body
+	 */
+	public byte[] getBody() {
+		return body;
+	}
+
+	/**
+	 * Get the position of the body in its array
+	 *
+	 * @return	Offset of the first byte
+	 */
+	public int getBodyOffset() {
+		return bodyOffset;
+	}
+
+	/**
+	 * Get the length of the body
+	 *
+	 * @return	Number of bytes in the body
+	 */
+	public int getBodyLength() {
+		return bodyLength;
+	}
+
+	/**
+	 * Set the body of the request
+	 *
+	 * @param body	Bytes of the body
+	 */
+	public void setBody(byte[] body) {
+		setBody(body, 0, body == null ? 0 : body.length);
+	}
+
+	/**
+	 * Set the body of the request to a region of an array, which is sent without copying
+	 *
+	 * @param body	Array holding the body
+	 * @param offset	Offset of the first byte
+	 * @param length	Number of bytes in the body
+	 */
+	public void setBody(byte[] body, int offset, int length) {
+		this.body = body;
+		this.bodyOffset = offset;
+		this.bodyLength = length;
+	}
+
+	/**
+	 * Get the time allowed to open a connection
+	 *
+	 * @return	Milliseconds. Zero waits indefinitely.
+	 */
+	public int getConnectTimeoutMillis() {
+		return connectTimeoutMillis;
+	}
+
+	/**
+	 * Set the time allowed to open a connection
+	 *
+	 * @param connectTimeoutMillis	Milliseconds. Zero waits indefinitely.
+	 */
+	public void setConnectTimeoutMillis(int connectTimeoutMillis) {
+		this.connectTimeoutMillis = connectTimeoutMillis;
+	}
+
+	/**
+	 * Get the time allowed to wait for data from the server
+	 *
+	 * @return	Milliseconds. Zero waits indefinitely.
+	 */
+	public int getReadTimeoutMillis() {
+		return readTimeoutMillis;
+	}
+
+	/**
+	 * Set the time allowed to wait for data from the server
+	 *
+	 * @param readTimeoutMillis	Milliseconds. Zero waits indefinitely.
+	 */
+	public void setReadTimeoutMillis(int readTimeoutMillis) {
+		this.readTimeoutMillis = readTimeoutMillis;
+	}
+
+	/**
+	 * Indicates whether the caller reads the body of the response as a stream
+	 *
+	 * @return	True when the body should not be buffered by the transport
+	 */
+	public boolean isStreaming() {
+		return streaming;
+	}
+
+	/**
+	 * Set whether the caller reads the body of the response as a stream
+	 *
+	 * @param streaming	True when the body should not be buffered by the transport
+	 */
+	public void setStreaming(boolean streaming) {
+		this.streaming = streaming;
+	}
+
+	/**
+	 * Set the time allowed for the whole request, counted from now. Transports limit
+	 * their waits for connections and permits, and any retries, to the time remaining.
+	 *
+	 * @param timeLimitMillis	Milliseconds. Negative removes the limit.
+	 */
+	public void setTimeLimitMillis(long timeLimitMillis) {
+		this.timeLimited = timeLimitMillis >= 0;
+		this.expirationNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(0, timeLimitMillis));
+	}
+
+	/**
+	 * Get the time left of the limit of the request
+	 *
+	 * @return	Milliseconds, at least one while limited. Zero when the request has no limit.
+	 */
+	public long getRemainingMillis() {
+		if(!timeLimited) {
+			return 0;
+		}
+		return Math.max(1, TimeUnit.NANOSECONDS.toMillis(expirationNanos - System.nanoTime()));
+	}
+
+	/**
+	 * Limits a timeout to the time left of the request
+	 *
+	 * @param timeoutMillis	Milliseconds. Zero waits indefinitely.
+	 * @return	The smaller of the timeout and the time left, or the timeout when the request has no limit
+	 */
+	public long limitTimeout(long timeoutMillis) {
+		long remaining = getRemainingMillis();
+		if(remaining == 0) {
+			return timeoutMillis;
+		}
+		return timeoutMillis > 0 ? Math.min(timeoutMillis, remaining) : remaining;
+	}
+}
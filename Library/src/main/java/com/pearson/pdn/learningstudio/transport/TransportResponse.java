@@ -0,0 +1,152 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.transport;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A response returned by a Transport
+ */
+public class TransportResponse implements Closeable {
+	private int statusCode;
+	private String statusMessage;
+	private Map<String,List<String>> headers;
+	private InputStream body;
+
+	/**
+	 * Get the HTTP status code of the response
+	 *
+	 * @return	HTTP Status Code
+	 */
+	public int getStatusCode() {
+		return statusCode;
+	}
+
+	/**
+	 * Set the HTTP status code of the response
+	 *
+	 * @param statusCode	HTTP Status Code
+	 */
+	public void setStatusCode(int statusCode) {
+		this.statusCode = statusCode;
+	}
+
+	/**
+	 * Get the HTTP status message of the response
+	 *
+	 * @return	HTTP Status Message
+	 */
+	public String getStatusMessage() {
+		return statusMessage;
+	}
+
+	/**
+	 * Set the HTTP status message of the response
+	 *
+	 * @param statusMessage	HTTP Status Message
+	 */
+	public void setStatusMessage(String statusMessage) {
+		this.statusMessage = statusMessage;
+	}
+
+	/**
+	 * Get the headers of the response
+	 *
+	 * @return	KVP of headers
+	 */
+	public Map<String,List<String>> getHeaders() {
+		return headers;
+	}
+
+	/**
+	 * Set the headers of the response
+	 *
+	 * @param headers	KVP of headers
+	 */
+	public void setHeaders(Map<String,List<String>> headers) {
+		this.headers = headers;
+	}
+
+	/**
+	 * Get the first value of a response header
+	 *
+	 * @param name	Name of the header
+	 * @return	Value of the header or null when not present
+	 */
+	public String getHeader(String name) {
+		if(headers == null) {
+			return null;
+		}
+
+		List<String> values = headers.get(name);
+		if(values == null || values.isEmpty()) {
+			return null;
+		}
+		return values.get(0);
+	}
+
+	/**
+	 * Get the type of content in the response
+	 *
+	 * @return	Content-Type String
+	 */
+	public String getContentType() {
+		return getHeader("Content-Type");
+	}
+
+	/**
+	 * Get the body of the response. Never null.
+	 *
+	 * @return	Stream over the body
+	 */
+	public InputStream getBody() {
+		return body;
+	}
+
+	/**
+	 * Set the body of the response
+	 *
+	 * @param body	Stream over the body
+	 */
+	public void setBody(InputStream body) {
+		this.body = body;
+	}
+
+	/**
+	 * Closes the body, releasing the underlying connection
+	 */
+	public void close() throws IOException {
+		if(body != null) {
+			body.close();
+		}
+	}
+}
@@ -0,0 +1,113 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.transport;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Transport engine built on HttpURLConnection.
+ * Connection reuse is left to the keep-alive cache of the JVM.
+ */
+public class UrlConnectionTransport implements Transport {
+
+	/**
+	 * Executes the request with a new HttpURLConnection
+	 *
+	 * @param request	The request to send
+	 * @return	The response received
+	 * @throws IOException
+	 */
+	public TransportResponse execute(TransportRequest request) throws IOException {
+		HttpURLConnection connection = (HttpURLConnection) request.getUrl().openConnection();
+		connection.setRequestMethod(request.getMethod());
+		connection.setConnectTimeout(request.getConnectTimeoutMillis());
+		connection.setReadTimeout(request.getReadTimeoutMillis());
+
+		Map<String,String> headers = request.getHeaders();
+		if(headers != null) {
+			for(String name : headers.keySet()) {
+				connection.addRequestProperty(name, headers.get(name));
+			}
+		}
+
+		byte[] body = request.getBody();
+		if(body != null) {
+			connection.setDoOutput(true);
+			connection.setFixedLengthStreamingMode(request.getBodyLength());
+
+			OutputStream out = connection.getOutputStream();
+			try {
+				out.write(body, request.getBodyOffset(), request.getBodyLength());
+				out.flush();
+			}
+			finally {
+				out.close();
+			}
+		}
+
+		TransportResponse response = new TransportResponse();
+		response.setStatusCode(connection.getResponseCode());
+		response.setStatusMessage(connection.getResponseMessage());
+
+		Map<String,List<String>> responseHeaders = new TreeMap<String,List<String>>(String.CASE_INSENSITIVE_ORDER);
+		for(Map.Entry<String,List<String>> header : connection.getHeaderFields().entrySet()) {
+			if(header.getKey() != null) { // the status line is keyed by null
+				responseHeaders.put(header.getKey(), header.getValue());
+			}
+		}
+		response.setHeaders(responseHeaders);
+
+		InputStream inputStream = null;
+		if(response.getStatusCode() < 400) {
+			inputStream = connection.getInputStream();
+		}
+		else {
+			inputStream = connection.getErrorStream();
+		}
+
+		if(inputStream == null) {
+			inputStream = new ByteArrayInputStream(new byte[0]);
+		}
+		response.setBody(inputStream);
+
+		return response;
+	}
+
+	/**
+	 * Nothing to release. Connections belong to the JVM keep-alive cache.
+	 */
+	public void shutdown() {
+	}
+}
@@ -0,0 +1,241 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.cache;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DiskCacheTest {
+	private final static int SEGMENT_SIZE = 4096;
+	private final static int BODY_SIZE = 1000;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private Path directory;
+	private DiskCache cache;
+
+	@Before
+	public void setUp() {
+		directory = folder.getRoot().toPath().resolve("cache");
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		if(cache != null) {
+			cache.close();
+		}
+	}
+
+	@Test
+	public void restoresResponsesAfterReopen() throws IOException {
+		cache = new DiskCache(directory, 1024 * 1024, SEGMENT_SIZE);
+		Map<String,List<String>> headers = new LinkedHashMap<String,List<String>>();
+		headers.put("ETag", Arrays.asList("\"1\""));
+		headers.put("X-Values", Arrays.asList("a", "b"));
+		cache.put("text", new CachedResponse(200, "OK", headers, "application/json", "{\"\u00e9\":1}", null, 1234));
+		cache.put("binary", response(7));
+		reopen(1024 * 1024);
+
+		CachedResponse text = cache.get("text");
+		assertNotNull(text);
+		assertEquals(200, text.getStatusCode());
+		assertEquals("OK", text.getStatusMessage());
+		assertEquals("application/json", text.getContentType());
+		assertEquals("{\"\u00e9\":1}", text.getContent());
+		assertNull(text.getBinaryContent());
+		assertEquals("\"1\"", text.getETag());
+		assertEquals(Arrays.asList("a", "b"), text.getHeaders().get("x-values"));
+		assertEquals(1234, text.getStoredTime());
+
+		assertArrayEquals(body(7), cache.get("binary").getBinaryContent());
+		assertEquals(2, cache.size());
+	}
+
+	@Test
+	public void replaysReplacementsAndDeletes() throws IOException {
+		cache = new DiskCache(directory, 1024 * 1024, SEGMENT_SIZE);
+		cache.put("a", response(1));
+		cache.put("b", response(2));
+		cache.put("a", response(3));
+		cache.invalidate("b");
+		reopen(1024 * 1024);
+
+		assertArrayEquals(body(3), cache.get("a").getBinaryContent());
+		assertNull(cache.get("b"));
+		assertEquals(1, cache.size());
+	}
+
+	@Test
+	public void ignoresTornIndexLine() throws IOException {
+		cache = new DiskCache(directory, 1024 * 1024, SEGMENT_SIZE);
+		cache.put("a", response(1));
+		cache.close();
+		Files.write(directory.resolve("index"), "P\t0\t10".getBytes(Charset.forName("UTF-8")), StandardOpenOption.APPEND);
+		cache = new DiskCache(directory, 1024 * 1024, SEGMENT_SIZE);
+
+		assertArrayEquals(body(1), cache.get("a").getBinaryContent());
+		assertEquals(1, cache.size());
+	}
+
+	@Test
+	public void dropsEntriesOfMissingSegments() throws IOException {
+		cache = new DiskCache(directory, 1024 * 1024, SEGMENT_SIZE);
+		cache.put("a", response(1));
+		cache.close();
+		Files.delete(directory.resolve("segment-0.dat"));
+		Files.write(directory.resolve("segment-9.dat"), new byte[10]);
+		cache = new DiskCache(directory, 1024 * 1024, SEGMENT_SIZE);
+
+		assertNull(cache.get("a"));
+		assertEquals(0, cache.size());
+		assertEquals(0, cache.getStatistics().getWeight());
+		assertFalse(Files.exists(directory.resolve("segment-9.dat")));
+	}
+
+	@Test
+	public void evictsLeastRecentlyUsed() throws IOException {
+		cache = new DiskCache(directory, 1024 * 1024, SEGMENT_SIZE);
+		cache.put("probe", response(0));
+		long recordSize = cache.getStatistics().getWeight();
+		cache.clear();
+		cache.close();
+
+		cache = new DiskCache(directory, 3 * recordSize + recordSize / 2, SEGMENT_SIZE);
+		cache.put("0", response(0));
+		cache.put("1", response(1));
+		cache.put("2", response(2));
+		assertNotNull(cache.get("0"));
+		cache.put("3", response(3));
+
+		assertNull(cache.get("1"));
+		assertNotNull(cache.get("0"));
+		assertNotNull(cache.get("2"));
+		assertNotNull(cache.get("3"));
+		assertEquals(1, cache.getStatistics().getEvictionCount());
+		assertEquals(3 * recordSize, cache.getStatistics().getWeight());
+	}
+
+	@Test
+	public void compactsReplacedRecords() throws IOException {
+		cache = new DiskCache(directory, 2 * SEGMENT_SIZE, SEGMENT_SIZE);
+		for(int round = 0; round < 20; round++) {
+			for(int key = 0; key < 4; key++) {
+				cache.put(String.valueOf(key), response(round * 4 + key));
+			}
+		}
+
+		assertTrue(cache.getCompactionCount() > 0);
+		assertTrue(segmentFiles().size() <= 3);
+		for(int key = 0; key < 4; key++) {
+			assertArrayEquals(body(19 * 4 + key), cache.get(String.valueOf(key)).getBinaryContent());
+		}
+
+		reopen(2 * SEGMENT_SIZE);
+		assertEquals(4, cache.size());
+		for(int key = 0; key < 4; key++) {
+			assertArrayEquals(body(19 * 4 + key), cache.get(String.valueOf(key)).getBinaryContent());
+		}
+	}
+
+	@Test
+	public void rejectsRecordLargerThanSegment() throws IOException {
+		cache = new DiskCache(directory, 1024 * 1024, SEGMENT_SIZE);
+		cache.put("a", response(1));
+		cache.put("a", new CachedResponse(200, "OK", etag(), null, null, new byte[SEGMENT_SIZE]));
+
+		assertNull(cache.get("a"));
+		assertEquals(1, cache.getStatistics().getRejectionCount());
+	}
+
+	@Test
+	public void storesResponsesWithoutValidatorOnlyWithTimeToLive() throws IOException {
+		cache = new DiskCache(directory, 1024 * 1024, SEGMENT_SIZE);
+		CachedResponse response = new CachedResponse(200, "OK", null, null, "content", null);
+		cache.put("a", response);
+		assertNull(cache.get("a"));
+
+		cache.setTimeToLive(1, TimeUnit.HOURS);
+		cache.put("a", response);
+		assertTrue(cache.isFresh(cache.get("a")));
+	}
+
+	private void reopen(long maxBytes) throws IOException {
+		cache.close();
+		cache = new DiskCache(directory, maxBytes, SEGMENT_SIZE);
+	}
+
+	private List<File> segmentFiles() {
+		List<File> segments = new ArrayList<File>();
+		for(File file : directory.toFile().listFiles()) {
+			if(file.getName().startsWith("segment-")) {
+				segments.add(file);
+			}
+		}
+		return segments;
+	}
+
+	private static CachedResponse response(int value) {
+		return new CachedResponse(200, "OK", etag(), "application/octet-stream", null, body(value));
+	}
+
+	private static Map<String,List<String>> etag() {
+		Map<String,List<String>> headers = new LinkedHashMap<String,List<String>>();
+		headers.put("ETag", Arrays.asList("\"v\""));
+		return headers;
+	}
+
+	private static byte[] body(int value) {
+		byte[] body = new byte[BODY_SIZE];
+		Arrays.fill(body, (byte) value);
+		return body;
+	}
+}
@@ -0,0 +1,206 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class ResponseCacheTest {
+	private final static String ROUTE = "/courses/%s/items";
+	// with no headers or text an entry weighs its overhead and its bytes
+	private final static int ENTRY_WEIGHT = 1000;
+	private final static int ENTRY_BYTES = ENTRY_WEIGHT - 256;
+
+	private ResponseCache cache;
+
+	@Before
+	public void setUp() {
+		// a 100 byte window and room for 9 entries in the main area
+		cache = new ResponseCache(10 * ENTRY_WEIGHT);
+		cache.setTimeToLive(ROUTE, 1, TimeUnit.HOURS);
+	}
+
+	@Test
+	public void matchesRouteTemplates() {
+		cache.setTimeToLive("/courses/%s/items/%s", 1, TimeUnit.HOURS);
+
+		assertEquals(ROUTE, cache.getRoute("/courses/1/items"));
+		assertEquals(ROUTE, cache.getRoute("/courses/1/items.xml"));
+		assertEquals(ROUTE, cache.getRoute("/courses/1/items?expand=all"));
+		assertEquals("/courses/%s/items/%s", cache.getRoute("/courses/1/items/2"));
+		assertNull(cache.getRoute("/courses/1/grades"));
+		assertNull(cache.getRoute("/courses/1/2/items"));
+	}
+
+	@Test
+	public void servesStoredResponse() {
+		assertNull(get(1));
+		put(1);
+
+		CachedResponse response = get(1);
+		assertNotNull(response);
+		assertEquals(ENTRY_BYTES, response.getBinaryContent().length);
+
+		CacheStatistics statistics = cache.getStatistics();
+		assertEquals(1, statistics.getHitCount());
+		assertEquals(1, statistics.getMissCount());
+		assertEquals(1, statistics.getEntryCount());
+		assertEquals(ENTRY_WEIGHT, statistics.getWeight());
+	}
+
+	@Test
+	public void ignoresRoutesWithoutTimeToLive() {
+		cache.put("/courses/1/grades", "/courses/1/grades", response(ENTRY_BYTES));
+
+		assertNull(cache.get("/courses/1/grades", "/courses/1/grades"));
+		assertEquals(0, cache.getStatistics().getStoreCount());
+	}
+
+	@Test
+	public void rejectsResponseLargerThanMainArea() {
+		cache.put(url(1), url(1), response(10 * ENTRY_WEIGHT));
+
+		assertNull(get(1));
+		assertEquals(1, cache.getStatistics().getRejectionCount());
+		assertEquals(0, cache.getStatistics().getWeight());
+	}
+
+	@Test
+	public void frequentEntriesSurviveScan() {
+		for(int i = 0; i < 9; i++) {
+			put(i);
+		}
+		for(int lookup = 0; lookup < 3; lookup++) {
+			for(int i = 0; i < 9; i++) {
+				assertNotNull(get(i));
+			}
+		}
+
+		// entries used once do not displace entries used often
+		for(int i = 100; i < 120; i++) {
+			put(i);
+		}
+
+		for(int i = 0; i < 9; i++) {
+			assertNotNull(get(i));
+		}
+		CacheStatistics statistics = cache.getStatistics();
+		assertEquals(20, statistics.getRejectionCount());
+		assertEquals(0, statistics.getEvictionCount());
+		assertEquals(9, statistics.getEntryCount());
+	}
+
+	@Test
+	public void frequentNewcomerEvictsEldestUnused() {
+		for(int i = 0; i < 9; i++) {
+			put(i);
+		}
+		for(int lookup = 0; lookup < 3; lookup++) {
+			assertNull(get(100));
+		}
+		put(100);
+
+		assertNotNull(get(100));
+		assertNull(get(0));
+		assertNotNull(get(1));
+		CacheStatistics statistics = cache.getStatistics();
+		assertEquals(1, statistics.getEvictionCount());
+		assertEquals(0, statistics.getRejectionCount());
+		assertEquals(9, statistics.getEntryCount());
+		assertEquals(9 * ENTRY_WEIGHT, statistics.getWeight());
+	}
+
+	@Test
+	public void expiresAfterTimeToLive() throws InterruptedException {
+		cache.setTimeToLive(ROUTE, 50, TimeUnit.MILLISECONDS);
+		put(1);
+		assertNotNull(get(1));
+
+		Thread.sleep(100);
+
+		assertNull(get(1));
+		assertEquals(1, cache.getStatistics().getExpirationCount());
+		assertEquals(0, cache.getStatistics().getEntryCount());
+	}
+
+	@Test
+	public void replacesAndInvalidatesEntries() {
+		put(1);
+		put(1);
+		assertEquals(1, cache.getStatistics().getEntryCount());
+		assertEquals(ENTRY_WEIGHT, cache.getStatistics().getWeight());
+
+		cache.invalidate(url(1));
+		assertNull(get(1));
+		assertEquals(0, cache.getStatistics().getWeight());
+
+		put(2);
+		cache.removeTimeToLive(ROUTE);
+		assertEquals(0, cache.getStatistics().getEntryCount());
+		assertNull(cache.getStatistics(ROUTE));
+	}
+
+	@Test
+	public void countsByRoute() {
+		cache.setTimeToLive("/users/%s", 1, TimeUnit.HOURS);
+		put(1);
+		get(1);
+		cache.get("/users/1", "/users/1");
+
+		Map<String,CacheStatistics> statistics = cache.getRouteStatistics();
+		assertEquals(1, statistics.get(ROUTE).getHitCount());
+		assertEquals(1, statistics.get(ROUTE).getEntryCount());
+		assertEquals(1, statistics.get("/users/%s").getMissCount());
+		assertEquals(0, statistics.get("/users/%s").getEntryCount());
+	}
+
+	private CachedResponse get(int course) {
+		return cache.get(url(course), url(course));
+	}
+
+	private void put(int course) {
+		cache.put(url(course), url(course), response(ENTRY_BYTES));
+	}
+
+	private static String url(int course) {
+		return "/courses/" + course + "/items";
+	}
+
+	private static CachedResponse response(int bytes) {
+		return new CachedResponse(200, "OK", Collections.<String,List<String>>emptyMap(), "application/octet-stream", null, new byte[bytes]);
+	}
+}
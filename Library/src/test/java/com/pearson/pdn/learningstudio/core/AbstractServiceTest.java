@@ -0,0 +1,522 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.pearson.pdn.learningstudio.cache.HttpCache;
+import com.pearson.pdn.learningstudio.core.AbstractService.HttpMethod;
+import com.pearson.pdn.learningstudio.oauth.OAuthServiceFactory;
+import com.pearson.pdn.learningstudio.oauth.config.OAuthConfig;
+import com.pearson.pdn.learningstudio.transport.AsyncTransport;
+import com.pearson.pdn.learningstudio.transport.PooledTransport;
+import com.pearson.pdn.learningstudio.transport.Transport;
+import com.pearson.pdn.learningstudio.transport.TransportRequest;
+import com.pearson.pdn.learningstudio.transport.TransportResponse;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+public class AbstractServiceTest {
+	private final static String TOKEN_PREFIX = "Access_Token access_token=access";
+	private final static String ETAG = "\"v1\"";
+
+	private HttpServer server;
+	private PooledTransport transport;
+	private ExecutorService callers;
+	private OAuthServiceFactory factory;
+	private AbstractService service;
+
+	private final AtomicInteger tokenRequests = new AtomicInteger();
+	private final Map<String,AtomicInteger> hits = new ConcurrentHashMap<String,AtomicInteger>();
+	private final AtomicInteger openBodies = new AtomicInteger();
+	private final AtomicBoolean slowNext = new AtomicBoolean();
+	private volatile long tokenDelayMillis;
+	// tokens issued before this one are rejected by /me
+	private volatile int minToken;
+	// rejected callers of /me wait here until all of them were rejected
+	private volatile CountDownLatch rejections;
+	private volatile boolean conditionalSent;
+
+	@Before
+	public void setUp() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.setExecutor(Executors.newCachedThreadPool());
+		server.createContext("/token", new HttpHandler() {
+			public void handle(HttpExchange exchange) throws IOException {
+				issue(exchange);
+			}
+		});
+		server.createContext("/", new HttpHandler() {
+			public void handle(HttpExchange exchange) throws IOException {
+				serve(exchange);
+			}
+		});
+		server.start();
+
+		OAuthConfig config = new OAuthConfig();
+		config.setApplicationId("app");
+		config.setApplicationName("test");
+		config.setClientString("client");
+		config.setConsumerKey("key");
+		config.setConsumerSecret("0123456789abcdef");
+
+		transport = new PooledTransport();
+		callers = Executors.newCachedThreadPool();
+		StubTransport stubTransport = new StubTransport(server.getAddress().getPort());
+		factory = new OAuthServiceFactory(config);
+		factory.setTransport(stubTransport);
+		service = new AbstractService(factory) {
+			@Override
+			protected String getServiceIdentifier() {
+				return "AbstractServiceTest";
+			}
+		};
+		service.setTransport(stubTransport);
+	}
+
+	@After
+	public void tearDown() {
+		callers.shutdownNow();
+		server.stop(0);
+		transport.shutdown();
+	}
+
+	@Test
+	public void concurrentRejectedCallersShareOneNewToken() throws Exception {
+		service.useOAuth2("user", "right");
+		service.setCoalescingEnabled(false);
+		assertEquals("access1", get("/me").getContent());
+
+		// the token is revoked while every caller holds it
+		final int count = 8;
+		minToken = 2;
+		tokenDelayMillis = 100;
+		rejections = new CountDownLatch(count);
+		List<Future<Response>> futures = new ArrayList<Future<Response>>();
+		for(int i = 0; i < count; i++) {
+			futures.add(callers.submit(new Callable<Response>() {
+				public Response call() throws IOException {
+					return get("/me");
+				}
+			}));
+		}
+
+		for(Future<Response> future : futures) {
+			Response response = future.get(5, TimeUnit.SECONDS);
+			assertEquals(200, response.getStatusCode());
+			assertEquals("access2", response.getContent());
+		}
+		assertEquals(0, rejections.getCount());
+		assertEquals(2, tokenRequests.get());
+		assertEquals(1, factory.getTokenManager().getStatistics().getInvalidations());
+		assertEquals(1 + 2 * count, hits("/me"));
+	}
+
+	// a request replayed without end never returns
+	@Test(timeout = 10000)
+	public void rejectedAgainIsNotSentAgain() throws IOException {
+		service.useOAuth2("user", "right");
+
+		Response response = get("/rejected");
+		assertEquals(401, response.getStatusCode());
+		assertEquals(2, hits("/rejected"));
+		assertEquals(2, tokenRequests.get());
+		assertEquals(0, openBodies.get());
+	}
+
+	@Test
+	public void rejectedOAuth1IsNotSentAgain() throws IOException {
+		service.useOAuth1();
+
+		assertEquals(401, get("/rejected").getStatusCode());
+		assertEquals(1, hits("/rejected"));
+		assertEquals(0, tokenRequests.get());
+	}
+
+	@Test
+	public void retryWaitsForRetryAfter() throws IOException {
+		service.useOAuth1();
+		RetryPolicy retryPolicy = new RetryPolicy();
+		retryPolicy.setBaseDelayMillis(10);
+		service.setRetryPolicy(retryPolicy);
+
+		long start = System.currentTimeMillis();
+		Response response = get("/busy");
+		assertEquals(200, response.getStatusCode());
+		assertEquals("ready", response.getContent());
+		assertTrue(System.currentTimeMillis() - start >= 900);
+		assertEquals(2, hits("/busy"));
+		assertEquals(1, retryPolicy.getStatistics().getRetries());
+		assertEquals(1, retryPolicy.getStatistics().getRecovered());
+	}
+
+	@Test
+	public void retryAfterBeyondMaxDelayIsNotAwaited() throws IOException {
+		service.useOAuth1();
+		RetryPolicy retryPolicy = new RetryPolicy();
+		retryPolicy.setMaxDelayMillis(500);
+		service.setRetryPolicy(retryPolicy);
+
+		assertEquals(503, get("/busy").getStatusCode());
+		assertEquals(1, hits("/busy"));
+		assertEquals(0, retryPolicy.getStatistics().getRetries());
+	}
+
+	@Test
+	public void spentBudgetStopsRetries() throws IOException {
+		service.useOAuth1();
+		RetryPolicy retryPolicy = new RetryPolicy();
+		retryPolicy.setBaseDelayMillis(10);
+		retryPolicy.setBudgetRatio(0);
+		retryPolicy.setMinRetriesPerWindow(1);
+		service.setRetryPolicy(retryPolicy);
+
+		// the first request spends the only retry of the window
+		assertEquals(503, get("/unavailable").getStatusCode());
+		assertEquals(2, hits("/unavailable"));
+
+		assertEquals(503, get("/unavailable").getStatusCode());
+		assertEquals(3, hits("/unavailable"));
+		assertEquals(1, retryPolicy.getStatistics().getRetries());
+		assertEquals(2, retryPolicy.getStatistics().getBudgetExhausted());
+	}
+
+	@Test
+	public void hedgeWinsAndLosingResponseIsClosed() throws Exception {
+		service.useOAuth1();
+		service.setStreamingMode(true);
+		HedgePolicy hedgePolicy = new HedgePolicy();
+		hedgePolicy.setMinSamples(4);
+		hedgePolicy.setMinDelayMillis(50);
+		hedgePolicy.setMaxHedgeRatio(1);
+		service.setHedgePolicy(hedgePolicy);
+
+		for(int i = 0; i < 4; i++) {
+			Response response = get("/hedged");
+			assertEquals("fast", read(response.getBodyStream()));
+			response.close();
+		}
+		assertEquals(0, hedgePolicy.getStatistics().getHedged());
+
+		slowNext.set(true);
+		long start = System.currentTimeMillis();
+		Response response = get("/hedged");
+		assertTrue(System.currentTimeMillis() - start < 900);
+		assertEquals("fast", read(response.getBodyStream()));
+		response.close();
+		assertEquals(1, hedgePolicy.getStatistics().getHedged());
+		assertEquals(1, hedgePolicy.getStatistics().getWon());
+		assertEquals(6, hits("/hedged"));
+
+		// the slow copy answers after the race was decided and is closed unread
+		long end = System.currentTimeMillis() + 3000;
+		while(openBodies.get() > 0 && System.currentTimeMillis() < end) {
+			Thread.sleep(20);
+		}
+		assertEquals(0, openBodies.get());
+	}
+
+	@Test
+	public void notModifiedIsServedFromCache() throws IOException {
+		service.useOAuth1();
+		HttpCache httpCache = new HttpCache();
+		service.setHttpCache(httpCache);
+
+		Response first = get("/cached");
+		assertEquals("cached", first.getContent());
+		assertFalse(first.isFromCache());
+		assertFalse(conditionalSent);
+
+		Response second = get("/cached");
+		assertTrue(conditionalSent);
+		assertEquals(200, second.getStatusCode());
+		assertEquals("cached", second.getContent());
+		assertEquals(ETAG, second.getHeader("ETag"));
+		assertTrue(second.isFromCache());
+		assertEquals(2, hits("/cached"));
+		assertEquals(1, httpCache.getNotModifiedCount());
+		assertEquals(0, openBodies.get());
+	}
+
+	@Test
+	public void identicalCallsAreCoalesced() throws Exception {
+		service.useOAuth1();
+		slowNext.set(true);
+		List<Future<Response>> futures = new ArrayList<Future<Response>>();
+		for(int i = 0; i < 4; i++) {
+			futures.add(callers.submit(new Callable<Response>() {
+				public Response call() throws IOException {
+					return get("/hedged");
+				}
+			}));
+		}
+
+		for(Future<Response> future : futures) {
+			assertEquals("slow", future.get(5, TimeUnit.SECONDS).getContent());
+		}
+		assertEquals(1, hits("/hedged"));
+	}
+
+	// a request replayed without end never returns
+	@Test(timeout = 10000)
+	public void asyncRejectedCallIsSentOnceMoreWithNewToken() throws Exception {
+		service.useOAuth2("user", "right");
+		assertEquals("access1", service.doMethodAsync(HttpMethod.GET, "/me", (String) null).get(5, TimeUnit.SECONDS).getContent());
+
+		minToken = 2;
+		assertEquals("access2", service.doMethodAsync(HttpMethod.GET, "/me", (String) null).get(5, TimeUnit.SECONDS).getContent());
+		assertEquals(3, hits("/me"));
+
+		assertEquals(401, service.doMethodAsync(HttpMethod.GET, "/rejected", (String) null).get(5, TimeUnit.SECONDS).getStatusCode());
+		assertEquals(2, hits("/rejected"));
+		assertEquals(3, tokenRequests.get());
+		assertEquals(0, openBodies.get());
+	}
+
+	@Test
+	public void authViewsUseTheirOwnTokens() throws Exception {
+		AbstractService alice = service.withAuth(AuthContext.oauth2("alice", "right"));
+		AbstractService bob = service.withAuth(AuthContext.oauth2("bob", "right"));
+
+		CompletableFuture<Response> aliceResponse = alice.doMethodAsync(HttpMethod.GET, "/me", (String) null);
+		CompletableFuture<Response> bobResponse = bob.doMethodAsync(HttpMethod.GET, "/me", (String) null);
+		String aliceToken = aliceResponse.get(5, TimeUnit.SECONDS).getContent();
+		String bobToken = bobResponse.get(5, TimeUnit.SECONDS).getContent();
+
+		assertFalse(aliceToken.equals(bobToken));
+		assertEquals(aliceToken, alice.doMethod(HttpMethod.GET, "/me", (String) null).getContent());
+		assertEquals(bobToken, bob.doMethod(HttpMethod.GET, "/me", (String) null).getContent());
+		assertEquals(2, tokenRequests.get());
+
+		// the views did not change the identity of the service
+		try {
+			get("/me");
+			fail("The service should have no authentication method");
+		}
+		catch(RuntimeException e) {
+			// expected
+		}
+	}
+
+	private Response get(String path) throws IOException {
+		return service.doMethod(HttpMethod.GET, path, (String) null);
+	}
+
+	private int hits(String path) {
+		AtomicInteger count = hits.get(path);
+		return count == null ? 0 : count.get();
+	}
+
+	/**
+	 * Issues a token of an hour for any credentials
+	 */
+	private void issue(HttpExchange exchange) throws IOException {
+		try {
+			read(exchange.getRequestBody());
+			Thread.sleep(tokenDelayMillis);
+			int token = tokenRequests.incrementAndGet();
+			byte[] body = ("{\"access_token\":\"access" + token + "\",\"expires_in\":\"3600\",\"refresh_token\":\"refresh" + token + "\"}").getBytes("UTF-8");
+			exchange.getResponseHeaders().add("Content-Type", "application/json");
+			exchange.sendResponseHeaders(200, body.length);
+			exchange.getResponseBody().write(body);
+		}
+		catch(InterruptedException e) {
+			exchange.sendResponseHeaders(503, -1);
+		}
+		finally {
+			exchange.close();
+		}
+	}
+
+	private void serve(HttpExchange exchange) throws IOException {
+		try {
+			String path = exchange.getRequestURI().getPath();
+			AtomicInteger count = hits.get(path);
+			if(count == null) {
+				AtomicInteger created = new AtomicInteger();
+				count = hits.putIfAbsent(path, created);
+				if(count == null) {
+					count = created;
+				}
+			}
+			int hit = count.incrementAndGet();
+			// an unread request makes the server close the connection after an empty response
+			exchange.getRequestBody().close();
+
+			if(path.equals("/me")) {
+				String authorization = exchange.getRequestHeaders().getFirst("X-Authorization");
+				int token = Integer.parseInt(authorization.substring(TOKEN_PREFIX.length()));
+				if(token < minToken) {
+					CountDownLatch rejections = this.rejections;
+					if(rejections != null) {
+						rejections.countDown();
+						rejections.await(2, TimeUnit.SECONDS);
+					}
+					exchange.sendResponseHeaders(401, -1);
+					return;
+				}
+				send(exchange, "access" + token);
+			}
+			else if(path.equals("/rejected")) {
+				exchange.sendResponseHeaders(401, -1);
+			}
+			else if(path.equals("/busy")) {
+				if(hit == 1) {
+					exchange.getResponseHeaders().add("Retry-After", "1");
+					exchange.sendResponseHeaders(503, -1);
+					return;
+				}
+				send(exchange, "ready");
+			}
+			else if(path.equals("/unavailable")) {
+				exchange.sendResponseHeaders(503, -1);
+			}
+			else if(path.equals("/hedged")) {
+				if(slowNext.getAndSet(false)) {
+					Thread.sleep(1000);
+					send(exchange, "slow");
+					return;
+				}
+				send(exchange, "fast");
+			}
+			else if(path.equals("/cached")) {
+				exchange.getResponseHeaders().add("ETag", ETAG);
+				if(ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+					conditionalSent = true;
+					exchange.sendResponseHeaders(304, -1);
+					return;
+				}
+				send(exchange, "cached");
+			}
+			else {
+				exchange.sendResponseHeaders(404, -1);
+			}
+		}
+		catch(InterruptedException e) {
+			exchange.sendResponseHeaders(503, -1);
+		}
+		finally {
+			exchange.close();
+		}
+	}
+
+	private static void send(HttpExchange exchange, String content) throws IOException {
+		byte[] body = content.getBytes("UTF-8");
+		exchange.getResponseHeaders().add("Content-Type", "text/plain");
+		exchange.sendResponseHeaders(200, body.length);
+		exchange.getResponseBody().write(body);
+	}
+
+	private static String read(InputStream in) throws IOException {
+		ByteArrayOutputStream content = new ByteArrayOutputStream();
+		byte[] buffer = new byte[1024];
+		int count;
+		while((count = in.read(buffer)) != -1) {
+			content.write(buffer, 0, count);
+		}
+		return content.toString("UTF-8");
+	}
+
+	/**
+	 * Sends every request to the stub server, counting the bodies left open.
+	 * Asynchronous requests run on the callers of the test.
+	 */
+	private class StubTransport implements AsyncTransport {
+		private final int port;
+
+		StubTransport(int port) {
+			this.port = port;
+		}
+
+		public TransportResponse execute(TransportRequest request) throws IOException {
+			request.setUrl(new URL("http://127.0.0.1:" + port + request.getUrl().getFile()));
+			TransportResponse response = transport.execute(request);
+			openBodies.incrementAndGet();
+			response.setBody(new FilterInputStream(response.getBody()) {
+				private boolean closed;
+
+				@Override
+				public void close() throws IOException {
+					if(!closed) {
+						closed = true;
+						openBodies.decrementAndGet();
+					}
+					super.close();
+				}
+			});
+			return response;
+		}
+
+		public CompletableFuture<TransportResponse> executeAsync(final TransportRequest request) {
+			final CompletableFuture<TransportResponse> future = new CompletableFuture<TransportResponse>();
+			callers.execute(new Runnable() {
+				public void run() {
+					try {
+						future.complete(execute(request));
+					}
+					catch(Throwable t) {
+						future.completeExceptionally(t);
+					}
+				}
+			});
+			return future;
+		}
+
+		public void shutdown() {
+			transport.shutdown();
+		}
+	}
+}
@@ -0,0 +1,216 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BatchExecutorTest {
+	private ExecutorService pool;
+	private BatchExecutor batchExecutor;
+
+	@Before
+	public void setUp() {
+		pool = Executors.newCachedThreadPool();
+		batchExecutor = new BatchExecutor();
+		batchExecutor.setExecutor(pool);
+	}
+
+	@After
+	public void tearDown() {
+		pool.shutdownNow();
+	}
+
+	@Test
+	public void returnsResultsInOperationOrder() throws IOException {
+		List<BatchOperation> operations = new ArrayList<BatchOperation>();
+		for(int i = 0; i < 10; i++) {
+			// later operations finish first
+			operations.add(new BatchOperation(call(200 + i, (10 - i) * 10)));
+		}
+
+		List<BatchResult> results = batchExecutor.execute(operations);
+
+		assertEquals(10, results.size());
+		for(int i = 0; i < 10; i++) {
+			assertEquals(i, results.get(i).getIndex());
+			assertEquals(200 + i, results.get(i).getStatusCode());
+			assertTrue(results.get(i).isSuccess());
+		}
+	}
+
+	@Test
+	public void boundsConcurrencyOverallAndPerKey() throws IOException {
+		batchExecutor.setMaxConcurrency(4);
+		batchExecutor.setMaxConcurrencyPerKey(2);
+
+		final AtomicInteger running = new AtomicInteger();
+		final AtomicInteger maxRunning = new AtomicInteger();
+		final Map<String,AtomicInteger> runningByKey = new ConcurrentHashMap<String,AtomicInteger>();
+		final Map<String,AtomicInteger> maxRunningByKey = new ConcurrentHashMap<String,AtomicInteger>();
+		List<BatchOperation> operations = new ArrayList<BatchOperation>();
+		for(int i = 0; i < 30; i++) {
+			final String key = "host" + (i % 3);
+			runningByKey.put(key, new AtomicInteger());
+			maxRunningByKey.put(key, new AtomicInteger());
+			operations.add(new BatchOperation(key, new Callable<Response>() {
+				public Response call() throws Exception {
+					track(running, maxRunning, 1);
+					track(runningByKey.get(key), maxRunningByKey.get(key), 1);
+					Thread.sleep(10);
+					track(runningByKey.get(key), maxRunningByKey.get(key), -1);
+					track(running, maxRunning, -1);
+					return response(200);
+				}
+			}));
+		}
+
+		List<BatchResult> results = batchExecutor.execute(operations);
+
+		assertEquals(30, results.size());
+		assertTrue(maxRunning.get() <= 4);
+		for(AtomicInteger max : maxRunningByKey.values()) {
+			assertTrue(max.get() <= 2);
+		}
+	}
+
+	@Test
+	public void keysTakeTurns() throws IOException {
+		batchExecutor.setMaxConcurrency(1);
+		final List<String> started = new ArrayList<String>();
+		List<BatchOperation> operations = new ArrayList<BatchOperation>();
+		String[] keys = { "a", "a", "a", "a", "b", "b", "c" };
+		for(final String key : keys) {
+			operations.add(new BatchOperation(key, new Callable<Response>() {
+				public Response call() {
+					synchronized(started) {
+						started.add(key);
+					}
+					return response(200);
+				}
+			}));
+		}
+
+		batchExecutor.execute(operations);
+
+		assertEquals(Arrays.asList("a", "b", "c", "a", "b", "a", "a"), started);
+	}
+
+	@Test
+	public void capturesFailuresWithoutStoppingOthers() throws IOException {
+		final IOException failure = new IOException("failed");
+		List<BatchOperation> operations = new ArrayList<BatchOperation>();
+		operations.add(new BatchOperation(call(200, 0)));
+		operations.add(new BatchOperation(new Callable<Response>() {
+			public Response call() throws Exception {
+				throw failure;
+			}
+		}));
+		operations.add(new BatchOperation(call(500, 0)));
+
+		List<BatchResult> results = batchExecutor.execute(operations);
+
+		assertTrue(results.get(0).isSuccess());
+		assertFalse(results.get(1).isSuccess());
+		assertEquals(failure, results.get(1).getFailure());
+		assertEquals(-1, results.get(1).getStatusCode());
+		assertFalse(results.get(2).isSuccess());
+		assertEquals(500, results.get(2).getStatusCode());
+		assertNull(results.get(2).getFailure());
+	}
+
+	@Test
+	public void failsOperationsRejectedByExecutor() throws IOException {
+		batchExecutor.setMaxConcurrency(2);
+		batchExecutor.setExecutor(new Executor() {
+			public void execute(Runnable command) {
+				throw new RejectedExecutionException("full");
+			}
+		});
+		List<BatchOperation> operations = new ArrayList<BatchOperation>();
+		for(int i = 0; i < 5; i++) {
+			operations.add(new BatchOperation(call(200, 0)));
+		}
+
+		List<BatchResult> results = batchExecutor.execute(operations);
+
+		assertEquals(5, results.size());
+		for(BatchResult result : results) {
+			assertTrue(result.getFailure() instanceof RejectedExecutionException);
+		}
+	}
+
+	@Test
+	public void completesEmptyBatch() throws IOException {
+		assertTrue(batchExecutor.execute(new ArrayList<BatchOperation>()).isEmpty());
+	}
+
+	private static void track(AtomicInteger counter, AtomicInteger max, int delta) {
+		int value = counter.addAndGet(delta);
+		while(true) {
+			int current = max.get();
+			if(value <= current || max.compareAndSet(current, value)) {
+				return;
+			}
+		}
+	}
+
+	private static Callable<Response> call(final int statusCode, final long sleepMillis) {
+		return new Callable<Response>() {
+			public Response call() throws Exception {
+				Thread.sleep(sleepMillis);
+				return response(statusCode);
+			}
+		};
+	}
+
+	private static Response response(int statusCode) {
+		Response response = new Response();
+		response.setStatusCode(statusCode);
+		return response;
+	}
+}
@@ -0,0 +1,218 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.pearson.pdn.learningstudio.core.AbstractService.HttpMethod;
+import com.pearson.pdn.learningstudio.oauth.OAuthServiceFactory;
+import com.pearson.pdn.learningstudio.oauth.config.OAuthConfig;
+import com.pearson.pdn.learningstudio.transport.PooledTransport;
+import com.pearson.pdn.learningstudio.transport.Transport;
+import com.pearson.pdn.learningstudio.transport.TransportRequest;
+import com.pearson.pdn.learningstudio.transport.TransportResponse;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+public class ContentDecodingTest {
+	private final static String CONTENT;
+	static {
+		StringBuilder content = new StringBuilder("{\"items\":[");
+		for(int i = 0; i < 500; i++) {
+			content.append(i == 0 ? "" : ",").append("{\"id\":").append(i).append(",\"name\":\"item\"}");
+		}
+		CONTENT = content.append("]}").toString();
+	}
+
+	private HttpServer server;
+	private PooledTransport transport;
+	private AbstractService service;
+
+	// encoded bodies by path, answered with the Content-Encoding of the path
+	private final Map<String,byte[]> bodies = new ConcurrentHashMap<String,byte[]>();
+	private final AtomicInteger openBodies = new AtomicInteger();
+
+	@Before
+	public void setUp() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.setExecutor(Executors.newCachedThreadPool());
+		server.createContext("/", new HttpHandler() {
+			public void handle(HttpExchange exchange) throws IOException {
+				serve(exchange);
+			}
+		});
+		server.start();
+
+		OAuthConfig config = new OAuthConfig();
+		config.setApplicationId("app");
+		config.setApplicationName("test");
+		config.setClientString("client");
+		config.setConsumerKey("key");
+		config.setConsumerSecret("0123456789abcdef");
+
+		transport = new PooledTransport();
+		final int port = server.getAddress().getPort();
+		service = new AbstractService(new OAuthServiceFactory(config)) {
+			@Override
+			protected String getServiceIdentifier() {
+				return "ContentDecodingTest";
+			}
+		};
+		service.setTransport(new Transport() {
+			public TransportResponse execute(TransportRequest request) throws IOException {
+				request.setUrl(new URL("http://127.0.0.1:" + port + request.getUrl().getFile()));
+				TransportResponse response = transport.execute(request);
+				openBodies.incrementAndGet();
+				response.setBody(new FilterInputStream(response.getBody()) {
+					private boolean closed;
+
+					@Override
+					public void close() throws IOException {
+						if(!closed) {
+							closed = true;
+							openBodies.decrementAndGet();
+						}
+						super.close();
+					}
+				});
+				return response;
+			}
+
+			public void shutdown() {
+				transport.shutdown();
+			}
+		});
+		service.useOAuth1();
+	}
+
+	@After
+	public void tearDown() {
+		server.stop(0);
+		transport.shutdown();
+	}
+
+	@Test
+	public void decodesGzip() throws IOException {
+		bodies.put("/gzip", gzip(CONTENT));
+		assertDecoded("/gzip");
+	}
+
+	@Test
+	public void decodesZlibDeflate() throws IOException {
+		bodies.put("/deflate", deflate(CONTENT, false));
+		assertDecoded("/deflate");
+	}
+
+	@Test
+	public void decodesRawDeflate() throws IOException {
+		bodies.put("/deflate", deflate(CONTENT, true));
+		assertDecoded("/deflate");
+	}
+
+	@Test
+	public void emptyEncodedBodiesAreNotDecoded() throws IOException {
+		for(String path : new String[] { "/gzip/204", "/deflate/304" }) {
+			Response response = service.doMethod(HttpMethod.GET, path, (String) null);
+			assertEquals(path.endsWith("204") ? 204 : 304, response.getStatusCode());
+			assertEquals(0, response.getWireByteCount());
+			assertEquals(0, response.getDecodedByteCount());
+		}
+		assertEquals(0, openBodies.get());
+	}
+
+	private void assertDecoded(String path) throws IOException {
+		for(int i = 0; i < 2; i++) {
+			Response response = service.doMethod(HttpMethod.GET, path, (String) null);
+			assertEquals(CONTENT, response.getContent());
+			assertEquals(bodies.get(path).length, response.getWireByteCount());
+			assertEquals(CONTENT.getBytes("UTF-8").length, response.getDecodedByteCount());
+			assertTrue(response.getWireByteCount() < response.getDecodedByteCount());
+		}
+		// closing the decoder closes the body underneath, and with it the inflater
+		assertEquals(0, openBodies.get());
+		// the fully read body left the connection reusable
+		assertEquals(1, transport.getStatistics().getReused());
+	}
+
+	private void serve(HttpExchange exchange) throws IOException {
+		try {
+			String path = exchange.getRequestURI().getPath();
+			exchange.getResponseHeaders().add("Content-Encoding", path.startsWith("/gzip") ? "gzip" : "deflate");
+			if(path.endsWith("/204") || path.endsWith("/304")) {
+				exchange.sendResponseHeaders(Integer.parseInt(path.substring(path.length() - 3)), -1);
+				return;
+			}
+
+			byte[] body = bodies.get(path);
+			exchange.getResponseHeaders().add("Content-Type", "application/json");
+			exchange.sendResponseHeaders(200, body.length);
+			exchange.getResponseBody().write(body);
+		}
+		finally {
+			exchange.close();
+		}
+	}
+
+	private static byte[] gzip(String content) throws IOException {
+		ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+		OutputStream out = new GZIPOutputStream(encoded);
+		out.write(content.getBytes("UTF-8"));
+		out.close();
+		return encoded.toByteArray();
+	}
+
+	private static byte[] deflate(String content, boolean raw) throws IOException {
+		ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+		Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, raw);
+		OutputStream out = new DeflaterOutputStream(encoded, deflater);
+		out.write(content.getBytes("UTF-8"));
+		out.close();
+		deflater.end();
+		return encoded.toByteArray();
+	}
+}
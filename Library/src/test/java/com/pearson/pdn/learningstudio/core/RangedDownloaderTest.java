@@ -0,0 +1,305 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.core;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.pearson.pdn.learningstudio.oauth.OAuthServiceFactory;
+import com.pearson.pdn.learningstudio.oauth.config.OAuthConfig;
+import com.pearson.pdn.learningstudio.transport.PooledTransport;
+import com.pearson.pdn.learningstudio.transport.Transport;
+import com.pearson.pdn.learningstudio.transport.TransportRequest;
+import com.pearson.pdn.learningstudio.transport.TransportResponse;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+public class RangedDownloaderTest {
+	private final static Pattern RANGE = Pattern.compile("bytes=(\\d+)-(\\d+)");
+	private final static int CHUNK_SIZE = 16 * 1024;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private HttpServer server;
+	private PooledTransport transport;
+	private AbstractService service;
+
+	private volatile byte[] document;
+	private final List<Long> rangeStarts = new ArrayList<Long>();
+	// start of a range answered with only half its bytes, once
+	private volatile long truncateStart = -1;
+	// start of a range always answered with 500
+	private volatile long failStart = -1;
+	private volatile boolean weakETag;
+	private volatile boolean ifRangeSent;
+
+	@Before
+	public void setUp() throws IOException {
+		document = new byte[5 * CHUNK_SIZE + 123];
+		new Random(42).nextBytes(document);
+
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.setExecutor(Executors.newCachedThreadPool());
+		server.createContext("/", new HttpHandler() {
+			public void handle(HttpExchange exchange) throws IOException {
+				serve(exchange);
+			}
+		});
+		server.start();
+
+		OAuthConfig config = new OAuthConfig();
+		config.setApplicationId("app");
+		config.setApplicationName("test");
+		config.setClientString("client");
+		config.setConsumerKey("key");
+		config.setConsumerSecret("0123456789abcdef");
+
+		transport = new PooledTransport();
+		final int port = server.getAddress().getPort();
+		service = new AbstractService(new OAuthServiceFactory(config)) {
+			@Override
+			protected String getServiceIdentifier() {
+				return "RangedDownloaderTest";
+			}
+		};
+		service.setTransport(new Transport() {
+			public TransportResponse execute(TransportRequest request) throws IOException {
+				request.setUrl(new URL("http://127.0.0.1:" + port + request.getUrl().getFile()));
+				return transport.execute(request);
+			}
+
+			public void shutdown() {
+				transport.shutdown();
+			}
+		});
+		service.useOAuth1();
+	}
+
+	@After
+	public void tearDown() {
+		server.stop(0);
+		transport.shutdown();
+	}
+
+	@Test
+	public void downloadsAllRanges() throws IOException {
+		Path path = folder.getRoot().toPath().resolve("document");
+		Response response = downloader().download("/document", path);
+
+		assertEquals(200, response.getStatusCode());
+		assertArrayEquals(document, Files.readAllBytes(path));
+		assertFalse(Files.exists(progressPath(path)));
+	}
+
+	@Test
+	public void interruptedRangeContinuesFromLastByteWritten() throws IOException {
+		truncateStart = 2 * CHUNK_SIZE;
+		Path path = folder.getRoot().toPath().resolve("document");
+		downloader().download("/document", path);
+
+		assertArrayEquals(document, Files.readAllBytes(path));
+		synchronized(rangeStarts) {
+			assertTrue(rangeStarts.contains(2L * CHUNK_SIZE + CHUNK_SIZE / 2));
+			assertEquals(1, count(rangeStarts, 2L * CHUNK_SIZE));
+		}
+	}
+
+	@Test
+	public void resumesWithMissingRanges() throws IOException {
+		failStart = 3 * CHUNK_SIZE;
+		Path path = folder.getRoot().toPath().resolve("document");
+		RangedDownloader downloader = downloader();
+		downloader.setMaxAttempts(1);
+		try {
+			downloader.download("/document", path);
+			fail("Download should fail while a range is refused");
+		}
+		catch(IOException e) {
+			// expected
+		}
+		assertTrue(Files.exists(progressPath(path)));
+
+		failStart = -1;
+		synchronized(rangeStarts) {
+			rangeStarts.clear();
+		}
+		downloader.download("/document", path);
+
+		assertArrayEquals(document, Files.readAllBytes(path));
+		assertFalse(Files.exists(progressPath(path)));
+		synchronized(rangeStarts) {
+			// the probe, the refused range and any range the failure stopped
+			assertTrue(rangeStarts.size() < 6);
+			assertEquals(1, count(rangeStarts, 3L * CHUNK_SIZE));
+		}
+	}
+
+	@Test
+	public void changedDocumentStartsOver() throws IOException {
+		failStart = 3 * CHUNK_SIZE;
+		Path path = folder.getRoot().toPath().resolve("document");
+		RangedDownloader downloader = downloader();
+		downloader.setMaxAttempts(1);
+		try {
+			downloader.download("/document", path);
+			fail("Download should fail while a range is refused");
+		}
+		catch(IOException e) {
+			// expected
+		}
+
+		failStart = -1;
+		byte[] changed = new byte[document.length];
+		new Random(7).nextBytes(changed);
+		document = changed;
+		downloader.download("/document", path);
+
+		assertArrayEquals(changed, Files.readAllBytes(path));
+	}
+
+	@Test
+	public void weakETagIsNotSentInIfRange() throws IOException {
+		weakETag = true;
+		Path path = folder.getRoot().toPath().resolve("document");
+		Response response = downloader().download("/document", path);
+
+		assertEquals(200, response.getStatusCode());
+		assertArrayEquals(document, Files.readAllBytes(path));
+		assertFalse(ifRangeSent);
+		assertTrue(rangeStarts.size() > 1);
+	}
+
+	@Test
+	public void downloadsEmptyDocument() throws IOException {
+		document = new byte[0];
+		Path path = folder.getRoot().toPath().resolve("document");
+		Files.write(path, new byte[] { 1, 2, 3 });
+
+		Response response = downloader().download("/document", path);
+
+		assertEquals(200, response.getStatusCode());
+		assertEquals(0, Files.size(path));
+	}
+
+	private RangedDownloader downloader() {
+		RangedDownloader downloader = new RangedDownloader(service);
+		downloader.setChunkSize(CHUNK_SIZE);
+		downloader.setParallelism(2);
+		return downloader;
+	}
+
+	private void serve(HttpExchange exchange) throws IOException {
+		try {
+			byte[] document = this.document;
+			String etag = (weakETag ? "W/" : "") + "\"" + System.identityHashCode(document) + "\"";
+			exchange.getResponseHeaders().add("ETag", etag);
+
+			String range = exchange.getRequestHeaders().getFirst("Range");
+			String ifRange = exchange.getRequestHeaders().getFirst("If-Range");
+			if(ifRange != null) {
+				ifRangeSent = true;
+			}
+			Matcher matcher = range == null ? null : RANGE.matcher(range);
+			// a weak validator in If-Range never matches (RFC 7233)
+			if(matcher == null || !matcher.matches() || (ifRange != null && (ifRange.startsWith("W/") || !ifRange.equals(etag)))) {
+				exchange.sendResponseHeaders(200, document.length == 0 ? -1 : document.length);
+				exchange.getResponseBody().write(document);
+				return;
+			}
+
+			long start = Long.parseLong(matcher.group(1));
+			long end = Math.min(document.length - 1, Long.parseLong(matcher.group(2)));
+			synchronized(rangeStarts) {
+				rangeStarts.add(start);
+			}
+			if(start >= document.length) {
+				exchange.getResponseHeaders().add("Content-Range", "bytes */" + document.length);
+				exchange.sendResponseHeaders(416, -1);
+				return;
+			}
+			if(start == failStart) {
+				exchange.sendResponseHeaders(500, -1);
+				return;
+			}
+
+			int length = (int) (end - start + 1);
+			exchange.getResponseHeaders().add("Content-Range", "bytes " + start + "-" + end + "/" + document.length);
+			exchange.sendResponseHeaders(206, length);
+			OutputStream out = exchange.getResponseBody();
+			if(start == truncateStart) {
+				truncateStart = -1;
+				// closing short of the declared length drops the connection
+				out.write(document, (int) start, length / 2);
+				out.flush();
+				return;
+			}
+			out.write(document, (int) start, length);
+		}
+		finally {
+			exchange.close();
+		}
+	}
+
+	private static int count(List<Long> values, long value) {
+		int count = 0;
+		for(Long v : values) {
+			if(v == value) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private static Path progressPath(Path path) {
+		return path.resolveSibling(path.getFileName().toString() + ".ranges");
+	}
+}
@@ -0,0 +1,220 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SingleFlightTest {
+	private SingleFlight singleFlight;
+	private ExecutorService callers;
+	private final AtomicInteger calls = new AtomicInteger();
+
+	@Before
+	public void setUp() {
+		singleFlight = new SingleFlight();
+		callers = Executors.newCachedThreadPool();
+	}
+
+	@After
+	public void tearDown() {
+		callers.shutdownNow();
+	}
+
+	@Test
+	public void waitingCallerGetsFailureAsThrown() throws Exception {
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final SocketTimeoutException failure = new SocketTimeoutException("Read timed out");
+		Future<Response> leader = callers.submit(new Callable<Response>() {
+			public Response call() throws IOException {
+				return singleFlight.execute("key", null, new Callable<Response>() {
+					public Response call() throws Exception {
+						calls.incrementAndGet();
+						started.countDown();
+						release.await();
+						throw failure;
+					}
+				});
+			}
+		});
+		started.await();
+
+		Future<Response> follower = callers.submit(new Callable<Response>() {
+			public Response call() throws IOException {
+				return singleFlight.execute("key", null, response("follower"));
+			}
+		});
+		Thread.sleep(100);
+		release.countDown();
+
+		assertSame(failure, cause(leader));
+		assertSame(failure, cause(follower));
+		assertEquals(1, calls.get());
+	}
+
+	@Test
+	public void waitingCallerRetriesWhenLeaderRanOutOfTime() throws Exception {
+		final CountDownLatch started = new CountDownLatch(1);
+		final Deadline shortDeadline = Deadline.after(100, TimeUnit.MILLISECONDS);
+		Future<Response> leader = callers.submit(new Callable<Response>() {
+			public Response call() throws IOException {
+				return singleFlight.execute("key", shortDeadline, new Callable<Response>() {
+					public Response call() throws Exception {
+						calls.incrementAndGet();
+						started.countDown();
+						Thread.sleep(200);
+						throw new DeadlineExceededException("Deadline exceeded");
+					}
+				});
+			}
+		});
+		started.await();
+
+		Future<Response> follower = callers.submit(new Callable<Response>() {
+			public Response call() throws IOException {
+				return singleFlight.execute("key", null, response("follower"));
+			}
+		});
+
+		assertTrue(cause(leader) instanceof DeadlineExceededException);
+		assertEquals("follower", follower.get().getContent());
+		assertEquals(2, calls.get());
+	}
+
+	@Test
+	public void asyncWaitingCallerRetriesWhenLeaderRanOutOfTime() throws Exception {
+		final CompletableFuture<Response> leaderCall = new CompletableFuture<Response>();
+		CompletableFuture<Response> leader = singleFlight.executeAsync("key", Deadline.after(50, TimeUnit.MILLISECONDS), new Callable<CompletableFuture<Response>>() {
+			public CompletableFuture<Response> call() {
+				calls.incrementAndGet();
+				return leaderCall;
+			}
+		});
+
+		CompletableFuture<Response> follower = singleFlight.executeAsync("key", null, asyncResponse("follower"));
+		Thread.sleep(100);
+		leaderCall.completeExceptionally(new SocketTimeoutException("Read timed out"));
+
+		assertTrue(cause(leader) instanceof SocketTimeoutException);
+		assertEquals("follower", follower.get(1, TimeUnit.SECONDS).getContent());
+		assertEquals(2, calls.get());
+	}
+
+	@Test
+	public void asyncWaitIsBoundedByDeadline() throws Exception {
+		final CompletableFuture<Response> leaderCall = new CompletableFuture<Response>();
+		singleFlight.executeAsync("key", null, new Callable<CompletableFuture<Response>>() {
+			public CompletableFuture<Response> call() {
+				return leaderCall;
+			}
+		});
+
+		long start = System.currentTimeMillis();
+		CompletableFuture<Response> follower = singleFlight.executeAsync("key", Deadline.after(100, TimeUnit.MILLISECONDS), asyncResponse("follower"));
+		assertTrue(cause(follower) instanceof DeadlineExceededException);
+		assertTrue(System.currentTimeMillis() - start < 1000);
+
+		leaderCall.complete(newResponse("leader"));
+	}
+
+	@Test
+	public void asyncWaitingCallerGetsCopy() throws Exception {
+		final CompletableFuture<Response> leaderCall = new CompletableFuture<Response>();
+		CompletableFuture<Response> leader = singleFlight.executeAsync("key", null, new Callable<CompletableFuture<Response>>() {
+			public CompletableFuture<Response> call() {
+				calls.incrementAndGet();
+				return leaderCall;
+			}
+		});
+		CompletableFuture<Response> follower = singleFlight.executeAsync("key", null, asyncResponse("follower"));
+		leaderCall.complete(newResponse("leader"));
+
+		assertEquals("leader", leader.get().getContent());
+		assertEquals("leader", follower.get().getContent());
+		assertTrue(leader.get() != follower.get());
+		assertEquals(1, calls.get());
+	}
+
+	private Callable<Response> response(final String content) {
+		return new Callable<Response>() {
+			public Response call() {
+				calls.incrementAndGet();
+				return newResponse(content);
+			}
+		};
+	}
+
+	private Callable<CompletableFuture<Response>> asyncResponse(final String content) {
+		return new Callable<CompletableFuture<Response>>() {
+			public CompletableFuture<Response> call() {
+				calls.incrementAndGet();
+				return CompletableFuture.completedFuture(newResponse(content));
+			}
+		};
+	}
+
+	private static Response newResponse(String content) {
+		Response response = new Response();
+		response.setStatusCode(200);
+		response.setContent(content);
+		return response;
+	}
+
+	/**
+	 * Failure of a call, waiting no longer than a second
+	 */
+	private static Throwable cause(Future<Response> future) throws Exception {
+		try {
+			future.get(1, TimeUnit.SECONDS);
+		}
+		catch(ExecutionException e) {
+			return e.getCause();
+		}
+		fail("The call should fail");
+		return null;
+	}
+}
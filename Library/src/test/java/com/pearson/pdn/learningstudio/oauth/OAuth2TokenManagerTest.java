@@ -0,0 +1,291 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.oauth;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.pearson.pdn.learningstudio.oauth.config.OAuthConfig;
+import com.pearson.pdn.learningstudio.oauth.request.OAuth2Request;
+import com.pearson.pdn.learningstudio.transport.PooledTransport;
+import com.pearson.pdn.learningstudio.transport.Transport;
+import com.pearson.pdn.learningstudio.transport.TransportRequest;
+import com.pearson.pdn.learningstudio.transport.TransportResponse;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+public class OAuth2TokenManagerTest {
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private HttpServer server;
+	private PooledTransport transport;
+	private ExecutorService callers;
+	private OAuthServiceFactory factory;
+
+	private final AtomicInteger issued = new AtomicInteger();
+	private final AtomicInteger tokenRequests = new AtomicInteger();
+	private volatile long delayMillis;
+
+	@Before
+	public void setUp() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.setExecutor(Executors.newCachedThreadPool());
+		server.createContext("/token", new HttpHandler() {
+			public void handle(HttpExchange exchange) throws IOException {
+				issue(exchange);
+			}
+		});
+		server.start();
+
+		transport = new PooledTransport();
+		callers = Executors.newCachedThreadPool();
+		factory = factory();
+	}
+
+	@After
+	public void tearDown() {
+		callers.shutdownNow();
+		server.stop(0);
+		transport.shutdown();
+	}
+
+	@Test
+	public void returnsValidTokenWithoutRequest() throws IOException {
+		OAuth2TokenManager manager = new OAuth2TokenManager(factory);
+		OAuth2Request first = manager.getPasswordToken("user", "right");
+		OAuth2Request second = manager.getPasswordToken("user", "right");
+
+		assertSame(first, second);
+		assertEquals(1, tokenRequests.get());
+		assertEquals(1, manager.getStatistics().getHits());
+	}
+
+	@Test
+	public void concurrentCallersShareOneRequest() throws Exception {
+		delayMillis = 200;
+		final OAuth2TokenManager manager = new OAuth2TokenManager(factory);
+		List<Future<OAuth2Request>> futures = new ArrayList<Future<OAuth2Request>>();
+		for(int i = 0; i < 8; i++) {
+			futures.add(callers.submit(new Callable<OAuth2Request>() {
+				public OAuth2Request call() throws IOException {
+					return manager.getPasswordToken("user", "right");
+				}
+			}));
+		}
+
+		OAuth2Request token = futures.get(0).get();
+		for(Future<OAuth2Request> future : futures) {
+			assertSame(token, future.get());
+		}
+		assertEquals(1, tokenRequests.get());
+	}
+
+	@Test
+	public void passwordTokenOnlyGivenForItsPassword() throws IOException {
+		OAuth2TokenManager manager = new OAuth2TokenManager(factory);
+		OAuth2Request token = manager.getPasswordToken("user", "right");
+
+		try {
+			manager.getPasswordToken("user", "wrong");
+			fail("A wrong password should not get the token of the user");
+		}
+		catch(IOException e) {
+			// expected
+		}
+
+		assertSame(token, manager.getPasswordToken("user", "right"));
+		assertEquals(2, tokenRequests.get());
+		assertEquals(1, issued.get());
+	}
+
+	@Test
+	public void timedOutWaitLeavesRequestRunning() throws Exception {
+		delayMillis = 500;
+		OAuth2TokenManager manager = new OAuth2TokenManager(factory);
+		long start = System.currentTimeMillis();
+		try {
+			manager.getPasswordToken("user", "right", callers, 100);
+			fail("The wait should time out");
+		}
+		catch(InterruptedIOException e) {
+			// expected
+		}
+		assertTrue(System.currentTimeMillis() - start < 400);
+
+		Thread.sleep(delayMillis + 200);
+		manager.getPasswordToken("user", "right", callers, 100);
+		assertEquals(1, tokenRequests.get());
+	}
+
+	@Test
+	public void invalidatedTokenIsReplaced() throws IOException {
+		OAuth2TokenManager manager = new OAuth2TokenManager(factory);
+		OAuth2Request stale = manager.getPasswordToken("user", "right");
+
+		manager.invalidatePasswordToken("user", "right", stale);
+		OAuth2Request replacement = manager.getPasswordToken("user", "right");
+		assertNotSame(stale, replacement);
+
+		// a late rejection of the old token keeps its replacement
+		manager.invalidatePasswordToken("user", "right", stale);
+		assertSame(replacement, manager.getPasswordToken("user", "right"));
+		assertEquals(2, issued.get());
+		assertEquals(1, manager.getStatistics().getInvalidations());
+	}
+
+	@Test
+	public void boundsTokensHeld() throws IOException {
+		OAuth2TokenManager manager = new OAuth2TokenManager(factory);
+		manager.setMaxTokens(16);
+		for(int i = 0; i < 100; i++) {
+			manager.getPasswordToken("user" + i, "right");
+		}
+
+		assertTrue(manager.getStatistics().getTokens() <= 16);
+		assertEquals(100, manager.getStatistics().getTokens() + manager.getStatistics().getEvictions());
+	}
+
+	@Test
+	public void sharesTokensThroughTokenFile() throws IOException {
+		TokenFile file = new TokenFile(folder.getRoot().toPath().resolve("tokens"), new byte[16], 64);
+		try {
+			OAuth2TokenManager first = new OAuth2TokenManager(factory);
+			first.setTokenFile(file);
+			OAuth2Request token = first.getPasswordToken("user", "right");
+
+			OAuth2TokenManager second = new OAuth2TokenManager(factory());
+			second.setTokenFile(file);
+			assertEquals(token.getAccessToken(), second.getPasswordToken("user", "right").getAccessToken());
+			assertEquals(1, issued.get());
+
+			// another password does not find the stored token
+			try {
+				second.getPasswordToken("user", "wrong");
+				fail("A wrong password should not get the stored token");
+			}
+			catch(IOException e) {
+				// expected
+			}
+
+			// a rejected token is removed from the file as well
+			second.invalidatePasswordToken("user", "right", second.getPasswordToken("user", "right"));
+			OAuth2TokenManager third = new OAuth2TokenManager(factory());
+			third.setTokenFile(file);
+			third.getPasswordToken("user", "right");
+			assertEquals(2, issued.get());
+		}
+		finally {
+			file.close();
+		}
+	}
+
+	private OAuthServiceFactory factory() {
+		OAuthConfig config = new OAuthConfig();
+		config.setApplicationId("app");
+		config.setApplicationName("test");
+		config.setClientString("client");
+		config.setConsumerKey("key");
+		config.setConsumerSecret("0123456789abcdef");
+
+		final int port = server.getAddress().getPort();
+		OAuthServiceFactory factory = new OAuthServiceFactory(config);
+		factory.setTransport(new Transport() {
+			public TransportResponse execute(TransportRequest request) throws IOException {
+				request.setUrl(new URL("http://127.0.0.1:" + port + request.getUrl().getFile()));
+				return transport.execute(request);
+			}
+
+			public void shutdown() {
+				transport.shutdown();
+			}
+		});
+		return factory;
+	}
+
+	/**
+	 * Issues a token of an hour for the password "right"
+	 */
+	private void issue(HttpExchange exchange) throws IOException {
+		try {
+			tokenRequests.incrementAndGet();
+			String form = read(exchange.getRequestBody());
+			Thread.sleep(delayMillis);
+			if(!form.contains("password=right")) {
+				exchange.sendResponseHeaders(401, -1);
+				return;
+			}
+
+			int token = issued.incrementAndGet();
+			byte[] body = ("{\"access_token\":\"access" + token + "\",\"expires_in\":\"3600\",\"refresh_token\":\"refresh" + token + "\"}").getBytes("UTF-8");
+			exchange.getResponseHeaders().add("Content-Type", "application/json");
+			exchange.sendResponseHeaders(200, body.length);
+			exchange.getResponseBody().write(body);
+		}
+		catch(InterruptedException e) {
+			exchange.sendResponseHeaders(503, -1);
+		}
+		finally {
+			exchange.close();
+		}
+	}
+
+	private static String read(InputStream in) throws IOException {
+		ByteArrayOutputStream content = new ByteArrayOutputStream();
+		byte[] buffer = new byte[1024];
+		int count;
+		while((count = in.read(buffer)) != -1) {
+			content.write(buffer, 0, count);
+		}
+		return content.toString("UTF-8");
+	}
+}
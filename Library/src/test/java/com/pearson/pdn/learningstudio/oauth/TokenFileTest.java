@@ -0,0 +1,197 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.oauth;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.pearson.pdn.learningstudio.oauth.request.OAuth2Request;
+
+public class TokenFileTest {
+	// every key probes all slots of a file this small
+	private final static int SLOTS = 8;
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private Path path;
+	private byte[] key;
+	private TokenFile file;
+
+	@Before
+	public void setUp() throws IOException {
+		path = folder.getRoot().toPath().resolve("tokens");
+		key = new byte[16];
+		Arrays.fill(key, (byte) 7);
+		file = new TokenFile(path, key, SLOTS);
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		file.close();
+	}
+
+	@Test
+	public void storesAndRemovesToken() throws IOException {
+		file.put("user", token("access", 1));
+
+		OAuth2Request stored = file.get("user");
+		assertEquals("access", stored.getAccessToken());
+		assertEquals("refresh-access", stored.getRefreshToken());
+		assertEquals(token("access", 1).getExpirationTime(), stored.getExpirationTime());
+		assertNull(file.get("other"));
+
+		file.remove("user");
+		assertNull(file.get("user"));
+	}
+
+	@Test
+	public void keepsTokensAfterReopen() throws IOException {
+		file.put("user", token("access", 1));
+		file.close();
+
+		file = new TokenFile(path, key, 4096);
+		assertEquals(SLOTS, file.getSlots());
+		assertEquals("access", file.get("user").getAccessToken());
+	}
+
+	@Test
+	public void otherKeyReadsNothing() throws IOException {
+		file.put("user", token("access", 1));
+		file.close();
+
+		byte[] otherKey = key.clone();
+		otherKey[0]++;
+		file = new TokenFile(path, otherKey, SLOTS);
+		assertNull(file.get("user"));
+	}
+
+	@Test
+	public void replacesTokenExpiringSoonestWhenFull() throws IOException {
+		for(int i = 0; i < SLOTS; i++) {
+			file.put("user" + i, token("access" + i, i + 1));
+		}
+		file.put("newcomer", token("newcomer", 1));
+
+		assertNull(file.get("user0"));
+		assertEquals("newcomer", file.get("newcomer").getAccessToken());
+		for(int i = 1; i < SLOTS; i++) {
+			assertEquals("access" + i, file.get("user" + i).getAccessToken());
+		}
+	}
+
+	@Test
+	public void replacingTokenReusesItsSlot() throws IOException {
+		file.put("user0", token("old", 100));
+		file.put("user0", token("new", 100));
+		for(int i = 1; i < SLOTS; i++) {
+			file.put("user" + i, token("access" + i, i));
+		}
+
+		assertEquals("new", file.get("user0").getAccessToken());
+		for(int i = 1; i < SLOTS; i++) {
+			assertEquals("access" + i, file.get("user" + i).getAccessToken());
+		}
+	}
+
+	@Test
+	public void removedSlotIsReusedFirst() throws IOException {
+		for(int i = 0; i < SLOTS; i++) {
+			file.put("user" + i, token("access" + i, i + 1));
+		}
+		file.remove("user5");
+		file.put("newcomer", token("newcomer", 1));
+
+		assertNull(file.get("user5"));
+		assertEquals("newcomer", file.get("newcomer").getAccessToken());
+		assertEquals("access0", file.get("user0").getAccessToken());
+	}
+
+	@Test
+	public void ignoresTokenLargerThanSlot() throws IOException {
+		char[] large = new char[4096];
+		Arrays.fill(large, 'x');
+		file.put("user", token(new String(large), 1));
+
+		assertNull(file.get("user"));
+	}
+
+	@Test
+	public void hashesCredentialWithFileKey() throws IOException {
+		String hash = file.hashCredential("user", "password");
+		assertFalse(hash.equals(file.hashCredential("user", "other")));
+		assertFalse(hash.equals(file.hashCredential("other", "password")));
+
+		TokenFile sibling = new TokenFile(folder.getRoot().toPath().resolve("sibling"), key, SLOTS);
+		try {
+			assertEquals(hash, sibling.hashCredential("user", "password"));
+		}
+		finally {
+			sibling.close();
+		}
+
+		byte[] otherKey = key.clone();
+		otherKey[0]++;
+		TokenFile other = new TokenFile(folder.getRoot().toPath().resolve("other"), otherKey, SLOTS);
+		try {
+			assertFalse(hash.equals(other.hashCredential("user", "password")));
+		}
+		finally {
+			other.close();
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsInvalidKeyLength() throws IOException {
+		new TokenFile(folder.getRoot().toPath().resolve("invalid"), new byte[10]);
+	}
+
+	/**
+	 * Token expiring after a number of hours
+	 */
+	private static OAuth2Request token(String accessToken, int hours) {
+		OAuth2Request request = new OAuth2Request();
+		request.setAccessToken(accessToken);
+		request.setRefreshToken("refresh-" + accessToken);
+		request.setCreationTime(1000000L);
+		request.setExpiresInSeconds((int) TimeUnit.HOURS.toSeconds(hours));
+		return request;
+	}
+}
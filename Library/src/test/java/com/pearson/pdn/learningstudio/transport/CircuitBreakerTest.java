@@ -0,0 +1,237 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.transport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.pearson.pdn.learningstudio.transport.CircuitBreaker.State;
+
+public class CircuitBreakerTest {
+	private final static long OPEN_MILLIS = 100;
+
+	private BreakerConfig config;
+
+	@Before
+	public void setUp() {
+		config = new BreakerConfig();
+		config.setWindowSize(10);
+		config.setMinimumCalls(4);
+		config.setFailureRateThreshold(0.5);
+		config.setSlowCallThresholdMillis(0);
+		config.setOpenDurationMillis(OPEN_MILLIS);
+		config.setHalfOpenProbes(2);
+	}
+
+	@Test
+	public void staysClosedBelowMinimumCalls() throws CircuitOpenException {
+		CircuitBreaker breaker = new CircuitBreaker("route", config);
+		call(breaker, true);
+		call(breaker, true);
+		call(breaker, true);
+
+		assertEquals(State.CLOSED, breaker.getState());
+		assertEquals(1.0, breaker.getStatistics().getFailureRate(), 0);
+	}
+
+	@Test
+	public void opensAtFailureRate() throws CircuitOpenException {
+		CircuitBreaker breaker = new CircuitBreaker("route", config);
+		call(breaker, false);
+		call(breaker, false);
+		call(breaker, true);
+		assertEquals(State.CLOSED, breaker.getState());
+		call(breaker, true);
+
+		assertEquals(State.OPEN, breaker.getState());
+		assertRejected(breaker);
+		BreakerStatistics statistics = breaker.getStatistics();
+		assertEquals(4, statistics.getCalls());
+		assertEquals(2, statistics.getFailures());
+		assertEquals(1, statistics.getRejected());
+		assertEquals(1, statistics.getOpened());
+	}
+
+	@Test
+	public void oldOutcomesLeaveTheWindow() throws CircuitOpenException {
+		CircuitBreaker breaker = new CircuitBreaker("route", config);
+		call(breaker, true);
+		for(int i = 0; i < 9; i++) {
+			call(breaker, false);
+		}
+		assertEquals(0.1, breaker.getStatistics().getFailureRate(), 0.001);
+
+		// the failure is pushed out
+		call(breaker, false);
+		assertEquals(0, breaker.getStatistics().getFailureRate(), 0);
+
+		// five failures among the last ten open it again
+		for(int i = 0; i < 4; i++) {
+			call(breaker, true);
+		}
+		assertEquals(State.CLOSED, breaker.getState());
+		call(breaker, true);
+		assertEquals(State.OPEN, breaker.getState());
+	}
+
+	@Test
+	public void slowCallsCountAsFailures() throws CircuitOpenException {
+		config.setSlowCallThresholdMillis(1000);
+		CircuitBreaker breaker = new CircuitBreaker("route", config);
+		for(int i = 0; i < 4; i++) {
+			breaker.release(breaker.acquire(), 2000, false);
+		}
+
+		assertEquals(State.OPEN, breaker.getState());
+		assertEquals(4, breaker.getStatistics().getFailures());
+	}
+
+	@Test
+	public void halfOpenAfterOpenDuration() throws Exception {
+		CircuitBreaker breaker = open();
+		Thread.sleep(OPEN_MILLIS + 20);
+
+		assertEquals(State.HALF_OPEN, breaker.getState());
+	}
+
+	@Test
+	public void closesWhenAllProbesSucceed() throws Exception {
+		CircuitBreaker breaker = open();
+		Thread.sleep(OPEN_MILLIS + 20);
+
+		int first = breaker.acquire();
+		int second = breaker.acquire();
+		assertRejected(breaker);
+
+		breaker.release(first, 1, false);
+		assertEquals(State.HALF_OPEN, breaker.getState());
+		breaker.release(second, 1, false);
+
+		assertEquals(State.CLOSED, breaker.getState());
+		assertEquals(0, breaker.getStatistics().getFailureRate(), 0);
+
+		// the window starts over, so earlier failures do not reopen it
+		call(breaker, true);
+		assertEquals(State.CLOSED, breaker.getState());
+	}
+
+	@Test
+	public void reopensWhenProbeFails() throws Exception {
+		CircuitBreaker breaker = open();
+		Thread.sleep(OPEN_MILLIS + 20);
+
+		breaker.release(breaker.acquire(), 1, true);
+
+		assertEquals(State.OPEN, breaker.getState());
+		assertEquals(2, breaker.getStatistics().getOpened());
+		assertRejected(breaker);
+
+		Thread.sleep(OPEN_MILLIS + 20);
+		assertEquals(State.HALF_OPEN, breaker.getState());
+	}
+
+	@Test
+	public void ignoresOutcomesStartedBeforeOpening() throws Exception {
+		CircuitBreaker breaker = new CircuitBreaker("route", config);
+		int generation = breaker.acquire();
+		for(int i = 0; i < 4; i++) {
+			call(breaker, true);
+		}
+		assertEquals(State.OPEN, breaker.getState());
+
+		breaker.release(generation, 1, false);
+
+		assertEquals(State.OPEN, breaker.getState());
+		assertEquals(1, breaker.getStatistics().getOpened());
+	}
+
+	@Test
+	public void lateSuccessIsNotTakenForProbe() throws Exception {
+		CircuitBreaker breaker = new CircuitBreaker("route", config);
+		int slow = breaker.acquire();
+		for(int i = 0; i < 4; i++) {
+			call(breaker, true);
+		}
+		Thread.sleep(OPEN_MILLIS + 20);
+		assertEquals(State.HALF_OPEN, breaker.getState());
+
+		// a call let through while closed finishes while half open
+		breaker.release(slow, 1, false);
+		int probe = breaker.acquire();
+		breaker.release(probe, 1, false);
+		assertEquals(State.HALF_OPEN, breaker.getState());
+
+		call(breaker, false);
+		assertEquals(State.CLOSED, breaker.getState());
+	}
+
+	@Test
+	public void lateFailureDoesNotCountAfterClosing() throws Exception {
+		CircuitBreaker breaker = new CircuitBreaker("route", config);
+		int slow = breaker.acquire();
+		for(int i = 0; i < 4; i++) {
+			call(breaker, true);
+		}
+		Thread.sleep(OPEN_MILLIS + 20);
+		call(breaker, false);
+		call(breaker, false);
+		assertEquals(State.CLOSED, breaker.getState());
+
+		call(breaker, false);
+		// a call let through before the circuit opened fails after it closed
+		breaker.release(slow, 1, true);
+
+		assertEquals(0, breaker.getStatistics().getFailureRate(), 0);
+	}
+
+	private CircuitBreaker open() throws CircuitOpenException {
+		CircuitBreaker breaker = new CircuitBreaker("route", config);
+		for(int i = 0; i < 4; i++) {
+			call(breaker, true);
+		}
+		assertEquals(State.OPEN, breaker.getState());
+		return breaker;
+	}
+
+	private static void call(CircuitBreaker breaker, boolean failed) throws CircuitOpenException {
+		breaker.release(breaker.acquire(), 1, failed);
+	}
+
+	private static void assertRejected(CircuitBreaker breaker) {
+		try {
+			breaker.acquire();
+			fail("The circuit should reject the request");
+		}
+		catch(CircuitOpenException e) {
+			// expected
+		}
+	}
+}
@@ -0,0 +1,394 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.transport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.ProxySelector;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.URL;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PooledTransportTest {
+	private ServerSocket serverSocket;
+	private PooledTransport transport;
+	private final AtomicInteger connections = new AtomicInteger();
+	private final AtomicInteger requests = new AtomicInteger();
+	private volatile Responder responder;
+	private volatile String requestLine;
+
+	/**
+	 * Answers one request of the stub server
+	 */
+	private interface Responder {
+		/**
+		 * @param request	Index of the request on its connection, from zero
+		 * @param out	Stream of the connection
+		 * @return	False to close the connection
+		 */
+		boolean respond(int request, OutputStream out) throws Exception;
+	}
+
+	@Before
+	public void setUp() throws IOException {
+		serverSocket = new ServerSocket(0, 50, InetAddress.getByName("127.0.0.1"));
+		Thread acceptor = new Thread(new Runnable() {
+			public void run() {
+				try {
+					while(true) {
+						final Socket socket = serverSocket.accept();
+						connections.incrementAndGet();
+						Thread handler = new Thread(new Runnable() {
+							public void run() {
+								serve(socket);
+							}
+						});
+						handler.setDaemon(true);
+						handler.start();
+					}
+				}
+				catch(IOException e) {
+					// server stopped
+				}
+			}
+		});
+		acceptor.setDaemon(true);
+		acceptor.start();
+
+		transport = new PooledTransport(new TransportConfig());
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		transport.shutdown();
+		serverSocket.close();
+	}
+
+	@Test
+	public void fixedLengthBodyKeepsConnection() throws IOException {
+		responder = fixed("hello");
+
+		assertEquals("hello", get(0));
+		assertEquals("hello", get(0));
+
+		assertEquals(1, connections.get());
+		assertEquals(1, transport.getStatistics().getReused());
+	}
+
+	@Test
+	public void chunkedBodyIsReassembled() throws IOException {
+		responder = new Responder() {
+			public boolean respond(int request, OutputStream out) throws IOException {
+				write(out, "HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n"
+						+ "5;name=value\r\nhello\r\n6\r\n world\r\n0\r\nX-Trailer: ignored\r\n\r\n");
+				return true;
+			}
+		};
+
+		assertEquals("hello world", get(0));
+		assertEquals("hello world", get(0));
+
+		assertEquals(1, connections.get());
+	}
+
+	@Test
+	public void bodyUntilCloseIsNotReused() throws IOException {
+		responder = new Responder() {
+			public boolean respond(int request, OutputStream out) throws IOException {
+				write(out, "HTTP/1.1 200 OK\r\nConnection: close\r\n\r\nuntil close");
+				return false;
+			}
+		};
+
+		assertEquals("until close", get(0));
+		assertEquals("until close", get(0));
+
+		assertEquals(2, connections.get());
+	}
+
+	@Test
+	public void emptyBodiesKeepConnection() throws IOException {
+		responder = new Responder() {
+			public boolean respond(int request, OutputStream out) throws IOException {
+				write(out, "HTTP/1.1 204 No Content\r\n\r\n");
+				return true;
+			}
+		};
+
+		assertEquals("", get(0));
+		assertEquals("", get(0));
+
+		assertEquals(1, connections.get());
+	}
+
+	@Test
+	public void abandonedBodyClosesConnection() throws IOException {
+		final byte[] large = new byte[100000];
+		responder = new Responder() {
+			public boolean respond(int request, OutputStream out) throws IOException {
+				write(out, "HTTP/1.1 200 OK\r\nContent-Length: " + large.length + "\r\n\r\n");
+				out.write(large);
+				out.flush();
+				return true;
+			}
+		};
+
+		TransportResponse response = transport.execute(request(0));
+		response.getBody().read(new byte[10]);
+		response.close();
+		get(0);
+
+		assertEquals(2, connections.get());
+	}
+
+	@Test
+	public void prematureEndOfBodyFails() throws IOException {
+		responder = new Responder() {
+			public boolean respond(int request, OutputStream out) throws IOException {
+				write(out, "HTTP/1.1 200 OK\r\nContent-Length: 10\r\n\r\nhalf");
+				return false;
+			}
+		};
+
+		try {
+			get(0);
+			fail("A body shorter than its Content-Length should fail");
+		}
+		catch(EOFException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void idempotentRequestRetriedOnStaleConnection() throws IOException {
+		responder = new Responder() {
+			public boolean respond(int request, OutputStream out) throws IOException {
+				if(request == 1) {
+					return false; // closed while the request was on its way
+				}
+				write(out, "HTTP/1.1 200 OK\r\nContent-Length: 2\r\n\r\nok");
+				return true;
+			}
+		};
+
+		assertEquals("ok", get(0));
+		assertEquals("ok", get(0));
+
+		assertEquals(2, connections.get());
+		assertEquals(3, requests.get());
+	}
+
+	@Test
+	public void readTimeoutIsNotRetried() throws IOException {
+		responder = new Responder() {
+			public boolean respond(int request, OutputStream out) throws Exception {
+				if(request == 1) {
+					Thread.sleep(1000);
+				}
+				write(out, "HTTP/1.1 200 OK\r\nContent-Length: 2\r\n\r\nok");
+				return true;
+			}
+		};
+
+		assertEquals("ok", get(0));
+		try {
+			get(200);
+			fail("A slow response should time out");
+		}
+		catch(SocketTimeoutException e) {
+			// expected
+		}
+
+		assertEquals(2, requests.get());
+	}
+
+	@Test
+	public void httpThroughProxySendsAbsoluteUrl() throws IOException {
+		responder = fixed("proxied");
+		ProxySelector selector = ProxySelector.getDefault();
+		ProxySelector.setDefault(proxySelector());
+		try {
+			TransportRequest request = request(0);
+			request.setUrl(new URL("http://api.example.com/resource?q=1"));
+			assertEquals("proxied", read(transport.execute(request)));
+		}
+		finally {
+			ProxySelector.setDefault(selector);
+		}
+
+		assertEquals("GET http://api.example.com/resource?q=1 HTTP/1.1", requestLine);
+	}
+
+	@Test
+	public void httpsThroughProxyAsksForTunnel() throws IOException {
+		responder = new Responder() {
+			public boolean respond(int request, OutputStream out) throws IOException {
+				write(out, "HTTP/1.1 407 Proxy Authentication Required\r\nContent-Length: 0\r\n\r\n");
+				return true;
+			}
+		};
+		ProxySelector selector = ProxySelector.getDefault();
+		ProxySelector.setDefault(proxySelector());
+		try {
+			TransportRequest request = request(0);
+			request.setUrl(new URL("https://api.example.com/resource"));
+			transport.execute(request);
+			fail("A refused tunnel should fail");
+		}
+		catch(IOException e) {
+			assertTrue(e.getMessage().contains("407"));
+		}
+		finally {
+			ProxySelector.setDefault(selector);
+		}
+
+		assertEquals("CONNECT api.example.com:443 HTTP/1.1", requestLine);
+	}
+
+	private String get(int readTimeoutMillis) throws IOException {
+		return read(transport.execute(request(readTimeoutMillis)));
+	}
+
+	private String read(TransportResponse response) throws IOException {
+		try {
+			InputStream body = response.getBody();
+			ByteArrayOutputStream content = new ByteArrayOutputStream();
+			byte[] buffer = new byte[1024];
+			int count;
+			while((count = body.read(buffer)) != -1) {
+				content.write(buffer, 0, count);
+			}
+			return content.toString("ISO-8859-1");
+		}
+		finally {
+			response.close();
+		}
+	}
+
+	private TransportRequest request(int readTimeoutMillis) throws IOException {
+		TransportRequest request = new TransportRequest();
+		request.setMethod("GET");
+		request.setUrl(new URL("http://127.0.0.1:" + serverSocket.getLocalPort() + "/resource"));
+		request.setReadTimeoutMillis(readTimeoutMillis);
+		return request;
+	}
+
+	/**
+	 * Sends every request to the stub server as its HTTP proxy
+	 */
+	private ProxySelector proxySelector() {
+		final Proxy proxy = new Proxy(Proxy.Type.HTTP, InetSocketAddress.createUnresolved("127.0.0.1", serverSocket.getLocalPort()));
+		return new ProxySelector() {
+			public List<Proxy> select(URI uri) {
+				return Collections.singletonList(proxy);
+			}
+
+			public void connectFailed(URI uri, SocketAddress address, IOException e) {
+			}
+		};
+	}
+
+	private void serve(Socket socket) {
+		try {
+			InputStream in = socket.getInputStream();
+			OutputStream out = socket.getOutputStream();
+			for(int request = 0; readHead(in); request++) {
+				requests.incrementAndGet();
+				if(!responder.respond(request, out)) {
+					break;
+				}
+			}
+		}
+		catch(Exception e) {
+			// connection dropped by the client
+		}
+		finally {
+			try {
+				socket.close();
+			}
+			catch(IOException e) {
+				// already closed
+			}
+		}
+	}
+
+	/**
+	 * Reads a request line and headers, keeping the request line
+	 *
+	 * @return	False at end of stream
+	 */
+	private boolean readHead(InputStream in) throws IOException {
+		ByteArrayOutputStream head = new ByteArrayOutputStream();
+		int matched = 0;
+		int b;
+		while((b = in.read()) != -1) {
+			head.write(b);
+			matched = (b == '\r' && matched % 2 == 0) || (b == '\n' && matched % 2 == 1) ? matched + 1 : 0;
+			if(matched == 4) {
+				String text = head.toString("ISO-8859-1");
+				requestLine = text.substring(0, text.indexOf('\r'));
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static Responder fixed(final String body) {
+		return new Responder() {
+			public boolean respond(int request, OutputStream out) throws IOException {
+				write(out, "HTTP/1.1 200 OK\r\nContent-Length: " + body.length() + "\r\n\r\n" + body);
+				return true;
+			}
+		};
+	}
+
+	private static void write(OutputStream out, String data) throws IOException {
+		out.write(data.getBytes("ISO-8859-1"));
+		out.flush();
+	}
+}
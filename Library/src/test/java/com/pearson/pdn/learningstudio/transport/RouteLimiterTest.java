@@ -0,0 +1,220 @@
+/*
+ * LearningStudio RESTful API Libraries 
+ * These libraries make it easier to use the LearningStudio Course APIs.
+ * Full Documentation is provided with the library. 
+ * 
+ * Need Help or Have Questions? 
+ * Please use the PDN Developer Community at https://community.pdn.pearson.com
+ *
+ * @category   LearningStudio Course APIs
+ * @author     Wes Williams <wes.williams@pearson.com>
+ * @author     Pearson Developer Services Team <apisupport@pearson.com>
+ * @copyright  2014 Pearson Education Inc.
+ * @license    http://www.apache.org/licenses/LICENSE-2.0  Apache 2.0
+ * @version    1.0
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.pearson.pdn.learningstudio.transport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class RouteLimiterTest {
+	private final static long LATENCY = TimeUnit.MILLISECONDS.toNanos(10);
+
+	private LimiterConfig config;
+
+	@Before
+	public void setUp() {
+		config = new LimiterConfig();
+		config.setInitialLimit(4);
+		config.setMinLimit(2);
+		config.setMaxLimit(6);
+		config.setBackoffRatio(0.5);
+		config.setMaxQueueDepth(1);
+	}
+
+	@Test
+	public void queuesBeyondLimitAndRejectsBeyondQueue() {
+		RouteLimiter limiter = new RouteLimiter("route", config);
+		for(int i = 0; i < 4; i++) {
+			assertTrue(limiter.acquire().isDone());
+		}
+		CompletableFuture<Void> queued = limiter.acquire();
+		CompletableFuture<Void> refused = limiter.acquire();
+
+		assertFalse(queued.isDone());
+		assertTrue(refused.isCompletedExceptionally());
+		assertEquals(1, limiter.getStatistics().getQueued());
+
+		limiter.release(LATENCY, false);
+
+		assertTrue(queued.isDone());
+		LimiterStatistics statistics = limiter.getStatistics();
+		assertEquals(4, statistics.getInFlight());
+		assertEquals(0, statistics.getQueued());
+		assertEquals(5, statistics.getAccepted());
+		assertEquals(1, statistics.getRejected());
+	}
+
+	@Test
+	public void growsByOneAfterLimitsWorthOfSuccesses() {
+		RouteLimiter limiter = new RouteLimiter("route", config);
+		for(int i = 0; i < 4; i++) {
+			limiter.acquire();
+		}
+
+		// four successes at a limit of four add one
+		for(int i = 0; i < 5; i++) {
+			limiter.release(LATENCY, false);
+			limiter.acquire();
+		}
+		assertEquals(5, limiter.getStatistics().getLimit());
+
+		for(int i = 0; i < 100; i++) {
+			limiter.release(LATENCY, false);
+			limiter.acquire();
+		}
+		assertEquals(6, limiter.getStatistics().getLimit());
+		assertEquals(0, limiter.getStatistics().getDecreases());
+	}
+
+	@Test
+	public void doesNotGrowWhileLimitIsUnused() {
+		RouteLimiter limiter = new RouteLimiter("route", config);
+		for(int i = 0; i < 20; i++) {
+			limiter.acquire();
+			limiter.release(LATENCY, false);
+		}
+
+		assertEquals(4, limiter.getStatistics().getLimit());
+	}
+
+	@Test
+	public void backsOffOncePerRoundTrip() {
+		config.setInitialLimit(6);
+		RouteLimiter limiter = new RouteLimiter("route", config);
+		for(int i = 0; i < 4; i++) {
+			limiter.acquire();
+		}
+		// a round trip of one minute keeps later drops within it
+		limiter.release(TimeUnit.MINUTES.toNanos(1), false);
+
+		limiter.release(0, true);
+		limiter.release(0, true);
+		limiter.release(0, true);
+
+		LimiterStatistics statistics = limiter.getStatistics();
+		assertEquals(3, statistics.getLimit());
+		assertEquals(1, statistics.getDecreases());
+		assertEquals(0, statistics.getInFlight());
+	}
+
+	@Test
+	public void backsOffNoLowerThanMinimum() throws InterruptedException {
+		RouteLimiter limiter = new RouteLimiter("route", config);
+		for(int i = 0; i < 3; i++) {
+			limiter.acquire();
+			limiter.release(0, true);
+			Thread.sleep(1);
+		}
+
+		assertEquals(2, limiter.getStatistics().getLimit());
+		assertEquals(3, limiter.getStatistics().getDecreases());
+	}
+
+	@Test
+	public void slowResponseCountsAsDropped() {
+		RouteLimiter limiter = new RouteLimiter("route", config);
+		limiter.acquire();
+		limiter.release(LATENCY, false);
+		limiter.acquire();
+		limiter.release(3 * LATENCY, false);
+
+		assertEquals(2, limiter.getStatistics().getLimit());
+		assertEquals(1, limiter.getStatistics().getDecreases());
+	}
+
+	@Test
+	public void decreaseHoldsBackQueuedRequests() {
+		RouteLimiter limiter = new RouteLimiter("route", config);
+		for(int i = 0; i < 4; i++) {
+			limiter.acquire();
+		}
+		CompletableFuture<Void> queued = limiter.acquire();
+
+		// three in flight against a limit of two
+		limiter.release(0, true);
+		assertFalse(queued.isDone());
+		limiter.release(LATENCY, false);
+		assertFalse(queued.isDone());
+		limiter.release(LATENCY, false);
+		assertTrue(queued.isDone());
+	}
+
+	@Test
+	public void waitTimesOut() {
+		config.setInitialLimit(2);
+		RouteLimiter limiter = new RouteLimiter("route", config);
+		limiter.acquire();
+		limiter.acquire();
+
+		long start = System.nanoTime();
+		try {
+			limiter.acquire(100);
+			fail("The wait should time out");
+		}
+		catch(IOException e) {
+			// expected
+		}
+		assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(100));
+		assertEquals(0, limiter.getStatistics().getQueued());
+
+		// the expired waiter does not take the permit
+		limiter.release(LATENCY, false);
+		assertEquals(1, limiter.getStatistics().getInFlight());
+	}
+
+	@Test
+	public void asyncWaitTimesOut() throws InterruptedException {
+		config.setInitialLimit(2);
+		RouteLimiter limiter = new RouteLimiter("route", config);
+		limiter.acquire();
+		limiter.acquire();
+
+		CompletableFuture<Void> waiter = limiter.acquireAsync(100);
+		try {
+			waiter.get(5, TimeUnit.SECONDS);
+			fail("The wait should time out");
+		}
+		catch(ExecutionException e) {
+			assertTrue(e.getCause() instanceof IOException);
+		}
+		catch(TimeoutException e) {
+			fail("The wait was not bounded");
+		}
+		assertEquals(0, limiter.getStatistics().getQueued());
+	}
+}